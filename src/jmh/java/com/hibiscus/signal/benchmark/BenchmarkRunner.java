@@ -0,0 +1,31 @@
+package com.hibiscus.signal.benchmark;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * 基准测试入口
+ * 默认运行本包下的全部基准，并附加 GC profiler 以输出分配速率（gc.alloc.rate.norm 即 bytes/op）。
+ * 命令行参数与 JMH 原生参数一致，例如：
+ * <pre>
+ * mvn -Pbenchmark test-compile exec:exec -Djmh.args="SignalsEmitBenchmark -f 1 -wi 2 -i 3"
+ * </pre>
+ */
+public class BenchmarkRunner {
+
+    public static void main(String[] args) throws Exception {
+        CommandLineOptions cmdOptions = new CommandLineOptions(args);
+        OptionsBuilder builder = new OptionsBuilder();
+        builder.parent(cmdOptions);
+        if (cmdOptions.getIncludes().isEmpty()) {
+            builder.include(BenchmarkRunner.class.getPackage().getName() + ".*");
+        }
+        Options options = builder
+                .addProfiler(GCProfiler.class)
+                .build();
+        new Runner(options).run();
+    }
+}
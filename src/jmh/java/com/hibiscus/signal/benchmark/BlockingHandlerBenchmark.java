@@ -0,0 +1,113 @@
+package com.hibiscus.signal.benchmark;
+
+import com.hibiscus.signal.SignalHandle;
+import com.hibiscus.signal.Signals;
+import com.hibiscus.signal.config.SignalConfig;
+import com.hibiscus.signal.config.SignalExecutors;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+/**
+ * 阻塞型处理器在不同执行器模式下的吞吐基准
+ * 处理器睡眠 {@code blockMs} 毫秒模拟 JDBC / HTTP 调用，每次调用异步发射 {@code BURST} 个信号并等待全部处理完成。
+ * platform 模式的吞吐受线程池最大线程数限制，virtual 模式每个任务一个虚拟线程，阻塞时不占用载体线程。
+ * virtual 模式需要在 JDK 21 及以上运行，例如：
+ * <pre>
+ * mvn -Pbenchmark test-compile exec:exec -Djmh.args="BlockingHandlerBenchmark -f 1 -jvm /path/to/jdk21/bin/java"
+ * </pre>
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 3)
+@Measurement(iterations = 5, time = 3)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BlockingHandlerBenchmark {
+
+    private static final String EVENT = "bench.blocking";
+
+    /** 每次调用发射的信号数，保持在平台线程池的队列容量以内 */
+    private static final int BURST = 1000;
+
+    @Param({SignalExecutors.MODE_PLATFORM, SignalExecutors.MODE_VIRTUAL})
+    public String mode;
+
+    @Param({"1", "10"})
+    public int blockMs;
+
+    private ExecutorService executor;
+    private Signals signals;
+    private SignalHandle handle;
+
+    /** 已完成的处理器调用次数 */
+    private final LongAdder handled = new LongAdder();
+
+    /** 预期完成的处理器调用次数 */
+    private final AtomicLong expected = new AtomicLong();
+
+    private final Consumer<Throwable> errorHandler = e -> { };
+    private final Object sender = new Object();
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        if (SignalExecutors.MODE_VIRTUAL.equals(mode)) {
+            executor = SignalExecutors.newVirtualThreadExecutor();
+            if (executor == null) {
+                throw new IllegalStateException("virtual mode requires JDK 21+, running on " + System.getProperty("java.version"));
+            }
+        } else {
+            executor = SignalExecutors.newPlatformExecutor();
+        }
+        signals = new Signals(executor);
+
+        SignalConfig async = new SignalConfig.Builder()
+                .async(true)
+                .timeoutMs(0)
+                .maxRetries(0)
+                .recordMetrics(false)
+                .build();
+        signals.connect(EVENT, (s, p) -> {
+            Thread.sleep(blockMs);
+            handled.increment();
+        }, async);
+        handle = signals.handle(EVENT);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        signals.shutdown();
+    }
+
+    /**
+     * 发射一批阻塞型信号并等待全部处理完成，结果以每秒处理的信号数计
+     */
+    @Benchmark
+    @OperationsPerInvocation(BURST)
+    public void blockingBurst() throws InterruptedException {
+        long target = expected.addAndGet(BURST);
+        for (int i = 0; i < BURST; i++) {
+            signals.emit(handle, sender, errorHandler, i);
+        }
+        while (handled.sum() < target) {
+            Thread.sleep(0, 100_000);
+        }
+    }
+}
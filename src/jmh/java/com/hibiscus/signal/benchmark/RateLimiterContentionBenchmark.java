@@ -0,0 +1,95 @@
+package com.hibiscus.signal.benchmark;
+
+import com.hibiscus.signal.core.RateLimiter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 限流器竞争基准
+ * 对比 GCRA 实现的 {@link RateLimiter} 与旧版 synchronized 滑动窗口实现在 1/4/16/64 线程下的吞吐。
+ * {@code limit} 参数控制每秒许可数：两者在竞争下都会很快进入拒绝分支，差别主要体现在滑动窗口需要维护的时间戳数量上。
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RateLimiterContentionBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class Limiters {
+
+        @Param({"1000", "1000000"})
+        public int limit;
+
+        RateLimiter gcra;
+        SlidingWindowRateLimiter slidingWindow;
+
+        @Setup(Level.Iteration)
+        public void setUp() {
+            gcra = new RateLimiter(limit);
+            slidingWindow = new SlidingWindowRateLimiter(limit);
+        }
+    }
+
+    @Benchmark
+    @Threads(1)
+    public boolean gcra_1(Limiters limiters) {
+        return limiters.gcra.allowRequest();
+    }
+
+    @Benchmark
+    @Threads(4)
+    public boolean gcra_4(Limiters limiters) {
+        return limiters.gcra.allowRequest();
+    }
+
+    @Benchmark
+    @Threads(16)
+    public boolean gcra_16(Limiters limiters) {
+        return limiters.gcra.allowRequest();
+    }
+
+    @Benchmark
+    @Threads(64)
+    public boolean gcra_64(Limiters limiters) {
+        return limiters.gcra.allowRequest();
+    }
+
+    @Benchmark
+    @Threads(1)
+    public boolean slidingWindow_1(Limiters limiters) {
+        return limiters.slidingWindow.allowRequest();
+    }
+
+    @Benchmark
+    @Threads(4)
+    public boolean slidingWindow_4(Limiters limiters) {
+        return limiters.slidingWindow.allowRequest();
+    }
+
+    @Benchmark
+    @Threads(16)
+    public boolean slidingWindow_16(Limiters limiters) {
+        return limiters.slidingWindow.allowRequest();
+    }
+
+    @Benchmark
+    @Threads(64)
+    public boolean slidingWindow_64(Limiters limiters) {
+        return limiters.slidingWindow.allowRequest();
+    }
+}
@@ -0,0 +1,119 @@
+package com.hibiscus.signal.benchmark;
+
+import com.hibiscus.signal.SignalHandle;
+import com.hibiscus.signal.Signals;
+import com.hibiscus.signal.config.SignalConfig;
+import com.hibiscus.signal.core.SignalHandler;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * 处理器注册抖动基准
+ * 模拟按租户动态绑定处理器的场景：{@code tenants} 个事件各有若干常驻处理器，
+ * churn 组中 1 个线程不断绑定并解绑临时处理器，3 个线程同时向随机租户发射同步信号；
+ * register 组中 4 个线程只做绑定和解绑，单独衡量并发注册时的吞吐。
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RegistryChurnBenchmark {
+
+    private static final int RESIDENT_HANDLERS = 4;
+
+    @State(Scope.Group)
+    public static class Registry {
+
+        @Param({"16", "256"})
+        public int tenants;
+
+        ExecutorService executor;
+        Signals signals;
+        String[] events;
+        SignalHandle[] handles;
+        final Consumer<Throwable> errorHandler = e -> { };
+        final SignalHandler handler = (sender, params) -> { };
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            executor = Executors.newSingleThreadExecutor();
+            signals = new Signals(executor);
+            SignalConfig config = new SignalConfig.Builder()
+                    .timeoutMs(0)
+                    .maxRetries(0)
+                    .maxHandlers(1000)
+                    .recordMetrics(false)
+                    .build();
+            events = new String[tenants];
+            handles = new SignalHandle[tenants];
+            for (int i = 0; i < tenants; i++) {
+                events[i] = "tenant." + i + ".order.created";
+                for (int h = 0; h < RESIDENT_HANDLERS; h++) {
+                    signals.connect(events[i], handler, config);
+                }
+                handles[i] = signals.handle(events[i]);
+            }
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() {
+            signals.shutdown();
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Cursor {
+        int next;
+
+        int nextTenant(int tenants) {
+            next = (next * 1103515245 + 12345) & Integer.MAX_VALUE;
+            return next % tenants;
+        }
+    }
+
+    @Benchmark
+    @Group("churn")
+    @GroupThreads(1)
+    public void churnConnectDisconnect(Registry registry, Cursor cursor) {
+        String event = registry.events[cursor.nextTenant(registry.tenants)];
+        long id = registry.signals.connect(event, registry.handler);
+        registry.signals.disconnect(event, id);
+    }
+
+    @Benchmark
+    @Group("churn")
+    @GroupThreads(3)
+    public void churnEmit(Registry registry, Cursor cursor, Blackhole blackhole) {
+        SignalHandle handle = registry.handles[cursor.nextTenant(registry.tenants)];
+        blackhole.consume(registry.signals.emit(handle, null, registry.errorHandler, 42));
+    }
+
+    @Benchmark
+    @Group("register")
+    @GroupThreads(4)
+    public void connectDisconnect(Registry registry, Cursor cursor) {
+        String event = registry.events[cursor.nextTenant(registry.tenants)];
+        long id = registry.signals.connect(event, registry.handler);
+        registry.signals.disconnect(event, id);
+    }
+}
@@ -0,0 +1,219 @@
+package com.hibiscus.signal.benchmark;
+
+import com.hibiscus.signal.SignalHandle;
+import com.hibiscus.signal.Signals;
+import com.hibiscus.signal.config.DispatcherType;
+import com.hibiscus.signal.config.SignalConfig;
+import com.hibiscus.signal.core.CircuitBreaker;
+import com.hibiscus.signal.core.RateLimiter;
+import com.hibiscus.signal.core.SignalFilter;
+import com.hibiscus.signal.core.SignalInterceptor;
+import com.hibiscus.signal.core.SignalTransformer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+/**
+ * {@link Signals#emit} 热路径基准
+ * 覆盖同步发射、通过预解析句柄的同步发射、lean 模式同步发射、带超时的同步发射、异步发射、环形缓冲区异步发射、带管道组件的发射以及开启保护机制的发射，
+ * 处理器数量通过 {@code handlerCount} 参数化。
+ * lean 模式稳态下应为零分配，即 GC profiler 输出的 gc.alloc.rate.norm 约为 0 B/op。
+ */
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SignalsEmitBenchmark {
+
+    private static final String SYNC_EVENT = "bench.sync";
+    private static final String LEAN_EVENT = "bench.lean";
+    private static final String SYNC_TIMEOUT_EVENT = "bench.sync.timeout";
+    private static final String ASYNC_EVENT = "bench.async";
+    private static final String RING_EVENT = "bench.ring";
+    private static final String PIPELINE_EVENT = "bench.pipeline";
+    private static final String PROTECTED_EVENT = "bench.protected";
+
+    @Param({"1", "4", "16"})
+    public int handlerCount;
+
+    private ExecutorService executor;
+    private Signals signals;
+    private SignalHandle syncHandle;
+    private SignalHandle leanHandle;
+
+    /** 已完成的处理器调用次数 */
+    private final LongAdder handled = new LongAdder();
+
+    /** 异步发射预期完成的处理器调用次数 */
+    private final AtomicLong expected = new AtomicLong();
+
+    private final Consumer<Throwable> errorHandler = e -> { };
+    private final Object sender = new Object();
+    private final Object[] params = {"order-1", 42};
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        executor = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors());
+        signals = new Signals(executor);
+
+        SignalConfig sync = new SignalConfig.Builder()
+                .timeoutMs(0)
+                .maxRetries(0)
+                .build();
+        SignalConfig lean = new SignalConfig.Builder()
+                .lean(true)
+                .maxRetries(0)
+                .build();
+        SignalConfig syncWithTimeout = new SignalConfig.Builder()
+                .maxRetries(0)
+                .build();
+        SignalConfig async = new SignalConfig.Builder()
+                .async(true)
+                .timeoutMs(0)
+                .maxRetries(0)
+                .build();
+        SignalConfig ring = new SignalConfig.Builder()
+                .async(true)
+                .timeoutMs(0)
+                .maxRetries(0)
+                .dispatcher(DispatcherType.RING_BUFFER)
+                .build();
+
+        for (int i = 0; i < handlerCount; i++) {
+            signals.connect(SYNC_EVENT, (s, p) -> handled.increment(), sync);
+            signals.connect(LEAN_EVENT, (s, p) -> handled.increment(), lean);
+            signals.connect(SYNC_TIMEOUT_EVENT, (s, p) -> handled.increment(), syncWithTimeout);
+            signals.connect(ASYNC_EVENT, (s, p) -> handled.increment(), async);
+            signals.connect(RING_EVENT, (s, p) -> handled.increment(), ring);
+            signals.connect(PIPELINE_EVENT, (s, p) -> handled.increment(), sync);
+            signals.connect(PROTECTED_EVENT, (s, p) -> handled.increment(), sync);
+        }
+
+        signals.addSignalInterceptor(PIPELINE_EVENT, new SignalInterceptor() {
+            @Override
+            public boolean beforeHandle(String event, Object sender, Object... params) {
+                return true;
+            }
+        });
+        signals.addFilter(PIPELINE_EVENT, new PassFilter(1));
+        signals.addFilter(PIPELINE_EVENT, new PassFilter(0));
+        signals.addSignalTransformer(PIPELINE_EVENT, new IdentityTransformer());
+
+        signals.configureProtection(PROTECTED_EVENT,
+                new CircuitBreaker(Integer.MAX_VALUE, 60000, 1),
+                new RateLimiter(Integer.MAX_VALUE));
+
+        syncHandle = signals.handle(SYNC_EVENT);
+        leanHandle = signals.handle(LEAN_EVENT);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        signals.shutdown();
+    }
+
+    @Benchmark
+    public void syncEmit() {
+        signals.emit(SYNC_EVENT, sender, errorHandler, params);
+    }
+
+    @Benchmark
+    public void leanSyncEmit() {
+        signals.emit(LEAN_EVENT, sender, errorHandler, params);
+    }
+
+    @Benchmark
+    public void syncEmitByHandle() {
+        signals.emit(syncHandle, sender, errorHandler, params);
+    }
+
+    @Benchmark
+    public void leanSyncEmitByHandle() {
+        signals.emit(leanHandle, sender, errorHandler, params);
+    }
+
+    @Benchmark
+    public void syncEmitWithTimeout() {
+        signals.emit(SYNC_TIMEOUT_EVENT, sender, errorHandler, params);
+    }
+
+    /**
+     * 异步发射，等待本次发射的全部处理器执行完成，测得的是一次完整的往返耗时
+     */
+    @Benchmark
+    public void asyncEmit() {
+        long target = expected.addAndGet(handlerCount);
+        signals.emit(ASYNC_EVENT, sender, errorHandler, params);
+        while (handled.sum() < target) {
+            Thread.yield();
+        }
+    }
+
+    /**
+     * 经环形缓冲区分发器的异步发射，同样等待本次发射的全部处理器执行完成
+     */
+    @Benchmark
+    public void ringBufferAsyncEmit() {
+        long target = expected.addAndGet(handlerCount);
+        signals.emit(RING_EVENT, sender, errorHandler, params);
+        while (handled.sum() < target) {
+            Thread.yield();
+        }
+    }
+
+    @Benchmark
+    public void pipelineEmit() {
+        signals.emit(PIPELINE_EVENT, sender, errorHandler, params);
+    }
+
+    @Benchmark
+    public void protectedEmit() {
+        signals.emit(PROTECTED_EVENT, sender, errorHandler, params);
+    }
+
+    private static final class PassFilter implements SignalFilter {
+
+        private final int priority;
+
+        private PassFilter(int priority) {
+            this.priority = priority;
+        }
+
+        @Override
+        public boolean filter(String event, Object sender, Object... params) {
+            return params.length > 0;
+        }
+
+        @Override
+        public int getPriority() {
+            return priority;
+        }
+    }
+
+    private static final class IdentityTransformer implements SignalTransformer {
+
+        @Override
+        public Object[] transform(String event, Object sender, Object... params) {
+            return params;
+        }
+    }
+}
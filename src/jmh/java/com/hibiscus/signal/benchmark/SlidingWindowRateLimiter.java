@@ -0,0 +1,45 @@
+package com.hibiscus.signal.benchmark;
+
+import java.util.Deque;
+import java.util.LinkedList;
+
+/**
+ * 旧版 {@code RateLimiter} 的原样拷贝（synchronized + LinkedList 时间戳滑动窗口），
+ * 仅作为 {@link RateLimiterContentionBenchmark} 的对照基线
+ */
+final class SlidingWindowRateLimiter {
+
+    private final int maxRequestsPerSecond;
+    private final Deque<Long> timestamps = new LinkedList<>();
+
+    SlidingWindowRateLimiter(int maxRequestsPerSecond) {
+        this.maxRequestsPerSecond = maxRequestsPerSecond;
+    }
+
+    synchronized boolean allowRequest() {
+        long now = System.currentTimeMillis();
+        long oneSecondAgo = now - 1000;
+
+        while (!timestamps.isEmpty() && timestamps.peekFirst() < oneSecondAgo) {
+            timestamps.pollFirst();
+        }
+
+        if (timestamps.size() < maxRequestsPerSecond) {
+            timestamps.addLast(now);
+            return true;
+        } else {
+            return false;
+        }
+    }
+
+    synchronized boolean canAllowRequest() {
+        long now = System.currentTimeMillis();
+        long oneSecondAgo = now - 1000;
+
+        while (!timestamps.isEmpty() && timestamps.peekFirst() < oneSecondAgo) {
+            timestamps.pollFirst();
+        }
+
+        return timestamps.size() < maxRequestsPerSecond;
+    }
+}
@@ -0,0 +1,64 @@
+package com.hibiscus.signal;
+
+import com.hibiscus.signal.core.DispatchPlan;
+
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+
+/**
+ * 预解析的事件句柄
+ * 通过 {@link Signals#handle(String)} 获取，内部直接持有事件当前的分发计划，
+ * 使用句柄发射信号时只需一次 volatile 读，不再对事件名做哈希和比较。
+ * 注册变更时由 {@link Signals} 重建计划并以 CAS 替换，不同事件的计划各自发布，互不阻塞。
+ * 句柄只在创建它的 {@link Signals} 实例中有效，可以安全地缓存在静态字段中复用。
+ */
+public final class SignalHandle {
+
+    private static final AtomicReferenceFieldUpdater<SignalHandle, DispatchPlan> PLAN =
+            AtomicReferenceFieldUpdater.newUpdater(SignalHandle.class, DispatchPlan.class, "plan");
+
+    private final Signals owner;
+    private final String event;
+    private final int slot;
+    private volatile DispatchPlan plan;
+
+    SignalHandle(Signals owner, String event, int slot, DispatchPlan plan) {
+        this.owner = owner;
+        this.event = event;
+        this.slot = slot;
+        this.plan = plan;
+    }
+
+    /**
+     * 获取事件名称
+     */
+    public String getEvent() {
+        return event;
+    }
+
+    /**
+     * 获取事件槽位（句柄在所属实例中的创建序号）
+     */
+    public int getSlot() {
+        return slot;
+    }
+
+    Signals getOwner() {
+        return owner;
+    }
+
+    DispatchPlan getPlan() {
+        return plan;
+    }
+
+    boolean compareAndSetPlan(DispatchPlan expect, DispatchPlan update) {
+        return PLAN.compareAndSet(this, expect, update);
+    }
+
+    @Override
+    public String toString() {
+        return "SignalHandle{" +
+                "event='" + event + '\'' +
+                ", slot=" + slot +
+                '}';
+    }
+}
@@ -1,10 +1,17 @@
 package com.hibiscus.signal;
 
 import com.hibiscus.signal.config.DatabaseSignalPersistence;
+import com.hibiscus.signal.config.DispatcherType;
+import com.hibiscus.signal.config.OverflowPolicy;
 import com.hibiscus.signal.config.SignalConfig;
 import com.hibiscus.signal.core.*;
 import com.hibiscus.signal.core.service.EventStateManager;
 import com.hibiscus.signal.spring.config.SignalProperties;
+import com.hibiscus.signal.trace.BatchSpanProcessor;
+import com.hibiscus.signal.trace.OtlpJsonFileExporter;
+import com.hibiscus.signal.trace.SpanExporter;
+import com.hibiscus.signal.trace.TraceSampler;
+import com.hibiscus.signal.trace.TraceStore;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -12,10 +19,16 @@ import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Service;
 import org.springframework.beans.factory.DisposableBean;
 
+import java.io.IOException;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.Consumer;
+import java.util.function.Function;
 
 /**
  * 重构后的信号管理器
@@ -26,6 +39,9 @@ public class Signals implements DisposableBean {
 
     private static final Logger log = LoggerFactory.getLogger(Signals.class);
 
+    /** 未绑定事件空计划缓存的槽位数，必须是 2 的幂 */
+    private static final int UNBOUND_PLAN_SLOTS = 64;
+
     // 核心组件
     private final SignalRegistry signalRegistry;
     private final SignalPipeline signalPipeline;
@@ -33,6 +49,70 @@ public class Signals implements DisposableBean {
     private final SignalEmitter signalEmitter;
     private final SignalProtectionManager protectionManager;
     private final SignalMetrics metrics;
+    private final SignalTimer signalTimer;
+
+    /**
+     * 环形缓冲区分发器，首次有信号选用该引擎时创建
+     */
+    private volatile SignalDispatcher signalDispatcher;
+
+    /**
+     * 有序执行通道，首次有配置了排序键的信号异步发射时创建
+     */
+    private volatile OrderedLanes orderedLanes;
+
+    /**
+     * 限制了在途数的事件的准入控制器，跨分发计划重建保留
+     */
+    private final Map<String, AdmissionController> admissions = new ConcurrentHashMap<>();
+
+    /**
+     * 事件名到句柄的映射，每个句柄持有事件当前的分发计划，注册变更时按事件单独重建并以 CAS 发布
+     */
+    private final Map<String, SignalHandle> handles = new ConcurrentHashMap<>();
+
+    /**
+     * 只保护句柄创建、通配模式的增删和组件的延迟初始化，分发计划的重建不持有这把锁
+     */
+    private final Object planLock = new Object();
+
+    /**
+     * 空计划共用的计数器，不登记到 {@link SignalMetrics}，未绑定事件的发射不产生统计
+     */
+    private final SignalMetrics.EventCounters unboundCounters = new SignalMetrics.EventCounters();
+
+    /**
+     * 未绑定事件的空计划缓存，按事件名哈希直接映射到固定槽位，槽位冲突时后来者覆盖。
+     * 反复发射同一个未绑定事件名不再每次分配空计划，动态事件名最多占用 {@value #UNBOUND_PLAN_SLOTS} 个槽位；
+     * 空计划不可变，槽位之间的竞争只会导致多分配一次
+     */
+    private final DispatchPlan[] unboundPlans = new DispatchPlan[UNBOUND_PLAN_SLOTS];
+
+    /**
+     * 绑定过处理器或管道组件的通配模式（如 order.*、order.#），构建分发计划时合并匹配模式上的组件
+     */
+    private final TopicTrie<String> topicPatterns = new TopicTrie<>();
+
+    /**
+     * 是否仍持有 {@link CoarseClock}，保证重复关闭只释放一次
+     */
+    private final AtomicBoolean holdsClock = new AtomicBoolean(true);
+
+    /**
+     * 追踪采样器，首次发射时按配置创建
+     */
+    private volatile TraceSampler traceSampler;
+
+    /**
+     * 有界追踪存储，首次使用时按配置创建；容量配置为 0 时不保留追踪
+     */
+    private volatile TraceStore traceStore;
+    private volatile boolean traceStoreResolved;
+
+    /**
+     * 追踪处理器，在后台线程保留并导出结束的追踪，首次使用时创建
+     */
+    private volatile BatchSpanProcessor spanProcessor;
 
     // 依赖注入
     private final ExecutorService executorService;
@@ -46,20 +126,47 @@ public class Signals implements DisposableBean {
     @Autowired(required = false)
     private EventStateManager eventStateManager;
 
+    @Autowired(required = false)
+    private volatile SignalSpillHandler spillHandler;
+
+    @Autowired(required = false)
+    private List<SpanExporter> spanExporters;
+
     public Signals(@Qualifier("signalExecutor") ExecutorService executorService) {
         this.executorService = executorService;
         
         // 初始化核心组件
-        this.signalRegistry = new SignalRegistry();
-        this.signalProcessor = new SignalProcessor(executorService);
+        this.signalRegistry = new SignalRegistry(this::rebuildPlan);
         this.signalPipeline = new SignalPipeline();
-        this.signalEmitter = new SignalEmitter(executorService, signalProcessor);
+        this.signalTimer = new SignalTimer();
+        this.signalProcessor = new SignalProcessor(signalTimer);
+        this.signalEmitter = new SignalEmitter(executorService, signalProcessor, signalTimer);
         this.protectionManager = new SignalProtectionManager();
         this.metrics = new SignalMetrics();
+        if (executorService instanceof AdaptiveThreadPoolExecutor) {
+            metrics.bindExecutor((AdaptiveThreadPoolExecutor) executorService);
+        }
+        CoarseClock.acquire();
     }
 
     // ==================== 信号注册相关方法 ====================
     
+    /**
+     * 获取事件的预解析句柄
+     * 高频发射方可以缓存句柄并调用 {@code emit(SignalHandle, ...)}，省去每次发射对事件名的哈希查找；
+     * 句柄会一直保留，只应为固定的事件名获取
+     */
+    public SignalHandle handle(String event) {
+        SignalHandle handle = handles.get(event);
+        if (handle != null) {
+            return handle;
+        }
+        synchronized (planLock) {
+            handle = handles.get(event);
+            return handle != null ? handle : createHandle(event);
+        }
+    }
+
     /**
      * 绑定事件处理器
      */
@@ -113,131 +220,779 @@ public class Signals implements DisposableBean {
 
     /**
      * 处理事件队列
+     *
+     * @deprecated 绑定和解绑在调用返回时已经生效，不再需要处理队列
      */
+    @Deprecated
     public void processEvents() {
-        signalRegistry.processEvents();
     }
 
     // ==================== 信号发射相关方法 ====================
     
     /**
      * 发射信号
+     *
+     * @return 准入结果，调用方可据此在上游削减负载
      */
-    public void emit(String event, Object sender, Consumer<Throwable> errorHandler, Object... params) {
+    public EmitAdmission emit(String event, Object sender, Consumer<Throwable> errorHandler, Object... params) {
+        return emitPlan(resolvePlan(event), sender, errorHandler, params);
+    }
+
+    /**
+     * 通过预解析的句柄发射信号，跳过事件名查找
+     *
+     * @return 准入结果，调用方可据此在上游削减负载
+     */
+    public EmitAdmission emit(SignalHandle handle, Object sender, Consumer<Throwable> errorHandler, Object... params) {
+        return emitPlan(getDispatchPlan(handle), sender, errorHandler, params);
+    }
+
+    /**
+     * 按分发计划发射信号
+     */
+    private EmitAdmission emitPlan(DispatchPlan plan, Object sender, Consumer<Throwable> errorHandler, Object[] params) {
+        String event = plan.getEvent();
+        SignalConfig config = plan.getConfig();
+        if (config.isLean() && !config.isAsync()) {
+            return emitLean(plan, sender, errorHandler, params);
+        }
+
         // 1. 检查保护机制
-        if (protectionManager.isBlocked(event)) {
+        if (!plan.tryAcquire()) {
             log.debug("Signal [{}] blocked by protection manager", event);
-            return;
+            return EmitAdmission.REJECTED;
         }
 
-        // 2. 准备上下文
-        SignalContext context = prepareContext(params);
-        if (context == null) {
-            log.warn("Failed to prepare context for signal [{}]", event);
-            return;
-        }
+        // 2. 准备上下文，决定是否采样
+        SignalContext context = traceContext(event, params);
 
         // 3. 执行管道处理
-        Object[] processedParams = signalPipeline.processPipeline(event, sender, context, params);
+        Object[] processedParams = signalPipeline.processPipeline(plan, sender, context, params);
         if (processedParams == null) {
             log.debug("Signal [{}] blocked by pipeline", event);
-            return;
+            return EmitAdmission.FILTERED;
         }
 
         // 4. 记录指标
-        SignalConfig config = signalRegistry.getConfig(event);
         if (config.isRecordMetrics()) {
-            metrics.recordEmit(event);
+            plan.getCounters().recordEmit();
         }
 
         // 5. 获取处理器并发射
-        List<SigHandler> sigs = signalRegistry.getHandlers(event);
-        if (!signalRegistry.hasHandlers(event)) {
+        if (!plan.hasHandlers()) {
             log.debug("No handlers found for signal [{}]", event);
-            return;
+            return EmitAdmission.NO_HANDLERS;
         }
 
         // 6. 根据配置选择同步或异步发射
+        SignalCallback callback = traceCallback(plan, context, null);
         if (config.isAsync()) {
-            signalEmitter.emitAsync(event, sender, sigs, config, errorHandler, null, protectionManager, metrics, processedParams);
-        } else {
-            signalEmitter.emitSync(event, sender, sigs, config, errorHandler, null, protectionManager, metrics, processedParams);
+            return dispatchAsync(plan, sender, errorHandler, callback, processedParams);
         }
+        signalEmitter.emitSync(plan, sender, errorHandler, callback, processedParams);
+        return EmitAdmission.ACCEPTED;
     }
 
     /**
      * 发射信号（带回调）
+     *
+     * @return 准入结果，调用方可据此在上游削减负载
      */
-    public void emit(String event, Object sender, SignalCallback callback, Consumer<Throwable> errorHandler, Object... params) {
-        // 1. 检查保护机制
-        if (protectionManager.isBlocked(event)) {
-            if (callback != null) {
-                callback.onError(event, sender, new RuntimeException("Signal blocked (circuit open or rate limited)"), params);
-                callback.onComplete(event, sender, params);
-            }
-            return;
+    public EmitAdmission emit(String event, Object sender, SignalCallback callback, Consumer<Throwable> errorHandler, Object... params) {
+        return dispatch(resolvePlan(event), sender, callback, errorHandler, params);
+    }
+
+    /**
+     * 通过预解析的句柄发射信号（带回调）
+     *
+     * @return 准入结果，调用方可据此在上游削减负载
+     */
+    public EmitAdmission emit(SignalHandle handle, Object sender, SignalCallback callback, Consumer<Throwable> errorHandler, Object... params) {
+        return dispatch(getDispatchPlan(handle), sender, callback, errorHandler, params);
+    }
+
+    /**
+     * 发射信号，返回在全部处理器结束（含重试）后完成的 future
+     * 结果包含准入结果以及每个处理器的结束状态和耗时；处理器异常不会使 future 异常完成
+     */
+    public CompletableFuture<EmitResult> emitAsync(String event, Object sender, Object... params) {
+        return emitAsyncPlan(resolvePlan(event), sender, params);
+    }
+
+    /**
+     * 通过预解析的句柄发射信号，返回在全部处理器结束（含重试）后完成的 future
+     */
+    public CompletableFuture<EmitResult> emitAsync(SignalHandle handle, Object sender, Object... params) {
+        return emitAsyncPlan(getDispatchPlan(handle), sender, params);
+    }
+
+    /**
+     * 按分发计划发射信号，返回在全部处理器结束后完成的 future
+     */
+    private CompletableFuture<EmitResult> emitAsyncPlan(DispatchPlan plan, Object sender, Object[] params) {
+        EmitResultCollector collector = new EmitResultCollector(plan);
+        EmitAdmission admission;
+        try {
+            admission = dispatch(plan, sender, collector, null, params);
+        } catch (RejectedExecutionException e) {
+            // 被执行器拒绝的处理器已逐个上报为 REJECTED，结果照常在其余处理器结束后完成
+            admission = EmitAdmission.ACCEPTED;
+        } catch (RuntimeException e) {
+            CompletableFuture<EmitResult> failed = new CompletableFuture<>();
+            failed.completeExceptionally(e);
+            return failed;
         }
+        return collector.result(admission);
+    }
 
-        // 2. 准备上下文
-        SignalContext context = prepareContext(params);
-        if (context == null) {
-            if (callback != null) {
-                callback.onError(event, sender, new RuntimeException("Failed to prepare context"), params);
-                callback.onComplete(event, sender, params);
-            }
-            return;
+    /**
+     * 按分发计划发射信号（带回调）
+     */
+    private EmitAdmission dispatch(DispatchPlan plan, Object sender, SignalCallback callback,
+                                   Consumer<Throwable> errorHandler, Object[] params) {
+        String event = plan.getEvent();
+
+        // 1. 检查保护机制
+        if (!plan.tryAcquire()) {
+            notRun(callback, event, sender, "Signal blocked (circuit open or rate limited)", params);
+            return EmitAdmission.REJECTED;
         }
 
+        // 2. 准备上下文，决定是否采样
+        SignalContext context = traceContext(event, params);
+
         // 3. 执行管道处理
-        Object[] processedParams = signalPipeline.processPipeline(event, sender, context, params);
+        Object[] processedParams = signalPipeline.processPipeline(plan, sender, context, params);
         if (processedParams == null) {
-            if (callback != null) {
-                callback.onError(event, sender, new RuntimeException("Signal blocked by pipeline"), params);
-                callback.onComplete(event, sender, params);
-            }
-            return;
+            notRun(callback, event, sender, "Signal blocked by pipeline", params);
+            return EmitAdmission.FILTERED;
         }
 
         // 4. 记录指标
-        SignalConfig config = signalRegistry.getConfig(event);
+        SignalConfig config = plan.getConfig();
         if (config.isRecordMetrics()) {
-            metrics.recordEmit(event);
+            plan.getCounters().recordEmit();
         }
 
         // 5. 获取处理器并发射
-        List<SigHandler> sigs = signalRegistry.getHandlers(event);
-        if (!signalRegistry.hasHandlers(event)) {
-            if (callback != null) {
-                callback.onError(event, sender, new RuntimeException("No handlers for event: " + event), params);
-                callback.onComplete(event, sender, params);
-            }
-            return;
+        if (!plan.hasHandlers()) {
+            notRun(callback, event, sender, "No handlers for event: " + event, params);
+            return EmitAdmission.NO_HANDLERS;
         }
 
         // 6. 根据配置选择同步或异步发射
+        callback = traceCallback(plan, context, callback);
         if (config.isAsync()) {
-            signalEmitter.emitAsync(event, sender, sigs, config, errorHandler, callback, protectionManager, metrics, processedParams);
-        } else {
-            signalEmitter.emitSync(event, sender, sigs, config, errorHandler, callback, protectionManager, metrics, processedParams);
+            return dispatchAsync(plan, sender, errorHandler, callback, processedParams);
+        }
+        signalEmitter.emitSync(plan, sender, errorHandler, callback, processedParams);
+        return EmitAdmission.ACCEPTED;
+    }
+
+    /**
+     * 同步批量发射同一事件
+     */
+    public int emitBatch(String event, Object sender, List<Object[]> paramsList) {
+        return emitBatchPlan(resolvePlan(event), sender, null, paramsList);
+    }
+
+    /**
+     * 同步批量发射同一事件
+     * 分发计划只解析一次，限流许可按整批一次获取，超出当前可用许可的事件被拒绝；与 lean 模式相同，处理器内联执行且不强制超时，
+     * 只有参数中带有上下文的事件才记录追踪 span
+     *
+     * @return 通过保护机制和管道、实际分发给处理器的事件数
+     */
+    public int emitBatch(SignalHandle handle, Object sender, Consumer<Throwable> errorHandler, List<Object[]> paramsList) {
+        return emitBatchPlan(getDispatchPlan(handle), sender, errorHandler, paramsList);
+    }
+
+    private int emitBatchPlan(DispatchPlan plan, Object sender, Consumer<Throwable> errorHandler,
+                              List<Object[]> paramsList) {
+        List<Object[]> batch = prepareBatch(plan, sender, paramsList);
+        if (!batch.isEmpty()) {
+            signalEmitter.emitBatchSync(plan, sender, errorHandler, batch);
         }
+        return batch.size();
+    }
+
+    /**
+     * 异步批量发射同一事件
+     */
+    public int emitBatchAsync(String event, Object sender, List<Object[]> paramsList) {
+        return emitBatchAsyncPlan(resolvePlan(event), sender, null, paramsList);
+    }
+
+    /**
+     * 异步批量发射同一事件
+     * 每个处理器按 batchChunkSize 分片接收事件，每个分片只提交一个执行器任务
+     *
+     * @return 通过保护机制和管道、实际分发给处理器的事件数
+     */
+    public int emitBatchAsync(SignalHandle handle, Object sender, Consumer<Throwable> errorHandler, List<Object[]> paramsList) {
+        return emitBatchAsyncPlan(getDispatchPlan(handle), sender, errorHandler, paramsList);
+    }
+
+    private int emitBatchAsyncPlan(DispatchPlan plan, Object sender, Consumer<Throwable> errorHandler,
+                                   List<Object[]> paramsList) {
+        List<Object[]> batch = prepareBatch(plan, sender, paramsList);
+        if (!batch.isEmpty()) {
+            signalEmitter.emitBatchAsync(plan, sender, errorHandler, batch);
+        }
+        return batch.size();
     }
 
     // ==================== 辅助方法 ====================
-    
+
     /**
-     * 准备上下文
+     * 按配置选择异步执行引擎：带排序键的信号进入有序通道，其余交给环形缓冲区分发器或执行器；
+     * 事件限制了在途数时先取得准入名额，名额不足按溢出策略处理
      */
-    private SignalContext prepareContext(Object... params) {
+    private EmitAdmission dispatchAsync(DispatchPlan plan, Object sender, Consumer<Throwable> errorHandler,
+                                        SignalCallback callback, Object[] params) {
+        AdmissionController admission = plan.getAdmission();
+        AdmissionController.Ticket ticket = null;
+        if (admission != null) {
+            ticket = admission.tryAdmit(plan.getHandlers().length);
+            if (ticket == null && admission.getPolicy() == OverflowPolicy.BLOCK) {
+                ticket = admission.admitBlocking(plan.getHandlers().length);
+                if (ticket == null) {
+                    notRun(callback, plan.getEvent(), sender, "Signal timed out waiting for an in-flight slot", params);
+                    return EmitAdmission.TIMED_OUT;
+                }
+            }
+            if (ticket == null) {
+                return overflow(plan, admission, sender, errorHandler, callback, params);
+            }
+        }
+
+        // 上下文即将交给其他线程
         SignalContext context = findContext(params);
+        if (context != null) {
+            context.share();
+        }
+
+        SignalConfig config = plan.getConfig();
+        if (config.hasOrderingKey()) {
+            Object key = config.resolveOrderingKey(params);
+            if (key != null) {
+                signalEmitter.emitOrdered(plan, getOrderedLanes(), key, ticket, sender, errorHandler, callback, params);
+                return EmitAdmission.ACCEPTED;
+            }
+        }
+        if (usesRingBuffer(plan.getConfig())
+                && getSignalDispatcher().publish(plan, ticket, sender, errorHandler, callback, params)) {
+            return EmitAdmission.ACCEPTED;
+        }
+        signalEmitter.emitAsync(plan, ticket, sender, errorHandler, callback, params);
+        return EmitAdmission.ACCEPTED;
+    }
+
+    /**
+     * 在途数已达上限时按溢出策略处理（BLOCK 已在调用方等待过）
+     */
+    private EmitAdmission overflow(DispatchPlan plan, AdmissionController admission, Object sender,
+                                   Consumer<Throwable> errorHandler, SignalCallback callback, Object[] params) {
+        String event = plan.getEvent();
+        switch (admission.getPolicy()) {
+            case CALLER_RUNS:
+                admission.recordCallerRuns();
+                signalEmitter.emitSync(plan, sender, errorHandler, callback, params);
+                return EmitAdmission.CALLER_RUNS;
+            case SPILL:
+                boolean spilled = spill(plan, sender, params);
+                admission.recordSpilled(spilled);
+                if (spilled) {
+                    notRun(callback, event, sender, "Signal spilled to persistence", params);
+                    return EmitAdmission.SPILLED;
+                }
+                log.warn("Signal [{}] over its in-flight limit could not be spilled and was dropped", event);
+                break;
+            default:
+                admission.recordDropped();
+                log.debug("Signal [{}] dropped: {} signals already in flight", event, admission.getInFlight());
+        }
+        notRun(callback, event, sender, "Signal dropped by overflow policy", params);
+        return EmitAdmission.DROPPED;
+    }
+
+    /**
+     * 交给溢出存储：优先使用注册的 {@link SignalSpillHandler}，否则为每个处理器写入一条数据库事件记录
+     */
+    private boolean spill(DispatchPlan plan, Object sender, Object[] params) {
+        try {
+            SignalSpillHandler handler = spillHandler;
+            if (handler != null) {
+                return handler.spill(plan, sender, params);
+            }
+            if (databasePersistence != null) {
+                SignalContext context = prepareContext(params);
+                for (SigHandler sig : plan.getHandlers()) {
+                    databasePersistence.saveEventRecord(sig, plan.getConfig(), context, params);
+                }
+                return true;
+            }
+        } catch (Exception e) {
+            log.error("Failed to spill signal [{}]: {}", plan.getEvent(), e.getMessage(), e);
+        }
+        return false;
+    }
+
+    /**
+     * 信号未交给处理器时通知回调
+     */
+    private void notRun(SignalCallback callback, String event, Object sender, String reason, Object[] params) {
+        if (callback != null) {
+            callback.onError(event, sender, new RuntimeException(reason), params);
+            callback.onComplete(event, sender, params);
+            if (callback instanceof TraceCallback) {
+                ((TraceCallback) callback).abandon();
+            }
+        }
+    }
+
+    /**
+     * 调用方传入了上下文且启用了追踪存储时，包装回调以便在最后一个处理器结束时记录追踪
+     */
+    private SignalCallback traceCallback(DispatchPlan plan, SignalContext context, SignalCallback callback) {
         if (context == null) {
-            context = new SignalContext();
-            Object[] newParams = new Object[params.length + 1];
-            newParams[0] = context;
-            System.arraycopy(params, 0, newParams, 1, params.length);
-            return context;
+            return callback;
+        }
+        BatchSpanProcessor processor = getSpanProcessor();
+        return processor.isActive() ? new TraceCallback(callback, processor, context, plan) : callback;
+    }
+
+    private boolean usesRingBuffer(SignalConfig config) {
+        DispatcherType type = config.getDispatcher();
+        if (type == null || type == DispatcherType.DEFAULT) {
+            type = signalProperties != null ? signalProperties.getAsyncDispatcher() : null;
+        }
+        return type == DispatcherType.RING_BUFFER;
+    }
+
+    private SignalDispatcher getSignalDispatcher() {
+        SignalDispatcher dispatcher = signalDispatcher;
+        if (dispatcher == null) {
+            synchronized (planLock) {
+                dispatcher = signalDispatcher;
+                if (dispatcher == null) {
+                    int bufferSize = 65536;
+                    int stripes = 0;
+                    SignalDispatcher.WaitStrategy waitStrategy = SignalDispatcher.WaitStrategy.PARK;
+                    if (signalProperties != null) {
+                        if (signalProperties.getRingBufferSize() != null) {
+                            bufferSize = signalProperties.getRingBufferSize();
+                        }
+                        if (signalProperties.getRingBufferStripes() != null) {
+                            stripes = signalProperties.getRingBufferStripes();
+                        }
+                        if (signalProperties.getRingBufferWaitStrategy() != null) {
+                            waitStrategy = signalProperties.getRingBufferWaitStrategy();
+                        }
+                    }
+                    if (stripes <= 0) {
+                        stripes = Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+                    }
+                    dispatcher = new SignalDispatcher(bufferSize, stripes, waitStrategy, signalEmitter);
+                    signalDispatcher = dispatcher;
+                }
+            }
+        }
+        return dispatcher;
+    }
+
+    /**
+     * 获取追踪采样器，可在运行时调整全局或单个事件的采样率
+     */
+    public TraceSampler getTraceSampler() {
+        TraceSampler sampler = traceSampler;
+        if (sampler == null) {
+            synchronized (planLock) {
+                sampler = traceSampler;
+                if (sampler == null) {
+                    double rate = 1.0;
+                    if (signalProperties != null && signalProperties.getTraceSampleRate() != null) {
+                        rate = signalProperties.getTraceSampleRate();
+                    }
+                    sampler = new TraceSampler(rate);
+                    if (signalProperties != null && signalProperties.getTraceEventSampleRates() != null) {
+                        for (Map.Entry<String, Double> entry : signalProperties.getTraceEventSampleRates().entrySet()) {
+                            sampler.setEventRate(entry.getKey(), entry.getValue());
+                        }
+                    }
+                    traceSampler = sampler;
+                }
+            }
+        }
+        return sampler;
+    }
+
+    /**
+     * 获取追踪存储，容量配置为 0 时返回 null
+     */
+    public TraceStore getTraceStore() {
+        if (!traceStoreResolved) {
+            synchronized (planLock) {
+                if (!traceStoreResolved) {
+                    int capacity = TraceStore.DEFAULT_CAPACITY;
+                    long retentionMs = 600000L;
+                    long slowThresholdMs = 1000L;
+                    boolean keepSampled = true;
+                    if (signalProperties != null) {
+                        if (signalProperties.getTraceStoreCapacity() != null) {
+                            capacity = signalProperties.getTraceStoreCapacity();
+                        }
+                        if (signalProperties.getTraceRetentionMs() != null) {
+                            retentionMs = signalProperties.getTraceRetentionMs();
+                        }
+                        if (signalProperties.getTraceSlowThresholdMs() != null) {
+                            slowThresholdMs = signalProperties.getTraceSlowThresholdMs();
+                        }
+                        if (signalProperties.getTraceKeepSampled() != null) {
+                            keepSampled = signalProperties.getTraceKeepSampled();
+                        }
+                    }
+                    if (capacity > 0) {
+                        traceStore = new TraceStore(capacity, retentionMs, slowThresholdMs, keepSampled);
+                    }
+                    traceStoreResolved = true;
+                }
+            }
+        }
+        return traceStore;
+    }
+
+    /**
+     * 获取追踪处理器：结束的追踪在它的后台线程中按尾部采样规则保留，并交给注册的导出器
+     */
+    public BatchSpanProcessor getSpanProcessor() {
+        BatchSpanProcessor processor = spanProcessor;
+        if (processor == null) {
+            TraceStore store = getTraceStore();
+            synchronized (planLock) {
+                processor = spanProcessor;
+                if (processor == null) {
+                    int queueSize = BatchSpanProcessor.DEFAULT_MAX_QUEUE_SIZE;
+                    int batchSize = BatchSpanProcessor.DEFAULT_MAX_BATCH_SIZE;
+                    long delayMs = BatchSpanProcessor.DEFAULT_SCHEDULE_DELAY_MS;
+                    if (signalProperties != null) {
+                        if (signalProperties.getTraceExportQueueSize() != null) {
+                            queueSize = signalProperties.getTraceExportQueueSize();
+                        }
+                        if (signalProperties.getTraceExportBatchSize() != null) {
+                            batchSize = signalProperties.getTraceExportBatchSize();
+                        }
+                        if (signalProperties.getTraceExportDelayMs() != null) {
+                            delayMs = signalProperties.getTraceExportDelayMs();
+                        }
+                    }
+                    processor = new BatchSpanProcessor(store, queueSize, batchSize, delayMs);
+                    if (spanExporters != null) {
+                        for (SpanExporter exporter : spanExporters) {
+                            processor.addExporter(exporter);
+                        }
+                    }
+                    if (signalProperties != null && signalProperties.getTraceExportFile() != null
+                            && !signalProperties.getTraceExportFile().isEmpty()) {
+                        try {
+                            processor.addExporter(new OtlpJsonFileExporter(signalProperties.getTraceExportFile(),
+                                    signalProperties.getTraceServiceName()));
+                        } catch (IOException e) {
+                            log.error("Failed to open trace export file {}: {}",
+                                    signalProperties.getTraceExportFile(), e.getMessage(), e);
+                        }
+                    }
+                    spanProcessor = processor;
+                }
+            }
+        }
+        return processor;
+    }
+
+    /**
+     * 注册追踪导出器
+     */
+    public void addSpanExporter(SpanExporter exporter) {
+        getSpanProcessor().addExporter(exporter);
+    }
+
+    private OrderedLanes getOrderedLanes() {
+        OrderedLanes lanes = orderedLanes;
+        if (lanes == null) {
+            synchronized (planLock) {
+                lanes = orderedLanes;
+                if (lanes == null) {
+                    int laneCount = 64;
+                    if (signalProperties != null && signalProperties.getOrderedLaneCount() != null) {
+                        laneCount = signalProperties.getOrderedLaneCount();
+                    }
+                    lanes = new OrderedLanes(laneCount, executorService);
+                    orderedLanes = lanes;
+                }
+            }
+        }
+        return lanes;
+    }
+
+    /**
+     * 批量发射前的保护检查与管道处理，返回需要分发给处理器的参数列表
+     */
+    private List<Object[]> prepareBatch(DispatchPlan plan, Object sender, List<Object[]> paramsList) {
+        String event = plan.getEvent();
+        if (paramsList == null || paramsList.isEmpty()) {
+            return Collections.emptyList();
+        }
+        CircuitBreaker circuitBreaker = plan.getCircuitBreaker();
+        if (circuitBreaker != null && circuitBreaker.isOpen()) {
+            log.debug("Signal batch [{}] blocked by circuit breaker", event);
+            return Collections.emptyList();
+        }
+        RateLimiter rateLimiter = plan.getRateLimiter();
+        if (rateLimiter != null) {
+            // 批次可以大于突发容量：接纳当前可用许可对应的前一部分事件，其余的按限流拒绝
+            int granted = rateLimiter.tryAcquireUpTo(paramsList.size());
+            if (granted < paramsList.size()) {
+                log.warn("Signal batch [{}]: {} of {} events rejected by rate limiter",
+                        event, paramsList.size() - granted, paramsList.size());
+                if (granted == 0) {
+                    return Collections.emptyList();
+                }
+                paramsList = paramsList.subList(0, granted);
+            }
+        }
+
+        List<Object[]> batch = new ArrayList<>(paramsList.size());
+        for (Object[] params : paramsList) {
+            Object[] processedParams = signalPipeline.processPipeline(plan, sender, traceContext(event, params), params);
+            if (processedParams != null) {
+                batch.add(processedParams);
+            }
+        }
+
+        if (plan.getConfig().isRecordMetrics() && !batch.isEmpty()) {
+            plan.getCounters().recordEmits(batch.size());
+        }
+        if (!plan.hasHandlers()) {
+            log.debug("No handlers found for signal [{}]", event);
+            return Collections.emptyList();
+        }
+        return batch;
+    }
+
+    /**
+     * lean 模式发射信号
+     * 不主动创建上下文，调用方未传入上下文时管道与处理器都不记录追踪 span
+     */
+    private EmitAdmission emitLean(DispatchPlan plan, Object sender,
+                                   Consumer<Throwable> errorHandler, Object[] params) {
+        String event = plan.getEvent();
+        if (!plan.tryAcquire()) {
+            log.debug("Signal [{}] blocked by protection manager", event);
+            return EmitAdmission.REJECTED;
+        }
+
+        SignalContext context = traceContext(event, params);
+        Object[] processedParams = signalPipeline.processPipeline(plan, sender, context, params);
+        if (processedParams == null) {
+            log.debug("Signal [{}] blocked by pipeline", event);
+            return EmitAdmission.FILTERED;
+        }
+
+        SignalConfig config = plan.getConfig();
+        if (config.isRecordMetrics()) {
+            plan.getCounters().recordEmit();
+        }
+
+        if (!plan.hasHandlers()) {
+            log.debug("No handlers found for signal [{}]", event);
+            return EmitAdmission.NO_HANDLERS;
+        }
+        signalEmitter.emitLean(plan, sender, errorHandler, context, processedParams);
+        return EmitAdmission.ACCEPTED;
+    }
+
+    /**
+     * 按事件名解析分发计划
+     * 只查找已有的句柄，不为未绑定过的事件名分配槽位和计数器，动态拼接的事件名不会无限占用内存；
+     * 事件名匹配已绑定的通配模式时才创建句柄，否则返回没有任何组件的空计划
+     */
+    private DispatchPlan resolvePlan(String event) {
+        SignalHandle handle = handles.get(event);
+        if (handle != null) {
+            return handle.getPlan();
+        }
+        if (!topicPatterns.isEmpty() && !topicPatterns.match(event).isEmpty()) {
+            return getDispatchPlan(handle(event));
+        }
+        return unboundPlan(event);
+    }
+
+    /**
+     * 获取未绑定事件的空计划，事件配置变更（如 clear 之后）时按新配置重建
+     */
+    private DispatchPlan unboundPlan(String event) {
+        SignalConfig config = signalRegistry.getConfig(event);
+        int slot = event.hashCode() & (UNBOUND_PLAN_SLOTS - 1);
+        DispatchPlan plan = unboundPlans[slot];
+        if (plan != null && plan.getConfig() == config && plan.getEvent().equals(event)) {
+            return plan;
+        }
+        plan = DispatchPlan.empty(event, config, unboundCounters);
+        unboundPlans[slot] = plan;
+        return plan;
+    }
+
+    /**
+     * 获取句柄对应的分发计划
+     */
+    private DispatchPlan getDispatchPlan(SignalHandle handle) {
+        if (handle.getOwner() != this) {
+            // 其他 Signals 实例创建的句柄，按事件名重新解析
+            handle = handle(handle.getEvent());
+        }
+        return handle.getPlan();
+    }
+
+    /**
+     * 重新构建事件的分发计划（写时复制）
+     * 每个事件单独重建，不同事件的注册变更互不阻塞；构建前读取当前计划，构建后以 CAS 替换，
+     * 期间有其他变更抢先发布时基于最新状态重新构建，保证最后发布的计划反映最后一次变更。
+     * 通配模式发生变更时只在锁内增删模式，随后在锁外逐个重建匹配它的事件的计划，模式上最后一个组件移除后模式随之移除
+     */
+    private void rebuildPlan(String event) {
+        if (TopicTrie.isPattern(event)) {
+            synchronized (planLock) {
+                // 与句柄创建互斥：锁内创建的句柄在下面的遍历中可见，锁后创建的句柄构建时已能匹配到模式
+                if (isBound(event)) {
+                    topicPatterns.add(event, event);
+                } else if (!topicPatterns.remove(event, event)) {
+                    return;
+                }
+            }
+            for (SignalHandle handle : handles.values()) {
+                if (!handle.getEvent().equals(event) && TopicTrie.matches(event, handle.getEvent())) {
+                    publishPlan(handle);
+                }
+            }
+            return;
+        }
+        SignalHandle handle = handles.get(event);
+        // 句柄可能由其他线程在这次变更之前创建，创建后仍需重建一次
+        publishPlan(handle != null ? handle : handle(event));
+    }
+
+    /**
+     * 基于最新的注册状态构建句柄的分发计划，并以 CAS 发布
+     */
+    private void publishPlan(SignalHandle handle) {
+        DispatchPlan current;
+        do {
+            current = handle.getPlan();
+        } while (!handle.compareAndSetPlan(current, buildPlan(handle.getEvent())));
+    }
+
+    /**
+     * @return true 表示事件（或模式）上还绑定着处理器或管道组件
+     */
+    private boolean isBound(String event) {
+        return signalRegistry.getHandlerArray(event).length > 0
+                || signalPipeline.getInterceptors(event).length > 0
+                || signalPipeline.getSortedFilters(event).length > 0
+                || signalPipeline.getTransformers(event).length > 0;
+    }
+
+    /**
+     * 创建句柄并构建它的第一个分发计划，计划就绪后才发布句柄，调用方持有 planLock
+     */
+    private SignalHandle createHandle(String event) {
+        SignalHandle handle = new SignalHandle(this, event, handles.size(), buildPlan(event));
+        handles.put(event, handle);
+        return handle;
+    }
+
+    private DispatchPlan buildPlan(String event) {
+        List<String> patterns = topicPatterns.match(event);
+        patterns.remove(event);
+        SignalConfig config = signalRegistry.findConfig(event);
+        for (int i = 0; config == null && i < patterns.size(); i++) {
+            config = signalRegistry.findConfig(patterns.get(i));
+        }
+        if (config == null) {
+            config = signalRegistry.getConfig(event);
+        }
+
+        SigHandler[] handlers = signalRegistry.getHandlerArray(event);
+        SignalInterceptor[] interceptors = signalPipeline.getInterceptors(event);
+        SignalFilter[] filters = signalPipeline.getSortedFilters(event);
+        SignalTransformer[] transformers = signalPipeline.getTransformers(event);
+        if (!patterns.isEmpty()) {
+            handlers = merge(handlers, patterns, signalRegistry::getHandlerArray);
+            interceptors = merge(interceptors, patterns, signalPipeline::getInterceptors);
+            filters = merge(filters, patterns, signalPipeline::getSortedFilters);
+            Arrays.sort(filters, Comparator.comparingInt(SignalFilter::getPriority));
+            transformers = merge(transformers, patterns, signalPipeline::getTransformers);
+        }
+        return new DispatchPlan(
+                event,
+                config,
+                protectionManager.getCircuitBreaker(event),
+                protectionManager.getRateLimiter(event),
+                interceptors,
+                filters,
+                transformers,
+                handlers,
+                metrics.counters(event),
+                admissionFor(event, config));
+    }
+
+    /**
+     * 在事件自身的组件之后依次追加匹配模式上的组件
+     */
+    private static <T> T[] merge(T[] own, List<String> patterns, Function<String, T[]> lookup) {
+        List<T> merged = new ArrayList<>(Arrays.asList(own));
+        for (String pattern : patterns) {
+            merged.addAll(Arrays.asList(lookup.apply(pattern)));
+        }
+        return merged.toArray(Arrays.copyOf(own, 0));
+    }
+
+    /**
+     * 获取事件的准入控制器；配置未变时沿用已有实例，保留在途计数
+     */
+    private AdmissionController admissionFor(String event, SignalConfig config) {
+        if (config == null || config.getMaxInFlight() <= 0) {
+            admissions.remove(event);
+            return null;
+        }
+        AdmissionController current = admissions.get(event);
+        if (current != null && current.matches(config)) {
+            return current;
+        }
+        // 同一事件可能被并发重建，原子地替换，相同配置的构建得到同一个控制器
+        return admissions.compute(event, (k, existing) -> existing != null && existing.matches(config)
+                ? existing
+                : new AdmissionController(config.getMaxInFlight(), config.getOverflowPolicy(),
+                        config.getOverflowTimeoutMs()));
+    }
+
+    /**
+     * 找到调用方传入的上下文，并在尚未决定时为它做一次采样决定；调用方未传入上下文时不追踪
+     */
+    private SignalContext traceContext(String event, Object[] params) {
+        SignalContext context = findContext(params);
+        if (context != null && !context.hasSamplingDecision()) {
+            context.setSampled(getTraceSampler().sample(event));
         }
         return context;
     }
+
+    /**
+     * 准备上下文
+     */
+    private SignalContext prepareContext(Object... params) {
+        SignalContext context = findContext(params);
+        return context != null ? context : new SignalContext();
+    }
     
     /**
      * 找到上下文
@@ -276,6 +1031,16 @@ public class Signals implements DisposableBean {
         
         // 1. 清理所有事件处理器
         signalRegistry.clearAll();
+        synchronized (planLock) {
+            for (String pattern : topicPatterns.values()) {
+                if (!isBound(pattern)) {
+                    topicPatterns.remove(pattern, pattern);
+                }
+            }
+        }
+        for (SignalHandle handle : handles.values()) {
+            publishPlan(handle);
+        }
         
         // 2. 关闭线程池
         shutdown();
@@ -287,6 +1052,15 @@ public class Signals implements DisposableBean {
      * 关闭执行器服务
      */
     public void shutdown() {
+        BatchSpanProcessor processor = spanProcessor;
+        if (processor != null) {
+            processor.close();
+        }
+        SignalDispatcher dispatcher = signalDispatcher;
+        if (dispatcher != null) {
+            log.info("正在关闭环形缓冲区分发器...");
+            dispatcher.shutdown(60000);
+        }
         if (executorService != null && !executorService.isShutdown()) {
             log.info("正在关闭信号处理线程池...");
             executorService.shutdown();
@@ -306,6 +1080,11 @@ public class Signals implements DisposableBean {
                 Thread.currentThread().interrupt();
             }
         }
+        // 线程池关闭后停止定时器，尚未到期的重试随之丢弃
+        signalTimer.shutdown();
+        if (holdsClock.compareAndSet(true, false)) {
+            CoarseClock.release();
+        }
     }
 
     /**
@@ -313,6 +1092,9 @@ public class Signals implements DisposableBean {
      */
     public void clear(String... events) {
         signalRegistry.clear(events);
+        for (String event : events) {
+            rebuildPlan(event);
+        }
     }
 
     /**
@@ -322,11 +1104,41 @@ public class Signals implements DisposableBean {
         return metrics;
     }
 
+    /**
+     * 获取事件各处理器的排队和执行耗时分布，键为处理器名（没有名字时为处理器 ID），尚未记录过耗时的处理器不出现
+     */
+    public Map<String, SignalMetrics.Latencies> getHandlerLatencies(String event) {
+        Map<String, SignalMetrics.Latencies> result = new LinkedHashMap<>();
+        for (SigHandler sig : signalRegistry.getHandlerArray(event)) {
+            SignalMetrics.Latencies latencies = sig.latenciesIfRecorded();
+            if (latencies != null) {
+                result.put(sig.getHandlerName() != null ? sig.getHandlerName() : String.valueOf(sig.getId()), latencies);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 获取事件的准入指标（在途数及各溢出策略的计数），未限制在途数时返回空表
+     */
+    public Map<String, Object> getAdmissionMetrics(String event) {
+        AdmissionController admission = admissions.get(event);
+        return admission != null ? admission.getMetrics() : Collections.emptyMap();
+    }
+
+    /**
+     * 设置溢出存储，OverflowPolicy.SPILL 的信号交给它保存
+     */
+    public void setSpillHandler(SignalSpillHandler spillHandler) {
+        this.spillHandler = spillHandler;
+    }
+
     /**
      * 绑定信号过滤器
      */
     public void addFilter(String event, SignalFilter filter) {
         signalPipeline.addFilter(event, filter);
+        rebuildPlan(event);
     }
 
     /**
@@ -334,6 +1146,7 @@ public class Signals implements DisposableBean {
      */
     public void addSignalTransformer(String event, SignalTransformer transformer) {
         signalPipeline.addTransformer(event, transformer);
+        rebuildPlan(event);
     }
 
     /**
@@ -341,6 +1154,7 @@ public class Signals implements DisposableBean {
      */
     public void addSignalInterceptor(String event, SignalInterceptor interceptor) {
         signalPipeline.addInterceptor(event, interceptor);
+        rebuildPlan(event);
     }
 
     /**
@@ -349,6 +1163,7 @@ public class Signals implements DisposableBean {
     public void configureProtection(String event, CircuitBreaker breaker, RateLimiter limiter) {
         protectionManager.registerCircuitBreaker(event, breaker);
         protectionManager.registerRateLimiter(event, limiter);
+        rebuildPlan(event);
     }
     
     /**
@@ -357,20 +1172,34 @@ public class Signals implements DisposableBean {
     public void autoConfigureProtection(String event) {
         if (signalProperties != null && signalProperties.getProtectionEnabled()) {
             // 自动创建熔断器
-            CircuitBreaker breaker = new CircuitBreaker(
-                signalProperties.getCircuitBreakerFailureThreshold(),
-                signalProperties.getCircuitBreakerOpenTimeoutMs(),
-                signalProperties.getCircuitBreakerHalfOpenTrialCount()
-            );
+            CircuitBreaker.Builder breakerBuilder = new CircuitBreaker.Builder()
+                .failureThreshold(signalProperties.getCircuitBreakerFailureThreshold())
+                .openTimeoutMs(signalProperties.getCircuitBreakerOpenTimeoutMs())
+                .halfOpenTrialCount(signalProperties.getCircuitBreakerHalfOpenTrialCount());
+            if (signalProperties.getCircuitBreakerErrorRateThreshold() != null) {
+                breakerBuilder.failureRateThreshold(signalProperties.getCircuitBreakerErrorRateThreshold());
+            }
+            if (signalProperties.getCircuitBreakerSlowCallRateThreshold() != null) {
+                breakerBuilder.slowCallRateThreshold(signalProperties.getCircuitBreakerSlowCallRateThreshold(),
+                    signalProperties.getCircuitBreakerSlowCallDurationMs());
+            }
+            if (signalProperties.getCircuitBreakerMinimumCalls() != null) {
+                breakerBuilder.minimumCalls(signalProperties.getCircuitBreakerMinimumCalls());
+            }
+            CircuitBreaker breaker = breakerBuilder.build();
             
             // 自动创建限流器
+            int maxRequestsPerSecond = signalProperties.getRateLimiterMaxRequestsPerSecond();
+            Integer burstCapacity = signalProperties.getRateLimiterBurstCapacity();
             RateLimiter limiter = new RateLimiter(
-                signalProperties.getRateLimiterMaxRequestsPerSecond()
+                maxRequestsPerSecond,
+                burstCapacity != null ? burstCapacity : maxRequestsPerSecond
             );
             
             // 注册保护机制
             protectionManager.registerCircuitBreaker(event, breaker);
             protectionManager.registerRateLimiter(event, limiter);
+            rebuildPlan(event);
             
             log.info("自动配置保护机制完成: {} - 熔断器阈值:{}, 限流器QPS:{}", 
                     event, 
@@ -0,0 +1,19 @@
+package com.hibiscus.signal.config;
+
+/**
+ * Enumeration of the engines that can run async signal handlers.
+ * <p>
+ * Selected per event through {@link SignalConfig} or globally through the
+ * {@code hibiscus.async-dispatcher} property.
+ */
+public enum DispatcherType {
+
+    /** Use the globally configured engine */
+    DEFAULT,
+
+    /** Submit each handler invocation to the signal executor (default engine) */
+    EXECUTOR,
+
+    /** Hand events to the preallocated ring buffer of {@code SignalDispatcher} */
+    RING_BUFFER
+}
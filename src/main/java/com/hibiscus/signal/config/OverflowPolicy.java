@@ -0,0 +1,24 @@
+package com.hibiscus.signal.config;
+
+/**
+ * What an async emit does when its event already has the maximum number of signals in flight.
+ * <p>
+ * Only applies when {@link SignalConfig#getMaxInFlight()} is positive.
+ */
+public enum OverflowPolicy {
+
+    /** Drop the signal being emitted. */
+    DROP_NEWEST,
+
+    /** Drop the oldest signal that is still waiting to start, then admit the new one. */
+    DROP_OLDEST,
+
+    /** Wait up to {@link SignalConfig#getOverflowTimeoutMs()} for a slot, then drop the signal. */
+    BLOCK,
+
+    /** Hand the signal to the spill handler (persistence) instead of running it. */
+    SPILL,
+
+    /** Run the handlers synchronously on the emitting thread. */
+    CALLER_RUNS
+}
@@ -1,5 +1,9 @@
 package com.hibiscus.signal.config;
 
+import com.hibiscus.signal.core.SignalContext;
+
+import java.util.function.Function;
+
 /**
  * Configuration class that defines behavior for signal handling.
  * <p>
@@ -21,7 +25,12 @@ public class SignalConfig {
     /** Maximum number of concurrent handlers allowed. */
     private final int maxHandlers;
 
-    /** Timeout for signal processing in milliseconds. */
+    /**
+     * Timeout for signal processing in milliseconds; 0 or less disables it.
+     * A synchronous handler runs on the emitting thread, so the timeout interrupts that thread. A handler
+     * that ignores interrupts (busy loops, blocking I/O that is not interruptible) keeps running, and the
+     * emitter stays blocked until it returns; the timeout is then reported after the fact.
+     */
     private final long timeoutMs;
 
     /** Whether to record processing metrics. */
@@ -36,6 +45,39 @@ public class SignalConfig {
     /** Whether the signal is persistent across restarts. */
     private final boolean persistent;
 
+    /** Whether synchronous emits use the allocation-free lean path. */
+    private final boolean lean;
+
+    /** Factor applied to the retry delay after each failed attempt; 1 keeps a fixed delay. */
+    private final double retryBackoffMultiplier;
+
+    /** Upper bound for the retry delay once backoff is applied. */
+    private final long maxRetryDelayMs;
+
+    /** Random spread applied to each retry delay, as a fraction (0..1) of the delay. */
+    private final double retryJitter;
+
+    /** Engine that runs async handlers for this signal. */
+    private final DispatcherType dispatcher;
+
+    /**
+     * Extracts the ordering key from the emitted params; null for unordered delivery.
+     * Deliberately exposed without a bean getter so persisted configs stay plain JSON.
+     */
+    private final transient Function<Object[], ?> orderingKey;
+
+    /** Maximum number of events handed to a handler in one task by an async batch emit. */
+    private final int batchChunkSize;
+
+    /** Maximum number of async emits of this signal in flight at once; 0 means unbounded. */
+    private final int maxInFlight;
+
+    /** What an async emit does when the in-flight limit is reached. */
+    private final OverflowPolicy overflowPolicy;
+
+    /** How long {@link OverflowPolicy#BLOCK} waits for a free slot. */
+    private final long overflowTimeoutMs;
+
     /**
      * Default constructor for Jackson deserialization.
      */
@@ -49,6 +91,16 @@ public class SignalConfig {
         this.priority = SignalPriority.MEDIUM;
         this.groupName = null;
         this.persistent = false;
+        this.lean = false;
+        this.retryBackoffMultiplier = 1.0;
+        this.maxRetryDelayMs = 60000;
+        this.retryJitter = 0;
+        this.dispatcher = DispatcherType.DEFAULT;
+        this.orderingKey = null;
+        this.batchChunkSize = 256;
+        this.maxInFlight = 0;
+        this.overflowPolicy = OverflowPolicy.CALLER_RUNS;
+        this.overflowTimeoutMs = 1000;
     }
 
     /**
@@ -66,6 +118,16 @@ public class SignalConfig {
         this.priority = builder.priority;
         this.groupName = builder.groupName;
         this.persistent = builder.persistent;
+        this.lean = builder.lean;
+        this.retryBackoffMultiplier = builder.retryBackoffMultiplier;
+        this.maxRetryDelayMs = builder.maxRetryDelayMs;
+        this.retryJitter = builder.retryJitter;
+        this.dispatcher = builder.dispatcher;
+        this.orderingKey = builder.orderingKey;
+        this.batchChunkSize = builder.batchChunkSize;
+        this.maxInFlight = builder.maxInFlight;
+        this.overflowPolicy = builder.overflowPolicy;
+        this.overflowTimeoutMs = builder.overflowTimeoutMs;
     }
 
     /**
@@ -82,6 +144,16 @@ public class SignalConfig {
         private SignalPriority priority = SignalPriority.MEDIUM;
         private String groupName = null;
         private boolean persistent = false;
+        private boolean lean = false;
+        private double retryBackoffMultiplier = 1.0;
+        private long maxRetryDelayMs = 60000;
+        private double retryJitter = 0;
+        private DispatcherType dispatcher = DispatcherType.DEFAULT;
+        private Function<Object[], ?> orderingKey = null;
+        private int batchChunkSize = 256;
+        private int maxInFlight = 0;
+        private OverflowPolicy overflowPolicy = OverflowPolicy.CALLER_RUNS;
+        private long overflowTimeoutMs = 1000;
 
         /**
          * Sets whether the signal should be handled asynchronously.
@@ -129,8 +201,10 @@ public class SignalConfig {
 
         /**
          * Sets the signal handling timeout in milliseconds.
+         * The timeout is enforced by interrupting the thread running the handler (the caller's thread for
+         * synchronous emits); a handler that does not respond to interrupts is not bounded by it.
          *
-         * @param timeoutMs timeout in ms
+         * @param timeoutMs timeout in ms, 0 or less to disable
          * @return the builder instance
          */
         public Builder timeoutMs(long timeoutMs) {
@@ -182,6 +256,132 @@ public class SignalConfig {
             return this;
         }
 
+        /**
+         * Sets whether synchronous emits should use the lean path.
+         * <p>
+         * In lean mode handlers run inline on the emitting thread, a {@code SignalContext}
+         * and tracing spans are only produced when the caller passes a context, and
+         * {@code timeoutMs} is not enforced. A sync emit without a callback to already
+         * registered handlers then allocates nothing in steady state. Async signals ignore
+         * this flag.
+         * <p>
+         * {@code maxRetries} still applies, and the backoff between attempts is slept on the
+         * emitting thread, so a failing handler holds up the caller for the whole retry
+         * schedule. Use {@code maxRetries(0)} when the caller must never block.
+         *
+         * @param lean true to enable the lean emit path
+         * @return the builder instance
+         */
+        public Builder lean(boolean lean) {
+            this.lean = lean;
+            return this;
+        }
+
+        /**
+         * Sets exponential backoff for retries.
+         * The n-th retry waits {@code retryDelayMs * multiplier^(n-1)}, capped at {@code maxRetryDelayMs}.
+         *
+         * @param multiplier      factor applied after each failed attempt, 1 for a fixed delay
+         * @param maxRetryDelayMs upper bound for a single retry delay
+         * @return the builder instance
+         */
+        public Builder retryBackoff(double multiplier, long maxRetryDelayMs) {
+            this.retryBackoffMultiplier = multiplier;
+            this.maxRetryDelayMs = maxRetryDelayMs;
+            return this;
+        }
+
+        /**
+         * Sets the random spread of retry delays so that failing handlers do not retry in lockstep.
+         *
+         * @param retryJitter fraction (0..1) by which each delay may deviate either way
+         * @return the builder instance
+         */
+        public Builder retryJitter(double retryJitter) {
+            this.retryJitter = retryJitter;
+            return this;
+        }
+
+        /**
+         * Sets the engine that runs async handlers of this signal.
+         * {@link DispatcherType#DEFAULT} follows the globally configured engine.
+         *
+         * @param dispatcher the dispatcher type
+         * @return the builder instance
+         */
+        public Builder dispatcher(DispatcherType dispatcher) {
+            this.dispatcher = dispatcher;
+            return this;
+        }
+
+        /**
+         * Sets the ordering key of async deliveries.
+         * Signals whose params map to equal keys are handled one at a time in emit order;
+         * signals with different keys still run in parallel. A null key means unordered.
+         *
+         * @param orderingKey extracts the key from the (transformed) emit params
+         * @return the builder instance
+         */
+        public Builder orderingKey(Function<Object[], ?> orderingKey) {
+            this.orderingKey = orderingKey;
+            return this;
+        }
+
+        /**
+         * Uses an attribute of the {@code SignalContext} passed in the params as the ordering key.
+         *
+         * @param attribute the context attribute name
+         * @return the builder instance
+         * @see #orderingKey(Function)
+         */
+        public Builder orderingKeyAttribute(String attribute) {
+            this.orderingKey = params -> {
+                for (Object param : params) {
+                    if (param instanceof SignalContext) {
+                        return ((SignalContext) param).getAttribute(attribute);
+                    }
+                }
+                return null;
+            };
+            return this;
+        }
+
+        /**
+         * Sets how many events an async batch emit hands to a handler in one executor task.
+         *
+         * @param batchChunkSize the chunk size, values below 1 are treated as 1
+         * @return the builder instance
+         */
+        public Builder batchChunkSize(int batchChunkSize) {
+            this.batchChunkSize = batchChunkSize;
+            return this;
+        }
+
+        /**
+         * Bounds the number of async emits of this signal that may be in flight (queued or running) at once.
+         * An emit stays in flight until all of its handlers have finished, including retries.
+         *
+         * @param maxInFlight    the in-flight limit, 0 for unbounded
+         * @param overflowPolicy what an emit over the limit does
+         * @return the builder instance
+         */
+        public Builder maxInFlight(int maxInFlight, OverflowPolicy overflowPolicy) {
+            this.maxInFlight = maxInFlight;
+            this.overflowPolicy = overflowPolicy;
+            return this;
+        }
+
+        /**
+         * Sets how long {@link OverflowPolicy#BLOCK} waits for a free in-flight slot.
+         *
+         * @param overflowTimeoutMs the wait in milliseconds
+         * @return the builder instance
+         */
+        public Builder overflowTimeoutMs(long overflowTimeoutMs) {
+            this.overflowTimeoutMs = overflowTimeoutMs;
+            return this;
+        }
+
         /**
          * Builds and returns a {@link SignalConfig} instance with the specified settings.
          *
@@ -230,6 +430,59 @@ public class SignalConfig {
         return persistent;
     }
 
+    public boolean isLean() {
+        return lean;
+    }
+
+    public double getRetryBackoffMultiplier() {
+        return retryBackoffMultiplier;
+    }
+
+    public long getMaxRetryDelayMs() {
+        return maxRetryDelayMs;
+    }
+
+    public double getRetryJitter() {
+        return retryJitter;
+    }
+
+    public DispatcherType getDispatcher() {
+        return dispatcher;
+    }
+
+    /**
+     * @return true if async deliveries of this signal are ordered by key
+     */
+    public boolean hasOrderingKey() {
+        return orderingKey != null;
+    }
+
+    /**
+     * Resolves the ordering key of one emit.
+     *
+     * @param params the emit params
+     * @return the key, or null if the signal is unordered or the params carry no key
+     */
+    public Object resolveOrderingKey(Object[] params) {
+        return orderingKey != null ? orderingKey.apply(params) : null;
+    }
+
+    public int getBatchChunkSize() {
+        return batchChunkSize;
+    }
+
+    public int getMaxInFlight() {
+        return maxInFlight;
+    }
+
+    public OverflowPolicy getOverflowPolicy() {
+        return overflowPolicy;
+    }
+
+    public long getOverflowTimeoutMs() {
+        return overflowTimeoutMs;
+    }
+
     @Override
     public String toString() {
         return "SignalConfig{" +
@@ -242,6 +495,15 @@ public class SignalConfig {
                 ", priority=" + priority +
                 ", groupName='" + groupName + '\'' +
                 ", persistent=" + persistent +
+                ", lean=" + lean +
+                ", retryBackoffMultiplier=" + retryBackoffMultiplier +
+                ", maxRetryDelayMs=" + maxRetryDelayMs +
+                ", retryJitter=" + retryJitter +
+                ", dispatcher=" + dispatcher +
+                ", batchChunkSize=" + batchChunkSize +
+                ", maxInFlight=" + maxInFlight +
+                ", overflowPolicy=" + overflowPolicy +
+                ", overflowTimeoutMs=" + overflowTimeoutMs +
                 '}';
     }
 }
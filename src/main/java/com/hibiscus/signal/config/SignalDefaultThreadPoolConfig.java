@@ -1,12 +1,13 @@
 package com.hibiscus.signal.config;
 
+import com.hibiscus.signal.spring.config.SignalProperties;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
-import java.util.concurrent.*;
-import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Configuration class that provides a default ExecutorService for the Signal framework.
@@ -17,47 +18,27 @@ import java.util.concurrent.atomic.AtomicInteger;
 public class SignalDefaultThreadPoolConfig {
 
     /**
-     * Creates a default ExecutorService (ThreadPoolExecutor) for the Signal system.
-     * Configuration details:
-     * - Core thread count: number of CPU cores
-     * - Maximum thread count: (CPU cores * 2) + 1
-     * - Idle thread timeout: 60 seconds
-     * - Queue capacity: 2000 tasks
-     * - Rejection policy: CallerRunsPolicy (task runs in the caller's thread if the queue is full)
-     * - Custom thread factory with descriptive thread names and daemon threads
+     * Creates the default ExecutorService for the Signal system.
+     * {@code hibiscus.executor-mode} selects the threads async handlers, timeouts and retries run on:
+     * - platform (default): a bounded pool, see {@link SignalExecutors#newPlatformExecutor()}
+     * - virtual: a virtual-thread-per-task executor on JDK 21+, falling back to platform on older JVMs
+     * - priority: per-{@link SignalPriority} work-stealing pools, see {@link com.hibiscus.signal.core.PriorityExecutor}
+     * - adaptive: a pool resized between {@code executor-min-threads} and {@code executor-max-threads} to keep
+     *   the average queue wait near {@code executor-target-queue-wait-ms},
+     *   see {@link com.hibiscus.signal.core.AdaptiveThreadPoolExecutor}
      *
+     * @param properties the bound {@code hibiscus.*} properties
      * @return ExecutorService to handle Signal tasks asynchronously
      */
     @Bean(name = "signalExecutor")
     @ConditionalOnMissingBean(name = "signalExecutor") // Only active if user hasn't defined their own bean
-    public ExecutorService defaultSignalExecutor() {
-        ThreadPoolExecutor executor = new ThreadPoolExecutor(
-                // Core thread pool size: number of CPU cores
-                Runtime.getRuntime().availableProcessors(),
-                // Maximum thread pool size: (CPU cores * 2) + 1
-                Runtime.getRuntime().availableProcessors() * 2 + 1,
-                // Time for which idle threads wait for new tasks before terminating
-                60,
-                TimeUnit.SECONDS,
-                // Bounded task queue with a capacity of 2000
-                new LinkedBlockingQueue<>(2000),
-                // Custom thread factory that sets thread names and daemon status
-                new ThreadFactory() {
-                    private final AtomicInteger count = new AtomicInteger();
-
-                    @Override
-                    public Thread newThread(Runnable r) {
-                        Thread t = new Thread(r);
-                        // Naming pattern: "signal-thread-<number>"
-                        t.setName("signal-thread-" + count.getAndIncrement());
-                        // Set as daemon threads so they don't block JVM shutdown
-                        t.setDaemon(true);
-                        return t;
-                    }
-                },
-                // If the pool and queue are full, let the caller's thread execute the task
-                new ThreadPoolExecutor.CallerRunsPolicy()
-        );
+    public ExecutorService defaultSignalExecutor(SignalProperties properties) {
+        ExecutorService executor = SignalExecutors.create(
+                properties.getExecutorMode(),
+                properties.getExecutorMinThreads() != null ? properties.getExecutorMinThreads() : 0,
+                properties.getExecutorMaxThreads() != null ? properties.getExecutorMaxThreads() : 0,
+                properties.getExecutorTargetQueueWaitMs() != null
+                        ? properties.getExecutorTargetQueueWaitMs() : SignalExecutors.DEFAULT_TARGET_QUEUE_WAIT_MS);
 
         // 添加关闭钩子，确保JVM退出时线程池能正确关闭
         Runtime.getRuntime().addShutdownHook(new Thread(() -> {
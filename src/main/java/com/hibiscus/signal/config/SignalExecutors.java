@@ -0,0 +1,178 @@
+package com.hibiscus.signal.config;
+
+import com.hibiscus.signal.core.AdaptiveThreadPoolExecutor;
+import com.hibiscus.signal.core.PriorityExecutor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.reflect.Method;
+import java.util.Locale;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Factory for the executors that run asynchronous signal handlers.
+ * <p>
+ * The following modes are supported:
+ * - {@code platform}: a bounded pool of platform threads, the historical default
+ * - {@code virtual}: one virtual thread per task (JDK 21+), suited to handlers that block on JDBC or HTTP calls
+ * - {@code priority}: one work-stealing pool per {@link SignalPriority}, so floods of low-priority signals
+ *   cannot delay high-priority ones
+ * - {@code adaptive}: a pool that resizes its core threads from sampled queue wait and handler latency
+ * <p>
+ * The library targets Java 8, so virtual threads are created reflectively. When the running JVM
+ * does not support them, the virtual mode falls back to the platform pool.
+ */
+public final class SignalExecutors {
+
+    private static final Logger log = LoggerFactory.getLogger(SignalExecutors.class);
+
+    /** Value of {@code hibiscus.executor-mode} selecting the platform thread pool. */
+    public static final String MODE_PLATFORM = "platform";
+
+    /** Value of {@code hibiscus.executor-mode} selecting the virtual-thread-per-task executor. */
+    public static final String MODE_VIRTUAL = "virtual";
+
+    /** Value of {@code hibiscus.executor-mode} selecting the per-priority {@link PriorityExecutor}. */
+    public static final String MODE_PRIORITY = "priority";
+
+    /** Value of {@code hibiscus.executor-mode} selecting the {@link AdaptiveThreadPoolExecutor}. */
+    public static final String MODE_ADAPTIVE = "adaptive";
+
+    /** Default target average queue wait of the adaptive executor. */
+    public static final long DEFAULT_TARGET_QUEUE_WAIT_MS = 20;
+
+    private SignalExecutors() {
+    }
+
+    /**
+     * Creates the executor for the given mode.
+     *
+     * @param mode {@link #MODE_PLATFORM}, {@link #MODE_VIRTUAL}, {@link #MODE_PRIORITY} or {@link #MODE_ADAPTIVE},
+     *             case-insensitive; null means platform, unknown values log a warning and fall back to platform
+     * @return a new executor
+     */
+    public static ExecutorService create(String mode) {
+        return create(mode, 0, 0, DEFAULT_TARGET_QUEUE_WAIT_MS);
+    }
+
+    /**
+     * Creates the executor for the given mode, with bounds for the adaptive mode.
+     *
+     * @param mode              the executor mode, see {@link #create(String)}
+     * @param minThreads        adaptive lower bound of core threads, 0 for the CPU count
+     * @param maxThreads        adaptive upper bound of threads, 0 for (CPU count * 2) + 1
+     * @param targetQueueWaitMs adaptive target average queue wait in milliseconds
+     * @return a new executor
+     */
+    public static ExecutorService create(String mode, int minThreads, int maxThreads, long targetQueueWaitMs) {
+        String normalized = mode != null ? mode.trim().toLowerCase(Locale.ROOT) : MODE_PLATFORM;
+        if (MODE_ADAPTIVE.equals(normalized)) {
+            log.info("Signal handlers run on an adaptive thread pool");
+            return newAdaptiveExecutor(minThreads, maxThreads, targetQueueWaitMs);
+        }
+        if (MODE_PRIORITY.equals(normalized)) {
+            log.info("Signal handlers run on per-priority work-stealing pools");
+            return new PriorityExecutor(Runtime.getRuntime().availableProcessors() * 2 + 1);
+        }
+        if (MODE_VIRTUAL.equals(normalized)) {
+            ExecutorService executor = newVirtualThreadExecutor();
+            if (executor != null) {
+                log.info("Signal handlers run on virtual threads");
+                return executor;
+            }
+            log.warn("Virtual threads are not available on Java {}, falling back to the platform thread pool",
+                    System.getProperty("java.version"));
+        } else if (!MODE_PLATFORM.equals(normalized)) {
+            log.warn("Unknown signal executor mode '{}', falling back to the platform thread pool", mode);
+        }
+        return newPlatformExecutor();
+    }
+
+    /**
+     * Creates the default platform thread pool.
+     * Configuration details:
+     * - Core thread count: number of CPU cores
+     * - Maximum thread count: (CPU cores * 2) + 1
+     * - Idle thread timeout: 60 seconds
+     * - Queue capacity: 2000 tasks
+     * - Rejection policy: CallerRunsPolicy (task runs in the caller's thread if the queue is full)
+     * - Custom thread factory with descriptive thread names and daemon threads
+     *
+     * @return a new ThreadPoolExecutor
+     */
+    public static ExecutorService newPlatformExecutor() {
+        return new ThreadPoolExecutor(
+                // Core thread pool size: number of CPU cores
+                Runtime.getRuntime().availableProcessors(),
+                // Maximum thread pool size: (CPU cores * 2) + 1
+                Runtime.getRuntime().availableProcessors() * 2 + 1,
+                // Time for which idle threads wait for new tasks before terminating
+                60,
+                TimeUnit.SECONDS,
+                // Bounded task queue with a capacity of 2000
+                new LinkedBlockingQueue<>(2000),
+                // Custom thread factory that sets thread names and daemon status
+                newThreadFactory(),
+                // If the pool and queue are full, let the caller's thread execute the task
+                new ThreadPoolExecutor.CallerRunsPolicy()
+        );
+    }
+
+    /**
+     * Creates a pool that samples queue wait time, handler latency and arrival rate every 500ms and
+     * resizes its core threads within the bounds. It keeps the platform pool's 2000-task queue,
+     * thread names and CallerRunsPolicy.
+     *
+     * @param minThreads        lower bound of core threads, 0 for the CPU count
+     * @param maxThreads        upper bound of threads, 0 for (CPU count * 2) + 1
+     * @param targetQueueWaitMs target average queue wait in milliseconds
+     * @return a new AdaptiveThreadPoolExecutor
+     */
+    public static AdaptiveThreadPoolExecutor newAdaptiveExecutor(int minThreads, int maxThreads, long targetQueueWaitMs) {
+        int cpus = Runtime.getRuntime().availableProcessors();
+        int min = minThreads > 0 ? minThreads : cpus;
+        int max = maxThreads > 0 ? maxThreads : cpus * 2 + 1;
+        return new AdaptiveThreadPoolExecutor(min, Math.max(min, max), 2000, targetQueueWaitMs, 500,
+                newThreadFactory(), new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+
+    /**
+     * Thread factory naming threads "signal-thread-&lt;number&gt;" and marking them as daemons
+     * so they don't block JVM shutdown.
+     */
+    private static ThreadFactory newThreadFactory() {
+        AtomicInteger count = new AtomicInteger();
+        return r -> {
+            Thread t = new Thread(r);
+            t.setName("signal-thread-" + count.getAndIncrement());
+            t.setDaemon(true);
+            return t;
+        };
+    }
+
+    /**
+     * Creates an executor that starts a new virtual thread named "signal-vthread-&lt;number&gt;" per task.
+     * Equivalent to {@code Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("signal-vthread-", 0).factory())}.
+     *
+     * @return the executor, or null if the running JVM has no virtual threads
+     */
+    public static ExecutorService newVirtualThreadExecutor() {
+        try {
+            Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+            Class<?> builderType = Class.forName("java.lang.Thread$Builder");
+            builder = builderType.getMethod("name", String.class, long.class).invoke(builder, "signal-vthread-", 0L);
+            ThreadFactory factory = (ThreadFactory) builderType.getMethod("factory").invoke(builder);
+            Method newExecutor = Executors.class.getMethod("newThreadPerTaskExecutor", ThreadFactory.class);
+            return (ExecutorService) newExecutor.invoke(null, factory);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            // Older JVMs lack the methods; JDK 19/20 reject them unless preview features are enabled
+            return null;
+        }
+    }
+}
@@ -0,0 +1,212 @@
+package com.hibiscus.signal.core;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 自适应线程池
+ * 普通 {@link ThreadPoolExecutor} 只有在队列满后才会超过核心线程数，平时一直以核心线程数运行。
+ * 这里由采样线程定期统计任务的排队时间、执行时间和到达速率，在 [minThreads, maxThreads] 范围内调整核心线程数：
+ * - 平均排队时间超过目标值：加性增长，且不低于利特尔法则估算的所需线程数（到达速率 x 平均执行时间）
+ * - 平均排队时间低于目标值的一半且估算所需线程数小于当前核心线程数：乘性收缩
+ * - 其余情况保持不变
+ * 每次决策及其依据通过 {@link #getMetrics()} 暴露；作为信号执行器时随 {@link SignalMetrics#snapshot()} 一起导出
+ */
+public class AdaptiveThreadPoolExecutor extends ThreadPoolExecutor {
+
+    private static final Logger log = LoggerFactory.getLogger(AdaptiveThreadPoolExecutor.class);
+
+    /** 每次增长增加的线程数 */
+    private static final int INCREASE_STEP = 1;
+
+    /** 每次收缩保留的比例 */
+    private static final double DECREASE_FACTOR = 0.75;
+
+    /**
+     * 调整决策
+     */
+    public enum Decision { GROW, SHRINK, HOLD }
+
+    private final int minThreads;
+    private final int maxThreads;
+    private final long targetQueueWaitNanos;
+    private final ScheduledExecutorService tuner;
+
+    private final LongAdder submitted = new LongAdder();
+    private final LongAdder completed = new LongAdder();
+    private final LongAdder queueWaitNanos = new LongAdder();
+    private final LongAdder executionNanos = new LongAdder();
+
+    private long lastSampleAt = System.nanoTime();
+
+    // 最近一次采样的结果，由采样线程写入
+    private volatile Decision lastDecision = Decision.HOLD;
+    private volatile double avgQueueWaitMs;
+    private volatile double avgExecutionMs;
+    private volatile double arrivalRate;
+    private volatile int requiredThreads;
+    private volatile long growCount;
+    private volatile long shrinkCount;
+
+    /**
+     * @param minThreads         核心线程数下限
+     * @param maxThreads         核心线程数上限，同时也是最大线程数
+     * @param queueCapacity      任务队列容量
+     * @param targetQueueWaitMs  目标平均排队时间（毫秒）
+     * @param sampleIntervalMs   采样间隔（毫秒）
+     * @param threadFactory      线程工厂
+     * @param rejectionHandler   队列满且线程数达到上限时的拒绝策略
+     */
+    public AdaptiveThreadPoolExecutor(int minThreads, int maxThreads, int queueCapacity,
+                                      long targetQueueWaitMs, long sampleIntervalMs,
+                                      ThreadFactory threadFactory, RejectedExecutionHandler rejectionHandler) {
+        super(Math.max(1, minThreads), Math.max(Math.max(1, minThreads), maxThreads), 60, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(queueCapacity), threadFactory, rejectionHandler);
+        this.minThreads = getCorePoolSize();
+        this.maxThreads = getMaximumPoolSize();
+        this.targetQueueWaitNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(1, targetQueueWaitMs));
+        this.tuner = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "signal-executor-tuner");
+            t.setDaemon(true);
+            return t;
+        });
+        long interval = Math.max(10, sampleIntervalMs);
+        tuner.scheduleWithFixedDelay(this::sample, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void execute(Runnable command) {
+        if (command == null) {
+            throw new NullPointerException();
+        }
+        submitted.increment();
+        super.execute(new TimedTask(command));
+    }
+
+    @Override
+    protected void terminated() {
+        tuner.shutdownNow();
+        super.terminated();
+    }
+
+    /**
+     * 采样一次并调整核心线程数
+     */
+    void sample() {
+        try {
+            long now = System.nanoTime();
+            long elapsed = Math.max(1, now - lastSampleAt);
+            lastSampleAt = now;
+            long done = completed.sumThenReset();
+            long waited = queueWaitNanos.sumThenReset();
+            long executed = executionNanos.sumThenReset();
+            long arrived = submitted.sumThenReset();
+
+            long avgWait = done > 0 ? waited / done : 0;
+            long avgExecution = done > 0 ? executed / done : 0;
+            // 利特尔法则：同时在执行的任务数 = 到达速率 x 平均执行时间
+            int required = (int) Math.ceil((double) arrived / elapsed * avgExecution);
+            // 一个采样周期内没有任务完成而队列仍有积压，说明线程全被长任务占住
+            boolean stalled = done == 0 && !getQueue().isEmpty();
+
+            int core = getCorePoolSize();
+            int target = core;
+            Decision decision = Decision.HOLD;
+            if (avgWait > targetQueueWaitNanos || stalled) {
+                target = Math.min(maxThreads, Math.max(core + INCREASE_STEP, required));
+                decision = target > core ? Decision.GROW : Decision.HOLD;
+            } else if (avgWait < targetQueueWaitNanos / 2 && required < core) {
+                target = Math.max(minThreads, Math.max(required, (int) (core * DECREASE_FACTOR)));
+                decision = target < core ? Decision.SHRINK : Decision.HOLD;
+            }
+
+            if (decision != Decision.HOLD) {
+                setCorePoolSize(target);
+                if (decision == Decision.GROW) {
+                    growCount++;
+                } else {
+                    shrinkCount++;
+                }
+                log.debug("Signal executor core size {} -> {} (queue wait {}ms, execution {}ms, required {})",
+                        core, target, nanosToMillis(avgWait), nanosToMillis(avgExecution), required);
+            }
+
+            lastDecision = decision;
+            avgQueueWaitMs = nanosToMillis(avgWait);
+            avgExecutionMs = nanosToMillis(avgExecution);
+            arrivalRate = arrived * 1e9 / elapsed;
+            requiredThreads = required;
+        } catch (Throwable t) {
+            log.warn("Signal executor sampling failed: {}", t.getMessage(), t);
+        }
+    }
+
+    /**
+     * @return 最近一次的调整决策
+     */
+    public Decision getLastDecision() {
+        return lastDecision;
+    }
+
+    /**
+     * 线程池指标及最近一次采样的决策依据
+     */
+    public Map<String, Object> getMetrics() {
+        Map<String, Object> metrics = new LinkedHashMap<>();
+        metrics.put("corePoolSize", getCorePoolSize());
+        metrics.put("poolSize", getPoolSize());
+        metrics.put("activeCount", getActiveCount());
+        metrics.put("queueSize", getQueue().size());
+        metrics.put("minThreads", minThreads);
+        metrics.put("maxThreads", maxThreads);
+        metrics.put("targetQueueWaitMs", nanosToMillis(targetQueueWaitNanos));
+        metrics.put("avgQueueWaitMs", avgQueueWaitMs);
+        metrics.put("avgExecutionMs", avgExecutionMs);
+        metrics.put("arrivalRate", arrivalRate);
+        metrics.put("requiredThreads", requiredThreads);
+        metrics.put("lastDecision", lastDecision.name());
+        metrics.put("growCount", growCount);
+        metrics.put("shrinkCount", shrinkCount);
+        return metrics;
+    }
+
+    private static double nanosToMillis(long nanos) {
+        return nanos / 1e6;
+    }
+
+    /**
+     * 记录排队时间和执行时间的任务包装
+     */
+    private final class TimedTask implements Runnable {
+
+        private final Runnable task;
+        private final long enqueuedAt = System.nanoTime();
+
+        TimedTask(Runnable task) {
+            this.task = task;
+        }
+
+        @Override
+        public void run() {
+            long startedAt = System.nanoTime();
+            queueWaitNanos.add(startedAt - enqueuedAt);
+            try {
+                task.run();
+            } finally {
+                executionNanos.add(System.nanoTime() - startedAt);
+                completed.increment();
+            }
+        }
+    }
+}
@@ -0,0 +1,222 @@
+package com.hibiscus.signal.core;
+
+import com.hibiscus.signal.config.OverflowPolicy;
+import com.hibiscus.signal.config.SignalConfig;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 事件的异步准入控制
+ * 限制同一事件同时在途（排队或执行中）的异步发射数，超出上限时由 {@link OverflowPolicy} 决定如何处理，
+ * 每种处理结果都有独立计数。
+ * 每次被接纳的发射持有一张 {@link Ticket}，事件的全部处理器投递结束（含重试）后归还名额；
+ * DROP_OLDEST 策略下还未开始执行的发射可以被取消，把名额让给新的发射
+ */
+public class AdmissionController {
+
+    private final int maxInFlight;
+    private final OverflowPolicy policy;
+    private final long overflowTimeoutMs;
+    private final Semaphore permits;
+
+    /** 尚未开始执行的发射，仅 DROP_OLDEST 策略使用 */
+    private final Queue<Ticket> pending;
+
+    private final LongAdder admitted = new LongAdder();
+    private final LongAdder blocked = new LongAdder();
+    private final LongAdder timedOut = new LongAdder();
+    private final LongAdder droppedNewest = new LongAdder();
+    private final LongAdder droppedOldest = new LongAdder();
+    private final LongAdder spilled = new LongAdder();
+    private final LongAdder spillFailed = new LongAdder();
+    private final LongAdder callerRuns = new LongAdder();
+
+    public AdmissionController(int maxInFlight, OverflowPolicy policy, long overflowTimeoutMs) {
+        this.maxInFlight = Math.max(1, maxInFlight);
+        this.policy = policy != null ? policy : OverflowPolicy.CALLER_RUNS;
+        this.overflowTimeoutMs = Math.max(0, overflowTimeoutMs);
+        this.permits = new Semaphore(this.maxInFlight);
+        this.pending = this.policy == OverflowPolicy.DROP_OLDEST ? new ConcurrentLinkedQueue<>() : null;
+    }
+
+    /**
+     * @return true 表示配置与当前控制器一致，重建分发计划时可以继续沿用（保留在途计数）
+     */
+    public boolean matches(SignalConfig config) {
+        return config.getMaxInFlight() == maxInFlight
+                && config.getOverflowPolicy() == policy
+                && config.getOverflowTimeoutMs() == overflowTimeoutMs;
+    }
+
+    /**
+     * 不等待地接纳一次发射；DROP_OLDEST 策略下名额不足时先取消最早的未开始发射
+     *
+     * @param deliveries 这次发射的处理器投递数
+     * @return 名额凭证，null 表示已达上限
+     */
+    public Ticket tryAdmit(int deliveries) {
+        if (permits.tryAcquire() || (pending != null && dropOldest() && permits.tryAcquire())) {
+            return admit(deliveries);
+        }
+        return null;
+    }
+
+    /**
+     * 最多等待 overflowTimeoutMs 接纳一次发射（BLOCK 策略）
+     *
+     * @return 名额凭证，null 表示等待超时或线程被中断
+     */
+    public Ticket admitBlocking(int deliveries) {
+        blocked.increment();
+        try {
+            if (permits.tryAcquire(overflowTimeoutMs, TimeUnit.MILLISECONDS)) {
+                return admit(deliveries);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        timedOut.increment();
+        return null;
+    }
+
+    public void recordDropped() {
+        droppedNewest.increment();
+    }
+
+    public void recordSpilled(boolean success) {
+        (success ? spilled : spillFailed).increment();
+    }
+
+    public void recordCallerRuns() {
+        callerRuns.increment();
+    }
+
+    public OverflowPolicy getPolicy() {
+        return policy;
+    }
+
+    public int getMaxInFlight() {
+        return maxInFlight;
+    }
+
+    /**
+     * @return 当前在途的发射数
+     */
+    public int getInFlight() {
+        return maxInFlight - permits.availablePermits();
+    }
+
+    /**
+     * 准入指标：上限、在途数以及各溢出处理结果的计数
+     */
+    public Map<String, Object> getMetrics() {
+        Map<String, Object> metrics = new LinkedHashMap<>();
+        metrics.put("maxInFlight", maxInFlight);
+        metrics.put("inFlight", getInFlight());
+        metrics.put("overflowPolicy", policy.name());
+        metrics.put("admitted", admitted.sum());
+        metrics.put("blocked", blocked.sum());
+        metrics.put("timedOut", timedOut.sum());
+        metrics.put("droppedNewest", droppedNewest.sum());
+        metrics.put("droppedOldest", droppedOldest.sum());
+        metrics.put("spilled", spilled.sum());
+        metrics.put("spillFailed", spillFailed.sum());
+        metrics.put("callerRuns", callerRuns.sum());
+        return metrics;
+    }
+
+    private Ticket admit(int deliveries) {
+        admitted.increment();
+        Ticket ticket = new Ticket(this, deliveries);
+        if (pending != null) {
+            // 已开始的发射不会再被取消，从队首清理掉，队列长度维持在在途数附近
+            Ticket head;
+            while ((head = pending.peek()) != null && head.state != Ticket.PENDING) {
+                pending.remove(head);
+            }
+            pending.offer(ticket);
+        }
+        return ticket;
+    }
+
+    private boolean dropOldest() {
+        Ticket oldest;
+        while ((oldest = pending.poll()) != null) {
+            if (oldest.cancel()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 一次被接纳的发射
+     * 第一个处理器投递开始时标记为已开始，此后不会再被取消；最后一个投递结束时标记为已结束并归还名额。
+     * 执行器拒绝投递时凭证可能没有开始就结束，已结束的凭证同样不会再被取消，名额只归还一次
+     */
+    public static final class Ticket {
+
+        static final int PENDING = 0;
+        static final int STARTED = 1;
+        static final int CANCELLED = 2;
+        static final int FINISHED = 3;
+
+        private static final AtomicIntegerFieldUpdater<Ticket> STATE =
+                AtomicIntegerFieldUpdater.newUpdater(Ticket.class, "state");
+        private static final AtomicIntegerFieldUpdater<Ticket> REMAINING =
+                AtomicIntegerFieldUpdater.newUpdater(Ticket.class, "remaining");
+
+        private final AdmissionController controller;
+        private volatile int state = PENDING;
+        private volatile int remaining;
+
+        private Ticket(AdmissionController controller, int deliveries) {
+            this.controller = controller;
+            this.remaining = Math.max(1, deliveries);
+        }
+
+        /**
+         * 处理器投递开始前调用
+         *
+         * @return false 表示这次发射已被 DROP_OLDEST 取消，投递应直接结束
+         */
+        public boolean start() {
+            return state == STARTED || STATE.compareAndSet(this, PENDING, STARTED) || state == STARTED;
+        }
+
+        /**
+         * 处理器投递结束（包括被取消的投递）时调用
+         */
+        public void finish() {
+            if (REMAINING.decrementAndGet(this) != 0) {
+                return;
+            }
+            while (true) {
+                int current = state;
+                if (current == CANCELLED) {
+                    return; // 取消时已归还名额
+                }
+                if (STATE.compareAndSet(this, current, FINISHED)) {
+                    controller.permits.release();
+                    return;
+                }
+            }
+        }
+
+        private boolean cancel() {
+            if (STATE.compareAndSet(this, PENDING, CANCELLED)) {
+                controller.droppedOldest.increment();
+                controller.permits.release();
+                return true;
+            }
+            return false;
+        }
+    }
+}
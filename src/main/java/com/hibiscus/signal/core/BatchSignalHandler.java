@@ -0,0 +1,29 @@
+package com.hibiscus.signal.core;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Handler that can consume a batch of signals in a single call.
+ * Purpose:
+ * - Lets handlers amortize per-event work (e.g. one database round trip per chunk)
+ *   when events are emitted through {@code Signals#emitBatch}.
+ * - Regular emits deliver a single-element batch through {@link #handle(Object, Object...)}.
+ */
+@FunctionalInterface
+public interface BatchSignalHandler extends SignalHandler {
+
+    /**
+     * Handles a batch of signal events.
+     *
+     * @param sender the sender that emitted the signals
+     * @param batch  the parameters of each event, in emit order
+     * @throws InterruptedException if the handler's execution is interrupted
+     */
+    void handleBatch(Object sender, List<Object[]> batch) throws InterruptedException;
+
+    @Override
+    default void handle(Object sender, Object... params) throws InterruptedException {
+        handleBatch(sender, Collections.singletonList(params));
+    }
+}
@@ -1,11 +1,19 @@
 package com.hibiscus.signal.core;
 
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
 /**
- * A simple Circuit Breaker implementation for managing fault tolerance.
+ * A lock-free Circuit Breaker implementation for managing fault tolerance.
  * Purpose:
  * - Protects the system from repeated failures by "tripping" the breaker.
- * - If failures exceed a threshold, the circuit opens, stopping further processing temporarily.
+ * - Trips on consecutive failures, and optionally on the rolling failure rate or slow-call rate
+ *   computed over a ring of time buckets once a minimum number of calls has been seen.
  * - After a timeout, it moves to HALF_OPEN state to test if recovery is possible.
+ * - All state transitions are CAS based; no call ever takes a lock.
  */
 public class CircuitBreaker {
 
@@ -15,28 +23,58 @@ public class CircuitBreaker {
      * - OPEN: Circuit is open due to too many failures; requests are blocked.
      * - HALF_OPEN: Circuit is testing the waters to see if recovery is possible.
      */
-    private enum State { CLOSED, OPEN, HALF_OPEN }
+    public enum State { CLOSED, OPEN, HALF_OPEN }
+
+    /**
+     * Value of {@code openedAt} while the current trip has not recorded its time yet; never times out.
+     */
+    private static final long NOT_OPEN = Long.MAX_VALUE;
+
+    private final AtomicReference<State> state = new AtomicReference<>(State.CLOSED);
+    private final AtomicLong openedAt = new AtomicLong(NOT_OPEN);         // When the circuit last tripped
+    private final AtomicInteger consecutiveFailures = new AtomicInteger(); // Consecutive failure count
+    private final AtomicInteger trialCount = new AtomicInteger();          // Successful trial count in HALF_OPEN
 
-    private State state = State.CLOSED;      // Current state of the circuit
-    private long lastFailureTime = 0;        // Timestamp of last failure (for OPEN state timeout tracking)
-    private int failureCount = 0;            // Consecutive failure count
+    private final int failureThreshold;        // Number of consecutive failures to trip the circuit
+    private final long openTimeoutMs;          // How long the circuit stays OPEN before moving to HALF_OPEN
+    private final int halfOpenTrialCount;      // Number of successful requests in HALF_OPEN to reset to CLOSED
+    private final double failureRateThreshold; // Rolling failure rate that trips the circuit, > 1 disables it
+    private final double slowCallRateThreshold;// Rolling slow-call rate that trips the circuit, > 1 disables it
+    private final long slowCallDurationMs;     // Calls taking at least this long count as slow
+    private final int minimumCalls;            // Calls required in the window before rates are evaluated
+    private final long bucketMs;               // Width of one time bucket
 
-    private final int failureThreshold;      // Number of failures to trip the circuit
-    private final long openTimeoutMs;        // How long the circuit stays OPEN before moving to HALF_OPEN
-    private final int halfOpenTrialCount;    // Number of successful requests in HALF_OPEN to reset to CLOSED
-    private int trialCount = 0;              // Successful trial count in HALF_OPEN
+    /**
+     * Ring of time buckets forming the rolling window. A slot is replaced by a fresh bucket
+     * the first time it is touched in a new bucket period.
+     */
+    private final AtomicReferenceArray<Bucket> buckets;
 
     /**
-     * Constructor for the CircuitBreaker.
+     * Constructor for the CircuitBreaker. Only consecutive failures trip the circuit.
      *
      * @param failureThreshold   Number of failures to trip the circuit
      * @param openTimeoutMs      Time (ms) the circuit stays OPEN before transitioning to HALF_OPEN
      * @param halfOpenTrialCount Number of successful trials needed in HALF_OPEN to reset to CLOSED
      */
     public CircuitBreaker(int failureThreshold, long openTimeoutMs, int halfOpenTrialCount) {
-        this.failureThreshold = failureThreshold;
-        this.openTimeoutMs = openTimeoutMs;
-        this.halfOpenTrialCount = halfOpenTrialCount;
+        this(new Builder()
+                .failureThreshold(failureThreshold)
+                .openTimeoutMs(openTimeoutMs)
+                .halfOpenTrialCount(halfOpenTrialCount));
+    }
+
+    private CircuitBreaker(Builder builder) {
+        this.failureThreshold = builder.failureThreshold;
+        this.openTimeoutMs = builder.openTimeoutMs;
+        this.halfOpenTrialCount = builder.halfOpenTrialCount;
+        this.failureRateThreshold = builder.failureRateThreshold;
+        this.slowCallRateThreshold = builder.slowCallRateThreshold;
+        this.slowCallDurationMs = builder.slowCallDurationMs;
+        this.minimumCalls = Math.max(1, builder.minimumCalls);
+        int bucketCount = Math.max(1, builder.bucketCount);
+        this.bucketMs = Math.max(1, builder.windowMs / bucketCount);
+        this.buckets = new AtomicReferenceArray<>(bucketCount);
     }
 
     /**
@@ -45,64 +83,333 @@ public class CircuitBreaker {
      *
      * @return true if the circuit is OPEN (blocking requests), false otherwise
      */
-    public synchronized boolean isOpen() {
+    public boolean isOpen() {
+        State current = state.get();
+        if (current != State.OPEN) {
+            return false;
+        }
         // If OPEN and timeout has passed, move to HALF_OPEN to allow trial requests
-        if (state == State.OPEN && (System.currentTimeMillis() - lastFailureTime > openTimeoutMs)) {
-            state = State.HALF_OPEN;
+        long opened = openedAt.get();
+        if (System.currentTimeMillis() - opened > openTimeoutMs) {
+            if (state.compareAndSet(State.OPEN, State.HALF_OPEN)) {
+                trialCount.set(0);
+                // Unless a new trip has already recorded its time, the next OPEN starts without a timestamp
+                openedAt.compareAndSet(opened, NOT_OPEN);
+            }
+            return state.get() == State.OPEN;
         }
-        return state == State.OPEN;
+        return true;
     }
 
     /**
      * Called when a request succeeds.
      * If in HALF_OPEN, counts as a trial success.
      * If enough trials succeed, the circuit resets to CLOSED.
-     * If in CLOSED, simply resets counters.
+     * If in CLOSED, simply resets the consecutive failure count.
+     */
+    public void recordSuccess() {
+        recordSuccess(0);
+    }
+
+    /**
+     * Called when a request succeeds, with the time it took.
+     * A success at or above the slow-call duration counts towards the slow-call rate,
+     * and as a failed trial in HALF_OPEN when slow-call tripping is enabled.
+     *
+     * @param durationMs how long the call took
      */
-    public synchronized void recordSuccess() {
-        if (state == State.HALF_OPEN) {
-            trialCount++;
-            if (trialCount >= halfOpenTrialCount) {
+    public void recordSuccess(long durationMs) {
+        boolean slow = isSlow(durationMs);
+        State current = state.get();
+        if (current == State.HALF_OPEN) {
+            if (slow) {
+                trip(State.HALF_OPEN);
+            } else if (trialCount.incrementAndGet() >= halfOpenTrialCount) {
                 reset();
             }
-        } else if (state == State.CLOSED) {
-            reset();
+        } else if (current == State.CLOSED) {
+            consecutiveFailures.set(0);
+            if (recordCall(false, slow)) {
+                evaluateRates();
+            }
         }
     }
 
     /**
      * Called when a request fails.
      * If in HALF_OPEN, immediately trip back to OPEN.
-     * If in CLOSED, increment the failure count and trip if the threshold is reached.
-     */
-    public synchronized void recordFailure() {
-        if (state == State.HALF_OPEN) {
-            trip();
-        } else {
-            failureCount++;
-            if (failureCount >= failureThreshold) {
-                trip();
+     * If in CLOSED, increment the failure count and trip if a threshold is reached.
+     */
+    public void recordFailure() {
+        recordFailure(0);
+    }
+
+    /**
+     * Called when a request fails, with the time it took.
+     *
+     * @param durationMs how long the call took
+     */
+    public void recordFailure(long durationMs) {
+        State current = state.get();
+        if (current == State.HALF_OPEN) {
+            trip(State.HALF_OPEN);
+        } else if (current == State.CLOSED) {
+            recordCall(true, isSlow(durationMs));
+            if (consecutiveFailures.incrementAndGet() >= failureThreshold) {
+                trip(State.CLOSED);
+            } else {
+                evaluateRates();
             }
         }
     }
 
     /**
-     * Trips the circuit to OPEN state, recording the last failure time
+     * @return the current state, without applying the OPEN timeout
+     */
+    public State getState() {
+        return state.get();
+    }
+
+    /**
+     * @return the failure rate over the rolling window, or 0 if no calls were recorded
+     */
+    public double getFailureRate() {
+        long[] totals = windowTotals();
+        return totals[0] == 0 ? 0 : (double) totals[1] / totals[0];
+    }
+
+    /**
+     * @return the slow-call rate over the rolling window, or 0 if no calls were recorded
+     */
+    public double getSlowCallRate() {
+        long[] totals = windowTotals();
+        return totals[0] == 0 ? 0 : (double) totals[2] / totals[0];
+    }
+
+    private boolean isSlow(long durationMs) {
+        return slowCallRateThreshold <= 1 && durationMs >= slowCallDurationMs;
+    }
+
+    private boolean ratesEnabled() {
+        return failureRateThreshold <= 1 || slowCallRateThreshold <= 1;
+    }
+
+    /**
+     * Adds a call to the current bucket.
+     *
+     * @return true if the call could change a rate decision (rates enabled and the call was bad)
+     */
+    private boolean recordCall(boolean failed, boolean slow) {
+        if (!ratesEnabled()) {
+            return false;
+        }
+        Bucket bucket = currentBucket(System.currentTimeMillis() / bucketMs);
+        bucket.calls.increment();
+        if (failed) {
+            bucket.failures.increment();
+        }
+        if (slow) {
+            bucket.slowCalls.increment();
+        }
+        return slow;
+    }
+
+    private Bucket currentBucket(long period) {
+        int index = (int) (period % buckets.length());
+        while (true) {
+            Bucket bucket = buckets.get(index);
+            if (bucket != null && bucket.period == period) {
+                return bucket;
+            }
+            Bucket fresh = new Bucket(period);
+            if (buckets.compareAndSet(index, bucket, fresh)) {
+                return fresh;
+            }
+        }
+    }
+
+    /**
+     * Sums calls, failures and slow calls over the buckets still inside the window.
+     */
+    private long[] windowTotals() {
+        long oldest = System.currentTimeMillis() / bucketMs - buckets.length() + 1;
+        long calls = 0;
+        long failures = 0;
+        long slowCalls = 0;
+        for (int i = 0; i < buckets.length(); i++) {
+            Bucket bucket = buckets.get(i);
+            if (bucket != null && bucket.period >= oldest) {
+                calls += bucket.calls.sum();
+                failures += bucket.failures.sum();
+                slowCalls += bucket.slowCalls.sum();
+            }
+        }
+        return new long[] {calls, failures, slowCalls};
+    }
+
+    private void evaluateRates() {
+        if (!ratesEnabled()) {
+            return;
+        }
+        long[] totals = windowTotals();
+        if (totals[0] < minimumCalls) {
+            return;
+        }
+        if ((double) totals[1] / totals[0] >= failureRateThreshold
+                || (double) totals[2] / totals[0] >= slowCallRateThreshold) {
+            trip(State.CLOSED);
+        }
+    }
+
+    /**
+     * Trips the circuit to OPEN state, recording the open time
      * and resetting counters for future checks.
+     * Only the caller that wins the state CAS records the open time, so a losing caller
+     * never pushes the timeout of an already open circuit forward.
      */
-    private void trip() {
-        state = State.OPEN;
-        lastFailureTime = System.currentTimeMillis();
-        failureCount = 0;
-        trialCount = 0;
+    private void trip(State from) {
+        if (state.compareAndSet(from, State.OPEN)) {
+            openedAt.set(System.currentTimeMillis());
+            consecutiveFailures.set(0);
+            trialCount.set(0);
+            clearWindow();
+        }
     }
 
     /**
      * Resets the circuit to the normal CLOSED state, clearing all counters.
      */
     private void reset() {
-        state = State.CLOSED;
-        failureCount = 0;
-        trialCount = 0;
+        if (state.compareAndSet(State.HALF_OPEN, State.CLOSED)) {
+            consecutiveFailures.set(0);
+            trialCount.set(0);
+            clearWindow();
+        }
+    }
+
+    private void clearWindow() {
+        for (int i = 0; i < buckets.length(); i++) {
+            buckets.set(i, null);
+        }
+    }
+
+    /**
+     * Counters of one time bucket. Striped adders keep concurrent recording cheap.
+     */
+    private static final class Bucket {
+        final long period;
+        final LongAdder calls = new LongAdder();
+        final LongAdder failures = new LongAdder();
+        final LongAdder slowCalls = new LongAdder();
+
+        Bucket(long period) {
+            this.period = period;
+        }
+    }
+
+    /**
+     * Builder for circuit breakers that also trip on rolling failure or slow-call rates.
+     */
+    public static class Builder {
+
+        private int failureThreshold = Integer.MAX_VALUE;
+        private long openTimeoutMs = 60000;
+        private int halfOpenTrialCount = 3;
+        private double failureRateThreshold = 2;
+        private double slowCallRateThreshold = 2;
+        private long slowCallDurationMs = Long.MAX_VALUE;
+        private int minimumCalls = 10;
+        private long windowMs = 10000;
+        private int bucketCount = 10;
+
+        /**
+         * Sets the number of consecutive failures that trips the circuit. Disabled by default.
+         *
+         * @param failureThreshold the consecutive failure count
+         * @return the builder instance
+         */
+        public Builder failureThreshold(int failureThreshold) {
+            this.failureThreshold = failureThreshold;
+            return this;
+        }
+
+        /**
+         * Sets how long the circuit stays OPEN before transitioning to HALF_OPEN.
+         *
+         * @param openTimeoutMs the open timeout in milliseconds
+         * @return the builder instance
+         */
+        public Builder openTimeoutMs(long openTimeoutMs) {
+            this.openTimeoutMs = openTimeoutMs;
+            return this;
+        }
+
+        /**
+         * Sets the number of successful trials needed in HALF_OPEN to reset to CLOSED.
+         *
+         * @param halfOpenTrialCount the trial count
+         * @return the builder instance
+         */
+        public Builder halfOpenTrialCount(int halfOpenTrialCount) {
+            this.halfOpenTrialCount = halfOpenTrialCount;
+            return this;
+        }
+
+        /**
+         * Sets the rolling failure rate (0..1) that trips the circuit.
+         *
+         * @param failureRateThreshold the failure rate threshold
+         * @return the builder instance
+         */
+        public Builder failureRateThreshold(double failureRateThreshold) {
+            this.failureRateThreshold = failureRateThreshold;
+            return this;
+        }
+
+        /**
+         * Sets the rolling slow-call rate (0..1) that trips the circuit, and what counts as slow.
+         *
+         * @param slowCallRateThreshold the slow-call rate threshold
+         * @param slowCallDurationMs    calls taking at least this long are slow
+         * @return the builder instance
+         */
+        public Builder slowCallRateThreshold(double slowCallRateThreshold, long slowCallDurationMs) {
+            this.slowCallRateThreshold = slowCallRateThreshold;
+            this.slowCallDurationMs = slowCallDurationMs;
+            return this;
+        }
+
+        /**
+         * Sets the minimum number of calls in the window before rates are evaluated.
+         *
+         * @param minimumCalls the minimum call count
+         * @return the builder instance
+         */
+        public Builder minimumCalls(int minimumCalls) {
+            this.minimumCalls = minimumCalls;
+            return this;
+        }
+
+        /**
+         * Sets the rolling window length and how many buckets it is split into.
+         *
+         * @param windowMs    the window length in milliseconds
+         * @param bucketCount the number of buckets
+         * @return the builder instance
+         */
+        public Builder window(long windowMs, int bucketCount) {
+            this.windowMs = windowMs;
+            this.bucketCount = bucketCount;
+            return this;
+        }
+
+        /**
+         * Builds and returns a {@link CircuitBreaker} with the specified settings.
+         *
+         * @return a new CircuitBreaker
+         */
+        public CircuitBreaker build() {
+            return new CircuitBreaker(this);
+        }
     }
-}
\ No newline at end of file
+}
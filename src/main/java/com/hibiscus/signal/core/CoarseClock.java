@@ -0,0 +1,80 @@
+package com.hibiscus.signal.core;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 粗粒度时钟
+ * 由一个守护线程每 {@value #TICK_MS} 毫秒刷新一次墙上时间，热路径上读取时钟只是一次 volatile 读。
+ * 适合“最后发射时间”这类只需要大致时间的统计，不适合计算耗时。
+ * 刷新线程按引用计数管理：每个 {@link com.hibiscus.signal.Signals} 实例创建时 {@link #acquire()}，
+ * 关闭时 {@link #release()}，最后一个持有者释放后线程退出；没有持有者时直接读取系统时间
+ */
+public final class CoarseClock {
+
+    /**
+     * 刷新间隔（毫秒），也是读数的最大误差
+     */
+    public static final long TICK_MS = 10;
+
+    private static volatile long now = System.currentTimeMillis();
+
+    private static volatile boolean ticking;
+
+    /**
+     * 持有者数量和当前刷新线程，由类锁保护
+     */
+    private static int owners;
+    private static Thread ticker;
+
+    private CoarseClock() {
+    }
+
+    /**
+     * @return 当前时间（毫秒），刷新线程运行时最多落后 {@value #TICK_MS} 毫秒
+     */
+    public static long currentTimeMillis() {
+        return ticking ? now : System.currentTimeMillis();
+    }
+
+    /**
+     * 登记一个持有者，第一个持有者启动刷新线程
+     */
+    public static synchronized void acquire() {
+        if (owners++ > 0) {
+            return;
+        }
+        now = System.currentTimeMillis();
+        ticker = new Thread(CoarseClock::tick, "signal-coarse-clock");
+        ticker.setDaemon(true);
+        ticker.start();
+        ticking = true;
+    }
+
+    /**
+     * 注销一个持有者，最后一个持有者停止刷新线程；多余的调用被忽略
+     */
+    public static synchronized void release() {
+        if (owners == 0 || --owners > 0) {
+            return;
+        }
+        ticking = false;
+        ticker.interrupt();
+        ticker = null;
+    }
+
+    /**
+     * @return 刷新线程是否在运行
+     */
+    public static synchronized boolean isTicking() {
+        return ticker != null;
+    }
+
+    private static void tick() {
+        long tickNanos = TimeUnit.MILLISECONDS.toNanos(TICK_MS);
+        while (!Thread.currentThread().isInterrupted()) {
+            LockSupport.parkNanos(tickNanos);
+            now = System.currentTimeMillis();
+        }
+    }
+}
@@ -0,0 +1,153 @@
+package com.hibiscus.signal.core;
+
+import com.hibiscus.signal.config.SignalConfig;
+
+/**
+ * Immutable, pre-resolved dispatch state for a single event.
+ * Purpose:
+ * - Bundles everything an emit needs (config, protection, pipeline components and handlers)
+ *   so that an emit costs one lookup followed by plain array walks.
+ * - Instances are never mutated; registration changes build a new plan and swap it in.
+ */
+public final class DispatchPlan {
+
+    static final SignalInterceptor[] NO_INTERCEPTORS = new SignalInterceptor[0];
+    static final SignalFilter[] NO_FILTERS = new SignalFilter[0];
+    static final SignalTransformer[] NO_TRANSFORMERS = new SignalTransformer[0];
+    static final SigHandler[] NO_HANDLERS = new SigHandler[0];
+
+    private final String event;
+    private final SignalConfig config;
+    private final CircuitBreaker circuitBreaker;
+    private final RateLimiter rateLimiter;
+    private final SignalInterceptor[] interceptors;
+    private final SignalFilter[] filters;
+    private final SignalTransformer[] transformers;
+    private final SigHandler[] handlers;
+    private final SignalMetrics.EventCounters counters;
+    private final AdmissionController admission;
+
+    /**
+     * Creates a dispatch plan. The arrays are owned by the plan and must not be modified afterwards.
+     *
+     * @param event          the event name
+     * @param config         the event configuration
+     * @param circuitBreaker the circuit breaker, or null if none is registered
+     * @param rateLimiter    the rate limiter, or null if none is registered
+     * @param interceptors   interceptors in execution order
+     * @param filters        filters already sorted by priority
+     * @param transformers   transformers in execution order
+     * @param handlers       handlers in execution order
+     * @param counters       the pre-resolved metric counters of the event
+     * @param admission      the in-flight limit of async emits, or null if unbounded
+     */
+    public DispatchPlan(String event, SignalConfig config,
+                        CircuitBreaker circuitBreaker, RateLimiter rateLimiter,
+                        SignalInterceptor[] interceptors, SignalFilter[] filters,
+                        SignalTransformer[] transformers, SigHandler[] handlers,
+                        SignalMetrics.EventCounters counters, AdmissionController admission) {
+        this.event = event;
+        this.config = config;
+        this.circuitBreaker = circuitBreaker;
+        this.rateLimiter = rateLimiter;
+        this.interceptors = interceptors;
+        this.filters = filters;
+        this.transformers = transformers;
+        this.handlers = handlers;
+        this.counters = counters;
+        this.admission = admission;
+    }
+
+    /**
+     * Creates a plan without protection, pipeline components or handlers, used for events nothing is bound to.
+     *
+     * @param event    the event name
+     * @param config   the event configuration
+     * @param counters the counters the emit is recorded on
+     * @return an empty plan; emitting through it reports no handlers
+     */
+    public static DispatchPlan empty(String event, SignalConfig config, SignalMetrics.EventCounters counters) {
+        return new DispatchPlan(event, config, null, null, NO_INTERCEPTORS, NO_FILTERS, NO_TRANSFORMERS,
+                NO_HANDLERS, counters, null);
+    }
+
+    /**
+     * Checks if the event is currently blocked by its circuit breaker or rate limiter.
+     *
+     * @return true if the event is blocked
+     */
+    public boolean isBlocked() {
+        return (circuitBreaker != null && circuitBreaker.isOpen())
+                || (rateLimiter != null && !rateLimiter.canAllowRequest());
+    }
+
+    /**
+     * Admits one emit: fails if the circuit breaker is open, otherwise takes a permit from the rate limiter.
+     * Unlike {@link #isBlocked()} this consumes a permit, so it is what the emit path uses.
+     *
+     * @return true if the emit may proceed
+     */
+    public boolean tryAcquire() {
+        return (circuitBreaker == null || !circuitBreaker.isOpen())
+                && (rateLimiter == null || rateLimiter.allowRequest());
+    }
+
+    /**
+     * @return true if at least one handler is registered for the event
+     */
+    public boolean hasHandlers() {
+        return handlers.length > 0;
+    }
+
+    public String getEvent() {
+        return event;
+    }
+
+    public SignalConfig getConfig() {
+        return config;
+    }
+
+    public CircuitBreaker getCircuitBreaker() {
+        return circuitBreaker;
+    }
+
+    public RateLimiter getRateLimiter() {
+        return rateLimiter;
+    }
+
+    public SignalInterceptor[] getInterceptors() {
+        return interceptors;
+    }
+
+    public SignalFilter[] getFilters() {
+        return filters;
+    }
+
+    public SignalTransformer[] getTransformers() {
+        return transformers;
+    }
+
+    public SigHandler[] getHandlers() {
+        return handlers;
+    }
+
+    public SignalMetrics.EventCounters getCounters() {
+        return counters;
+    }
+
+    public AdmissionController getAdmission() {
+        return admission;
+    }
+
+    @Override
+    public String toString() {
+        return "DispatchPlan{" +
+                "event='" + event + '\'' +
+                ", interceptors=" + interceptors.length +
+                ", filters=" + filters.length +
+                ", transformers=" + transformers.length +
+                ", handlers=" + handlers.length +
+                ", protected=" + (circuitBreaker != null || rateLimiter != null) +
+                '}';
+    }
+}
@@ -0,0 +1,39 @@
+package com.hibiscus.signal.core;
+
+/**
+ * Outcome of admitting a single emit, returned by {@code Signals.emit}.
+ * Callers can use it to shed load upstream, e.g. stop reading from a queue while emits are being dropped.
+ */
+public enum EmitAdmission {
+
+    /** The signal was handed to its handlers (run synchronously or queued for async execution). */
+    ACCEPTED,
+
+    /** The event was over its in-flight limit and the handlers ran on the emitting thread. */
+    CALLER_RUNS,
+
+    /** The event was over its in-flight limit and the signal was persisted by the spill handler. */
+    SPILLED,
+
+    /** The event was over its in-flight limit and the signal was dropped. */
+    DROPPED,
+
+    /** The event stayed over its in-flight limit for the whole blocking timeout; the signal was dropped. */
+    TIMED_OUT,
+
+    /** The circuit breaker is open or the rate limiter denied the signal. */
+    REJECTED,
+
+    /** The pipeline (interceptors or filters) stopped the signal. */
+    FILTERED,
+
+    /** No handler is registered for the event. */
+    NO_HANDLERS;
+
+    /**
+     * @return true if the handlers ran or will run for this signal
+     */
+    public boolean isAccepted() {
+        return this == ACCEPTED || this == CALLER_RUNS;
+    }
+}
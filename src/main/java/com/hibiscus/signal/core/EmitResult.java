@@ -0,0 +1,181 @@
+package com.hibiscus.signal.core;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Aggregated outcome of one emit, produced by {@code Signals.emitAsync} once every handler has finished.
+ * Purpose:
+ * - Tells request/response style callers whether the signal was admitted and how each handler ended.
+ * - Carries per-handler durations so slow handlers can be spotted without extra instrumentation.
+ */
+public final class EmitResult {
+
+    /**
+     * How a single handler delivery ended.
+     */
+    public enum Status {
+        /** The handler returned normally (possibly after retries). */
+        SUCCESS,
+        /** The handler threw on its last attempt. */
+        FAILED,
+        /** The delivery was cancelled by the DROP_OLDEST overflow policy before it started. */
+        DROPPED,
+        /** The executor rejected the delivery, so the handler never ran. */
+        REJECTED
+    }
+
+    private final String event;
+    private final EmitAdmission admission;
+    private final List<HandlerResult> handlerResults;
+    private final long durationNanos;
+
+    public EmitResult(String event, EmitAdmission admission, List<HandlerResult> handlerResults, long durationNanos) {
+        this.event = event;
+        this.admission = admission;
+        this.handlerResults = Collections.unmodifiableList(new ArrayList<>(handlerResults));
+        this.durationNanos = durationNanos;
+    }
+
+    public String getEvent() {
+        return event;
+    }
+
+    /**
+     * @return the admission decision of the emit; handler results are empty unless it was accepted
+     */
+    public EmitAdmission getAdmission() {
+        return admission;
+    }
+
+    /**
+     * @return one result per handler, in handler execution order
+     */
+    public List<HandlerResult> getHandlerResults() {
+        return handlerResults;
+    }
+
+    /**
+     * @return true if the emit was accepted and every handler succeeded
+     */
+    public boolean isSuccess() {
+        if (!admission.isAccepted()) {
+            return false;
+        }
+        for (HandlerResult result : handlerResults) {
+            if (result.getStatus() != Status.SUCCESS) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @return the results of handlers that did not succeed
+     */
+    public List<HandlerResult> getFailures() {
+        List<HandlerResult> failures = new ArrayList<>();
+        for (HandlerResult result : handlerResults) {
+            if (result.getStatus() != Status.SUCCESS) {
+                failures.add(result);
+            }
+        }
+        return failures;
+    }
+
+    /**
+     * @return time from the emit call until the last handler finished, in nanoseconds
+     */
+    public long getDurationNanos() {
+        return durationNanos;
+    }
+
+    public long getDurationMs() {
+        return TimeUnit.NANOSECONDS.toMillis(durationNanos);
+    }
+
+    @Override
+    public String toString() {
+        return "EmitResult{" +
+                "event='" + event + '\'' +
+                ", admission=" + admission +
+                ", handlerResults=" + handlerResults +
+                ", durationMs=" + getDurationMs() +
+                '}';
+    }
+
+    /**
+     * Outcome of one handler for one emit.
+     */
+    public static final class HandlerResult {
+
+        private final long handlerId;
+        private final String handlerName;
+        private final Status status;
+        private final Throwable error;
+        private final long durationNanos;
+        private final long queueWaitNanos;
+
+        public HandlerResult(long handlerId, String handlerName, Status status, Throwable error,
+                             long durationNanos, long queueWaitNanos) {
+            this.handlerId = handlerId;
+            this.handlerName = handlerName;
+            this.status = status;
+            this.error = error;
+            this.durationNanos = durationNanos;
+            this.queueWaitNanos = queueWaitNanos;
+        }
+
+        public long getHandlerId() {
+            return handlerId;
+        }
+
+        public String getHandlerName() {
+            return handlerName;
+        }
+
+        public Status getStatus() {
+            return status;
+        }
+
+        /**
+         * @return the error of the last attempt, or null if the handler succeeded
+         */
+        public Throwable getError() {
+            return error;
+        }
+
+        /**
+         * @return time from the handler's first attempt until it finished, including retry backoff;
+         *         0 if the handler never ran
+         */
+        public long getDurationNanos() {
+            return durationNanos;
+        }
+
+        public long getDurationMs() {
+            return TimeUnit.NANOSECONDS.toMillis(durationNanos);
+        }
+
+        /**
+         * @return time the delivery waited in a queue before its first attempt; 0 for synchronous emits
+         */
+        public long getQueueWaitNanos() {
+            return queueWaitNanos;
+        }
+
+        @Override
+        public String toString() {
+            return "HandlerResult{" +
+                    "handlerId=" + handlerId +
+                    ", handlerName='" + handlerName + '\'' +
+                    ", status=" + status +
+                    ", durationMs=" + getDurationMs() +
+                    ", queueWaitMs=" + TimeUnit.NANOSECONDS.toMillis(queueWaitNanos) +
+                    (error != null ? ", error=" + error : "") +
+                    '}';
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package com.hibiscus.signal.core;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * 单次发射的结果收集器
+ * 作为回调沿发射路径传递，{@link SignalEmitter} 在每个处理器投递结束（含重试、被取消）时上报结果；
+ * 每个处理器对应一个 future，全部完成后组合成 {@link EmitResult}，整个过程不阻塞任何线程
+ */
+public final class EmitResultCollector implements SignalCallback {
+
+    private final DispatchPlan plan;
+    private final SigHandler[] handlers;
+    private final CompletableFuture<EmitResult.HandlerResult>[] futures;
+    private final long startTime = System.nanoTime();
+
+    @SuppressWarnings("unchecked")
+    public EmitResultCollector(DispatchPlan plan) {
+        this.plan = plan;
+        this.handlers = plan.getHandlers();
+        this.futures = new CompletableFuture[handlers.length];
+        for (int i = 0; i < futures.length; i++) {
+            futures[i] = new CompletableFuture<>();
+        }
+    }
+
+    /**
+     * 处理器投递结束时调用
+     *
+     * @param sig    处理器
+     * @param status 结束状态
+     * @param error  最后一次尝试的异常，成功时为 null
+     * @param durationNanos  处理器从第一次尝试开始到结束的耗时，未执行时为 0
+     * @param queueWaitNanos 投递开始执行前的排队时间，同步发射为 0
+     */
+    void handlerCompleted(SigHandler sig, EmitResult.Status status, Throwable error,
+                          long durationNanos, long queueWaitNanos) {
+        for (int i = 0; i < handlers.length; i++) {
+            if (handlers[i] == sig && !futures[i].isDone()) {
+                futures[i].complete(new EmitResult.HandlerResult(sig.getId(), sig.getHandlerName(), status, error,
+                        durationNanos, queueWaitNanos));
+                return;
+            }
+        }
+    }
+
+    /**
+     * 根据准入结果生成发射结果：未被接纳时立即完成，否则在全部处理器结束后完成
+     */
+    public CompletableFuture<EmitResult> result(EmitAdmission admission) {
+        if (!admission.isAccepted()) {
+            return CompletableFuture.completedFuture(new EmitResult(plan.getEvent(), admission,
+                    Collections.emptyList(), System.nanoTime() - startTime));
+        }
+        return CompletableFuture.allOf(futures).thenApply(ignored -> {
+            long durationNanos = System.nanoTime() - startTime;
+            List<EmitResult.HandlerResult> results = new ArrayList<>(futures.length);
+            for (CompletableFuture<EmitResult.HandlerResult> future : futures) {
+                results.add(future.join());
+            }
+            return new EmitResult(plan.getEvent(), admission, results, durationNanos);
+        });
+    }
+}
@@ -0,0 +1,206 @@
+package com.hibiscus.signal.core;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 无锁延迟直方图（纳秒）
+ * 采用对数-线性分桶：小于 16ns 的值每纳秒一个桶，之后每个 2 的幂区间均分为 16 个桶，
+ * 相对误差不超过 1/16（约 6%），528 个桶覆盖到约 68 秒，更大的值计入最后一个桶（最大值仍精确记录）。
+ * 记录只有一次桶计数自增和一次累加，不加锁；{@link #snapshot()} 返回自创建以来的累计分布，
+ * {@link #intervalSnapshot()} 返回自上次调用以来的增量分布，适合定期上报
+ */
+public class LatencyHistogram {
+
+    private static final int SUB_BUCKET_BITS = 4;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int MAX_EXPONENT = 35;
+    static final int BUCKET_COUNT = (MAX_EXPONENT - SUB_BUCKET_BITS + 2) * SUB_BUCKETS;
+
+    private final AtomicLongArray buckets = new AtomicLongArray(BUCKET_COUNT);
+    private final LongAdder sum = new LongAdder();
+    private final AtomicLong max = new AtomicLong();
+
+    // 上一次区间快照时的累计值，只由取快照的线程访问
+    private long[] lastBuckets = new long[BUCKET_COUNT];
+    private long lastSum;
+    private long lastSnapshotNanos = System.nanoTime();
+
+    /**
+     * 记录一个耗时
+     *
+     * @param nanos 耗时（纳秒），负值按 0 记录
+     */
+    public void record(long nanos) {
+        long value = Math.max(0, nanos);
+        buckets.incrementAndGet(bucketIndex(value));
+        sum.add(value);
+        long currentMax = max.get();
+        while (value > currentMax && !max.compareAndSet(currentMax, value)) {
+            currentMax = max.get();
+        }
+    }
+
+    /**
+     * @return 自创建以来的累计分布
+     */
+    public Snapshot snapshot() {
+        long[] counts = new long[BUCKET_COUNT];
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            counts[i] = buckets.get(i);
+        }
+        return new Snapshot(counts, sum.sum(), max.get(), 0);
+    }
+
+    /**
+     * 返回自上次调用以来的增量分布；区间内的最大值取桶上界近似
+     */
+    public synchronized Snapshot intervalSnapshot() {
+        long now = System.nanoTime();
+        long[] counts = new long[BUCKET_COUNT];
+        long[] current = new long[BUCKET_COUNT];
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            current[i] = buckets.get(i);
+            counts[i] = current[i] - lastBuckets[i];
+        }
+        long currentSum = sum.sum();
+        Snapshot snapshot = new Snapshot(counts, currentSum - lastSum, -1, now - lastSnapshotNanos);
+        lastBuckets = current;
+        lastSum = currentSum;
+        lastSnapshotNanos = now;
+        return snapshot;
+    }
+
+    static int bucketIndex(long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(value);
+        if (exponent > MAX_EXPONENT) {
+            return BUCKET_COUNT - 1;
+        }
+        int sub = (int) (value >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+        return (exponent - SUB_BUCKET_BITS + 1) * SUB_BUCKETS + sub;
+    }
+
+    /**
+     * @return 桶内最大值
+     */
+    static long bucketUpperBound(int index) {
+        if (index < SUB_BUCKETS) {
+            return index;
+        }
+        int exponent = index / SUB_BUCKETS + SUB_BUCKET_BITS - 1;
+        int sub = index % SUB_BUCKETS;
+        int shift = exponent - SUB_BUCKET_BITS;
+        return ((long) (SUB_BUCKETS + sub + 1) << shift) - 1;
+    }
+
+    /**
+     * 直方图的不可变快照
+     */
+    public static final class Snapshot {
+
+        private final long[] counts;
+        private final long count;
+        private final long sum;
+        private final long max;
+        private final long intervalNanos;
+
+        Snapshot(long[] counts, long sum, long max, long intervalNanos) {
+            this.counts = counts;
+            long total = 0;
+            int highest = -1;
+            for (int i = 0; i < counts.length; i++) {
+                total += counts[i];
+                if (counts[i] != 0) {
+                    highest = i;
+                }
+            }
+            this.count = total;
+            this.sum = sum;
+            this.max = max >= 0 ? max : (highest >= 0 ? bucketUpperBound(highest) : 0);
+            this.intervalNanos = intervalNanos;
+        }
+
+        public long getCount() {
+            return count;
+        }
+
+        /**
+         * @return 耗时总和（纳秒）
+         */
+        public long getSum() {
+            return sum;
+        }
+
+        /**
+         * @return 平均耗时（纳秒）
+         */
+        public double getMean() {
+            return count == 0 ? 0 : (double) sum / count;
+        }
+
+        /**
+         * @return 最大耗时（纳秒）
+         */
+        public long getMax() {
+            return max;
+        }
+
+        /**
+         * @return 区间快照覆盖的时长（纳秒），累计快照为 0
+         */
+        public long getIntervalNanos() {
+            return intervalNanos;
+        }
+
+        /**
+         * 按分位数取耗时，返回所在桶的上界（不超过最大值）
+         *
+         * @param percentile 0 到 100
+         * @return 耗时（纳秒），没有数据时为 0
+         */
+        public long getValueAtPercentile(double percentile) {
+            if (count == 0) {
+                return 0;
+            }
+            long rank = (long) Math.ceil(Math.min(100.0, Math.max(0.0, percentile)) / 100.0 * count);
+            rank = Math.max(1, rank);
+            long seen = 0;
+            for (int i = 0; i < counts.length; i++) {
+                seen += counts[i];
+                if (seen >= rank) {
+                    return Math.min(bucketUpperBound(i), max);
+                }
+            }
+            return max;
+        }
+
+        public long getP50() {
+            return getValueAtPercentile(50);
+        }
+
+        public long getP99() {
+            return getValueAtPercentile(99);
+        }
+
+        public long getP999() {
+            return getValueAtPercentile(99.9);
+        }
+
+        @Override
+        public String toString() {
+            return "Snapshot{" +
+                    "count=" + count +
+                    ", meanUs=" + TimeUnit.NANOSECONDS.toMicros((long) getMean()) +
+                    ", p50Us=" + TimeUnit.NANOSECONDS.toMicros(getP50()) +
+                    ", p99Us=" + TimeUnit.NANOSECONDS.toMicros(getP99()) +
+                    ", p999Us=" + TimeUnit.NANOSECONDS.toMicros(getP999()) +
+                    ", maxUs=" + TimeUnit.NANOSECONDS.toMicros(max) +
+                    '}';
+        }
+    }
+}
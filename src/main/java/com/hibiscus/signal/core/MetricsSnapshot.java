@@ -0,0 +1,198 @@
+package com.hibiscus.signal.core;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 信号统计的不可变快照
+ * 由 {@link SignalMetrics#snapshot()} 一次性读取全部事件的计数器生成，供导出器批量读取；
+ * 各计数器分别读取，同一快照内的不同计数之间不保证严格一致。
+ * 使用自适应线程池时快照同时包含线程池的指标和最近一次调整决策
+ */
+public final class MetricsSnapshot {
+
+    private final long timestamp;
+    private final long processedCount;
+    private final Map<String, EventSnapshot> events;
+    private final Map<String, Object> executor;
+
+    MetricsSnapshot(long timestamp, long processedCount, Map<String, EventSnapshot> events,
+                    Map<String, Object> executor) {
+        this.timestamp = timestamp;
+        this.processedCount = processedCount;
+        this.events = Collections.unmodifiableMap(events);
+        this.executor = Collections.unmodifiableMap(executor);
+    }
+
+    /**
+     * @return 生成快照的时间（毫秒）
+     */
+    public long getTimestamp() {
+        return timestamp;
+    }
+
+    /**
+     * @return 全局处理计数
+     */
+    public long getProcessedCount() {
+        return processedCount;
+    }
+
+    /**
+     * @return 按事件名索引的快照，不可修改
+     */
+    public Map<String, EventSnapshot> getEvents() {
+        return events;
+    }
+
+    /**
+     * @return 事件的快照，事件没有计数器时返回 null
+     */
+    public EventSnapshot getEvent(String event) {
+        return events.get(event);
+    }
+
+    /**
+     * @return 自适应线程池的指标（核心线程数、排队时间、最近一次决策等，见
+     * {@link AdaptiveThreadPoolExecutor#getMetrics()}），不可修改；未使用自适应线程池时为空表
+     */
+    public Map<String, Object> getExecutor() {
+        return executor;
+    }
+
+    @Override
+    public String toString() {
+        return "MetricsSnapshot{" +
+                "timestamp=" + timestamp +
+                ", processedCount=" + processedCount +
+                ", events=" + events.keySet() +
+                '}';
+    }
+
+    /**
+     * 单个事件的计数快照
+     */
+    public static final class EventSnapshot {
+
+        static final EventSnapshot EMPTY = new EventSnapshot(null, 0, 0, 0, 0, 0, 0, 0, null, null);
+
+        private final String event;
+        private final long emitCount;
+        private final long handlerCount;
+        private final long totalProcessingTime;
+        private final long errorCount;
+        private final long processedCount;
+        private final long lastEmitTime;
+        private final long lastProcessTime;
+        private final LatencyHistogram.Snapshot execution;
+        private final LatencyHistogram.Snapshot queueWait;
+
+        EventSnapshot(String event, long emitCount, long handlerCount, long totalProcessingTime, long errorCount,
+                      long processedCount, long lastEmitTime, long lastProcessTime,
+                      LatencyHistogram.Snapshot execution, LatencyHistogram.Snapshot queueWait) {
+            this.event = event;
+            this.emitCount = emitCount;
+            this.handlerCount = handlerCount;
+            this.totalProcessingTime = totalProcessingTime;
+            this.errorCount = errorCount;
+            this.processedCount = processedCount;
+            this.lastEmitTime = lastEmitTime;
+            this.lastProcessTime = lastProcessTime;
+            this.execution = execution;
+            this.queueWait = queueWait;
+        }
+
+        public String getEvent() {
+            return event;
+        }
+
+        public long getEmitCount() {
+            return emitCount;
+        }
+
+        public long getHandlerCount() {
+            return handlerCount;
+        }
+
+        /**
+         * @return 处理器执行总耗时（毫秒）
+         */
+        public long getTotalProcessingTime() {
+            return totalProcessingTime;
+        }
+
+        public long getErrorCount() {
+            return errorCount;
+        }
+
+        public long getProcessedCount() {
+            return processedCount;
+        }
+
+        /**
+         * @return 最后一次发射的时间（毫秒，精度见 {@link CoarseClock}），没有发射过时为 0
+         */
+        public long getLastEmitTime() {
+            return lastEmitTime;
+        }
+
+        /**
+         * @return 最后一次处理的时间（毫秒，精度见 {@link CoarseClock}），没有处理过时为 0
+         */
+        public long getLastProcessTime() {
+            return lastProcessTime;
+        }
+
+        /**
+         * @return 执行耗时分布，没有记录过耗时时为 null
+         */
+        public LatencyHistogram.Snapshot getExecution() {
+            return execution;
+        }
+
+        /**
+         * @return 排队等待时间分布，没有记录过耗时时为 null
+         */
+        public LatencyHistogram.Snapshot getQueueWait() {
+            return queueWait;
+        }
+
+        /**
+         * 转成 {@link SignalMetrics#getMetrics(String)} 使用的键值表
+         */
+        public Map<String, Object> toMap() {
+            Map<String, Object> metrics = new LinkedHashMap<>();
+            metrics.put("emitCount", emitCount);
+            metrics.put("handlerCount", handlerCount);
+            metrics.put("totalProcessingTime", totalProcessingTime);
+            metrics.put("errorCount", errorCount);
+            metrics.put("lastEmitTime", lastEmitTime);
+            if (execution != null) {
+                metrics.put("executionP50Nanos", execution.getP50());
+                metrics.put("executionP99Nanos", execution.getP99());
+                metrics.put("executionP999Nanos", execution.getP999());
+                metrics.put("executionMaxNanos", execution.getMax());
+            }
+            if (queueWait != null) {
+                metrics.put("queueWaitP50Nanos", queueWait.getP50());
+                metrics.put("queueWaitP99Nanos", queueWait.getP99());
+                metrics.put("queueWaitMaxNanos", queueWait.getMax());
+            }
+            return metrics;
+        }
+
+        @Override
+        public String toString() {
+            return "EventSnapshot{" +
+                    "event='" + event + '\'' +
+                    ", emitCount=" + emitCount +
+                    ", handlerCount=" + handlerCount +
+                    ", totalProcessingTime=" + totalProcessingTime +
+                    ", errorCount=" + errorCount +
+                    ", processedCount=" + processedCount +
+                    ", lastEmitTime=" + lastEmitTime +
+                    '}';
+        }
+    }
+}
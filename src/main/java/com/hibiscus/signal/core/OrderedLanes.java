@@ -0,0 +1,152 @@
+package com.hibiscus.signal.core;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 有序执行通道
+ * 按排序键把异步投递分到固定数量的通道上，同一通道内的任务严格按提交顺序逐个执行，不同通道之间完全并行。
+ * - 通道不持有线程，而是共享执行器上的串行执行器：有任务时才向执行器提交一个排空任务
+ * - 提交只涉及无锁队列入队和一次 CAS，没有全局锁
+ * - 任务可以挂起通道（例如等待定时器重试），挂起期间同一通道的后续任务不会越过它执行
+ */
+public class OrderedLanes {
+
+    private static final Logger log = LoggerFactory.getLogger(OrderedLanes.class);
+
+    /** 单次排空最多执行的任务数，超过后把通道重新提交到执行器，避免长期占用工作线程 */
+    private static final int DRAIN_BATCH = 64;
+
+    /**
+     * 通道内执行的任务
+     */
+    interface Task {
+
+        /**
+         * @return true 表示任务已结束；false 表示任务挂起了通道，之后会通过 {@link Lane#resume(Task)} 继续
+         */
+        boolean runInLane();
+    }
+
+    private final Lane[] lanes;
+    private final int mask;
+    private final Executor executor;
+
+    /**
+     * @param laneCount 通道数，向上取整为 2 的幂
+     * @param executor  执行通道任务的共享执行器
+     */
+    public OrderedLanes(int laneCount, Executor executor) {
+        int count = Integer.highestOneBit(Math.max(1, laneCount));
+        if (count < laneCount) {
+            count <<= 1;
+        }
+        this.executor = executor;
+        this.mask = count - 1;
+        this.lanes = new Lane[count];
+        for (int i = 0; i < count; i++) {
+            lanes[i] = new Lane();
+        }
+    }
+
+    /**
+     * 获取排序键对应的通道，相等的键总是得到同一个通道
+     */
+    Lane lane(Object key) {
+        int h = key.hashCode();
+        return lanes[(h ^ (h >>> 16)) & mask];
+    }
+
+    /**
+     * @return 通道数
+     */
+    public int getLaneCount() {
+        return lanes.length;
+    }
+
+    /**
+     * @return 所有通道中排队等待执行的任务数
+     */
+    public int getBacklog() {
+        int backlog = 0;
+        for (Lane lane : lanes) {
+            backlog += lane.queue.size();
+        }
+        return backlog;
+    }
+
+    /**
+     * 单个通道：无锁队列加一个"已调度"标记，同一时刻最多有一个线程在排空它
+     */
+    final class Lane implements Runnable {
+
+        private final Queue<Task> queue = new ConcurrentLinkedQueue<>();
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+
+        /**
+         * 提交任务，通道空闲时调度一次排空
+         */
+        void submit(Task task) {
+            queue.offer(task);
+            if (scheduled.compareAndSet(false, true)) {
+                schedule();
+            }
+        }
+
+        /**
+         * 继续执行挂起了通道的任务，任务结束后接着排空通道
+         */
+        void resume(Task task) {
+            if (runTask(task)) {
+                run();
+            }
+        }
+
+        @Override
+        public void run() {
+            int executed = 0;
+            while (true) {
+                Task task = queue.poll();
+                if (task == null) {
+                    scheduled.set(false);
+                    // 释放标记后若有新任务入队且没有其他线程接手，继续排空
+                    if (queue.isEmpty() || !scheduled.compareAndSet(false, true)) {
+                        return;
+                    }
+                    continue;
+                }
+                if (!runTask(task)) {
+                    return;
+                }
+                if (++executed >= DRAIN_BATCH) {
+                    schedule();
+                    return;
+                }
+            }
+        }
+
+        private boolean runTask(Task task) {
+            try {
+                return task.runInLane();
+            } catch (Throwable t) {
+                log.error("Ordered lane task failed: {}", t.getMessage(), t);
+                return true;
+            }
+        }
+
+        private void schedule() {
+            try {
+                executor.execute(this);
+            } catch (RejectedExecutionException e) {
+                // 执行器已关闭时在当前线程排空，保证已提交的任务仍被执行
+                run();
+            }
+        }
+    }
+}
@@ -0,0 +1,207 @@
+package com.hibiscus.signal.core;
+
+import com.hibiscus.signal.config.SignalPriority;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 按优先级划分的执行器
+ * 每个 {@link SignalPriority} 拥有独立的 FIFO 模式 ForkJoinPool，池内工作线程相互窃取任务；
+ * 低优先级的洪峰只会占满自己的池，不会让高优先级信号排在它后面。
+ * - 某个优先级的池已满而其他池有空闲线程时，任务可以借用其他池执行，使空闲的优先级帮助繁忙的优先级
+ * - 每个池同时执行的借入任务数有上限，保证总有线程留给本优先级自己的任务
+ * 未指定优先级的任务按 MEDIUM 执行
+ */
+public class PriorityExecutor extends AbstractExecutorService {
+
+    private final Lane[] lanes;
+
+    /**
+     * 按 HIGH 50%、MEDIUM 30%、LOW 20% 的比例划分并行度，每个优先级至少一个线程，
+     * 每个池最多一半线程执行借入的任务
+     *
+     * @param parallelism 总并行度
+     */
+    public PriorityExecutor(int parallelism) {
+        this(Math.max(1, parallelism / 2),
+                Math.max(1, parallelism * 3 / 10),
+                Math.max(1, parallelism / 5),
+                0.5);
+    }
+
+    /**
+     * @param highParallelism   HIGH 池的线程数
+     * @param mediumParallelism MEDIUM 池的线程数
+     * @param lowParallelism    LOW 池的线程数
+     * @param borrowRatio       每个池中可执行借入任务的线程比例（0~1），0 表示不借用
+     */
+    public PriorityExecutor(int highParallelism, int mediumParallelism, int lowParallelism, double borrowRatio) {
+        int[] parallelism = {highParallelism, mediumParallelism, lowParallelism};
+        SignalPriority[] priorities = SignalPriority.values();
+        this.lanes = new Lane[priorities.length];
+        for (SignalPriority priority : priorities) {
+            int size = Math.max(1, parallelism[priority.ordinal()]);
+            int borrowLimit = (int) Math.min(size, Math.max(0, Math.floor(size * borrowRatio)));
+            lanes[priority.ordinal()] = new Lane(priority, size, borrowLimit);
+        }
+    }
+
+    @Override
+    public void execute(Runnable command) {
+        execute(SignalPriority.MEDIUM, command);
+    }
+
+    /**
+     * 按优先级执行任务：优先使用本优先级的池，本池已满时尝试借用有空闲线程的其他池
+     */
+    public void execute(SignalPriority priority, Runnable command) {
+        if (command == null) {
+            throw new NullPointerException();
+        }
+        Lane own = lanes[(priority != null ? priority : SignalPriority.MEDIUM).ordinal()];
+        if (own.active.get() >= own.parallelism) {
+            for (Lane lane : lanes) {
+                if (lane != own && lane.tryBorrow()) {
+                    lane.run(command, true);
+                    return;
+                }
+            }
+        }
+        own.active.incrementAndGet();
+        own.run(command, false);
+    }
+
+    /**
+     * @return 指定优先级的池中正在执行或排队的任务数（含借入的任务）
+     */
+    public int getActiveCount(SignalPriority priority) {
+        return lanes[priority.ordinal()].active.get();
+    }
+
+    /**
+     * @return 指定优先级的池的线程数
+     */
+    public int getParallelism(SignalPriority priority) {
+        return lanes[priority.ordinal()].parallelism;
+    }
+
+    @Override
+    public void shutdown() {
+        for (Lane lane : lanes) {
+            lane.pool.shutdown();
+        }
+    }
+
+    @Override
+    public List<Runnable> shutdownNow() {
+        for (Lane lane : lanes) {
+            lane.pool.shutdownNow();
+        }
+        return new ArrayList<>();
+    }
+
+    @Override
+    public boolean isShutdown() {
+        for (Lane lane : lanes) {
+            if (!lane.pool.isShutdown()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public boolean isTerminated() {
+        for (Lane lane : lanes) {
+            if (!lane.pool.isTerminated()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        for (Lane lane : lanes) {
+            if (!lane.pool.awaitTermination(deadline - System.nanoTime(), TimeUnit.NANOSECONDS)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 单个优先级的池
+     */
+    private static final class Lane {
+
+        private final ForkJoinPool pool;
+        private final int parallelism;
+        private final int borrowLimit;
+
+        /** 已提交但尚未结束的任务数 */
+        private final AtomicInteger active = new AtomicInteger();
+
+        /** 其中借入的任务数 */
+        private final AtomicInteger borrowed = new AtomicInteger();
+
+        Lane(SignalPriority priority, int parallelism, int borrowLimit) {
+            this.parallelism = parallelism;
+            this.borrowLimit = borrowLimit;
+            String prefix = "signal-" + priority.name().toLowerCase() + "-";
+            AtomicInteger count = new AtomicInteger();
+            this.pool = new ForkJoinPool(parallelism, p -> {
+                ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(p);
+                thread.setName(prefix + count.getAndIncrement());
+                thread.setDaemon(true);
+                return thread;
+            }, null, true);
+        }
+
+        /**
+         * 本池有空闲线程且借入任务未达上限时占用一个名额
+         */
+        boolean tryBorrow() {
+            while (true) {
+                int current = borrowed.get();
+                if (current >= borrowLimit || active.get() >= parallelism) {
+                    return false;
+                }
+                if (borrowed.compareAndSet(current, current + 1)) {
+                    active.incrementAndGet();
+                    return true;
+                }
+            }
+        }
+
+        void run(Runnable command, boolean borrowedTask) {
+            try {
+                pool.execute(() -> {
+                    try {
+                        command.run();
+                    } finally {
+                        release(borrowedTask);
+                    }
+                });
+            } catch (RejectedExecutionException e) {
+                release(borrowedTask);
+                throw e;
+            }
+        }
+
+        private void release(boolean borrowedTask) {
+            if (borrowedTask) {
+                borrowed.decrementAndGet();
+            }
+            active.decrementAndGet();
+        }
+    }
+}
@@ -1,13 +1,16 @@
 package com.hibiscus.signal.core;
 
-import java.util.Deque;
-import java.util.LinkedList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
- * A simple rate limiter that restricts the number of allowed requests per second.
+ * A lock-free rate limiter that restricts the number of allowed requests per second.
  * Purpose:
  * - Prevents excessive requests from overwhelming the system.
- * - Uses a sliding window approach to track requests in the last 1 second.
+ * - Implements the generic cell rate algorithm (GCRA): the whole limiter state is a single
+ *   theoretical arrival time held in an {@link AtomicLong}, updated by CAS with nanoTime arithmetic.
+ * - Permits refill continuously at the configured rate; up to {@code burstCapacity} permits
+ *   can be taken at once after an idle period.
  */
 public class RateLimiter {
 
@@ -17,61 +20,136 @@ public class RateLimiter {
     private final int maxRequestsPerSecond;
 
     /**
-     * Timestamps of recent requests
+     * Maximum number of permits that can be taken at once
      */
-    private final Deque<Long> timestamps = new LinkedList<>();
+    private final int burstCapacity;
+
+    /**
+     * Nanoseconds between two permits at the steady rate
+     */
+    private final long emissionIntervalNanos;
+
+    /**
+     * How far the theoretical arrival time may run ahead of now (burst capacity * emission interval)
+     */
+    private final long burstToleranceNanos;
+
+    /**
+     * Theoretical arrival time of the next request, in {@link System#nanoTime()} units
+     */
+    private final AtomicLong theoreticalArrivalTime;
 
     /**
      * Constructs a RateLimiter with the specified maximum requests per second.
+     * The burst capacity equals the rate, i.e. a full second worth of permits may be taken at once.
      *
      * @param maxRequestsPerSecond the maximum allowed requests per second
      */
     public RateLimiter(int maxRequestsPerSecond) {
+        this(maxRequestsPerSecond, maxRequestsPerSecond);
+    }
+
+    /**
+     * Constructs a RateLimiter with the specified steady rate and burst capacity.
+     *
+     * @param maxRequestsPerSecond the maximum allowed requests per second
+     * @param burstCapacity        the maximum number of permits that can be taken at once
+     */
+    public RateLimiter(int maxRequestsPerSecond, int burstCapacity) {
+        if (maxRequestsPerSecond <= 0) {
+            throw new IllegalArgumentException("maxRequestsPerSecond must be positive");
+        }
+        if (burstCapacity <= 0) {
+            throw new IllegalArgumentException("burstCapacity must be positive");
+        }
         this.maxRequestsPerSecond = maxRequestsPerSecond;
+        this.burstCapacity = burstCapacity;
+        // Rates above one per nanosecond cannot be told apart by nanoTime; treat them as one per nanosecond
+        this.emissionIntervalNanos = Math.max(1, TimeUnit.SECONDS.toNanos(1) / maxRequestsPerSecond);
+        this.burstToleranceNanos = emissionIntervalNanos * burstCapacity;
+        this.theoreticalArrivalTime = new AtomicLong(System.nanoTime());
     }
 
     /**
-     * Checks whether a new request is allowed at the current time.
-     * - Removes outdated timestamps that are older than 1 second.
-     * - If the number of requests in the last second is below the limit, the request is allowed.
+     * Tries to take a single permit.
      *
      * @return true if the request is allowed, false otherwise
      */
-    public synchronized boolean allowRequest() {
-        long now = System.currentTimeMillis();
-        long oneSecondAgo = now - 1000;
-
-        // Remove timestamps that are outside the 1-second window
-        while (!timestamps.isEmpty() && timestamps.peekFirst() < oneSecondAgo) {
-            timestamps.pollFirst();
-        }
+    public boolean allowRequest() {
+        return tryAcquire(1);
+    }
 
-        // If the number of requests is below the threshold, allow the new request
-        if (timestamps.size() < maxRequestsPerSecond) {
-            timestamps.addLast(now);
+    /**
+     * Tries to acquire the given number of permits at once.
+     * Either all permits are granted or none are, so a batch is never partially admitted.
+     *
+     * @param permits the number of permits to acquire
+     * @return true if all permits were granted, false otherwise
+     */
+    public boolean tryAcquire(int permits) {
+        if (permits <= 0) {
             return true;
-        } else {
-            // Rate limit exceeded
+        }
+        if (permits > burstCapacity) {
             return false;
         }
+        long increment = emissionIntervalNanos * permits;
+        while (true) {
+            long tat = theoreticalArrivalTime.get();
+            long now = System.nanoTime();
+            long newTat = Math.max(tat, now) + increment;
+            if (newTat - now > burstToleranceNanos) {
+                return false;
+            }
+            if (theoreticalArrivalTime.compareAndSet(tat, newTat)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Acquires as many of the given permits as are currently available, up to {@code permits}.
+     * Unlike {@link #tryAcquire(int)} a request larger than the burst capacity is not rejected outright;
+     * the caller admits the granted part and rejects the remainder.
+     *
+     * @param permits the number of permits wanted
+     * @return the number of permits granted, between 0 and {@code permits}
+     */
+    public int tryAcquireUpTo(int permits) {
+        if (permits <= 0) {
+            return 0;
+        }
+        while (true) {
+            long tat = theoreticalArrivalTime.get();
+            long now = System.nanoTime();
+            long base = Math.max(tat, now);
+            long available = (burstToleranceNanos - (base - now)) / emissionIntervalNanos;
+            if (available <= 0) {
+                return 0;
+            }
+            int granted = (int) Math.min(permits, available);
+            if (theoreticalArrivalTime.compareAndSet(tat, base + emissionIntervalNanos * granted)) {
+                return granted;
+            }
+        }
     }
-    
+
     /**
      * Checks whether a request can be allowed without actually allowing it.
      * This is a read-only operation that doesn't change the internal state.
      *
      * @return true if a request can be allowed, false otherwise
      */
-    public synchronized boolean canAllowRequest() {
-        long now = System.currentTimeMillis();
-        long oneSecondAgo = now - 1000;
+    public boolean canAllowRequest() {
+        long now = System.nanoTime();
+        return Math.max(theoreticalArrivalTime.get(), now) + emissionIntervalNanos - now <= burstToleranceNanos;
+    }
 
-        // Remove timestamps that are outside the 1-second window
-        while (!timestamps.isEmpty() && timestamps.peekFirst() < oneSecondAgo) {
-            timestamps.pollFirst();
-        }
+    public int getMaxRequestsPerSecond() {
+        return maxRequestsPerSecond;
+    }
 
-        // Return whether a request can be allowed (without adding the timestamp)
-        return timestamps.size() < maxRequestsPerSecond;
+    public int getBurstCapacity() {
+        return burstCapacity;
     }
 }
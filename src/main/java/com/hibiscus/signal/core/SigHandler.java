@@ -36,6 +36,11 @@ public class SigHandler {
 
     private String handlerName;
 
+    /**
+     * 处理器的排队和执行耗时分布，首次记录时创建
+     */
+    private volatile SignalMetrics.Latencies latencies;
+
     // 添加无参构造函数，支持Jackson反序列化
     public SigHandler() {
         this.id = 0;
@@ -106,4 +111,28 @@ public class SigHandler {
     public void setSignalContext(SignalContext signalContext) {
         this.signalContext = signalContext;
     }
+
+    /**
+     * @return 处理器的耗时分布，尚未记录过时返回 null
+     */
+    public SignalMetrics.Latencies latenciesIfRecorded() {
+        return latencies;
+    }
+
+    /**
+     * @return 处理器的耗时分布，必要时创建
+     */
+    public SignalMetrics.Latencies latencies() {
+        SignalMetrics.Latencies current = latencies;
+        if (current == null) {
+            synchronized (this) {
+                current = latencies;
+                if (current == null) {
+                    current = new SignalMetrics.Latencies();
+                    latencies = current;
+                }
+            }
+        }
+        return current;
+    }
 }
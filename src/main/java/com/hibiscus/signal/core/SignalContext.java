@@ -1,42 +1,94 @@
 package com.hibiscus.signal.core;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.hibiscus.signal.trace.SpanIds;
 import com.hibiscus.signal.utils.SnowflakeIdGenerator;
 
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.CopyOnWriteArrayList;
 
 /**
  * Context information for a signal as it flows through the system.
  *
  * Purpose:
  * - Stores user-defined attributes and intermediate values during signal processing.
- * - Supports tracing (spans) to visualize the flow of signal handling.
+ * - Supports tracing (spans) to visualize the flow of signal handling. Spans are only recorded when the
+ *   context is sampled; the sampling decision is made once, at the emit entry point.
+ *
+ * Storage is compact and lazily allocated: attributes live in a small open-addressing array that the
+ * creating thread reads and writes without synchronization. When the context is handed to another
+ * thread ({@link #share()} is called by the async dispatch path, or another thread simply touches it)
+ * the maps are upgraded to concurrent ones. The owner must not keep mutating the context while it is
+ * being handed over. Map and span getters return read-only live views instead of copies.
  */
 public class SignalContext {
 
+    // Thread that created the context and may use the single-writer fast path
+    private final Thread owner = Thread.currentThread();
+
+    // Set once the context has been handed to another thread
+    private volatile boolean shared;
+
     // User-defined attributes (e.g., business parameters)
-    private final Map<String, Object> attributes;
+    private final CompactMap attributes = new CompactMap(this);
 
     // Intermediate values (used internally by the framework)
-    private final Map<String, Object> intermediateValues;
+    private final CompactMap intermediateValues = new CompactMap(this);
 
     // Unique identifiers for tracing and correlation
     private String traceId;
     private String eventId;
 
-    // List of spans to track the execution path
-    private final List<Span> spans = new CopyOnWriteArrayList<>();
+    // Spans tracking the execution path: append-only array, readers see the first spanCount entries
+    private Span[] spans;
+    private volatile int spanCount;
+    private List<Span> spanView;
+
+    // ID of the current parent span for nested tracing, 0 when no span has been started
+    private long currentSpanId;
 
-    // ID of the current parent span for nested tracing
-    private String parentSpanId;
+    // Head-based sampling decision: 0 = not decided yet, 1 = sampled, 2 = not sampled
+    private byte sampling;
 
     /**
-     * Constructs a new, empty SignalContext.
+     * Constructs a new, empty SignalContext. Nothing is allocated until the first attribute or span is added.
      */
     public SignalContext() {
-        this.attributes = new ConcurrentHashMap<>();
-        this.intermediateValues = new ConcurrentHashMap<>();
+    }
+
+    // ---------- Threading ----------
+
+    /**
+     * Upgrades the context for use by several threads. Called on the owning thread right before the
+     * context is handed to another thread; safe to call more than once.
+     */
+    public void share() {
+        if (shared) {
+            return;
+        }
+        synchronized (this) {
+            if (!shared) {
+                attributes.upgrade();
+                intermediateValues.upgrade();
+                shared = true;
+            }
+        }
+    }
+
+    /**
+     * @return true if the context has been upgraded for multi-threaded use
+     */
+    public boolean isShared() {
+        return shared;
+    }
+
+    /**
+     * Upgrades the context on first access from a thread other than its owner.
+     */
+    void checkAccess() {
+        if (!shared && Thread.currentThread() != owner) {
+            share();
+        }
     }
 
     // ---------- Attribute handling ----------
@@ -71,12 +123,12 @@ public class SignalContext {
     }
 
     /**
-     * Gets a copy of all attributes.
+     * Gets a read-only live view of all attributes.
      *
      * @return attributes map
      */
     public Map<String, Object> getAttributes() {
-        return new ConcurrentHashMap<>(attributes);
+        return attributes.view();
     }
 
     /**
@@ -85,10 +137,7 @@ public class SignalContext {
      * @param newAttributes new attributes to set
      */
     public void setAttributes(Map<String, Object> newAttributes) {
-        this.attributes.clear();
-        if (newAttributes != null) {
-            this.attributes.putAll(newAttributes);
-        }
+        attributes.replaceAll(newAttributes);
     }
 
     // ---------- Intermediate value handling ----------
@@ -114,12 +163,12 @@ public class SignalContext {
     }
 
     /**
-     * Gets a copy of all intermediate values.
+     * Gets a read-only live view of all intermediate values.
      *
      * @return intermediate values map
      */
     public Map<String, Object> getIntermediateValues() {
-        return new ConcurrentHashMap<>(intermediateValues);
+        return intermediateValues.view();
     }
 
     /**
@@ -128,10 +177,7 @@ public class SignalContext {
      * @param values new intermediate values to set
      */
     public void setIntermediateValues(Map<String, Object> values) {
-        this.intermediateValues.clear();
-        if (values != null) {
-            this.intermediateValues.putAll(values);
-        }
+        intermediateValues.replaceAll(values);
     }
 
     // ---------- Tracing / Spans ----------
@@ -145,7 +191,7 @@ public class SignalContext {
         if (eventName == null) {
             eventName = "unknown";
         }
-        this.traceId = UUID.randomUUID().toString();
+        this.traceId = SpanIds.nextTraceId();
         this.eventId = eventName + "_" + SnowflakeIdGenerator.nextId();
     }
 
@@ -153,16 +199,64 @@ public class SignalContext {
         return traceId;
     }
 
+    /**
+     * Sets the trace ID, e.g. one propagated from an upstream W3C traceparent header.
+     *
+     * @param traceId 32 lowercase hex digits
+     */
+    public void setTraceId(String traceId) {
+        this.traceId = traceId;
+    }
+
     public String getEventId() {
         return eventId;
     }
 
+    /**
+     * @return ID of the span new spans are attached to, 0 when none has been started
+     */
+    public long getCurrentSpanId() {
+        return currentSpanId;
+    }
+
+    public void setCurrentSpanId(long currentSpanId) {
+        this.currentSpanId = currentSpanId;
+    }
+
+    /**
+     * @return the current parent span ID as 16 hex digits, or null when no span has been started
+     */
+    @JsonIgnore
     public String getParentSpanId() {
-        return parentSpanId;
+        return SpanIds.toHex(currentSpanId);
     }
 
+    @JsonIgnore
     public void setParentSpanId(String parentSpanId) {
-        this.parentSpanId = parentSpanId;
+        this.currentSpanId = SpanIds.fromHex(parentSpanId);
+    }
+
+    /**
+     * @return true if spans should be recorded for this context
+     */
+    public boolean isSampled() {
+        return sampling == 1;
+    }
+
+    /**
+     * Records the sampling decision for this context.
+     *
+     * @param sampled true to record spans
+     */
+    public void setSampled(boolean sampled) {
+        this.sampling = sampled ? (byte) 1 : (byte) 2;
+    }
+
+    /**
+     * @return true once a sampling decision has been recorded
+     */
+    public boolean hasSamplingDecision() {
+        return sampling != 0;
     }
 
     /**
@@ -171,51 +265,366 @@ public class SignalContext {
      * @param span the span to add
      */
     public void addSpan(Span span) {
-        spans.add(span);
+        checkAccess();
+        if (shared) {
+            synchronized (this) {
+                appendSpan(span);
+            }
+        } else {
+            appendSpan(span);
+        }
+    }
+
+    private void appendSpan(Span span) {
+        int count = spanCount;
+        Span[] current = spans;
+        if (current == null) {
+            current = new Span[4];
+        } else if (count == current.length) {
+            current = Arrays.copyOf(current, count * 2);
+        }
+        current[count] = span;
+        spans = current;
+        // 先写元素和数组再发布计数，读到计数的线程一定能看到对应的元素
+        spanCount = count + 1;
     }
 
     /**
-     * Gets a list of recorded spans (copied for safety).
+     * Gets a read-only live view of the recorded spans.
      *
      * @return list of spans
      */
     public List<Span> getSpans() {
-        return new ArrayList<>(spans);
+        checkAccess();
+        List<Span> view = spanView;
+        if (view == null) {
+            view = new AbstractList<Span>() {
+                @Override
+                public Span get(int index) {
+                    int count = spanCount;
+                    if (index < 0 || index >= count) {
+                        throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + count);
+                    }
+                    return spans[index];
+                }
+
+                @Override
+                public int size() {
+                    return spanCount;
+                }
+            };
+            spanView = view;
+        }
+        return view;
+    }
+
+    /**
+     * Replaces the recorded spans (used when a context is restored from persistence).
+     *
+     * @param newSpans spans to record
+     */
+    public void setSpans(List<Span> newSpans) {
+        synchronized (this) {
+            spanCount = 0;
+            spans = null;
+            if (newSpans != null) {
+                for (Span span : newSpans) {
+                    appendSpan(span);
+                }
+            }
+        }
     }
 
     @Override
     public String toString() {
         return "SignalContext{" +
-                "attributes=" + attributes +
-                ", intermediateValues=" + intermediateValues +
+                "attributes=" + attributes.view() +
+                ", intermediateValues=" + intermediateValues.view() +
                 '}';
     }
 
+    /**
+     * Attribute storage: keys and values interleaved in one open-addressing array (linear probing,
+     * tombstones on removal so entries never move while a reader scans), replaced by a
+     * {@link ConcurrentHashMap} once the owning context is shared.
+     */
+    private static final class CompactMap {
+
+        private static final Object REMOVED = new Object();
+        private static final int INITIAL_SLOTS = 8;
+
+        private final SignalContext context;
+        private Object[] table;
+        private int size;
+        private int used;
+        private volatile ConcurrentHashMap<String, Object> concurrent;
+        private Map<String, Object> view;
+
+        CompactMap(SignalContext context) {
+            this.context = context;
+        }
+
+        Object get(String key) {
+            context.checkAccess();
+            Map<String, Object> map = concurrent;
+            if (map != null) {
+                return map.get(key);
+            }
+            Object[] tab = table;
+            if (tab == null) {
+                return null;
+            }
+            int index = find(tab, key);
+            if (index < 0) {
+                return null;
+            }
+            Object value = tab[index + 1];
+            return value == REMOVED ? null : value;
+        }
+
+        void put(String key, Object value) {
+            Objects.requireNonNull(key, "key");
+            Objects.requireNonNull(value, "value");
+            context.checkAccess();
+            Map<String, Object> map = concurrent;
+            if (map != null) {
+                map.put(key, value);
+                return;
+            }
+            Object[] tab = table;
+            if (tab == null) {
+                tab = table = new Object[INITIAL_SLOTS * 2];
+            }
+            int index = find(tab, key);
+            if (index >= 0) {
+                if (tab[index + 1] == REMOVED) {
+                    size++;
+                }
+                tab[index + 1] = value;
+                return;
+            }
+            if ((used + 1) * 4 > (tab.length / 2) * 3) {
+                tab = rehash(tab);
+            }
+            int slot = slot(tab, key);
+            while (tab[slot] != null) {
+                slot = (slot + 2) & (tab.length - 1);
+            }
+            tab[slot] = key;
+            tab[slot + 1] = value;
+            size++;
+            used++;
+        }
+
+        void remove(String key) {
+            context.checkAccess();
+            Map<String, Object> map = concurrent;
+            if (map != null) {
+                map.remove(key);
+                return;
+            }
+            Object[] tab = table;
+            if (tab == null) {
+                return;
+            }
+            int index = find(tab, key);
+            if (index >= 0 && tab[index + 1] != REMOVED) {
+                tab[index + 1] = REMOVED;
+                size--;
+            }
+        }
+
+        void replaceAll(Map<String, Object> values) {
+            context.checkAccess();
+            Map<String, Object> map = concurrent;
+            if (map != null) {
+                map.clear();
+                if (values != null) {
+                    map.putAll(values);
+                }
+                return;
+            }
+            table = null;
+            size = 0;
+            used = 0;
+            if (values != null) {
+                for (Map.Entry<String, Object> entry : values.entrySet()) {
+                    put(entry.getKey(), entry.getValue());
+                }
+            }
+        }
+
+        void upgrade() {
+            ConcurrentHashMap<String, Object> map = new ConcurrentHashMap<>(Math.max(16, size * 2));
+            Object[] tab = table;
+            if (tab != null) {
+                for (int i = 0; i < tab.length; i += 2) {
+                    if (tab[i] != null && tab[i + 1] != REMOVED) {
+                        map.put((String) tab[i], tab[i + 1]);
+                    }
+                }
+            }
+            concurrent = map;
+            table = null;
+        }
+
+        Map<String, Object> view() {
+            Map<String, Object> v = view;
+            if (v == null) {
+                v = view = new View();
+            }
+            return v;
+        }
+
+        private Object[] rehash(Object[] tab) {
+            int slots = tab.length / 2;
+            if (size * 2 >= slots) {
+                slots *= 2;
+            }
+            Object[] grown = new Object[slots * 2];
+            for (int i = 0; i < tab.length; i += 2) {
+                if (tab[i] != null && tab[i + 1] != REMOVED) {
+                    int slot = slot(grown, (String) tab[i]);
+                    while (grown[slot] != null) {
+                        slot = (slot + 2) & (grown.length - 1);
+                    }
+                    grown[slot] = tab[i];
+                    grown[slot + 1] = tab[i + 1];
+                }
+            }
+            used = size;
+            table = grown;
+            return grown;
+        }
+
+        private static int find(Object[] tab, String key) {
+            int slot = slot(tab, key);
+            Object k;
+            while ((k = tab[slot]) != null) {
+                if (k.equals(key)) {
+                    return slot;
+                }
+                slot = (slot + 2) & (tab.length - 1);
+            }
+            return -1;
+        }
+
+        private static int slot(Object[] tab, String key) {
+            int h = key.hashCode();
+            h ^= h >>> 16;
+            return (h << 1) & (tab.length - 1);
+        }
+
+        /**
+         * Read-only live view over the current storage.
+         */
+        private final class View extends AbstractMap<String, Object> {
+
+            @Override
+            public Object get(Object key) {
+                return key instanceof String ? CompactMap.this.get((String) key) : null;
+            }
+
+            @Override
+            public boolean containsKey(Object key) {
+                return get(key) != null;
+            }
+
+            @Override
+            public int size() {
+                context.checkAccess();
+                Map<String, Object> map = concurrent;
+                return map != null ? map.size() : size;
+            }
+
+            @Override
+            public Set<Entry<String, Object>> entrySet() {
+                return new AbstractSet<Entry<String, Object>>() {
+                    @Override
+                    public Iterator<Entry<String, Object>> iterator() {
+                        context.checkAccess();
+                        Map<String, Object> map = concurrent;
+                        if (map != null) {
+                            return Collections.unmodifiableMap(map).entrySet().iterator();
+                        }
+                        return new TableIterator(table);
+                    }
+
+                    @Override
+                    public int size() {
+                        return View.this.size();
+                    }
+                };
+            }
+        }
+
+        private static final class TableIterator implements Iterator<Map.Entry<String, Object>> {
+
+            private final Object[] tab;
+            private int next;
+
+            TableIterator(Object[] tab) {
+                this.tab = tab;
+                advance();
+            }
+
+            private void advance() {
+                while (tab != null && next < tab.length && (tab[next] == null || tab[next + 1] == REMOVED)) {
+                    next += 2;
+                }
+            }
+
+            @Override
+            public boolean hasNext() {
+                return tab != null && next < tab.length;
+            }
+
+            @Override
+            public Map.Entry<String, Object> next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                Map.Entry<String, Object> entry = new AbstractMap.SimpleImmutableEntry<>((String) tab[next], tab[next + 1]);
+                next += 2;
+                advance();
+                return entry;
+            }
+        }
+    }
+
     /**
      * Represents a tracing span, capturing the operation details.
+     *
+     * IDs are 64-bit values from {@link SpanIds}; a parent ID of 0 marks a root span. Times are
+     * nanoseconds since the epoch taken from {@link com.hibiscus.signal.trace.TraceClock}, so durations
+     * keep sub-millisecond precision. The string and millisecond accessors are views kept for display code.
+     *
+     * The old {@code setSpanId}, {@code setParentSpanId}, {@code setStartTime} and {@code setEndTime} setters
+     * are gone; those properties are ignored on deserialization, so spans persisted as JSON by earlier
+     * versions come back with {@code id}, {@code parentId} and {@code startNanos} set to 0.
      */
     public static class Span {
-        private String spanId;
-        private String parentSpanId;
+        private long id;
+        private long parentId;
         private String operation;
-        private long startTime;
-        private long endTime;
-        private Map<String, Object> metadata = new HashMap<>();
+        private long startNanos;
+        private long durationNanos;
+        private Map<String, Object> metadata;
 
-        public String getSpanId() {
-            return spanId;
+        public long getId() {
+            return id;
         }
 
-        public void setSpanId(String spanId) {
-            this.spanId = spanId;
+        public void setId(long id) {
+            this.id = id;
         }
 
-        public String getParentSpanId() {
-            return parentSpanId;
+        public long getParentId() {
+            return parentId;
         }
 
-        public void setParentSpanId(String parentSpanId) {
-            this.parentSpanId = parentSpanId;
+        public void setParentId(long parentId) {
+            this.parentId = parentId;
         }
 
         public String getOperation() {
@@ -226,23 +635,55 @@ public class SignalContext {
             this.operation = operation;
         }
 
-        public long getStartTime() {
-            return startTime;
+        /**
+         * @return start time in nanoseconds since the epoch
+         */
+        public long getStartNanos() {
+            return startNanos;
         }
 
-        public void setStartTime(long startTime) {
-            this.startTime = startTime;
+        public void setStartNanos(long startNanos) {
+            this.startNanos = startNanos;
         }
 
-        public long getEndTime() {
-            return endTime;
+        public long getDurationNanos() {
+            return durationNanos;
+        }
+
+        public void setDurationNanos(long durationNanos) {
+            this.durationNanos = durationNanos;
         }
 
-        public void setEndTime(long endTime) {
-            this.endTime = endTime;
+        @JsonIgnore
+        public String getSpanId() {
+            return SpanIds.toHex(id);
+        }
+
+        @JsonIgnore
+        public String getParentSpanId() {
+            return SpanIds.toHex(parentId);
+        }
+
+        /**
+         * @return start time in epoch milliseconds
+         */
+        @JsonIgnore
+        public long getStartTime() {
+            return startNanos / 1_000_000L;
+        }
+
+        /**
+         * @return end time in epoch milliseconds
+         */
+        @JsonIgnore
+        public long getEndTime() {
+            return (startNanos + durationNanos) / 1_000_000L;
         }
 
         public Map<String, Object> getMetadata() {
+            if (metadata == null) {
+                metadata = new HashMap<>();
+            }
             return metadata;
         }
 
@@ -0,0 +1,287 @@
+package com.hibiscus.signal.core;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+
+/**
+ * 环形缓冲区信号分发器
+ * 异步信号的另一种执行引擎：事件写入预分配的环形缓冲区槽位，由常驻消费线程批量取出并依次执行处理器。
+ * - 按生产线程条带化为多个多生产者单消费者环，同一线程发射的事件保持先后顺序
+ * - 生产者通过 CAS 认领序号，写完槽位后发布序号；消费者按序号屏障读取连续已发布的一段，整段处理后再归还容量
+ * - 交接过程不分配对象，缓冲区满时生产者等待，内存占用有上界
+ * - 消费者空闲时按 {@link WaitStrategy} 忙等、让出或挂起
+ */
+public class SignalDispatcher {
+
+    private static final Logger log = LoggerFactory.getLogger(SignalDispatcher.class);
+
+    /**
+     * 消费者空闲等待策略
+     * - BUSY_SPIN：持续轮询，延迟最低，独占一个 CPU 核
+     * - YIELD：轮询间让出 CPU
+     * - PARK：挂起线程，由生产者发布时唤醒，空闲时不占 CPU
+     */
+    public enum WaitStrategy { BUSY_SPIN, YIELD, PARK }
+
+    /** 认领计数中的关闭标记位 */
+    private static final long CLOSED = 1L << 62;
+
+    /** PARK 策略的最长挂起时间，兜底错过的唤醒 */
+    private static final long MAX_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    private final Ring[] rings;
+    private final int stripeMask;
+    private final WaitStrategy waitStrategy;
+    private final SignalEmitter signalEmitter;
+
+    /**
+     * @param bufferSize    每个环的槽位数，向上取整为 2 的幂
+     * @param stripes       环的数量（即消费线程数），向上取整为 2 的幂
+     * @param waitStrategy  消费者空闲等待策略
+     * @param signalEmitter 用于执行处理器的发射器
+     */
+    public SignalDispatcher(int bufferSize, int stripes, WaitStrategy waitStrategy, SignalEmitter signalEmitter) {
+        int ringSize = nextPowerOfTwo(Math.max(2, bufferSize));
+        int ringCount = nextPowerOfTwo(Math.max(1, stripes));
+        this.waitStrategy = waitStrategy != null ? waitStrategy : WaitStrategy.PARK;
+        this.signalEmitter = signalEmitter;
+        this.stripeMask = ringCount - 1;
+        this.rings = new Ring[ringCount];
+        for (int i = 0; i < ringCount; i++) {
+            rings[i] = new Ring(ringSize);
+            Thread consumer = new ConsumerThread(rings[i], "signal-dispatcher-" + i);
+            consumer.setDaemon(true);
+            rings[i].consumer = consumer;
+            consumer.start();
+        }
+        log.info("Signal dispatcher started: {} rings x {} slots, wait strategy {}", ringCount, ringSize, this.waitStrategy);
+    }
+
+    /**
+     * 发布一个事件，由消费线程依次执行分发计划中的全部处理器；
+     * 处理器内部再次发射的信号不进入环，避免环满时消费线程等待自己
+     *
+     * @param ticket 准入凭证，未限制在途数时为 null
+     * @return false 表示分发器已关闭或当前线程是消费线程，事件未被接收
+     */
+    public boolean publish(DispatchPlan plan, AdmissionController.Ticket ticket, Object sender,
+                           Consumer<Throwable> errorHandler, SignalCallback callback, Object[] params) {
+        if (Thread.currentThread() instanceof ConsumerThread) {
+            return false;
+        }
+        Ring ring = rings[(int) Thread.currentThread().getId() & stripeMask];
+        return ring.publish(plan, ticket, sender, errorHandler, callback, params);
+    }
+
+    /**
+     * 关闭分发器：不再接收新事件，等待消费线程处理完已发布的事件
+     */
+    public void shutdown(long timeoutMs) {
+        for (Ring ring : rings) {
+            ring.close();
+        }
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMs);
+        for (Ring ring : rings) {
+            try {
+                ring.consumer.join(Math.max(1, TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime())));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    /**
+     * @return 已发布但尚未处理完的事件数
+     */
+    public long getBacklog() {
+        long backlog = 0;
+        for (Ring ring : rings) {
+            backlog += (ring.claimed.get() & ~CLOSED) - 1 - ring.consumed;
+        }
+        return backlog;
+    }
+
+    private static int nextPowerOfTwo(int value) {
+        int highest = Integer.highestOneBit(value);
+        return highest == value ? value : highest << 1;
+    }
+
+    /**
+     * 消费线程
+     */
+    private static final class ConsumerThread extends Thread {
+        ConsumerThread(Runnable target, String name) {
+            super(target, name);
+        }
+    }
+
+    /**
+     * 预分配的事件槽位，消费后清空引用
+     */
+    private static final class Slot {
+        DispatchPlan plan;
+        AdmissionController.Ticket ticket;
+        Object sender;
+        Consumer<Throwable> errorHandler;
+        SignalCallback callback;
+        Object[] params;
+        long publishedAt;
+    }
+
+    /**
+     * 多生产者单消费者环
+     */
+    private final class Ring implements Runnable {
+
+        private final Slot[] slots;
+        private final int mask;
+
+        /** 每个槽位最近一次发布的序号，消费者据此判断序号是否可读 */
+        private final AtomicLongArray published;
+
+        /** 下一个待认领的序号，高位为关闭标记 */
+        private final AtomicLong claimed = new AtomicLong();
+
+        /** 消费者已处理完的最大序号，生产者据此判断剩余容量 */
+        private volatile long consumed = -1;
+
+        private volatile boolean sleeping;
+        private Thread consumer;
+
+        Ring(int size) {
+            this.slots = new Slot[size];
+            for (int i = 0; i < size; i++) {
+                slots[i] = new Slot();
+            }
+            this.mask = size - 1;
+            this.published = new AtomicLongArray(size);
+            for (int i = 0; i < size; i++) {
+                published.set(i, -1);
+            }
+        }
+
+        boolean publish(DispatchPlan plan, AdmissionController.Ticket ticket, Object sender,
+                        Consumer<Throwable> errorHandler, SignalCallback callback, Object[] params) {
+            long sequence;
+            while (true) {
+                long current = claimed.get();
+                if ((current & CLOSED) != 0) {
+                    return false;
+                }
+                if (claimed.compareAndSet(current, current + 1)) {
+                    sequence = current;
+                    break;
+                }
+            }
+
+            // 等待消费者腾出容量
+            long wrapPoint = sequence - slots.length;
+            while (wrapPoint > consumed) {
+                if (waitStrategy == WaitStrategy.BUSY_SPIN) {
+                    continue;
+                }
+                LockSupport.parkNanos(1);
+            }
+
+            Slot slot = slots[(int) sequence & mask];
+            slot.plan = plan;
+            slot.ticket = ticket;
+            slot.sender = sender;
+            slot.errorHandler = errorHandler;
+            slot.callback = callback;
+            slot.params = params;
+            slot.publishedAt = System.nanoTime();
+            published.set((int) sequence & mask, sequence);
+
+            if (sleeping) {
+                LockSupport.unpark(consumer);
+            }
+            return true;
+        }
+
+        void close() {
+            while (true) {
+                long current = claimed.get();
+                if ((current & CLOSED) != 0 || claimed.compareAndSet(current, current | CLOSED)) {
+                    break;
+                }
+            }
+            LockSupport.unpark(consumer);
+        }
+
+        @Override
+        public void run() {
+            long next = consumed + 1;
+            while (true) {
+                long available = highestPublished(next);
+                if (available < next) {
+                    long current = claimed.get();
+                    if ((current & CLOSED) != 0 && (current & ~CLOSED) <= next) {
+                        return; // 已关闭且全部处理完
+                    }
+                    idle(next);
+                    continue;
+                }
+                for (long sequence = next; sequence <= available; sequence++) {
+                    consume(slots[(int) sequence & mask]);
+                }
+                consumed = available;
+                next = available + 1;
+            }
+        }
+
+        /**
+         * 序号屏障：从 next 开始连续已发布的最大序号
+         */
+        private long highestPublished(long next) {
+            long limit = next + slots.length - 1;
+            long sequence = next;
+            while (sequence <= limit && published.get((int) sequence & mask) == sequence) {
+                sequence++;
+            }
+            return sequence - 1;
+        }
+
+        private void consume(Slot slot) {
+            DispatchPlan plan = slot.plan;
+            try {
+                for (SigHandler sig : plan.getHandlers()) {
+                    signalEmitter.deliver(plan, sig, slot.ticket, slot.sender, slot.errorHandler, slot.callback, slot.params,
+                            slot.publishedAt);
+                }
+            } catch (Throwable t) {
+                log.error("Signal dispatcher failed to deliver [{}]: {}", plan.getEvent(), t.getMessage(), t);
+            } finally {
+                slot.plan = null;
+                slot.ticket = null;
+                slot.sender = null;
+                slot.errorHandler = null;
+                slot.callback = null;
+                slot.params = null;
+            }
+        }
+
+        private void idle(long next) {
+            switch (waitStrategy) {
+                case BUSY_SPIN:
+                    break;
+                case YIELD:
+                    Thread.yield();
+                    break;
+                default:
+                    sleeping = true;
+                    if (published.get((int) next & mask) != next && (claimed.get() & CLOSED) == 0) {
+                        LockSupport.parkNanos(this, MAX_PARK_NANOS);
+                    }
+                    sleeping = false;
+            }
+        }
+    }
+}
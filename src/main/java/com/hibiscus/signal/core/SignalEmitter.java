@@ -1,105 +1,652 @@
 package com.hibiscus.signal.core;
 
 import com.hibiscus.signal.config.SignalConfig;
+import com.hibiscus.signal.config.SignalPriority;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Consumer;
 
 /**
  * 信号发射器
- * 负责信号的发射逻辑，包括同步和异步发射
+ * 负责信号的发射逻辑，包括同步和异步发射；
+ * 每次处理器调用的结果与耗时直接反馈给分发计划中的熔断器和事件计数器。
+ * 异步发射的重试通过 {@link SignalTimer} 延迟后重新提交到执行器，等待期间不占用工作线程；
+ * 定时器或执行器已关闭而无法重试时，投递以“重试中止”失败，处理器不会在定时线程上执行
  */
 public class SignalEmitter {
-    
+
     private static final Logger log = LoggerFactory.getLogger(SignalEmitter.class);
-    
+
     private final ExecutorService executorService;
     private final SignalProcessor signalProcessor;
-    
-    public SignalEmitter(ExecutorService executorService, SignalProcessor signalProcessor) {
+    private final SignalTimer signalTimer;
+
+    public SignalEmitter(ExecutorService executorService, SignalProcessor signalProcessor, SignalTimer signalTimer) {
         this.executorService = executorService;
         this.signalProcessor = signalProcessor;
+        this.signalTimer = signalTimer;
     }
-    
+
     /**
      * 同步发射信号
      */
-    public void emitSync(String event, Object sender, List<SigHandler> sigs,
-                        SignalConfig config, Consumer<Throwable> errorHandler, 
-                        SignalCallback callback, SignalProtectionManager protectionManager,
-                        SignalMetrics metrics, Object... params) {
-        for (SigHandler sig : sigs) {
-            long startTime = System.currentTimeMillis();
+    public void emitSync(DispatchPlan plan, Object sender, Consumer<Throwable> errorHandler,
+                        SignalCallback callback, Object... params) {
+        for (SigHandler sig : plan.getHandlers()) {
+            execute(plan, sig, sender, errorHandler, callback, params);
+        }
+    }
+
+    /**
+     * lean 模式同步发射信号
+     * 处理器内联执行，上下文由调用方提供（可以为 null），稳态下零分配
+     */
+    public void emitLean(DispatchPlan plan, Object sender, Consumer<Throwable> errorHandler,
+                         SignalContext context, Object... params) {
+        String event = plan.getEvent();
+        SignalConfig config = plan.getConfig();
+        for (SigHandler sig : plan.getHandlers()) {
+            long startTime = System.nanoTime();
             try {
-                SignalContext context = findContext(params);
-                if (context == null) {
-                    context = new SignalContext();
+                signalProcessor.executeLean(event, sig, sender, config, context, params);
+                recordSuccess(plan, sig, startTime);
+            } catch (Exception e) {
+                recordFailure(plan, sig, startTime);
+                handleError(event, config, errorHandler, e);
+            }
+        }
+    }
+
+    /**
+     * 同步批量发射信号，每个处理器依次处理整批事件
+     */
+    public void emitBatchSync(DispatchPlan plan, Object sender, Consumer<Throwable> errorHandler,
+                              List<Object[]> batch) {
+        for (SigHandler sig : plan.getHandlers()) {
+            executeBatch(plan, sig, sender, errorHandler, batch);
+        }
+    }
+
+    /**
+     * 异步批量发射信号
+     * 按 batchChunkSize 切分批次，每个处理器的每个分片只提交一个执行器任务
+     */
+    public void emitBatchAsync(DispatchPlan plan, Object sender, Consumer<Throwable> errorHandler,
+                               List<Object[]> batch) {
+        int chunkSize = Math.max(1, plan.getConfig().getBatchChunkSize());
+        for (SigHandler sig : plan.getHandlers()) {
+            for (int from = 0; from < batch.size(); from += chunkSize) {
+                List<Object[]> chunk = batch.subList(from, Math.min(from + chunkSize, batch.size()));
+                submit(plan, sig, new BatchDelivery(plan, sig, sender, errorHandler, chunk, 0));
+            }
+        }
+    }
+
+    /**
+     * 异步发射信号
+     */
+    public void emitAsync(DispatchPlan plan, Object sender, Consumer<Throwable> errorHandler,
+                         SignalCallback callback, Object... params) {
+        emitAsync(plan, null, sender, errorHandler, callback, params);
+    }
+
+    /**
+     * 异步发射信号，全部处理器投递结束后归还准入名额
+     *
+     * @param ticket 准入凭证，未限制在途数时为 null
+     */
+    public void emitAsync(DispatchPlan plan, AdmissionController.Ticket ticket, Object sender,
+                          Consumer<Throwable> errorHandler, SignalCallback callback, Object... params) {
+        long enqueuedAt = System.nanoTime();
+        SigHandler[] handlers = plan.getHandlers();
+        for (int i = 0; i < handlers.length; i++) {
+            try {
+                submit(plan, handlers[i], new AsyncDelivery(plan, handlers[i], ticket, sender, errorHandler, callback,
+                        params, null, enqueuedAt));
+            } catch (RejectedExecutionException e) {
+                // 被拒绝的投递和其后尚未提交的投递都不会再执行，逐个结束它们，归还准入名额
+                for (int j = i; j < handlers.length; j++) {
+                    rejected(plan, handlers[j], ticket, sender, callback, e, params);
                 }
-                signalProcessor.executeWithTracingAndProtection(event, sig, sender, config, context, 
-                                                             protectionManager, metrics, params);
-                if (config.isRecordMetrics()) {
-                    // 记录处理时间
-                    long processingTime = System.currentTimeMillis() - startTime;
-                    log.debug("Signal [{}] processed in {}ms", event, processingTime);
+                throw e;
+            }
+        }
+    }
+
+    /**
+     * 按排序键有序地异步发射信号
+     * 同一键的信号（包括每个处理器的投递及其重试）在同一通道内按发射顺序逐个执行
+     */
+    public void emitOrdered(DispatchPlan plan, OrderedLanes lanes, Object key, AdmissionController.Ticket ticket,
+                            Object sender, Consumer<Throwable> errorHandler, SignalCallback callback, Object... params) {
+        OrderedLanes.Lane lane = lanes.lane(key);
+        long enqueuedAt = System.nanoTime();
+        for (SigHandler sig : plan.getHandlers()) {
+            lane.submit(new AsyncDelivery(plan, sig, ticket, sender, errorHandler, callback, params, lane, enqueuedAt));
+        }
+    }
+
+    /**
+     * 在当前线程执行一次异步投递（供 {@link SignalDispatcher} 的消费线程使用），失败后的重试仍交给定时器和执行器
+     * 第一次尝试直接在这里执行，不为每个处理器创建投递对象；只有需要重试时才转交给 {@link AsyncDelivery}
+     *
+     * @param publishedAt 信号写入环形缓冲区的时间（{@link System#nanoTime()}），用于记录排队等待时间
+     */
+    public void deliver(DispatchPlan plan, SigHandler sig, AdmissionController.Ticket ticket, Object sender,
+                        Consumer<Throwable> errorHandler, SignalCallback callback, Object[] params, long publishedAt) {
+        if (ticket != null && !ticket.start()) {
+            dropped(plan, sig, ticket, sender, callback, params, publishedAt);
+            return;
+        }
+        SignalConfig config = plan.getConfig();
+        long startTime = System.nanoTime();
+        if (config.isRecordMetrics()) {
+            recordQueueWait(plan, sig, startTime - publishedAt);
+        }
+        SignalContext context = findContext(params);
+        SignalContext.Span span = signalProcessor.startSpan(sig, context);
+        try {
+            signalProcessor.executeOnce(sig, sender, config, params);
+        } catch (Exception e) {
+            if (!(e instanceof InterruptedException) && config.getMaxRetries() > 0) {
+                new AsyncDelivery(plan, sig, ticket, sender, errorHandler, callback, params, null, publishedAt)
+                        .failedFirstAttempt(startTime, context, span, e);
+                return;
+            }
+            if (e instanceof InterruptedException) {
+                Thread.currentThread().interrupt();
+            }
+            complete(plan, sig, ticket, sender, errorHandler, callback, params, context, span,
+                    startTime, publishedAt, e);
+            return;
+        }
+        complete(plan, sig, ticket, sender, errorHandler, callback, params, context, span,
+                startTime, publishedAt, null);
+    }
+
+    /**
+     * 执行器拒绝了处理器投递：通知回调并结束这次投递
+     */
+    private void rejected(DispatchPlan plan, SigHandler sig, AdmissionController.Ticket ticket, Object sender,
+                          SignalCallback callback, RejectedExecutionException e, Object[] params) {
+        String event = plan.getEvent();
+        try {
+            if (callback != null) {
+                callback.onError(event, sender, e, params);
+                callback.onComplete(event, sender, params);
+            }
+        } finally {
+            if (ticket != null) {
+                ticket.finish();
+            }
+            report(callback, sig, EmitResult.Status.REJECTED, e, 0, 0);
+        }
+    }
+
+    /**
+     * 执行单个处理器并记录结果
+     */
+    private void execute(DispatchPlan plan, SigHandler sig, Object sender, Consumer<Throwable> errorHandler,
+                         SignalCallback callback, Object... params) {
+        String event = plan.getEvent();
+        SignalConfig config = plan.getConfig();
+        long startTime = System.nanoTime();
+        try {
+            signalProcessor.executeWithTracing(event, sig, sender, config, findContext(params), params);
+            long processingTime = recordSuccess(plan, sig, startTime);
+            if (config.isRecordMetrics()) {
+                log.debug("Signal [{}] processed in {}ms", event, processingTime);
+            }
+            if (callback != null) {
+                callback.onSuccess(event, sender, params);
+            }
+            report(callback, sig, EmitResult.Status.SUCCESS, null, System.nanoTime() - startTime, 0);
+        } catch (Exception e) {
+            recordFailure(plan, sig, startTime);
+            handleError(event, config, errorHandler, e);
+            if (callback != null) {
+                callback.onError(event, sender, e, params);
+            }
+            report(callback, sig, EmitResult.Status.FAILED, e, System.nanoTime() - startTime, 0);
+        } finally {
+            if (callback != null) {
+                callback.onComplete(event, sender, params);
+            }
+        }
+    }
+
+    /**
+     * 让处理器处理一批事件：批量处理器一次接收整批，普通处理器逐条执行，单条失败不影响同批的其他事件
+     */
+    private void executeBatch(DispatchPlan plan, SigHandler sig, Object sender, Consumer<Throwable> errorHandler,
+                              List<Object[]> batch) {
+        String event = plan.getEvent();
+        SignalConfig config = plan.getConfig();
+        if (sig.getHandler() instanceof BatchSignalHandler) {
+            long startTime = System.nanoTime();
+            try {
+                signalProcessor.executeBatch(event, sig, sender, config, batch);
+                recordSuccess(plan, sig, startTime);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                recordFailure(plan, sig, startTime);
+                handleError(event, config, errorHandler, e);
+            } catch (Exception e) {
+                recordFailure(plan, sig, startTime);
+                handleError(event, config, errorHandler, e);
+            }
+            return;
+        }
+
+        for (Object[] params : batch) {
+            long startTime = System.nanoTime();
+            try {
+                signalProcessor.executeLean(event, sig, sender, config, null, params);
+                recordSuccess(plan, sig, startTime);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                recordFailure(plan, sig, startTime);
+                handleError(event, config, errorHandler, e);
+                return;
+            } catch (Exception e) {
+                recordFailure(plan, sig, startTime);
+                handleError(event, config, errorHandler, e);
+            }
+        }
+    }
+
+    /**
+     * 把处理器任务提交到执行器；执行器是 {@link PriorityExecutor} 时按处理器的优先级执行
+     */
+    private void submit(DispatchPlan plan, SigHandler sig, Runnable task) {
+        if (executorService instanceof PriorityExecutor) {
+            SignalPriority priority = sig.getPriority() != null ? sig.getPriority() : plan.getConfig().getPriority();
+            ((PriorityExecutor) executorService).execute(priority, task);
+        } else {
+            CompletableFuture.runAsync(task, executorService);
+        }
+    }
+
+    /**
+     * 到达重试时间后把任务重新提交到执行器，定时线程从不执行处理器本身
+     * 定时器已关闭时不安排重试，由调用方立即以 {@link #retryAborted} 结束投递；
+     * 到期时执行器拒绝提交（执行器已关闭）则在定时线程上调用 aborted 结束投递
+     *
+     * @return 是否已安排重试
+     */
+    private boolean scheduleRetry(DispatchPlan plan, SigHandler sig, Runnable task,
+                                  Consumer<RejectedExecutionException> aborted, long delayMs) {
+        try {
+            signalTimer.schedule(() -> {
+                try {
+                    submit(plan, sig, task);
+                } catch (RejectedExecutionException e) {
+                    aborted.accept(e);
+                }
+            }, delayMs);
+            return true;
+        } catch (RejectedExecutionException e) {
+            return false;
+        }
+    }
+
+    /**
+     * 无法重试时投递的最终失败，最后一次处理器失败作为 cause
+     *
+     * @param rejection 执行器拒绝重试时的异常，定时器已关闭时为 null
+     */
+    private static Exception retryAborted(String event, Exception failure, RejectedExecutionException rejection) {
+        Exception aborted = new RejectedExecutionException(
+                "Signal [" + event + "] retry aborted: signal timer or executor is shut down", failure);
+        if (rejection != null) {
+            aborted.addSuppressed(rejection);
+        }
+        return aborted;
+    }
+
+    /**
+     * 结束一次异步投递：结束追踪 span，记录结果并通知回调，最后归还准入名额
+     *
+     * @param failure 最终失败，成功时为 null
+     */
+    private void complete(DispatchPlan plan, SigHandler sig, AdmissionController.Ticket ticket, Object sender,
+                          Consumer<Throwable> errorHandler, SignalCallback callback, Object[] params,
+                          SignalContext context, SignalContext.Span span, long startTime, long enqueuedAt,
+                          Exception failure) {
+        String event = plan.getEvent();
+        signalProcessor.endSpan(context, span);
+        try {
+            if (failure == null) {
+                long processingTime = recordSuccess(plan, sig, startTime);
+                if (plan.getConfig().isRecordMetrics()) {
+                    log.debug("Signal [{}] processed asynchronously in {}ms", event, processingTime);
                 }
                 if (callback != null) {
                     callback.onSuccess(event, sender, params);
                 }
-            } catch (Exception e) {
-                handleError(event, config, errorHandler, e);
+            } else {
+                recordFailure(plan, sig, startTime);
+                handleError(event, plan.getConfig(), errorHandler, failure);
                 if (callback != null) {
-                    callback.onError(event, sender, e, params);
+                    callback.onError(event, sender, failure, params);
                 }
-            } finally {
-                if (callback != null) {
-                    callback.onComplete(event, sender, params);
+            }
+        } finally {
+            if (callback != null) {
+                callback.onComplete(event, sender, params);
+            }
+            if (ticket != null) {
+                ticket.finish();
+            }
+            report(callback, sig, failure == null ? EmitResult.Status.SUCCESS : EmitResult.Status.FAILED, failure,
+                    System.nanoTime() - startTime, startTime - enqueuedAt);
+        }
+    }
+
+    /**
+     * 发射在开始执行前被 DROP_OLDEST 取消
+     */
+    private void dropped(DispatchPlan plan, SigHandler sig, AdmissionController.Ticket ticket, Object sender,
+                         SignalCallback callback, Object[] params, long enqueuedAt) {
+        String event = plan.getEvent();
+        log.debug("Signal [{}] dropped by overflow policy before it started", event);
+        try {
+            if (callback != null) {
+                callback.onError(event, sender, new RuntimeException("Signal dropped by overflow policy"), params);
+                callback.onComplete(event, sender, params);
+            }
+        } finally {
+            ticket.finish();
+            report(callback, sig, EmitResult.Status.DROPPED, null, 0, System.nanoTime() - enqueuedAt);
+        }
+    }
+
+    /**
+     * 单个处理器的一次异步投递
+     * 每次尝试只执行一次处理器，失败后由定时器在退避时间后重新提交，直到成功或重试次数用尽；
+     * 属于有序通道时，等待重试期间挂起通道，重试在通道内继续；无法安排重试时以“重试中止”结束；
+     * 持有准入凭证时，开始前发现发射已被取消则直接结束，结束后归还名额
+     */
+    private final class AsyncDelivery implements Runnable, OrderedLanes.Task {
+
+        private final DispatchPlan plan;
+        private final SigHandler sig;
+        private final AdmissionController.Ticket ticket;
+        private final Object sender;
+        private final Consumer<Throwable> errorHandler;
+        private final SignalCallback callback;
+        private final Object[] params;
+        private final OrderedLanes.Lane lane;
+        private final long enqueuedAt;
+        private long startTime;
+        private boolean started;
+        private SignalContext context;
+        private SignalContext.Span span;
+        private int retries;
+        private Exception retryAborted;
+
+        AsyncDelivery(DispatchPlan plan, SigHandler sig, AdmissionController.Ticket ticket, Object sender,
+                      Consumer<Throwable> errorHandler, SignalCallback callback, Object[] params,
+                      OrderedLanes.Lane lane, long enqueuedAt) {
+            this.plan = plan;
+            this.sig = sig;
+            this.ticket = ticket;
+            this.sender = sender;
+            this.errorHandler = errorHandler;
+            this.callback = callback;
+            this.params = params;
+            this.lane = lane;
+            this.enqueuedAt = enqueuedAt;
+        }
+
+        @Override
+        public void run() {
+            runInLane();
+        }
+
+        @Override
+        public boolean runInLane() {
+            if (retryAborted != null) {
+                complete(retryAborted);
+                return true;
+            }
+            if (!started) {
+                if (ticket != null && !ticket.start()) {
+                    dropped(plan, sig, ticket, sender, callback, params, enqueuedAt);
+                    return true;
+                }
+                started = true;
+                startTime = System.nanoTime();
+                if (plan.getConfig().isRecordMetrics()) {
+                    recordQueueWait(plan, sig, startTime - enqueuedAt);
+                }
+                context = findContext(params);
+                span = signalProcessor.startSpan(sig, context);
+            }
+            try {
+                signalProcessor.executeOnce(sig, sender, plan.getConfig(), params);
+            } catch (Exception e) {
+                return failed(e);
+            }
+            complete(null);
+            return true;
+        }
+
+        /**
+         * 接手 {@link #deliver} 中失败的第一次尝试，沿用其开始时间和追踪 span 继续重试
+         */
+        void failedFirstAttempt(long startTime, SignalContext context, SignalContext.Span span, Exception failure) {
+            this.started = true;
+            this.startTime = startTime;
+            this.context = context;
+            this.span = span;
+            failed(failure);
+        }
+
+        /**
+         * 一次尝试失败：还有重试次数时安排重试，否则结束投递
+         *
+         * @return 投递是否已结束，false 表示正在等待重试
+         */
+        private boolean failed(Exception e) {
+            SignalConfig config = plan.getConfig();
+            Exception failure = e;
+            if (e instanceof InterruptedException) {
+                Thread.currentThread().interrupt();
+            } else if (retries < config.getMaxRetries()) {
+                retries++;
+                if (scheduleRetry(plan, sig, lane != null ? () -> lane.resume(this) : this,
+                        rejection -> abortRetry(retryAborted(plan.getEvent(), e, rejection)),
+                        signalProcessor.getRetryDelay(config, retries))) {
+                    return false;
                 }
+                failure = retryAborted(plan.getEvent(), e, null);
+            }
+            complete(failure);
+            return true;
+        }
+
+        private void complete(Exception failure) {
+            SignalEmitter.this.complete(plan, sig, ticket, sender, errorHandler, callback, params, context, span,
+                    startTime, enqueuedAt, failure);
+        }
+
+        /**
+         * 到期的重试被执行器拒绝：以“重试中止”结束投递，属于有序通道时随后继续排空通道
+         */
+        private void abortRetry(Exception failure) {
+            retryAborted = failure;
+            if (lane != null) {
+                lane.resume(this);
+            } else {
+                runInLane();
             }
         }
     }
-    
+
     /**
-     * 异步发射信号
+     * 单个处理器的一个异步批量分片
+     * 批量处理器失败时整片重试；普通处理器只把失败的事件组成新的分片重试；
+     * 无法安排重试时分片中尚未成功的事件以“重试中止”结束
      */
-    public void emitAsync(String event, Object sender, List<SigHandler> sigs,
-                         SignalConfig config, Consumer<Throwable> errorHandler, 
-                         SignalCallback callback, SignalProtectionManager protectionManager,
-                         SignalMetrics metrics, Object... params) {
-        for (SigHandler sig : sigs) {
-            CompletableFuture.runAsync(() -> {
-                long startTime = System.currentTimeMillis();
+    private final class BatchDelivery implements Runnable {
+
+        private final DispatchPlan plan;
+        private final SigHandler sig;
+        private final Object sender;
+        private final Consumer<Throwable> errorHandler;
+        private final List<Object[]> batch;
+        private final int retries;
+
+        BatchDelivery(DispatchPlan plan, SigHandler sig, Object sender, Consumer<Throwable> errorHandler,
+                      List<Object[]> batch, int retries) {
+            this.plan = plan;
+            this.sig = sig;
+            this.sender = sender;
+            this.errorHandler = errorHandler;
+            this.batch = batch;
+            this.retries = retries;
+        }
+
+        @Override
+        public void run() {
+            if (sig.getHandler() instanceof BatchSignalHandler) {
+                long startTime = System.nanoTime();
                 try {
-                    SignalContext context = findContext(params);
-                    if (context == null) {
-                        context = new SignalContext();
-                    }
-                    signalProcessor.executeWithTracingAndProtection(event, sig, sender, config, context, 
-                                                                 protectionManager, metrics, params);
-                    if (config.isRecordMetrics()) {
-                        long processingTime = System.currentTimeMillis() - startTime;
-                        log.debug("Signal [{}] processed asynchronously in {}ms", event, processingTime);
-                    }
-                    if (callback != null) {
-                        callback.onSuccess(event, sender, params);
-                    }
+                    signalProcessor.executeBatchOnce(sig, sender, batch);
+                    recordSuccess(plan, sig, startTime);
                 } catch (Exception e) {
-                    handleError(event, config, errorHandler, e);
-                    if (callback != null) {
-                        callback.onError(event, sender, e, params);
+                    Exception failure = e;
+                    if (e instanceof InterruptedException) {
+                        Thread.currentThread().interrupt();
+                    } else if (retries < plan.getConfig().getMaxRetries()) {
+                        if (retry(batch, e, 1)) {
+                            return;
+                        }
+                        failure = retryAborted(plan.getEvent(), e, null);
                     }
-                } finally {
-                    if (callback != null) {
-                        callback.onComplete(event, sender, params);
+                    recordFailure(plan, sig, startTime);
+                    handleError(plan.getEvent(), plan.getConfig(), errorHandler, failure);
+                }
+                return;
+            }
+
+            List<Object[]> failed = null;
+            Exception lastFailure = null;
+            for (Object[] params : batch) {
+                long startTime = System.nanoTime();
+                try {
+                    signalProcessor.executeLeanOnce(sig, sender, params);
+                    recordSuccess(plan, sig, startTime);
+                } catch (Exception e) {
+                    if (e instanceof InterruptedException || retries >= plan.getConfig().getMaxRetries()) {
+                        recordFailure(plan, sig, startTime);
+                        handleError(plan.getEvent(), plan.getConfig(), errorHandler, e);
+                    } else {
+                        if (failed == null) {
+                            failed = new ArrayList<>();
+                        }
+                        failed.add(params);
+                        lastFailure = e;
                     }
                 }
-            }, executorService);
+            }
+            if (failed != null && !retry(failed, lastFailure, failed.size())) {
+                abort(failed.size(), retryAborted(plan.getEvent(), lastFailure, null));
+            }
+        }
+
+        /**
+         * 在退避时间后重试分片
+         *
+         * @param calls 分片对应的处理器调用数，重试被执行器拒绝时按此数记录失败
+         * @return false 表示定时器已关闭，没有安排重试
+         */
+        private boolean retry(List<Object[]> events, Exception failure, int calls) {
+            int next = retries + 1;
+            return scheduleRetry(plan, sig, new BatchDelivery(plan, sig, sender, errorHandler, events, next),
+                    rejection -> abort(calls, retryAborted(plan.getEvent(), failure, rejection)),
+                    signalProcessor.getRetryDelay(plan.getConfig(), next));
+        }
+
+        /**
+         * 以“重试中止”结束 count 次处理器调用
+         */
+        private void abort(int count, Exception failure) {
+            for (int i = 0; i < count; i++) {
+                recordFailure(plan, sig, System.nanoTime());
+                handleError(plan.getEvent(), plan.getConfig(), errorHandler, failure);
+            }
+        }
+    }
+
+    /**
+     * 记录一次成功调用，返回耗时（毫秒）
+     */
+    private long recordSuccess(DispatchPlan plan, SigHandler sig, long startTime) {
+        long nanos = System.nanoTime() - startTime;
+        long processingTime = TimeUnit.NANOSECONDS.toMillis(nanos);
+        CircuitBreaker circuitBreaker = plan.getCircuitBreaker();
+        if (circuitBreaker != null) {
+            circuitBreaker.recordSuccess(processingTime);
+        }
+        if (plan.getConfig().isRecordMetrics()) {
+            recordExecution(plan, sig, nanos);
+        }
+        return processingTime;
+    }
+
+    /**
+     * 记录一次失败调用
+     */
+    private void recordFailure(DispatchPlan plan, SigHandler sig, long startTime) {
+        long nanos = System.nanoTime() - startTime;
+        CircuitBreaker circuitBreaker = plan.getCircuitBreaker();
+        if (circuitBreaker != null) {
+            circuitBreaker.recordFailure(TimeUnit.NANOSECONDS.toMillis(nanos));
+        }
+        if (plan.getConfig().isRecordMetrics()) {
+            recordExecution(plan, sig, nanos);
+            plan.getCounters().recordError();
+        }
+    }
+
+    /**
+     * 按事件和按处理器记录执行耗时（纳秒）
+     */
+    private static void recordExecution(DispatchPlan plan, SigHandler sig, long nanos) {
+        plan.getCounters().recordExecution(nanos);
+        sig.latencies().getExecution().record(nanos);
+    }
+
+    /**
+     * 按事件和按处理器记录从入队到开始执行的等待时间（纳秒）
+     */
+    private static void recordQueueWait(DispatchPlan plan, SigHandler sig, long nanos) {
+        plan.getCounters().recordQueueWait(nanos);
+        sig.latencies().getQueueWait().record(nanos);
+    }
+
+    /**
+     * 回调是 {@link EmitResultCollector}（或包装了它的 {@link TraceCallback}）时上报处理器的结束状态和耗时
+     */
+    private static void report(SignalCallback callback, SigHandler sig, EmitResult.Status status, Throwable error,
+                               long durationNanos, long queueWaitNanos) {
+        if (callback instanceof TraceCallback) {
+            callback = ((TraceCallback) callback).getDelegate();
+        }
+        if (callback instanceof EmitResultCollector) {
+            ((EmitResultCollector) callback).handlerCompleted(sig, status, error, durationNanos, queueWaitNanos);
         }
     }
-    
+
     /**
      * 处理错误
      */
@@ -113,7 +660,7 @@ public class SignalEmitter {
             errorHandler.accept(e);
         }
     }
-    
+
     /**
      * 找到上下文
      */
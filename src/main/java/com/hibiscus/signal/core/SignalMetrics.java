@@ -1,111 +1,272 @@
 package com.hibiscus.signal.core;
 
-import com.hibiscus.signal.config.SignalConfig;
-
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
 
+/**
+ * 信号统计
+ * 计数使用 {@link LongAdder} 分段累加，多核并发发射时不争用同一缓存行；“最后时间”取自 {@link CoarseClock}，
+ * 同一时钟刻度内只写一次。{@link #snapshot()} 一次性生成全部事件的不可变快照，供导出器使用
+ */
 public class SignalMetrics {
 
     /**
-     * 统计信号量相关的指标
-     */
-    private final Map<String, AtomicLong> emitCount = new ConcurrentHashMap<>();
-
-    /**
-     * 统计信号量处理相关的指标
+     * 每个事件的计数器，按事件名索引；发射热路径可以预先解析并缓存 {@link EventCounters}
      */
-    private final Map<String, AtomicLong> handlerCount = new ConcurrentHashMap<>();
+    private final Map<String, EventCounters> eventCounters = new ConcurrentHashMap<>();
 
-    /**
-     * 统计信号量处理时间相关的指标
-     */
-    private final Map<String, AtomicLong> processingTime = new ConcurrentHashMap<>();
+    // 新增处理计数
+    private final LongAdder processedCount = new LongAdder();
 
     /**
-     * 统计信号量处理错误相关的指标
+     * 信号使用的自适应线程池，快照时读取它的指标；使用其他执行器时为 null
      */
-    private final Map<String, AtomicLong> errorCount = new ConcurrentHashMap<>();
+    private volatile AdaptiveThreadPoolExecutor executor;
 
     /**
-     * 统计信号量最后发射时间相关的指标
+     * 获取（必要时创建）事件的计数器
      */
-    private final Map<String, Long> lastEmitTime = new ConcurrentHashMap<>();
-
-    private final Map<String, SignalContext> eventTraces = new ConcurrentHashMap<>();
-
-    // 新增处理计数
-    private final AtomicLong processedCount = new AtomicLong();
-    private final Map<String, AtomicLong> processedCountByEvent = new ConcurrentHashMap<>();
-    private final Map<String, Long> lastProcessTime = new ConcurrentHashMap<>();
+    public EventCounters counters(String signalName) {
+        EventCounters counters = eventCounters.get(signalName);
+        return counters != null ? counters : eventCounters.computeIfAbsent(signalName, k -> new EventCounters());
+    }
 
     public void recordEmit(String signalName) {
-        emitCount.computeIfAbsent(signalName, k -> new AtomicLong()).incrementAndGet();
-        lastEmitTime.put(signalName, System.currentTimeMillis());
+        counters(signalName).recordEmit();
     }
 
     public void recordHandlerAdded(String signalName) {
-        handlerCount.computeIfAbsent(signalName, k -> new AtomicLong()).incrementAndGet();
+        counters(signalName).handlerCount.increment();
     }
 
     public void recordHandlerRemoved(String signalName) {
-        handlerCount.computeIfAbsent(signalName, k -> new AtomicLong()).decrementAndGet();
+        counters(signalName).handlerCount.decrement();
     }
 
     public void recordProcessingTime(String signalName, long timeInMillis) {
-        processingTime.computeIfAbsent(signalName, k -> new AtomicLong()).addAndGet(timeInMillis);
+        counters(signalName).recordProcessingTime(timeInMillis);
     }
 
     public void recordError(String signalName) {
-        errorCount.computeIfAbsent(signalName, k -> new AtomicLong()).incrementAndGet();
+        counters(signalName).recordError();
     }
 
+    /**
+     * @return 事件的统计键值表；不存在的事件返回全 0 的统计
+     */
     public Map<String, Object> getMetrics(String signalName) {
-        Map<String, Object> metrics = new ConcurrentHashMap<>();
-        metrics.put("emitCount", emitCount.getOrDefault(signalName, new AtomicLong()).get());
-        metrics.put("handlerCount", handlerCount.getOrDefault(signalName, new AtomicLong()).get());
-        metrics.put("totalProcessingTime", processingTime.getOrDefault(signalName, new AtomicLong()).get());
-        metrics.put("errorCount", errorCount.getOrDefault(signalName, new AtomicLong()).get());
-        metrics.put("lastEmitTime", lastEmitTime.getOrDefault(signalName, 0L));
-        return metrics;
+        EventCounters counters = eventCounters.get(signalName);
+        return (counters != null ? counters.snapshot(signalName) : MetricsSnapshot.EventSnapshot.EMPTY).toMap();
     }
 
     public Map<String, Map<String, Object>> getAllMetrics() {
-        Map<String, Map<String, Object>> allMetrics = new ConcurrentHashMap<>();
-        emitCount.keySet().forEach(signalName ->
-                allMetrics.put(signalName, getMetrics(signalName))
-        );
+        Map<String, Map<String, Object>> allMetrics = new HashMap<>();
+        eventCounters.forEach((signalName, counters) -> {
+            if (counters.emitCount.sum() > 0) {
+                allMetrics.put(signalName, counters.snapshot(signalName).toMap());
+            }
+        });
         return allMetrics;
     }
 
+    /**
+     * 一次读取全部事件的计数器，生成不可变快照，供导出器批量读取
+     */
+    public MetricsSnapshot snapshot() {
+        Map<String, MetricsSnapshot.EventSnapshot> events = new LinkedHashMap<>();
+        eventCounters.forEach((signalName, counters) -> events.put(signalName, counters.snapshot(signalName)));
+        return new MetricsSnapshot(System.currentTimeMillis(), processedCount.sum(), events, getExecutorMetrics());
+    }
 
-    public void recordTrace(SignalContext context) {
-        eventTraces.put(context.getTraceId(), context);
+    /**
+     * 登记信号使用的自适应线程池，此后它的指标和调整决策随快照一起导出
+     */
+    public void bindExecutor(AdaptiveThreadPoolExecutor executor) {
+        this.executor = executor;
+    }
+
+    /**
+     * @return 自适应线程池的指标，未登记时返回空表
+     */
+    public Map<String, Object> getExecutorMetrics() {
+        AdaptiveThreadPoolExecutor current = executor;
+        return current != null ? current.getMetrics() : Collections.emptyMap();
     }
 
-    public SignalContext getTrace(String traceId) {
-        return eventTraces.get(traceId);
+    /**
+     * @return 单个事件的快照，事件没有计数器时返回 null
+     */
+    public MetricsSnapshot.EventSnapshot snapshot(String event) {
+        EventCounters counters = eventCounters.get(event);
+        return counters != null ? counters.snapshot(event) : null;
     }
 
     public void recordProcessed() {
-        processedCount.incrementAndGet();
+        processedCount.increment();
     }
 
     public void recordProcessed(String event) {
-        processedCountByEvent.computeIfAbsent(event, k -> new AtomicLong()).incrementAndGet();
-        lastProcessTime.put(event, System.currentTimeMillis());
+        EventCounters counters = counters(event);
+        counters.processedCount.increment();
+        touch(counters.lastProcessTime);
     }
 
     public long getProcessedCount() {
-        return processedCount.get();
+        return processedCount.sum();
     }
 
     public long getProcessedCount(String event) {
-        return processedCountByEvent.getOrDefault(event, new AtomicLong()).get();
+        EventCounters counters = eventCounters.get(event);
+        return counters != null ? counters.processedCount.sum() : 0L;
+    }
+
+    /**
+     * @return 事件的排队和执行耗时分布，事件尚未记录过耗时时返回 null
+     */
+    public Latencies getLatencies(String event) {
+        EventCounters counters = eventCounters.get(event);
+        return counters != null ? counters.latencies : null;
     }
 
     public Long getLastProcessTime(String event) {
-        return lastProcessTime.get(event);
+        EventCounters counters = eventCounters.get(event);
+        if (counters == null || counters.processedCount.sum() == 0) {
+            return null;
+        }
+        return counters.lastProcessTime.get();
+    }
+
+    /**
+     * 用粗粒度时钟更新“最后时间”，同一个时钟刻度内只有第一次调用会写入，避免热点缓存行被反复写
+     */
+    private static void touch(AtomicLong lastTime) {
+        long now = CoarseClock.currentTimeMillis();
+        if (lastTime.get() != now) {
+            lastTime.lazySet(now);
+        }
+    }
+
+    /**
+     * 单个事件的计数器集合
+     */
+    public static final class EventCounters {
+
+        /**
+         * 统计信号量相关的指标
+         */
+        private final LongAdder emitCount = new LongAdder();
+
+        /**
+         * 统计信号量处理相关的指标
+         */
+        private final LongAdder handlerCount = new LongAdder();
+
+        /**
+         * 统计信号量处理时间相关的指标（纳秒累加，读取时换算为毫秒，避免逐次截断）
+         */
+        private final LongAdder processingTime = new LongAdder();
+
+        /**
+         * 统计信号量处理错误相关的指标
+         */
+        private final LongAdder errorCount = new LongAdder();
+
+        /**
+         * 统计信号量最后发射时间相关的指标，精度见 {@link CoarseClock}
+         */
+        private final AtomicLong lastEmitTime = new AtomicLong();
+
+        private final LongAdder processedCount = new LongAdder();
+        private final AtomicLong lastProcessTime = new AtomicLong();
+
+        public void recordEmit() {
+            emitCount.increment();
+            touch(lastEmitTime);
+        }
+
+        public void recordEmits(int count) {
+            emitCount.add(count);
+            touch(lastEmitTime);
+        }
+
+        public void recordError() {
+            errorCount.increment();
+        }
+
+        /**
+         * 排队和执行耗时分布，首次记录耗时时创建
+         */
+        private volatile Latencies latencies;
+
+        public void recordProcessingTime(long timeInMillis) {
+            processingTime.add(TimeUnit.MILLISECONDS.toNanos(timeInMillis));
+        }
+
+        /**
+         * 记录从入队到开始执行的等待时间
+         */
+        public void recordQueueWait(long nanos) {
+            latencies().queueWait.record(nanos);
+        }
+
+        /**
+         * 记录处理器的执行耗时，同时累加到总耗时
+         */
+        public void recordExecution(long nanos) {
+            latencies().execution.record(nanos);
+            processingTime.add(nanos);
+        }
+
+        MetricsSnapshot.EventSnapshot snapshot(String event) {
+            Latencies current = latencies;
+            return new MetricsSnapshot.EventSnapshot(event, emitCount.sum(), handlerCount.sum(),
+                    TimeUnit.NANOSECONDS.toMillis(processingTime.sum()),
+                    errorCount.sum(), processedCount.sum(), lastEmitTime.get(), lastProcessTime.get(),
+                    current != null ? current.execution.snapshot() : null,
+                    current != null ? current.queueWait.snapshot() : null);
+        }
+
+        public Latencies latencies() {
+            Latencies current = latencies;
+            if (current == null) {
+                synchronized (this) {
+                    current = latencies;
+                    if (current == null) {
+                        current = new Latencies();
+                        latencies = current;
+                    }
+                }
+            }
+            return current;
+        }
+    }
+
+    /**
+     * 一组排队等待和执行耗时直方图，按事件和按处理器各有一组
+     */
+    public static final class Latencies {
+
+        private final LatencyHistogram queueWait = new LatencyHistogram();
+        private final LatencyHistogram execution = new LatencyHistogram();
+
+        /**
+         * @return 从入队到开始执行的等待时间（纳秒）；同步发射不经过队列，不计入
+         */
+        public LatencyHistogram getQueueWait() {
+            return queueWait;
+        }
+
+        /**
+         * @return 处理器的执行耗时（纳秒），含重试
+         */
+        public LatencyHistogram getExecution() {
+            return execution;
+        }
     }
-}
\ No newline at end of file
+}
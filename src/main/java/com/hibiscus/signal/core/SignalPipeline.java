@@ -1,10 +1,12 @@
 package com.hibiscus.signal.core;
 
+import com.hibiscus.signal.trace.TraceClock;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 /**
  * 信号管道处理器
@@ -20,45 +22,47 @@ public class SignalPipeline {
     
     /**
      * 执行信号管道处理
+     * context 可以为 null，此时不记录追踪 span
      */
     public Object[] processPipeline(String event, Object sender, SignalContext context, Object... params) {
+        return processPipeline(event, sender, context, getInterceptors(event), getSortedFilters(event),
+                getTransformers(event), params);
+    }
+
+    /**
+     * 按预编译的分发计划执行信号管道处理，不再进行任何 map 查找
+     */
+    public Object[] processPipeline(DispatchPlan plan, Object sender, SignalContext context, Object... params) {
+        return processPipeline(plan.getEvent(), sender, context, plan.getInterceptors(), plan.getFilters(),
+                plan.getTransformers(), params);
+    }
+
+    private Object[] processPipeline(String event, Object sender, SignalContext context,
+                                     SignalInterceptor[] interceptors, SignalFilter[] filters,
+                                     SignalTransformer[] transformers, Object... params) {
         // 1. 执行拦截器
-        if (!executeInterceptors(event, sender, context, params)) {
+        if (!executeInterceptors(event, sender, context, interceptors, params)) {
             return null; // 被拦截器阻止
         }
         
         // 2. 执行过滤器
-        if (!executeFilters(event, sender, context, params)) {
+        if (!executeFilters(event, sender, context, filters, params)) {
             return null; // 被过滤器阻止
         }
         
         // 3. 执行转换器
-        return executeTransformers(event, sender, context, params);
+        return executeTransformers(event, sender, context, transformers, params);
     }
     
     /**
      * 执行拦截器链
      */
-    private boolean executeInterceptors(String event, Object sender, SignalContext context, Object... params) {
-        List<SignalInterceptor> interceptors = signalInterceptors.get(event);
-        if (interceptors == null || interceptors.isEmpty()) {
-            return true;
-        }
-        
+    private boolean executeInterceptors(String event, Object sender, SignalContext context,
+                                        SignalInterceptor[] interceptors, Object... params) {
         for (SignalInterceptor interceptor : interceptors) {
-            String spanId = UUID.randomUUID().toString();
-            String parentSpanId = context.getParentSpanId() != null ? context.getParentSpanId() : context.getEventId();
-            
-            SignalContext.Span span = new SignalContext.Span();
-            span.setSpanId(spanId);
-            span.setParentSpanId(parentSpanId);
-            span.setOperation("Interceptor: " + interceptor.getClass().getSimpleName());
-            span.setStartTime(System.currentTimeMillis());
-            
-            context.setParentSpanId(spanId);
+            SignalContext.Span span = startSpan(context, "Interceptor: ", interceptor);
             boolean allowed = interceptor.beforeHandle(event, sender, params);
-            span.setEndTime(System.currentTimeMillis());
-            context.addSpan(span);
+            endSpan(context, span);
             
             if (!allowed) {
                 log.debug("Signal [{}] blocked by interceptor: {}", event, interceptor.getClass().getSimpleName());
@@ -70,28 +74,14 @@ public class SignalPipeline {
     }
     
     /**
-     * 执行过滤器链
+     * 执行过滤器链（过滤器已按优先级排序）
      */
-    private boolean executeFilters(String event, Object sender, SignalContext context, Object... params) {
-        List<SignalFilter> filters = getSortedFilters(event);
-        if (filters.isEmpty()) {
-            return true;
-        }
-        
+    private boolean executeFilters(String event, Object sender, SignalContext context,
+                                   SignalFilter[] filters, Object... params) {
         for (SignalFilter filter : filters) {
-            String spanId = UUID.randomUUID().toString();
-            String parentSpanId = context.getParentSpanId() != null ? context.getParentSpanId() : context.getEventId();
-            
-            SignalContext.Span span = new SignalContext.Span();
-            span.setSpanId(spanId);
-            span.setParentSpanId(parentSpanId);
-            span.setOperation("Filter: " + filter.getClass().getSimpleName());
-            span.setStartTime(System.currentTimeMillis());
-            
-            context.setParentSpanId(spanId);
+            SignalContext.Span span = startSpan(context, "Filter: ", filter);
             boolean pass = filter.filter(event, sender, params);
-            span.setEndTime(System.currentTimeMillis());
-            context.addSpan(span);
+            endSpan(context, span);
             
             if (!pass) {
                 log.debug("Signal [{}] filtered out by: {}", event, filter.getClass().getSimpleName());
@@ -105,47 +95,72 @@ public class SignalPipeline {
     /**
      * 执行转换器链
      */
-    private Object[] executeTransformers(String event, Object sender, SignalContext context, Object... params) {
-        List<SignalTransformer> transformers = signalTransformers.get(event);
-        if (transformers == null || transformers.isEmpty()) {
-            return params;
-        }
-        
+    private Object[] executeTransformers(String event, Object sender, SignalContext context,
+                                         SignalTransformer[] transformers, Object... params) {
         Object[] transformedParams = params;
         for (SignalTransformer transformer : transformers) {
-            String spanId = UUID.randomUUID().toString();
-            String parentSpanId = context.getParentSpanId() != null ? context.getParentSpanId() : context.getEventId();
-            
-            SignalContext.Span span = new SignalContext.Span();
-            span.setSpanId(spanId);
-            span.setParentSpanId(parentSpanId);
-            span.setOperation("Transformer: " + transformer.getClass().getSimpleName());
-            span.setStartTime(System.currentTimeMillis());
-            
-            context.setParentSpanId(spanId);
+            SignalContext.Span span = startSpan(context, "Transformer: ", transformer);
             transformedParams = transformer.transform(event, sender, transformedParams);
-            span.setEndTime(System.currentTimeMillis());
-            context.addSpan(span);
+            endSpan(context, span);
         }
         
         return transformedParams;
     }
     
     /**
-     * 获取排序后的过滤器列表
+     * 开始一个管道组件的追踪 span，上下文为空（lean 模式）或未被采样时不追踪
      */
-    private List<SignalFilter> getSortedFilters(String event) {
-        List<SignalFilter> filters = signalFilters.getOrDefault(event, Collections.emptyList());
-        List<SignalFilter> copy = new ArrayList<>(filters);
-        copy.sort(Comparator.comparingInt(SignalFilter::getPriority));
-        return copy;
+    private SignalContext.Span startSpan(SignalContext context, String kind, Object component) {
+        if (context == null || !context.isSampled()) {
+            return null;
+        }
+        return SignalProcessor.openSpan(context, kind + component.getClass().getSimpleName());
     }
-    
+
+    /**
+     * 结束追踪 span
+     */
+    private void endSpan(SignalContext context, SignalContext.Span span) {
+        if (span != null) {
+            span.setDurationNanos(TraceClock.nowNanos() - span.getStartNanos());
+            context.addSpan(span);
+        }
+    }
+
+    /**
+     * 获取指定事件的拦截器快照
+     */
+    public SignalInterceptor[] getInterceptors(String event) {
+        List<SignalInterceptor> interceptors = signalInterceptors.get(event);
+        return interceptors == null ? DispatchPlan.NO_INTERCEPTORS : interceptors.toArray(DispatchPlan.NO_INTERCEPTORS);
+    }
+
+    /**
+     * 获取指定事件按优先级排序后的过滤器快照
+     */
+    public SignalFilter[] getSortedFilters(String event) {
+        List<SignalFilter> filters = signalFilters.get(event);
+        if (filters == null) {
+            return DispatchPlan.NO_FILTERS;
+        }
+        SignalFilter[] sorted = filters.toArray(DispatchPlan.NO_FILTERS);
+        Arrays.sort(sorted, Comparator.comparingInt(SignalFilter::getPriority));
+        return sorted;
+    }
+
+    /**
+     * 获取指定事件的转换器快照
+     */
+    public SignalTransformer[] getTransformers(String event) {
+        List<SignalTransformer> transformers = signalTransformers.get(event);
+        return transformers == null ? DispatchPlan.NO_TRANSFORMERS : transformers.toArray(DispatchPlan.NO_TRANSFORMERS);
+    }
+
     /**
      * 添加拦截器
      */
     public void addInterceptor(String event, SignalInterceptor interceptor) {
-        signalInterceptors.computeIfAbsent(event, k -> new ArrayList<>()).add(interceptor);
+        signalInterceptors.computeIfAbsent(event, k -> new CopyOnWriteArrayList<>()).add(interceptor);
         log.info("Interceptor [{}] added to event [{}]", interceptor.getClass().getSimpleName(), event);
     }
     
@@ -153,14 +168,14 @@ public class SignalPipeline {
      * 添加过滤器
      */
     public void addFilter(String event, SignalFilter filter) {
-        signalFilters.computeIfAbsent(event, k -> new ArrayList<>()).add(filter);
+        signalFilters.computeIfAbsent(event, k -> new CopyOnWriteArrayList<>()).add(filter);
     }
     
     /**
      * 添加转换器
      */
     public void addTransformer(String event, SignalTransformer transformer) {
-        signalTransformers.computeIfAbsent(event, k -> new ArrayList<>()).add(transformer);
+        signalTransformers.computeIfAbsent(event, k -> new CopyOnWriteArrayList<>()).add(transformer);
     }
     
     /**
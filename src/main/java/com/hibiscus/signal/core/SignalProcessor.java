@@ -2,16 +2,20 @@ package com.hibiscus.signal.core;
 
 import com.hibiscus.signal.config.SignalConfig;
 import com.hibiscus.signal.exceptions.SignalProcessingException;
+import com.hibiscus.signal.trace.SpanIds;
+import com.hibiscus.signal.trace.TraceClock;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.util.UUID;
-import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.CompletionException;
-import java.util.concurrent.ExecutorService;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadLocalRandom;
 import java.util.concurrent.TimeUnit;
-import java.util.concurrent.TimeoutException;
-import java.util.function.Consumer;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * 信号处理器
@@ -21,14 +25,15 @@ public class SignalProcessor {
     
     private static final Logger log = LoggerFactory.getLogger(SignalProcessor.class);
     
-    private final ExecutorService executorService;
+    private final TimeoutSweeper timeoutSweeper;
     
-    public SignalProcessor(ExecutorService executorService) {
-        this.executorService = executorService;
+    public SignalProcessor(SignalTimer signalTimer) {
+        this.timeoutSweeper = new TimeoutSweeper(signalTimer);
     }
     
     /**
      * 执行信号处理，包含重试逻辑
+     * 重试间隔按配置的指数退避和抖动计算，在当前线程等待；异步发射不走这里，而是把重试交给定时器
      */
     public void executeWithRetry(String event, SigHandler sig, Object sender,
                                 SignalConfig config, Object... params) throws Exception {
@@ -37,17 +42,13 @@ public class SignalProcessor {
 
         while (retries <= config.getMaxRetries()) {
             try {
-                if (config.getTimeoutMs() > 0) {
-                    executeWithTimeout(sig, sender, config.getTimeoutMs(), params);
-                } else {
-                    executeHandler(sig, sender, params);
-                }
+                executeOnce(sig, sender, config, params);
                 return;
             } catch (Exception e) {
                 lastException = e;
                 retries++;
                 if (retries <= config.getMaxRetries()) {
-                    Thread.sleep(config.getRetryDelayMs());
+                    Thread.sleep(getRetryDelay(config, retries));
                 }
             }
         }
@@ -56,97 +57,338 @@ public class SignalProcessor {
             throw lastException;
         }
     }
+
+    /**
+     * 执行一次信号处理（不重试），配置了超时则强制超时
+     */
+    public void executeOnce(SigHandler sig, Object sender, SignalConfig config, Object... params) throws Exception {
+        if (config.getTimeoutMs() > 0) {
+            executeWithTimeout(sig, sender, config.getTimeoutMs(), params);
+        } else {
+            executeHandler(sig, sender, params);
+        }
+    }
+
+    /**
+     * 计算第 retry 次重试（从 1 开始）前的等待时间
+     */
+    public long getRetryDelay(SignalConfig config, int retry) {
+        double delay = config.getRetryDelayMs() * Math.pow(config.getRetryBackoffMultiplier(), retry - 1);
+        delay = Math.min(delay, config.getMaxRetryDelayMs());
+        double jitter = config.getRetryJitter();
+        if (jitter > 0) {
+            delay *= 1 - jitter + 2 * jitter * ThreadLocalRandom.current().nextDouble();
+        }
+        return Math.max(0, (long) delay);
+    }
     
     /**
      * 执行带追踪的信号处理
      */
     public void executeWithTracing(String event, SigHandler sig, Object sender, 
                                   SignalConfig config, SignalContext context, Object... params) throws Exception {
-        String spanId = UUID.randomUUID().toString();
-        String parentSpanId = context.getParentSpanId() != null ? context.getParentSpanId() : context.getEventId();
+        SignalContext.Span span = startSpan(sig, context);
+        try {
+            executeWithRetry(event, sig, sender, config, params);
+        } finally {
+            endSpan(context, span);
+        }
+    }
 
-        SignalContext.Span span = new SignalContext.Span();
-        span.setSpanId(spanId);
-        span.setParentSpanId(parentSpanId);
+    /**
+     * 开始处理器的追踪 span，上下文为空或未被采样时不追踪
+     */
+    public SignalContext.Span startSpan(SigHandler sig, SignalContext context) {
+        if (context == null || !context.isSampled()) {
+            return null;
+        }
         String op = sig.getHandlerName() != null ? sig.getHandlerName() : "Handler: Unknown";
-        span.setOperation(op);
-        span.setStartTime(System.currentTimeMillis());
+        return openSpan(context, op);
+    }
+
+    /**
+     * 在上下文当前 span 下开启一个子 span，并把它设为当前 span
+     */
+    static SignalContext.Span openSpan(SignalContext context, String operation) {
+        SignalContext.Span span = new SignalContext.Span();
+        span.setId(SpanIds.nextId());
+        span.setParentId(context.getCurrentSpanId());
+        span.setOperation(operation);
+        span.setStartNanos(TraceClock.nowNanos());
 
-        context.setParentSpanId(spanId);
+        context.setCurrentSpanId(span.getId());
+        return span;
+    }
 
-        try {
-            executeWithRetry(event, sig, sender, config, params);
-        } finally {
-            span.setEndTime(System.currentTimeMillis());
+    /**
+     * 结束追踪 span
+     */
+    public void endSpan(SignalContext context, SignalContext.Span span) {
+        if (span != null) {
+            span.setDurationNanos(TraceClock.nowNanos() - span.getStartNanos());
             context.addSpan(span);
         }
     }
     
     /**
-     * 执行带追踪和熔断器状态更新的信号处理
+     * lean 模式下的信号处理
+     * 处理器在当前线程内联执行，不经过超时线程；只有调用方传入且被采样的上下文才记录追踪 span，
+     * 稳态下不产生任何对象分配。
+     * 失败重试的退避等待同样在当前线程上 sleep，调用方会被阻塞整个重试周期
      */
-    public void executeWithTracingAndProtection(String event, SigHandler sig, Object sender, 
-                                               SignalConfig config, SignalContext context, 
-                                               SignalProtectionManager protectionManager,
-                                               SignalMetrics metrics, Object... params) throws Exception {
-        String spanId = UUID.randomUUID().toString();
-        String parentSpanId = context.getParentSpanId() != null ? context.getParentSpanId() : context.getEventId();
+    public void executeLean(String event, SigHandler sig, Object sender, SignalConfig config,
+                            SignalContext context, Object... params) throws Exception {
+        SignalContext.Span span = startSpan(sig, context);
+        try {
+            int retries = 0;
+            while (true) {
+                try {
+                    invokeHandler(sig, sender, params);
+                    break;
+                } catch (Exception e) {
+                    if (++retries > config.getMaxRetries()) {
+                        throw e;
+                    }
+                    Thread.sleep(getRetryDelay(config, retries));
+                }
+            }
+        } finally {
+            endSpan(context, span);
+        }
+    }
 
-        SignalContext.Span span = new SignalContext.Span();
-        span.setSpanId(spanId);
-        span.setParentSpanId(parentSpanId);
-        String op = sig.getHandlerName() != null ? sig.getHandlerName() : "Handler: Unknown";
-        span.setOperation(op);
-        span.setStartTime(System.currentTimeMillis());
+    /**
+     * lean 语义下执行一次处理器（不重试、不追踪）
+     */
+    public void executeLeanOnce(SigHandler sig, Object sender, Object... params) throws Exception {
+        invokeHandler(sig, sender, params);
+    }
 
-        context.setParentSpanId(spanId);
+    /**
+     * 批量信号处理器一次处理整批事件，包含重试逻辑
+     * 与 lean 模式一样在当前线程内联执行且不强制超时
+     */
+    public void executeBatch(String event, SigHandler sig, Object sender, SignalConfig config,
+                             List<Object[]> batch) throws Exception {
+        BatchSignalHandler handler = (BatchSignalHandler) sig.getHandler();
+        int retries = 0;
+        while (true) {
+            try {
+                handler.handleBatch(sender, batch);
+                return;
+            } catch (InterruptedException e) {
+                throw e;
+            } catch (Exception e) {
+                if (++retries > config.getMaxRetries()) {
+                    throw new SignalProcessingException("Batch signal handler execution failed: " + e.getMessage(), 1001, e);
+                }
+                Thread.sleep(getRetryDelay(config, retries));
+            }
+        }
+    }
 
+    /**
+     * 批量信号处理器执行一次整批处理（不重试）
+     */
+    public void executeBatchOnce(SigHandler sig, Object sender, List<Object[]> batch) throws Exception {
+        BatchSignalHandler handler = (BatchSignalHandler) sig.getHandler();
         try {
-            executeWithRetry(event, sig, sender, config, params);
-            // 处理成功，更新熔断器状态
-            if (protectionManager != null && metrics != null) {
-                protectionManager.update(event, metrics);
-            }
-        } catch (Exception e) {
-            // 处理失败，记录错误指标（熔断器状态会在Signals.emit中通过metrics更新）
-            log.error("Signal handler execution failed: {} - {}", event, e.getMessage(), e);
+            handler.handleBatch(sender, batch);
+        } catch (InterruptedException e) {
             throw e;
-        } finally {
-            span.setEndTime(System.currentTimeMillis());
-            context.addSpan(span);
+        } catch (Exception e) {
+            throw new SignalProcessingException("Batch signal handler execution failed: " + e.getMessage(), 1001, e);
         }
     }
-    
+
     /**
      * 执行超时处理
+     * 处理器在当前线程内联执行，由超时扫描器在截止时间中断当前线程，不再额外占用执行器线程；
+     * 处理器不响应中断时会一直执行到返回，之后才报告超时
      */
     private void executeWithTimeout(SigHandler sig, Object sender, long timeoutMs, Object... params)
             throws Exception {
-        if (executorService.isShutdown() || executorService.isTerminated()) {
-            log.warn("线程池已关闭，直接同步执行处理器: {}", sig.getHandlerName());
+        TimeoutWatchdog watchdog = timeoutSweeper.arm(System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMs));
+        if (watchdog == null) {
+            log.warn("定时器已关闭，不限时执行处理器: {}", sig.getHandlerName());
             executeHandler(sig, sender, params);
             return;
         }
 
-        CompletableFuture<Void> task = CompletableFuture.runAsync(() -> {
-            try {
-                executeHandler(sig, sender, params);
-            } catch (Exception e) {
-                throw new CompletionException(e);
+        // 处理器开始前线程已有的中断来自调用方（例如关闭或取消），超时后只清除看门狗发出的中断
+        boolean interrupted = Thread.currentThread().isInterrupted();
+        try {
+            executeHandler(sig, sender, params);
+        } catch (Exception e) {
+            if (!watchdog.finish(interrupted)) {
+                throw timedOut(sig, timeoutMs);
             }
-        }, executorService);
+            throw e;
+        }
+        if (!watchdog.finish(interrupted)) {
+            throw timedOut(sig, timeoutMs);
+        }
+    }
 
-        try {
-            task.get(timeoutMs, TimeUnit.MILLISECONDS);
-        } catch (TimeoutException e) {
-            log.warn("信号处理器执行超时: {} ({}ms)", sig.getHandlerName(), timeoutMs);
-            task.cancel(true);
-            throw new SignalProcessingException("Signal handler execution timed out", 1001);
-        } catch (InterruptedException e) {
-            log.warn("信号处理器执行被中断: {}", sig.getHandlerName());
-            task.cancel(true);
-            Thread.currentThread().interrupt();
-            throw new SignalProcessingException("Signal handler execution interrupted", 1002);
+    private SignalProcessingException timedOut(SigHandler sig, long timeoutMs) {
+        log.warn("信号处理器执行超时: {} ({}ms)", sig.getHandlerName(), timeoutMs);
+        return new SignalProcessingException("Signal handler execution timed out", 1001);
+    }
+
+    /**
+     * 处理器超时扫描器
+     * 每个执行处理器的线程持有一个看门狗，首次使用时登记，之后每次调用只重新设定截止时间，稳态下不分配对象；
+     * 定时器上的单个周期任务每 {@link #TICK_MS} 毫秒扫描一次，中断已到截止时间的处理器线程，
+     * 并移除线程已退出的看门狗。同一线程上嵌套的限时调用使用一次性的看门狗，结束后移除。超时精度为一个扫描周期
+     */
+    private static final class TimeoutSweeper implements Runnable {
+
+        private static final long TICK_MS = 10;
+
+        private final SignalTimer signalTimer;
+        private final Queue<TimeoutWatchdog> watchdogs = new ConcurrentLinkedQueue<>();
+        private final ThreadLocal<TimeoutWatchdog> threadWatchdog = new ThreadLocal<>();
+        private final AtomicBoolean started = new AtomicBoolean();
+
+        TimeoutSweeper(SignalTimer signalTimer) {
+            this.signalTimer = signalTimer;
+        }
+
+        /**
+         * 为当前线程设定截止时间，首次调用时启动扫描任务
+         *
+         * @return 已设定的看门狗，null 表示定时器已关闭，处理器不限时执行
+         */
+        TimeoutWatchdog arm(long deadlineNanos) {
+            if (signalTimer.isShutdown()) {
+                return null;
+            }
+            if (!started.get() && started.compareAndSet(false, true)) {
+                try {
+                    signalTimer.scheduleAtFixedRate(this, TICK_MS);
+                } catch (RejectedExecutionException e) {
+                    return null;
+                }
+            }
+            TimeoutWatchdog watchdog = threadWatchdog.get();
+            if (watchdog != null && watchdog.isIdle()) {
+                watchdog.arm(deadlineNanos);
+                return watchdog;
+            }
+            // 线程第一次执行限时处理器，或者处理器内部又发起了限时调用
+            TimeoutWatchdog created = new TimeoutWatchdog(Thread.currentThread(), watchdog == null);
+            created.arm(deadlineNanos);
+            if (watchdog == null) {
+                threadWatchdog.set(created);
+            }
+            watchdogs.offer(created);
+            return created;
+        }
+
+        @Override
+        public void run() {
+            long now = System.nanoTime();
+            for (Iterator<TimeoutWatchdog> it = watchdogs.iterator(); it.hasNext(); ) {
+                TimeoutWatchdog watchdog = it.next();
+                watchdog.expire(now);
+                if (watchdog.isDisposable()) {
+                    it.remove();
+                }
+            }
+        }
+    }
+
+    /**
+     * 超时看门狗
+     * 状态的低两位是阶段，其余位是调用代数：处理器线程每次设定截止时间时代数加一，
+     * 扫描器只能中断读到的那一代调用，线程复用看门狗时不会误中断下一次调用。
+     * 处理器线程与扫描器通过 CAS 竞争结束状态：处理器先完成则看门狗不做任何事；
+     * 看门狗先到期则中断处理器线程，处理器线程随后等待中断发出完毕再清除中断标记，
+     * 保证中断不会泄漏到处理器之后执行的代码
+     */
+    private static final class TimeoutWatchdog {
+
+        private static final long IDLE = 0;
+        private static final long RUNNING = 1;
+        private static final long INTERRUPTING = 2;
+        private static final long TIMED_OUT = 3;
+        private static final long PHASE_MASK = 3;
+
+        private final Thread runner;
+        private final boolean pooled;
+        private final AtomicLong state = new AtomicLong(IDLE);
+        private volatile long deadlineNanos;
+
+        // 当前调用的代数，只由处理器线程读写
+        private long generation;
+
+        /**
+         * @param pooled true 表示线程复用的看门狗，线程退出后才移除；false 表示一次性的看门狗，调用结束后移除
+         */
+        TimeoutWatchdog(Thread runner, boolean pooled) {
+            this.runner = runner;
+            this.pooled = pooled;
+        }
+
+        /**
+         * 处理器线程开始一次调用；截止时间先于状态写入，扫描器读到新状态时一定能读到新的截止时间
+         */
+        void arm(long deadlineNanos) {
+            this.deadlineNanos = deadlineNanos;
+            state.set((++generation << 2) | RUNNING);
+        }
+
+        boolean isIdle() {
+            return (state.get() & PHASE_MASK) == IDLE;
+        }
+
+        /**
+         * 到达截止时间时中断处理器线程（扫描器调用）
+         */
+        void expire(long now) {
+            long current = state.get();
+            if ((current & PHASE_MASK) != RUNNING || now - deadlineNanos < 0) {
+                return;
+            }
+            long call = current & ~PHASE_MASK;
+            if (state.compareAndSet(current, call | INTERRUPTING)) {
+                runner.interrupt();
+                state.set(call | TIMED_OUT);
+            }
+        }
+
+        /**
+         * @return true 表示看门狗不再需要扫描
+         */
+        boolean isDisposable() {
+            if (pooled) {
+                return !runner.isAlive();
+            }
+            long phase = state.get() & PHASE_MASK;
+            return phase == IDLE || phase == TIMED_OUT;
+        }
+
+        /**
+         * 处理器线程结束时调用
+         *
+         * @param interrupted 处理器开始前线程是否已被中断
+         * @return true 表示在截止时间前完成，false 表示已超时
+         */
+        boolean finish(boolean interrupted) {
+            long call = generation << 2;
+            if (state.compareAndSet(call | RUNNING, call | IDLE)) {
+                return true;
+            }
+            while (state.get() == (call | INTERRUPTING)) {
+                Thread.yield();
+            }
+            // 清除看门狗发出的中断，保留调用方原有的中断
+            Thread.interrupted();
+            if (interrupted) {
+                runner.interrupt();
+            }
+            state.set(call | IDLE);
+            return false;
         }
     }
     
@@ -154,16 +396,22 @@ public class SignalProcessor {
      * 执行信号处理程序
      */
     private void executeHandler(SigHandler handler, Object sender, Object... params) throws Exception {
-        try {
-            SignalContext context = findContext(params);
-            if (context == null) {
-                context = new SignalContext();
-                Object[] newParams = new Object[params.length + 1];
-                newParams[0] = context;
-                System.arraycopy(params, 0, newParams, 1, params.length);
-                params = newParams;
-            }
+        SignalContext context = findContext(params);
+        if (context == null) {
+            context = new SignalContext();
+            Object[] newParams = new Object[params.length + 1];
+            newParams[0] = context;
+            System.arraycopy(params, 0, newParams, 1, params.length);
+            params = newParams;
+        }
+        invokeHandler(handler, sender, params);
+    }
 
+    /**
+     * 调用处理器，并将异常包装为 SignalProcessingException
+     */
+    private void invokeHandler(SigHandler handler, Object sender, Object... params) throws Exception {
+        try {
             handler.getHandler().handle(sender, params);
         } catch (Exception e) {
             String errorMessage = "Signal handler execution failed: " + e.getMessage();
@@ -7,57 +7,62 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.*;
-import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.CopyOnWriteArrayList;
-import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
 
 import static com.hibiscus.signal.core.EventType.ADD_HANDLER;
 
 /**
  * 信号注册管理器
- * 负责信号的注册、解绑和队列管理
+ * 负责信号的注册和解绑。
+ * 每个事件的处理器保存为不可变数组，放在事件独有的持有者中；注册和解绑在新数组上完成后通过 CAS 整体替换，
+ * 并发变更互不加锁、失败重试，方法返回时变更已对所有线程可见。
+ * 数组按处理器优先级排列（HIGH、MEDIUM、LOW），同一优先级内按注册顺序，同步发射依此顺序调用处理器
  */
 public class SignalRegistry {
     
     private static final Logger log = LoggerFactory.getLogger(SignalRegistry.class);
+
+    /**
+     * 未注册事件使用的默认配置（SignalConfig 不可变，可安全共享）
+     */
+    private static final SignalConfig DEFAULT_CONFIG = new SignalConfig.Builder().build();
+
+    private static final SigHandler[] NO_HANDLERS = new SigHandler[0];
     
     /**
-     * 监听器集合
+     * 监听器集合，每个事件一个持有者，持有的数组创建后不再修改
      */
-    private final Map<String, List<SigHandler>> sigHandlers = new ConcurrentHashMap<>();
+    private final Map<String, AtomicReference<SigHandler[]>> sigHandlers = new ConcurrentHashMap<>();
     
     /**
      * 信号配置
      */
     private final Map<String, SignalConfig> signalConfigs = new ConcurrentHashMap<>();
-    
+
     /**
-     * 事件队列
+     * 处理器变更监听器，参数为发生变更的事件名
      */
-    private final EnumMap<SignalPriority, BlockingQueue<SigHandler>> priorityQueues = new EnumMap<>(SignalPriority.class);
+    private final Consumer<String> changeListener;
     
+    public SignalRegistry() {
+        this(event -> { });
+    }
+
     /**
-     * 是否在循环中
+     * @param changeListener 处理器实际生效（添加或移除）后回调，用于重建分发计划
      */
-    private volatile boolean inLoop = false;
-    
-    public SignalRegistry() {
-        for (SignalPriority p : SignalPriority.values()) {
-            priorityQueues.put(p, new LinkedBlockingQueue<>());
-        }
+    public SignalRegistry(Consumer<String> changeListener) {
+        this.changeListener = changeListener;
     }
     
     /**
      * 注册信号处理器
      */
     public long registerHandler(String event, SignalHandler handler, SignalConfig signalConfig) {
-        signalConfigs.computeIfAbsent(event, k -> signalConfig);
         long id = SnowflakeIdGenerator.nextId();
-        SigHandler signalHandler = new SigHandler(id, ADD_HANDLER, event, handler, signalConfig.getPriority());
-        
-        priorityQueues.get(signalConfig.getPriority()).offer(signalHandler);
-        processEvents();
+        add(event, new SigHandler(id, ADD_HANDLER, event, handler, signalConfig.getPriority()), signalConfig);
         return id;
     }
     
@@ -65,26 +70,20 @@ public class SignalRegistry {
      * 注册信号处理器（带处理器名称）
      */
     public void registerHandler(String event, SignalHandler handler, SignalConfig signalConfig, String handlerName) {
-        signalConfigs.computeIfAbsent(event, k -> signalConfig);
         long id = SnowflakeIdGenerator.nextId();
         SigHandler signalHandler = new SigHandler(id, ADD_HANDLER, event, handler, signalConfig.getPriority());
         signalHandler.setHandlerName(handlerName != null ? handlerName : handler.getClass().getName());
-        
-        priorityQueues.get(signalConfig.getPriority()).offer(signalHandler);
-        processEvents();
+        add(event, signalHandler, signalConfig);
     }
     
     /**
      * 注册信号处理器（带上下文）
      */
     public long registerHandler(String event, SignalHandler handler, SignalConfig signalConfig, SignalContext context) {
-        signalConfigs.computeIfAbsent(event, k -> signalConfig);
         long id = SnowflakeIdGenerator.nextId();
         SigHandler signalHandler = new SigHandler(id, ADD_HANDLER, event, handler, signalConfig.getPriority());
         signalHandler.setSignalContext(context);
-        
-        priorityQueues.get(signalConfig.getPriority()).offer(signalHandler);
-        processEvents();
+        add(event, signalHandler, signalConfig);
         return id;
     }
     
@@ -92,89 +91,120 @@ public class SignalRegistry {
      * 解绑信号处理器
      */
     public void unregisterHandler(String event, long id) {
-        SignalConfig config = signalConfigs.getOrDefault(event, new SignalConfig.Builder().build());
-        SigHandler ev = new SigHandler(id, EventType.REMOVE_HANDLER, event, null, config.getPriority());
-        priorityQueues.get(config.getPriority()).offer(ev);
-        processEvents();
+        AtomicReference<SigHandler[]> holder = sigHandlers.get(event);
+        if (holder == null) {
+            return;
+        }
+        SigHandler[] current;
+        SigHandler[] updated;
+        do {
+            current = holder.get();
+            int index = indexOf(current, id);
+            if (index < 0) {
+                return;
+            }
+            updated = new SigHandler[current.length - 1];
+            System.arraycopy(current, 0, updated, 0, index);
+            System.arraycopy(current, index + 1, updated, index, current.length - index - 1);
+        } while (!holder.compareAndSet(current, updated));
+        log.debug("Handler unregistered for event: {}", event);
+        changeListener.accept(event);
     }
     
     /**
      * 解绑信号处理器（带上下文）
      */
     public void unregisterHandler(String event, long id, SignalContext context) {
-        SignalConfig config = signalConfigs.getOrDefault(event, new SignalConfig.Builder().build());
-        SigHandler ev = new SigHandler(id, EventType.REMOVE_HANDLER, event, null, config.getPriority());
-        ev.setSignalContext(context);
-        priorityQueues.get(config.getPriority()).offer(ev);
-        processEvents();
+        unregisterHandler(event, id);
     }
     
     /**
      * 处理事件队列
+     *
+     * @deprecated 注册和解绑在调用返回时已经生效，不再需要处理队列
      */
+    @Deprecated
     public void processEvents() {
-        if (inLoop) return;
-        synchronized (this) {
-            if (allQueuesEmpty()) return;
-            inLoop = true;
-        }
-        try {
-            // 按优先级顺序处理：HIGH -> MEDIUM -> LOW
-            processPriorityQueue(SignalPriority.HIGH);
-            processPriorityQueue(SignalPriority.MEDIUM);
-            processPriorityQueue(SignalPriority.LOW);
-        } finally {
-            inLoop = false;
-        }
     }
-    
+
     /**
-     * 处理优先级队列
-     */
-    private void processPriorityQueue(SignalPriority priority) {
-        BlockingQueue<SigHandler> queue = priorityQueues.get(priority);
-        SigHandler sigHandler;
-        while ((sigHandler = queue.poll()) != null) {
-            List<SigHandler> sigs = sigHandlers.computeIfAbsent(sigHandler.getSignalName(), k -> new CopyOnWriteArrayList<>());
-            SignalConfig config = signalConfigs.computeIfAbsent(sigHandler.getSignalName(), k -> new SignalConfig.Builder().build());
-            
-            switch (sigHandler.getEvType()) {
-                case ADD_HANDLER:
-                    if (sigs.size() < config.getMaxHandlers()) {
-                        sigs.add(sigHandler);
-                        log.debug("Handler registered for event: {}", sigHandler.getSignalName());
-                    }
-                    break;
-                case REMOVE_HANDLER:
-                    SigHandler finalEvent = sigHandler;
-                    sigs.removeIf(sh -> sh.getId() == finalEvent.getId());
-                    log.debug("Handler unregistered for event: {}", sigHandler.getSignalName());
-                    break;
-                default:
-                    log.warn("Unknown event type: {}", sigHandler.getEvType());
+     * 以 CAS 插入处理器，超过事件的最大处理器数时忽略
+     * 数组按优先级排列（HIGH 在前），同一优先级内保持注册顺序
+     */
+    private void add(String event, SigHandler signalHandler, SignalConfig signalConfig) {
+        SignalConfig config = signalConfigs.computeIfAbsent(event, k -> signalConfig);
+        AtomicReference<SigHandler[]> holder = sigHandlers.computeIfAbsent(event, k -> new AtomicReference<>(NO_HANDLERS));
+        SigHandler[] current;
+        SigHandler[] updated;
+        do {
+            current = holder.get();
+            if (current.length >= config.getMaxHandlers()) {
+                log.warn("Handler not registered for event: {}, max handlers {} reached", event, config.getMaxHandlers());
+                return;
             }
-        }
+            int index = insertionPoint(current, signalHandler);
+            updated = new SigHandler[current.length + 1];
+            System.arraycopy(current, 0, updated, 0, index);
+            updated[index] = signalHandler;
+            System.arraycopy(current, index, updated, index + 1, current.length - index);
+        } while (!holder.compareAndSet(current, updated));
+        log.debug("Handler registered for event: {}", event);
+        changeListener.accept(event);
     }
-    
+
     /**
-     * 判断所有队列是否为空
+     * @return 新处理器的插入位置：排在所有优先级不低于它的处理器之后
      */
-    private boolean allQueuesEmpty() {
-        return priorityQueues.values().stream().allMatch(Queue::isEmpty);
+    private static int insertionPoint(SigHandler[] handlers, SigHandler handler) {
+        int rank = rank(handler);
+        int index = handlers.length;
+        while (index > 0 && rank(handlers[index - 1]) > rank) {
+            index--;
+        }
+        return index;
+    }
+
+    private static int rank(SigHandler handler) {
+        return handler.getPriority() != null ? handler.getPriority().getValue() : SignalPriority.MEDIUM.getValue();
+    }
+
+    private static int indexOf(SigHandler[] handlers, long id) {
+        for (int i = 0; i < handlers.length; i++) {
+            if (handlers[i].getId() == id) {
+                return i;
+            }
+        }
+        return -1;
     }
     
     /**
      * 获取事件处理器列表
      */
     public List<SigHandler> getHandlers(String event) {
-        return sigHandlers.getOrDefault(event, Collections.emptyList());
+        SigHandler[] handlers = getHandlerArray(event);
+        return handlers.length == 0 ? Collections.emptyList() : Collections.unmodifiableList(Arrays.asList(handlers));
+    }
+
+    /**
+     * 获取事件处理器数组快照，数组不可修改
+     */
+    public SigHandler[] getHandlerArray(String event) {
+        AtomicReference<SigHandler[]> holder = sigHandlers.get(event);
+        return holder != null ? holder.get() : NO_HANDLERS;
     }
     
     /**
      * 获取信号配置
      */
     public SignalConfig getConfig(String event) {
-        return signalConfigs.getOrDefault(event, new SignalConfig.Builder().build());
+        return signalConfigs.getOrDefault(event, DEFAULT_CONFIG);
+    }
+    
+    /**
+     * 获取事件自身的配置，未注册过时返回 null
+     */
+    public SignalConfig findConfig(String event) {
+        return signalConfigs.get(event);
     }
     
     /**
@@ -205,11 +235,6 @@ public class SignalRegistry {
         sigHandlers.clear();
         signalConfigs.clear();
         
-        // 清空所有优先级队列
-        for (SignalPriority priority : SignalPriority.values()) {
-            priorityQueues.get(priority).clear();
-        }
-        
         log.info("已清除所有事件处理器: {} 个处理器, {} 个配置", handlerCount, configCount);
     }
     
@@ -217,7 +242,6 @@ public class SignalRegistry {
      * 检查事件是否有处理器
      */
     public boolean hasHandlers(String event) {
-        List<SigHandler> handlers = sigHandlers.get(event);
-        return handlers != null && !handlers.isEmpty();
+        return getHandlerArray(event).length > 0;
     }
 }
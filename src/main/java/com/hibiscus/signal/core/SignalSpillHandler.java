@@ -0,0 +1,19 @@
+package com.hibiscus.signal.core;
+
+/**
+ * Receives async signals rejected by an in-flight limit with {@code OverflowPolicy.SPILL},
+ * typically to persist them so they can be replayed once the load drops.
+ */
+@FunctionalInterface
+public interface SignalSpillHandler {
+
+    /**
+     * Stores a signal that was not run.
+     *
+     * @param plan   the dispatch plan of the event, giving access to its config and handlers
+     * @param sender the sender of the signal
+     * @param params the (already transformed) params of the signal
+     * @return true if the signal was stored, false if it is lost
+     */
+    boolean spill(DispatchPlan plan, Object sender, Object[] params);
+}
@@ -0,0 +1,56 @@
+package com.hibiscus.signal.core;
+
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 信号定时器
+ * 所有延迟动作（重试、处理器超时扫描）共享的单线程调度器；定时线程只负责到点后把任务交回执行器
+ * 或中断超时的处理器，从不执行处理器本身，因此等待重试期间不会占用任何工作线程
+ */
+public class SignalTimer {
+
+    private final ScheduledThreadPoolExecutor scheduler;
+
+    public SignalTimer() {
+        this("signal-timer");
+    }
+
+    public SignalTimer(String threadName) {
+        this.scheduler = new ScheduledThreadPoolExecutor(1, r -> {
+            Thread thread = new Thread(r, threadName);
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.scheduler.setRemoveOnCancelPolicy(true);
+    }
+
+    /**
+     * 延迟执行任务
+     */
+    public ScheduledFuture<?> schedule(Runnable task, long delayMs) {
+        return scheduler.schedule(task, delayMs, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * 按固定周期执行任务，定时器关闭时停止
+     */
+    public ScheduledFuture<?> scheduleAtFixedRate(Runnable task, long periodMs) {
+        return scheduler.scheduleAtFixedRate(task, periodMs, periodMs, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * 是否已关闭
+     */
+    public boolean isShutdown() {
+        return scheduler.isShutdown();
+    }
+
+    /**
+     * 关闭定时器，丢弃尚未到期的任务
+     */
+    public void shutdown() {
+        scheduler.shutdownNow();
+    }
+}
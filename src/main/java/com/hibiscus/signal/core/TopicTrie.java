@@ -0,0 +1,177 @@
+package com.hibiscus.signal.core;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 主题前缀树
+ * 事件名按 "." 切分为段，模式中的段支持两种通配符：
+ * - {@code *} 匹配恰好一段，例如 {@code order.*} 匹配 {@code order.created}，不匹配 {@code order.item.added}
+ * - {@code #} 匹配零段或多段，例如 {@code order.#} 匹配 {@code order}、{@code order.created}、{@code order.item.added}
+ * 单独的 {@code *} 为兼容旧写法，等同于 {@code #}（匹配所有事件）。
+ * 匹配只在构建分发计划时进行，结果随计划缓存，重复发射不再匹配
+ *
+ * @param <V> 模式上挂载的值
+ */
+public class TopicTrie<V> {
+
+    public static final String ONE = "*";
+    public static final String ANY = "#";
+
+    private final Node<V> root = new Node<>();
+
+    /**
+     * 挂载的值的个数，发射路径据此跳过没有任何模式时的匹配
+     */
+    private volatile int size;
+
+    /**
+     * 在模式上挂载一个值，同一模式上的相同值只保留一份
+     */
+    public synchronized void add(String pattern, V value) {
+        Node<V> node = root;
+        for (String segment : segments(normalize(pattern))) {
+            node = node.children.computeIfAbsent(segment, k -> new Node<>());
+        }
+        if (node.values.add(value)) {
+            size++;
+        }
+    }
+
+    /**
+     * 移除模式上挂载的值，并剪掉因此变空的节点
+     *
+     * @return true 表示值存在并已移除
+     */
+    public synchronized boolean remove(String pattern, V value) {
+        if (remove(root, segments(normalize(pattern)), 0, value)) {
+            size--;
+            return true;
+        }
+        return false;
+    }
+
+    private boolean remove(Node<V> node, String[] pattern, int index, V value) {
+        if (index == pattern.length) {
+            return node.values.remove(value);
+        }
+        Node<V> child = node.children.get(pattern[index]);
+        if (child == null || !remove(child, pattern, index + 1, value)) {
+            return false;
+        }
+        if (child.values.isEmpty() && child.children.isEmpty()) {
+            node.children.remove(pattern[index]);
+        }
+        return true;
+    }
+
+    /**
+     * @return 所有挂载的值
+     */
+    public synchronized List<V> values() {
+        List<V> values = new ArrayList<>(size);
+        collectAll(root, values);
+        return values;
+    }
+
+    private void collectAll(Node<V> node, List<V> out) {
+        out.addAll(node.values);
+        for (Node<V> child : node.children.values()) {
+            collectAll(child, out);
+        }
+    }
+
+    /**
+     * @return true 表示没有挂载任何值
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * 找出匹配事件名的所有模式上挂载的值，按模式在树中的位置排序（精确段优先于 {@code *}，{@code *} 优先于 {@code #}）
+     */
+    public synchronized List<V> match(String topic) {
+        Set<V> matched = new LinkedHashSet<>();
+        collect(root, segments(topic), 0, matched);
+        return new ArrayList<>(matched);
+    }
+
+    /**
+     * @return true 表示事件名含有通配段，需要按模式匹配
+     */
+    public static boolean isPattern(String topic) {
+        if (topic == null) {
+            return false;
+        }
+        for (String segment : segments(topic)) {
+            if (ONE.equals(segment) || ANY.equals(segment)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 判断单个模式是否匹配事件名
+     */
+    public static boolean matches(String pattern, String topic) {
+        return matches(segments(normalize(pattern)), 0, segments(topic), 0);
+    }
+
+    private static boolean matches(String[] pattern, int p, String[] topic, int t) {
+        if (p == pattern.length) {
+            return t == topic.length;
+        }
+        if (ANY.equals(pattern[p])) {
+            for (int skip = t; skip <= topic.length; skip++) {
+                if (matches(pattern, p + 1, topic, skip)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+        return t < topic.length
+                && (ONE.equals(pattern[p]) || pattern[p].equals(topic[t]))
+                && matches(pattern, p + 1, topic, t + 1);
+    }
+
+    private void collect(Node<V> node, String[] topic, int index, Set<V> out) {
+        if (index == topic.length) {
+            out.addAll(node.values);
+        } else {
+            Node<V> exact = node.children.get(topic[index]);
+            if (exact != null) {
+                collect(exact, topic, index + 1, out);
+            }
+            Node<V> one = node.children.get(ONE);
+            if (one != null && one != exact) {
+                collect(one, topic, index + 1, out);
+            }
+        }
+        Node<V> any = node.children.get(ANY);
+        if (any != null) {
+            // # 依次吞掉 0..n 段
+            for (int next = index; next <= topic.length; next++) {
+                collect(any, topic, next, out);
+            }
+        }
+    }
+
+    private static String normalize(String pattern) {
+        return ONE.equals(pattern) ? ANY : pattern;
+    }
+
+    private static String[] segments(String topic) {
+        return topic.isEmpty() ? new String[0] : topic.split("\\.", -1);
+    }
+
+    private static final class Node<V> {
+        final Map<String, Node<V>> children = new HashMap<>();
+        final Set<V> values = new LinkedHashSet<>();
+    }
+}
@@ -0,0 +1,83 @@
+package com.hibiscus.signal.core;
+
+import com.hibiscus.signal.trace.BatchSpanProcessor;
+import com.hibiscus.signal.trace.TraceClock;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 追踪回调
+ * 包装调用方的回调，数到最后一个处理器结束时把这次发射交给 {@link BatchSpanProcessor}，
+ * 发射线程上只有一次入队；只在调用方传入上下文时创建
+ */
+public final class TraceCallback implements SignalCallback {
+
+    private final SignalCallback delegate;
+    private final BatchSpanProcessor processor;
+    private final SignalContext context;
+    private final String event;
+    private final long startNanos = TraceClock.nowNanos();
+    private final AtomicInteger remaining;
+    private volatile Throwable error;
+
+    /**
+     * @param delegate  调用方的回调，可以为 null
+     * @param processor 追踪处理器
+     * @param context   发射使用的上下文
+     * @param plan      分发计划，处理器数决定需要等待的结束次数
+     */
+    public TraceCallback(SignalCallback delegate, BatchSpanProcessor processor, SignalContext context, DispatchPlan plan) {
+        this.delegate = delegate;
+        this.processor = processor;
+        this.context = context;
+        this.event = plan.getEvent();
+        this.remaining = new AtomicInteger(plan.getHandlers().length);
+    }
+
+    /**
+     * @return 被包装的回调
+     */
+    SignalCallback getDelegate() {
+        return delegate;
+    }
+
+    @Override
+    public void onSuccess(String event, Object sender, Object... params) {
+        if (delegate != null) {
+            delegate.onSuccess(event, sender, params);
+        }
+    }
+
+    @Override
+    public void onError(String event, Object sender, Throwable error, Object... params) {
+        if (this.error == null) {
+            this.error = error;
+        }
+        if (delegate != null) {
+            delegate.onError(event, sender, error, params);
+        }
+    }
+
+    @Override
+    public void onComplete(String event, Object sender, Object... params) {
+        if (delegate != null) {
+            delegate.onComplete(event, sender, params);
+        }
+        if (remaining.decrementAndGet() == 0) {
+            finish();
+        }
+    }
+
+    /**
+     * 信号整体未交给处理器（溢出丢弃、溢出存储）时直接结束追踪
+     */
+    public void abandon() {
+        if (remaining.getAndSet(0) > 0) {
+            finish();
+        }
+    }
+
+    private void finish() {
+        processor.onEnd(context, event, startNanos, TraceClock.nowNanos() - startNanos, error);
+    }
+}
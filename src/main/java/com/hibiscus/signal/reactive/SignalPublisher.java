@@ -0,0 +1,291 @@
+package com.hibiscus.signal.reactive;
+
+import com.hibiscus.signal.Signals;
+import com.hibiscus.signal.config.OverflowPolicy;
+import com.hibiscus.signal.config.SignalConfig;
+import com.hibiscus.signal.core.SignalContext;
+import com.hibiscus.signal.core.SignalHandler;
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiFunction;
+
+/**
+ * 信号发布者
+ * 把一个事件的信号流暴露为 Reactive Streams {@link Publisher}，可接入窗口、缓冲、限速等响应式操作符。
+ * 每个订阅通过 {@link Signals#connect} 注册一个处理器，收到的信号先进入有界缓冲区，
+ * 再按订阅者 request(n) 的需求逐个下发；缓冲区满时按溢出策略处理：
+ * - BLOCK：处理器线程最多等待 overflowTimeoutMs，慢订阅者的压力经执行器和准入控制传回发射方
+ * - DROP_NEWEST / DROP_OLDEST：丢弃最新或最早的信号并计数
+ * 取消订阅或 {@link #close()} 后解绑处理器
+ *
+ * @param <T> 下发给订阅者的元素类型
+ */
+public class SignalPublisher<T> implements Publisher<T>, AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(SignalPublisher.class);
+
+    public static final int DEFAULT_BUFFER_SIZE = 256;
+
+    private final Signals signals;
+    private final String event;
+    private final SignalConfig config;
+    private final BiFunction<Object, Object[], T> mapper;
+    private final int bufferSize;
+    private final OverflowPolicy overflowPolicy;
+    private final long overflowTimeoutMs;
+    private final Set<SignalSubscription> subscriptions = ConcurrentHashMap.newKeySet();
+    private final LongAdder dropped = new LongAdder();
+    private volatile boolean closed;
+
+    /**
+     * @param signals           信号管理器
+     * @param event             事件名称
+     * @param config            注册处理器使用的配置，事件已有配置时以已有配置为准
+     * @param mapper            把 (sender, params) 转换为下发元素，返回 null 表示跳过该信号
+     * @param bufferSize        每个订阅的缓冲区容量
+     * @param overflowPolicy    缓冲区满时的处理方式，支持 BLOCK、DROP_NEWEST、DROP_OLDEST
+     * @param overflowTimeoutMs BLOCK 策略下的最长等待时间（毫秒）
+     */
+    public SignalPublisher(Signals signals, String event, SignalConfig config, BiFunction<Object, Object[], T> mapper,
+                           int bufferSize, OverflowPolicy overflowPolicy, long overflowTimeoutMs) {
+        if (overflowPolicy != OverflowPolicy.BLOCK && overflowPolicy != OverflowPolicy.DROP_NEWEST
+                && overflowPolicy != OverflowPolicy.DROP_OLDEST) {
+            throw new IllegalArgumentException("Unsupported overflow policy for a signal publisher: " + overflowPolicy);
+        }
+        this.signals = signals;
+        this.event = event;
+        this.config = config != null ? config : new SignalConfig.Builder().build();
+        this.mapper = mapper;
+        this.bufferSize = Math.max(1, bufferSize);
+        this.overflowPolicy = overflowPolicy;
+        this.overflowTimeoutMs = Math.max(0, overflowTimeoutMs);
+    }
+
+    /**
+     * 下发信号参数（去掉框架附加的 {@link SignalContext}）的发布者，缓冲区满时阻塞处理器线程
+     */
+    public static SignalPublisher<Object[]> of(Signals signals, String event) {
+        return new SignalPublisher<>(signals, event, null, (sender, params) -> stripContext(params),
+                DEFAULT_BUFFER_SIZE, OverflowPolicy.BLOCK, 1000);
+    }
+
+    @Override
+    public void subscribe(Subscriber<? super T> subscriber) {
+        if (subscriber == null) {
+            throw new NullPointerException("subscriber");
+        }
+        SignalSubscription subscription = new SignalSubscription(subscriber);
+        subscriber.onSubscribe(subscription);
+        if (closed) {
+            subscription.complete();
+            return;
+        }
+        subscription.connect();
+    }
+
+    /**
+     * 关闭发布者：解绑全部处理器，订阅者收完缓冲区中的信号后收到 onComplete
+     */
+    @Override
+    public void close() {
+        closed = true;
+        for (SignalSubscription subscription : new ArrayList<>(subscriptions)) {
+            subscription.complete();
+        }
+    }
+
+    public String getEvent() {
+        return event;
+    }
+
+    /**
+     * @return 当前订阅数
+     */
+    public int getSubscriberCount() {
+        return subscriptions.size();
+    }
+
+    /**
+     * @return 因缓冲区满被丢弃的信号数（所有订阅合计）
+     */
+    public long getDroppedCount() {
+        return dropped.sum();
+    }
+
+    private static Object[] stripContext(Object[] params) {
+        int contexts = 0;
+        for (Object param : params) {
+            if (param instanceof SignalContext) {
+                contexts++;
+            }
+        }
+        if (contexts == 0) {
+            return params;
+        }
+        List<Object> values = new ArrayList<>(params.length - contexts);
+        for (Object param : params) {
+            if (!(param instanceof SignalContext)) {
+                values.add(param);
+            }
+        }
+        return values.toArray();
+    }
+
+    /**
+     * 单个订阅：处理器线程写入缓冲区，按需求在 drain 循环中串行下发，保证同一订阅者的回调不并发
+     */
+    private final class SignalSubscription implements Subscription, SignalHandler {
+
+        private final Subscriber<? super T> subscriber;
+        private final ArrayBlockingQueue<T> buffer = new ArrayBlockingQueue<>(bufferSize);
+        private final AtomicLong requested = new AtomicLong();
+        private final AtomicInteger wip = new AtomicInteger();
+        private volatile long handlerId;
+        private volatile boolean connected;
+        private volatile boolean done;
+        private volatile boolean cancelled;
+        private volatile Throwable error;
+
+        SignalSubscription(Subscriber<? super T> subscriber) {
+            this.subscriber = subscriber;
+        }
+
+        void connect() {
+            if (cancelled) {
+                return;
+            }
+            subscriptions.add(this);
+            handlerId = signals.connect(event, this, config);
+            connected = true;
+            if (closed) {
+                complete();
+            } else if (cancelled || done) {
+                disconnect();
+            }
+        }
+
+        void complete() {
+            disconnect();
+            done = true;
+            drain();
+        }
+
+        @Override
+        public void handle(Object sender, Object... params) throws InterruptedException {
+            if (cancelled || done) {
+                return;
+            }
+            T item = mapper.apply(sender, params);
+            if (item == null) {
+                return;
+            }
+            switch (overflowPolicy) {
+                case BLOCK:
+                    if (!buffer.offer(item, overflowTimeoutMs, TimeUnit.MILLISECONDS)) {
+                        dropped.increment();
+                        log.debug("Signal [{}] dropped: subscriber did not request within {}ms", event, overflowTimeoutMs);
+                    }
+                    break;
+                case DROP_OLDEST:
+                    while (!buffer.offer(item)) {
+                        if (buffer.poll() != null) {
+                            dropped.increment();
+                        }
+                    }
+                    break;
+                default:
+                    if (!buffer.offer(item)) {
+                        dropped.increment();
+                    }
+            }
+            drain();
+        }
+
+        @Override
+        public void request(long n) {
+            if (n <= 0) {
+                error = new IllegalArgumentException("Rule 3.9: request must be positive, got " + n);
+                complete();
+                return;
+            }
+            long current;
+            long next;
+            do {
+                current = requested.get();
+                if (current == Long.MAX_VALUE) {
+                    break;
+                }
+                next = current + n;
+                if (next < 0) {
+                    next = Long.MAX_VALUE;
+                }
+            } while (!requested.compareAndSet(current, next));
+            drain();
+        }
+
+        @Override
+        public void cancel() {
+            cancelled = true;
+            disconnect();
+            drain();
+        }
+
+        private void disconnect() {
+            if (connected && subscriptions.remove(this)) {
+                signals.disconnect(event, handlerId);
+            }
+        }
+
+        private void drain() {
+            if (wip.getAndIncrement() != 0) {
+                return;
+            }
+            int missed = 1;
+            do {
+                long demand = requested.get();
+                long emitted = 0;
+                while (emitted != demand && !cancelled) {
+                    T item = buffer.poll();
+                    if (item == null) {
+                        break;
+                    }
+                    try {
+                        subscriber.onNext(item);
+                    } catch (Throwable t) {
+                        log.error("Subscriber of signal [{}] threw from onNext, cancelling: {}", event, t.getMessage(), t);
+                        cancel();
+                    }
+                    emitted++;
+                }
+                if (cancelled) {
+                    buffer.clear();
+                } else if (done && (error != null || buffer.isEmpty())) {
+                    cancelled = true;
+                    buffer.clear();
+                    if (error != null) {
+                        subscriber.onError(error);
+                    } else {
+                        subscriber.onComplete();
+                    }
+                }
+                if (emitted != 0 && demand != Long.MAX_VALUE) {
+                    requested.addAndGet(-emitted);
+                }
+                missed = wip.addAndGet(-missed);
+            } while (missed != 0);
+        }
+    }
+}
@@ -0,0 +1,199 @@
+package com.hibiscus.signal.reactive;
+
+import com.hibiscus.signal.Signals;
+import com.hibiscus.signal.core.EmitAdmission;
+import com.hibiscus.signal.core.EmitResult;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * 信号订阅者
+ * 把响应式数据源的元素逐个发射为信号，发射节奏由处理器的处理能力决定：
+ * 最多同时有 maxInFlight 个发射未完成，每当一次发射的全部处理器结束（{@link Signals#emitAsync}）才向上游再请求一个元素，
+ * 上游不会因为处理器慢而无限制地堆积信号。
+ * 发射未被接纳（被丢弃、等待超时、熔断或限流拒绝）或抛出异常时不再向上游请求，而是取消订阅并以该错误结束，
+ * 避免在下游已经过载时继续拉取元素。
+ * 上游结束且在途发射全部完成后 {@link #getCompletion()} 完成
+ *
+ * @param <T> 上游元素类型
+ */
+public class SignalSubscriber<T> implements Subscriber<T> {
+
+    private static final Logger log = LoggerFactory.getLogger(SignalSubscriber.class);
+
+    private final Signals signals;
+    private final String event;
+    private final Function<? super T, Object[]> toParams;
+    private final int maxInFlight;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final LongAdder succeeded = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final CompletableFuture<Void> completion = new CompletableFuture<>();
+    private volatile Subscription subscription;
+    private volatile Throwable error;
+    private volatile boolean done;
+
+    /**
+     * @param signals     信号管理器
+     * @param event       事件名称
+     * @param toParams    把元素转换为信号参数
+     * @param maxInFlight 同时未完成的最大发射数
+     */
+    public SignalSubscriber(Signals signals, String event, Function<? super T, Object[]> toParams, int maxInFlight) {
+        this.signals = signals;
+        this.event = event;
+        this.toParams = toParams;
+        this.maxInFlight = Math.max(1, maxInFlight);
+    }
+
+    /**
+     * 每个元素作为单个参数发射
+     */
+    public static <T> SignalSubscriber<T> of(Signals signals, String event, int maxInFlight) {
+        return new SignalSubscriber<>(signals, event, item -> new Object[] {item}, maxInFlight);
+    }
+
+    @Override
+    public void onSubscribe(Subscription s) {
+        if (s == null) {
+            throw new NullPointerException("subscription");
+        }
+        if (subscription != null || done) {
+            s.cancel();
+            return;
+        }
+        subscription = s;
+        s.request(maxInFlight);
+    }
+
+    @Override
+    public void onNext(T item) {
+        if (item == null) {
+            throw new NullPointerException("item");
+        }
+        if (done) {
+            return;
+        }
+        inFlight.incrementAndGet();
+        CompletableFuture<EmitResult> result;
+        try {
+            result = signals.emitAsync(event, this, toParams.apply(item));
+        } catch (RuntimeException e) {
+            result = new CompletableFuture<>();
+            result.completeExceptionally(e);
+        }
+        result.whenComplete((emitResult, error) -> emitFinished(emitResult, error));
+    }
+
+    @Override
+    public void onError(Throwable t) {
+        if (error == null) {
+            error = t;
+        }
+        done = true;
+        tryComplete();
+    }
+
+    @Override
+    public void onComplete() {
+        done = true;
+        tryComplete();
+    }
+
+    /**
+     * 取消上游订阅，已在途的发射仍会执行完
+     */
+    public void cancel() {
+        done = true;
+        Subscription s = subscription;
+        if (s != null) {
+            s.cancel();
+        }
+        tryComplete();
+    }
+
+    /**
+     * @return 上游结束且在途发射全部完成时完成的 future；上游出错或发射被拒绝时异常完成
+     */
+    public CompletableFuture<Void> getCompletion() {
+        return completion;
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    /**
+     * @return 全部处理器都成功的发射数
+     */
+    public long getSucceededCount() {
+        return succeeded.sum();
+    }
+
+    /**
+     * @return 未被接纳或有处理器失败的发射数
+     */
+    public long getFailedCount() {
+        return failed.sum();
+    }
+
+    private void emitFinished(EmitResult result, Throwable failure) {
+        if (failure == null && isRejected(result)) {
+            failure = new RejectedExecutionException("Signal [" + event + "] emit was rejected: " + result.getAdmission());
+        }
+        if (failure == null && result.isSuccess()) {
+            succeeded.increment();
+        } else {
+            failed.increment();
+        }
+        inFlight.decrementAndGet();
+        if (failure != null) {
+            log.warn("Signal [{}] emit from reactive source rejected, cancelling upstream: {}", event, failure.getMessage());
+            if (error == null) {
+                error = failure;
+            }
+            cancel();
+        } else if (!done) {
+            subscription.request(1);
+        } else {
+            tryComplete();
+        }
+    }
+
+    /**
+     * 下游过载或拒绝接收：准入被拒绝，或有处理器投递被执行器拒绝。
+     * FILTERED、NO_HANDLERS 与负载无关，SPILLED 已由溢出存储接收
+     */
+    private static boolean isRejected(EmitResult result) {
+        EmitAdmission admission = result.getAdmission();
+        if (admission == EmitAdmission.DROPPED || admission == EmitAdmission.TIMED_OUT
+                || admission == EmitAdmission.REJECTED) {
+            return true;
+        }
+        for (EmitResult.HandlerResult handlerResult : result.getHandlerResults()) {
+            if (handlerResult.getStatus() == EmitResult.Status.REJECTED) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void tryComplete() {
+        if (done && inFlight.get() == 0 && !completion.isDone()) {
+            Throwable failure = error;
+            if (failure != null) {
+                completion.completeExceptionally(failure);
+            } else {
+                completion.complete(null);
+            }
+        }
+    }
+}
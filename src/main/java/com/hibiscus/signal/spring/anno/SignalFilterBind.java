@@ -15,7 +15,8 @@ import java.lang.annotation.*;
 public @interface SignalFilterBind {
 
     /**
-     * The signal types this filter applies to. Wildcards ("*") are supported.
+     * The signal types this filter applies to. Topic patterns are supported:
+     * {@code *} matches one segment, {@code #} matches any number of segments, and a bare {@code *} matches every event.
      *
      * @return an array of signal names
      */
@@ -15,7 +15,8 @@ import java.lang.annotation.*;
 public @interface SignalInterceptorBind {
 
     /**
-     * The signal types this interceptor should be applied to. Wildcards supported.
+     * The signal types this interceptor should be applied to. Topic patterns are supported:
+     * {@code *} matches one segment, {@code #} matches any number of segments, and a bare {@code *} matches every event.
      *
      * @return an array of signal identifiers
      */
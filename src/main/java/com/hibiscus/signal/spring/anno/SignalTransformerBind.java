@@ -15,7 +15,8 @@ import java.lang.annotation.*;
 public @interface SignalTransformerBind {
 
     /**
-     * The signal names this transformer should apply to. Supports wildcards.
+     * The signal names this transformer should apply to. Topic patterns are supported:
+     * {@code *} matches one segment, {@code #} matches any number of segments, and a bare {@code *} matches every event.
      *
      * @return an array of signal names
      */
@@ -1,9 +1,15 @@
 package com.hibiscus.signal.spring.config;
 
+import com.hibiscus.signal.config.DispatcherType;
+import com.hibiscus.signal.config.SignalExecutors;
+import com.hibiscus.signal.core.SignalDispatcher;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.context.annotation.ComponentScan;
 import org.springframework.context.annotation.Configuration;
 
+import java.util.HashMap;
+import java.util.Map;
+
 @Configuration
 @ComponentScan
 @ConfigurationProperties("hibiscus")
@@ -45,13 +51,43 @@ public class SignalProperties {
     // 持久化策略
     private String persistenceStrategy = "database"; // file, database, redis, mq, database_redis, database_mq, all
     
+    // 异步分发引擎配置
+    private DispatcherType asyncDispatcher = DispatcherType.EXECUTOR; // executor, ring_buffer
+    private Integer ringBufferSize = 65536; // 每个环的槽位数
+    private Integer ringBufferStripes = 0; // 环的数量，0 表示按 CPU 核数的一半
+    private SignalDispatcher.WaitStrategy ringBufferWaitStrategy = SignalDispatcher.WaitStrategy.PARK;
+    private Integer orderedLaneCount = 64; // 配置了排序键的信号使用的有序通道数
+    
+    // 处理器执行器配置
+    private String executorMode = SignalExecutors.MODE_PLATFORM; // platform, virtual, priority, adaptive
+    private Integer executorMinThreads = 0; // adaptive 模式的核心线程数下限，0 表示 CPU 核数
+    private Integer executorMaxThreads = 0; // adaptive 模式的线程数上限，0 表示 CPU 核数 * 2 + 1
+    private Long executorTargetQueueWaitMs = SignalExecutors.DEFAULT_TARGET_QUEUE_WAIT_MS; // adaptive 模式的目标平均排队时间
+    
     // 保护机制配置
     private Boolean protectionEnabled = false;
     private Integer circuitBreakerFailureThreshold = 5;
     private Long circuitBreakerOpenTimeoutMs = 60000L; // 60秒
     private Integer circuitBreakerHalfOpenTrialCount = 3;
     private Integer rateLimiterMaxRequestsPerSecond = 1000;
+    private Integer rateLimiterBurstCapacity; // 为空时等于每秒请求数
     private Double circuitBreakerErrorRateThreshold = 0.5; // 50%错误率触发熔断
+    private Integer circuitBreakerMinimumCalls = 10; // 滚动窗口内达到该调用数后才计算错误率
+    private Double circuitBreakerSlowCallRateThreshold; // 慢调用比例阈值，为空时不按慢调用熔断
+    private Long circuitBreakerSlowCallDurationMs = 5000L; // 超过该耗时的调用视为慢调用
+
+    // 追踪配置
+    private Double traceSampleRate = 1.0; // 追踪采样率，0 到 1，0 表示不记录 span
+    private Map<String, Double> traceEventSampleRates = new HashMap<>(); // 按事件覆盖的采样率
+    private Integer traceStoreCapacity = 1024; // 追踪存储最多保留的追踪数，0 表示不保留
+    private Long traceRetentionMs = 600000L; // 追踪的保留时长，10分钟
+    private Long traceSlowThresholdMs = 1000L; // 耗时超过该值的追踪一定保留
+    private Boolean traceKeepSampled = true; // 是否保留被采样的追踪，false 时只保留出错和慢的追踪
+    private String traceExportFile; // OTLP/JSON 追踪导出文件，为空时不导出到文件
+    private String traceServiceName = "hibiscus-signal"; // 导出时的 service.name
+    private Integer traceExportQueueSize = 2048; // 等待导出的最大追踪数，超出时丢弃
+    private Integer traceExportBatchSize = 512; // 每批导出的最大追踪数
+    private Long traceExportDelayMs = 1000L; // 不满一批时的最长导出间隔
 
     public Boolean getPersistent() {
         return persistent;
@@ -249,6 +285,78 @@ public class SignalProperties {
     }
     
     // 保护机制配置的getter和setter
+    public DispatcherType getAsyncDispatcher() {
+        return asyncDispatcher;
+    }
+    
+    public void setAsyncDispatcher(DispatcherType asyncDispatcher) {
+        this.asyncDispatcher = asyncDispatcher;
+    }
+    
+    public Integer getRingBufferSize() {
+        return ringBufferSize;
+    }
+    
+    public void setRingBufferSize(Integer ringBufferSize) {
+        this.ringBufferSize = ringBufferSize;
+    }
+    
+    public Integer getRingBufferStripes() {
+        return ringBufferStripes;
+    }
+    
+    public void setRingBufferStripes(Integer ringBufferStripes) {
+        this.ringBufferStripes = ringBufferStripes;
+    }
+    
+    public SignalDispatcher.WaitStrategy getRingBufferWaitStrategy() {
+        return ringBufferWaitStrategy;
+    }
+    
+    public void setRingBufferWaitStrategy(SignalDispatcher.WaitStrategy ringBufferWaitStrategy) {
+        this.ringBufferWaitStrategy = ringBufferWaitStrategy;
+    }
+    
+    public Integer getOrderedLaneCount() {
+        return orderedLaneCount;
+    }
+    
+    public void setOrderedLaneCount(Integer orderedLaneCount) {
+        this.orderedLaneCount = orderedLaneCount;
+    }
+    
+    public String getExecutorMode() {
+        return executorMode;
+    }
+    
+    public void setExecutorMode(String executorMode) {
+        this.executorMode = executorMode;
+    }
+    
+    public Integer getExecutorMinThreads() {
+        return executorMinThreads;
+    }
+    
+    public void setExecutorMinThreads(Integer executorMinThreads) {
+        this.executorMinThreads = executorMinThreads;
+    }
+    
+    public Integer getExecutorMaxThreads() {
+        return executorMaxThreads;
+    }
+    
+    public void setExecutorMaxThreads(Integer executorMaxThreads) {
+        this.executorMaxThreads = executorMaxThreads;
+    }
+    
+    public Long getExecutorTargetQueueWaitMs() {
+        return executorTargetQueueWaitMs;
+    }
+    
+    public void setExecutorTargetQueueWaitMs(Long executorTargetQueueWaitMs) {
+        this.executorTargetQueueWaitMs = executorTargetQueueWaitMs;
+    }
+    
     public Boolean getProtectionEnabled() {
         return protectionEnabled;
     }
@@ -289,6 +397,14 @@ public class SignalProperties {
         this.rateLimiterMaxRequestsPerSecond = rateLimiterMaxRequestsPerSecond;
     }
     
+    public Integer getRateLimiterBurstCapacity() {
+        return rateLimiterBurstCapacity;
+    }
+    
+    public void setRateLimiterBurstCapacity(Integer rateLimiterBurstCapacity) {
+        this.rateLimiterBurstCapacity = rateLimiterBurstCapacity;
+    }
+    
     public Double getCircuitBreakerErrorRateThreshold() {
         return circuitBreakerErrorRateThreshold;
     }
@@ -296,6 +412,118 @@ public class SignalProperties {
     public void setCircuitBreakerErrorRateThreshold(Double circuitBreakerErrorRateThreshold) {
         this.circuitBreakerErrorRateThreshold = circuitBreakerErrorRateThreshold;
     }
+    
+    public Integer getCircuitBreakerMinimumCalls() {
+        return circuitBreakerMinimumCalls;
+    }
+    
+    public void setCircuitBreakerMinimumCalls(Integer circuitBreakerMinimumCalls) {
+        this.circuitBreakerMinimumCalls = circuitBreakerMinimumCalls;
+    }
+    
+    public Double getCircuitBreakerSlowCallRateThreshold() {
+        return circuitBreakerSlowCallRateThreshold;
+    }
+    
+    public void setCircuitBreakerSlowCallRateThreshold(Double circuitBreakerSlowCallRateThreshold) {
+        this.circuitBreakerSlowCallRateThreshold = circuitBreakerSlowCallRateThreshold;
+    }
+    
+    public Long getCircuitBreakerSlowCallDurationMs() {
+        return circuitBreakerSlowCallDurationMs;
+    }
+    
+    public void setCircuitBreakerSlowCallDurationMs(Long circuitBreakerSlowCallDurationMs) {
+        this.circuitBreakerSlowCallDurationMs = circuitBreakerSlowCallDurationMs;
+    }
+
+    public Double getTraceSampleRate() {
+        return traceSampleRate;
+    }
+
+    public void setTraceSampleRate(Double traceSampleRate) {
+        this.traceSampleRate = traceSampleRate;
+    }
+
+    public Map<String, Double> getTraceEventSampleRates() {
+        return traceEventSampleRates;
+    }
+
+    public void setTraceEventSampleRates(Map<String, Double> traceEventSampleRates) {
+        this.traceEventSampleRates = traceEventSampleRates;
+    }
+
+    public Integer getTraceStoreCapacity() {
+        return traceStoreCapacity;
+    }
+
+    public void setTraceStoreCapacity(Integer traceStoreCapacity) {
+        this.traceStoreCapacity = traceStoreCapacity;
+    }
+
+    public Long getTraceRetentionMs() {
+        return traceRetentionMs;
+    }
+
+    public void setTraceRetentionMs(Long traceRetentionMs) {
+        this.traceRetentionMs = traceRetentionMs;
+    }
+
+    public Long getTraceSlowThresholdMs() {
+        return traceSlowThresholdMs;
+    }
+
+    public void setTraceSlowThresholdMs(Long traceSlowThresholdMs) {
+        this.traceSlowThresholdMs = traceSlowThresholdMs;
+    }
+
+    public Boolean getTraceKeepSampled() {
+        return traceKeepSampled;
+    }
+
+    public void setTraceKeepSampled(Boolean traceKeepSampled) {
+        this.traceKeepSampled = traceKeepSampled;
+    }
+
+    public String getTraceExportFile() {
+        return traceExportFile;
+    }
+
+    public void setTraceExportFile(String traceExportFile) {
+        this.traceExportFile = traceExportFile;
+    }
+
+    public String getTraceServiceName() {
+        return traceServiceName;
+    }
+
+    public void setTraceServiceName(String traceServiceName) {
+        this.traceServiceName = traceServiceName;
+    }
+
+    public Integer getTraceExportQueueSize() {
+        return traceExportQueueSize;
+    }
+
+    public void setTraceExportQueueSize(Integer traceExportQueueSize) {
+        this.traceExportQueueSize = traceExportQueueSize;
+    }
+
+    public Integer getTraceExportBatchSize() {
+        return traceExportBatchSize;
+    }
+
+    public void setTraceExportBatchSize(Integer traceExportBatchSize) {
+        this.traceExportBatchSize = traceExportBatchSize;
+    }
+
+    public Long getTraceExportDelayMs() {
+        return traceExportDelayMs;
+    }
+
+    public void setTraceExportDelayMs(Long traceExportDelayMs) {
+        this.traceExportDelayMs = traceExportDelayMs;
+    }
 
     @Override
     public String toString() {
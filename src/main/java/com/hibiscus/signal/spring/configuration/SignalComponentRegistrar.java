@@ -67,20 +67,15 @@ public class SignalComponentRegistrar implements BeanPostProcessor {
 
     /**
      * Registers a signal interceptor to one or more events based on the annotation.
-     * Supports wildcard `"*"` to apply the interceptor to all currently registered events.
+     * Topic patterns such as `"order.*"` and `"order.#"` are resolved by the dispatcher, so they
+     * also apply to events connected after this bean; a bare `"*"` matches every event.
      *
      * @param interceptor the SignalInterceptor instance
      * @param annotation  the associated {@link SignalInterceptorBind} annotation
      */
     private void registerInterceptor(SignalInterceptor interceptor, SignalInterceptorBind annotation) {
         for (String event : annotation.value()) {
-            if ("*".equals(event)) {
-                signals.getRegisteredEvents().forEach(e ->
-                        signals.addSignalInterceptor(e, interceptor)
-                );
-            } else {
-                signals.addSignalInterceptor(event, interceptor);
-            }
+            signals.addSignalInterceptor(event, interceptor);
             logger.info("Registered interceptor: {} for event: {}", interceptor.getClass().getSimpleName(), event);
         }
     }
@@ -127,8 +127,8 @@ public class SignalContextCollector {
 
     private static void printSpanTree(SignalContext.Span span, Map<String, List<SignalContext.Span>> childMap, int level) {
         String indent = repeat("  ",level);
-        System.out.printf("%s- [%s] %s (%dms)%n", indent, span.getSpanId(), span.getOperation(),
-                span.getEndTime() - span.getStartTime());
+        System.out.printf("%s- [%s] %s (%.3fms)%n", indent, span.getSpanId(), span.getOperation(),
+                span.getDurationNanos() / 1_000_000.0);
 
         List<SignalContext.Span> children = childMap.get(span.getSpanId());
         if (children != null) {
@@ -0,0 +1,290 @@
+package com.hibiscus.signal.trace;
+
+import com.hibiscus.signal.core.SignalContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 批量追踪处理器
+ * 发射结束时发射线程只把结束信息放入无锁队列（{@link #onEnd}），其余工作都在后台线程完成：
+ * 按 {@link TraceStore} 的尾部采样规则生成 {@link TraceRecord} 并保留，再按批交给各个 {@link SpanExporter}。
+ * 队列有界，满时丢弃并计数，不阻塞发射方；攒够一批或到达调度间隔时导出。
+ * 未配置追踪存储时只导出被采样或出错的追踪
+ */
+public class BatchSpanProcessor implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(BatchSpanProcessor.class);
+
+    public static final int DEFAULT_MAX_QUEUE_SIZE = 2048;
+    public static final int DEFAULT_MAX_BATCH_SIZE = 512;
+    public static final long DEFAULT_SCHEDULE_DELAY_MS = 1000;
+
+    private final TraceStore store;
+    private final int maxQueueSize;
+    private final int maxBatchSize;
+    private final long scheduleDelayNanos;
+    private final List<SpanExporter> exporters = new CopyOnWriteArrayList<>();
+    private final ConcurrentLinkedQueue<FinishedEmit> queue = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger queued = new AtomicInteger();
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder exported = new LongAdder();
+    private final Thread worker;
+    private volatile boolean sleeping;
+    private volatile boolean shutdown;
+
+    // 刷新请求与完成的序号，forceFlush 等待完成序号追上请求序号
+    private final Object flushLock = new Object();
+    private long flushRequested;
+    private long flushCompleted;
+
+    /**
+     * @param store           追踪存储，为 null 时不保留，只导出
+     * @param maxQueueSize    等待处理的最大结束数，超出时丢弃
+     * @param maxBatchSize    每批导出的最大追踪数
+     * @param scheduleDelayMs 不满一批时的最长等待时间（毫秒）
+     */
+    public BatchSpanProcessor(TraceStore store, int maxQueueSize, int maxBatchSize, long scheduleDelayMs) {
+        this.store = store;
+        this.maxQueueSize = Math.max(1, maxQueueSize);
+        this.maxBatchSize = Math.max(1, Math.min(maxBatchSize, this.maxQueueSize));
+        this.scheduleDelayNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(1, scheduleDelayMs));
+        this.worker = new Thread(this::work, "signal-trace-export");
+        this.worker.setDaemon(true);
+        this.worker.start();
+    }
+
+    public void addExporter(SpanExporter exporter) {
+        exporters.add(exporter);
+    }
+
+    public void removeExporter(SpanExporter exporter) {
+        exporters.remove(exporter);
+    }
+
+    /**
+     * @return true 表示有追踪存储或导出器，结束的发射值得入队
+     */
+    public boolean isActive() {
+        return !shutdown && (store != null || !exporters.isEmpty());
+    }
+
+    public TraceStore getStore() {
+        return store;
+    }
+
+    /**
+     * 发射结束时调用，只做一次入队
+     *
+     * @return false 表示队列已满或已关闭，这次发射被丢弃
+     */
+    public boolean onEnd(SignalContext context, String event, long startNanos, long durationNanos, Throwable error) {
+        if (shutdown) {
+            return false;
+        }
+        int size = queued.incrementAndGet();
+        if (size > maxQueueSize) {
+            queued.decrementAndGet();
+            dropped.increment();
+            return false;
+        }
+        queue.offer(new FinishedEmit(context, event, startNanos, durationNanos, error));
+        if (size >= maxBatchSize && sleeping) {
+            sleeping = false;
+            LockSupport.unpark(worker);
+        }
+        return true;
+    }
+
+    /**
+     * 导出队列中已有的全部追踪并刷新导出器
+     *
+     * @return true 表示在超时前完成
+     */
+    public boolean forceFlush(long timeoutMs) {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMs);
+        synchronized (flushLock) {
+            long target = ++flushRequested;
+            LockSupport.unpark(worker);
+            while (flushCompleted < target) {
+                long remaining = deadline - System.nanoTime();
+                if (remaining <= 0 || !worker.isAlive()) {
+                    return flushCompleted >= target;
+                }
+                try {
+                    TimeUnit.NANOSECONDS.timedWait(flushLock, remaining);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+    /**
+     * 停止接收新的结束信息，导出队列中剩余的追踪后关闭导出器
+     */
+    @Override
+    public void close() {
+        shutdown = true;
+        LockSupport.unpark(worker);
+        try {
+            worker.join(TimeUnit.NANOSECONDS.toMillis(scheduleDelayNanos) + 30000);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * @return 因队列满被丢弃的发射数
+     */
+    public long getDroppedCount() {
+        return dropped.sum();
+    }
+
+    /**
+     * @return 交给导出器的追踪数
+     */
+    public long getExportedCount() {
+        return exported.sum();
+    }
+
+    /**
+     * @return 等待后台线程处理的发射数
+     */
+    public int getQueueSize() {
+        return queued.get();
+    }
+
+    private void work() {
+        List<TraceRecord> batch = new ArrayList<>(maxBatchSize);
+        while (true) {
+            boolean stopping = shutdown;
+            long flushTarget;
+            synchronized (flushLock) {
+                flushTarget = flushRequested;
+            }
+            boolean flushing = flushTarget > flushCompleted();
+            if (!stopping && !flushing && queued.get() < maxBatchSize) {
+                sleeping = true;
+                LockSupport.parkNanos(this, scheduleDelayNanos);
+                sleeping = false;
+            }
+            drain(batch);
+            if (flushing) {
+                flushExporters();
+                synchronized (flushLock) {
+                    flushCompleted = flushTarget;
+                    flushLock.notifyAll();
+                }
+            }
+            if (stopping) {
+                break;
+            }
+        }
+        flushExporters();
+        for (SpanExporter exporter : exporters) {
+            try {
+                exporter.shutdown();
+            } catch (Exception e) {
+                log.warn("Span exporter {} failed to shut down: {}", exporter.getClass().getSimpleName(), e.getMessage());
+            }
+        }
+        synchronized (flushLock) {
+            flushCompleted = flushRequested;
+            flushLock.notifyAll();
+        }
+    }
+
+    private long flushCompleted() {
+        synchronized (flushLock) {
+            return flushCompleted;
+        }
+    }
+
+    private void drain(List<TraceRecord> batch) {
+        FinishedEmit finished;
+        while ((finished = queue.poll()) != null) {
+            queued.decrementAndGet();
+            TraceRecord record;
+            try {
+                record = keep(finished);
+            } catch (RuntimeException e) {
+                log.warn("Failed to record trace of signal [{}]: {}", finished.event, e.getMessage());
+                continue;
+            }
+            if (record != null) {
+                batch.add(record);
+                if (batch.size() >= maxBatchSize) {
+                    export(batch);
+                }
+            }
+        }
+        if (!batch.isEmpty()) {
+            export(batch);
+        }
+    }
+
+    private TraceRecord keep(FinishedEmit finished) {
+        if (store != null) {
+            return store.record(finished.context, finished.event, finished.startNanos, finished.durationNanos,
+                    finished.error);
+        }
+        if (finished.context.isSampled() || finished.error != null) {
+            return TraceRecord.of(finished.context, finished.event, finished.startNanos, finished.durationNanos,
+                    finished.error);
+        }
+        return null;
+    }
+
+    private void export(List<TraceRecord> batch) {
+        if (!exporters.isEmpty()) {
+            List<TraceRecord> traces = new ArrayList<>(batch);
+            for (SpanExporter exporter : exporters) {
+                try {
+                    exporter.export(traces);
+                } catch (Exception e) {
+                    log.warn("Span exporter {} failed to export {} traces: {}",
+                            exporter.getClass().getSimpleName(), traces.size(), e.getMessage());
+                }
+            }
+            exported.add(traces.size());
+        }
+        batch.clear();
+    }
+
+    private void flushExporters() {
+        for (SpanExporter exporter : exporters) {
+            try {
+                exporter.flush();
+            } catch (Exception e) {
+                log.warn("Span exporter {} failed to flush: {}", exporter.getClass().getSimpleName(), e.getMessage());
+            }
+        }
+    }
+
+    private static final class FinishedEmit {
+        final SignalContext context;
+        final String event;
+        final long startNanos;
+        final long durationNanos;
+        final Throwable error;
+
+        FinishedEmit(SignalContext context, String event, long startNanos, long durationNanos, Throwable error) {
+            this.context = context;
+            this.event = event;
+            this.startNanos = startNanos;
+            this.durationNanos = durationNanos;
+            this.error = error;
+        }
+    }
+}
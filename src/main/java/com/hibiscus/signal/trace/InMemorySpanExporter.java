@@ -0,0 +1,43 @@
+package com.hibiscus.signal.trace;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Exporter that keeps exported traces in memory, intended for tests.
+ */
+public class InMemorySpanExporter implements SpanExporter {
+
+    private final List<TraceRecord> traces = new CopyOnWriteArrayList<>();
+
+    @Override
+    public void export(List<TraceRecord> batch) {
+        traces.addAll(batch);
+    }
+
+    /**
+     * @return a copy of the exported traces, oldest first
+     */
+    public List<TraceRecord> getFinishedTraces() {
+        return new ArrayList<>(traces);
+    }
+
+    /**
+     * @return the spans of all exported traces, in export order
+     */
+    public List<SpanData> getFinishedSpans() {
+        List<SpanData> spans = new ArrayList<>();
+        for (TraceRecord trace : traces) {
+            spans.addAll(trace.getSpans());
+        }
+        return spans;
+    }
+
+    /**
+     * Discards the exported traces.
+     */
+    public void reset() {
+        traces.clear();
+    }
+}
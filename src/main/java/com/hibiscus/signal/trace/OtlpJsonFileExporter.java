@@ -0,0 +1,140 @@
+package com.hibiscus.signal.trace;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+/**
+ * OTLP/JSON 文件导出器
+ * 每批追踪写成一行 OTLP {@code ExportTraceServiceRequest}（JSON Lines），可由 OpenTelemetry Collector 的
+ * otlpjsonfile 接收器读取。每条追踪额外生成一个名为 {@code emit <事件名>} 的根 span 覆盖整次发射，
+ * 记录中的顶层 span 挂在它下面，出错的追踪在根 span 上标记 ERROR 状态；未采样但因出错或慢被保留的追踪只有根 span
+ */
+public class OtlpJsonFileExporter implements SpanExporter {
+
+    public static final String DEFAULT_SERVICE_NAME = "hibiscus-signal";
+
+    private static final String SCOPE_NAME = "com.hibiscus.signal";
+    private static final int SPAN_KIND_INTERNAL = 1;
+    private static final int STATUS_CODE_ERROR = 2;
+
+    private final JsonFactory jsonFactory = new JsonFactory();
+    private final String serviceName;
+    private final OutputStream out;
+
+    /**
+     * @param file        输出文件，不存在时创建，已存在时追加
+     * @param serviceName 写入 resource 的 service.name
+     */
+    public OtlpJsonFileExporter(String file, String serviceName) throws IOException {
+        Path path = Paths.get(file);
+        if (path.getParent() != null) {
+            Files.createDirectories(path.getParent());
+        }
+        this.serviceName = serviceName != null ? serviceName : DEFAULT_SERVICE_NAME;
+        this.out = new BufferedOutputStream(Files.newOutputStream(path, StandardOpenOption.CREATE,
+                StandardOpenOption.APPEND, StandardOpenOption.WRITE));
+    }
+
+    @Override
+    public void export(List<TraceRecord> traces) throws IOException {
+        if (traces.isEmpty()) {
+            return;
+        }
+        JsonGenerator json = jsonFactory.createGenerator(out, JsonEncoding.UTF8);
+        json.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        json.writeStartObject();
+        json.writeArrayFieldStart("resourceSpans");
+        json.writeStartObject();
+
+        json.writeObjectFieldStart("resource");
+        json.writeArrayFieldStart("attributes");
+        writeAttribute(json, "service.name", serviceName);
+        json.writeEndArray();
+        json.writeEndObject();
+
+        json.writeArrayFieldStart("scopeSpans");
+        json.writeStartObject();
+        json.writeObjectFieldStart("scope");
+        json.writeStringField("name", SCOPE_NAME);
+        json.writeEndObject();
+        json.writeArrayFieldStart("spans");
+        for (TraceRecord trace : traces) {
+            writeTrace(json, trace);
+        }
+        json.writeEndArray();
+        json.writeEndObject();
+        json.writeEndArray();
+
+        json.writeEndObject();
+        json.writeEndArray();
+        json.writeEndObject();
+        json.close();
+        out.write('\n');
+    }
+
+    @Override
+    public void flush() throws IOException {
+        out.flush();
+    }
+
+    @Override
+    public void shutdown() throws IOException {
+        out.close();
+    }
+
+    private void writeTrace(JsonGenerator json, TraceRecord trace) throws IOException {
+        long rootId = SpanIds.nextId();
+        json.writeStartObject();
+        json.writeStringField("traceId", trace.getTraceId());
+        json.writeStringField("spanId", SpanIds.toHex(rootId));
+        json.writeStringField("name", "emit " + trace.getEvent());
+        json.writeNumberField("kind", SPAN_KIND_INTERNAL);
+        json.writeStringField("startTimeUnixNano", Long.toString(trace.getStartNanos()));
+        json.writeStringField("endTimeUnixNano", Long.toString(trace.getEndNanos()));
+        json.writeArrayFieldStart("attributes");
+        writeAttribute(json, "signal.event", trace.getEvent());
+        if (trace.getEventId() != null) {
+            writeAttribute(json, "signal.event_id", trace.getEventId());
+        }
+        json.writeEndArray();
+        if (trace.isError()) {
+            json.writeObjectFieldStart("status");
+            json.writeNumberField("code", STATUS_CODE_ERROR);
+            json.writeStringField("message", trace.getError());
+            json.writeEndObject();
+        }
+        json.writeEndObject();
+
+        for (SpanData span : trace.getSpans()) {
+            json.writeStartObject();
+            json.writeStringField("traceId", trace.getTraceId());
+            json.writeStringField("spanId", SpanIds.toHex(span.getId()));
+            json.writeStringField("parentSpanId",
+                    SpanIds.toHex(span.getParentId() != SpanIds.INVALID ? span.getParentId() : rootId));
+            json.writeStringField("name", span.getOperation());
+            json.writeNumberField("kind", SPAN_KIND_INTERNAL);
+            json.writeStringField("startTimeUnixNano", Long.toString(span.getStartNanos()));
+            json.writeStringField("endTimeUnixNano", Long.toString(span.getStartNanos() + span.getDurationNanos()));
+            json.writeEndObject();
+        }
+    }
+
+    private static void writeAttribute(JsonGenerator json, String key, String value) throws IOException {
+        json.writeStartObject();
+        json.writeStringField("key", key);
+        json.writeObjectFieldStart("value");
+        json.writeStringField("stringValue", value);
+        json.writeEndObject();
+        json.writeEndObject();
+    }
+}
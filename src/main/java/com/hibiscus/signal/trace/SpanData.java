@@ -0,0 +1,70 @@
+package com.hibiscus.signal.trace;
+
+import com.hibiscus.signal.core.SignalContext;
+
+/**
+ * Immutable snapshot of a finished span.
+ *
+ * Unlike {@link SignalContext.Span} it carries no metadata map and cannot change after the trace is
+ * stored or handed to an exporter.
+ */
+public final class SpanData {
+
+    private final long id;
+    private final long parentId;
+    private final String operation;
+    private final long startNanos;
+    private final long durationNanos;
+
+    public SpanData(long id, long parentId, String operation, long startNanos, long durationNanos) {
+        this.id = id;
+        this.parentId = parentId;
+        this.operation = operation;
+        this.startNanos = startNanos;
+        this.durationNanos = durationNanos;
+    }
+
+    /**
+     * Copies the fields of a recorded span.
+     */
+    public static SpanData of(SignalContext.Span span) {
+        return new SpanData(span.getId(), span.getParentId(), span.getOperation(),
+                span.getStartNanos(), span.getDurationNanos());
+    }
+
+    public long getId() {
+        return id;
+    }
+
+    /**
+     * @return parent span ID, 0 for a root span
+     */
+    public long getParentId() {
+        return parentId;
+    }
+
+    public String getOperation() {
+        return operation;
+    }
+
+    /**
+     * @return start time in nanoseconds since the epoch
+     */
+    public long getStartNanos() {
+        return startNanos;
+    }
+
+    public long getDurationNanos() {
+        return durationNanos;
+    }
+
+    @Override
+    public String toString() {
+        return "SpanData{" +
+                "id=" + SpanIds.toHex(id) +
+                ", parentId=" + SpanIds.toHex(parentId) +
+                ", operation='" + operation + '\'' +
+                ", durationNanos=" + durationNanos +
+                '}';
+    }
+}
@@ -0,0 +1,34 @@
+package com.hibiscus.signal.trace;
+
+import java.util.List;
+
+/**
+ * SPI for shipping finished traces to a tracing backend.
+ *
+ * Exporters are driven by the {@link BatchSpanProcessor} on its background thread, one batch at a time,
+ * so implementations do not need to be thread-safe and may block on I/O. An exception from
+ * {@link #export(List)} drops that batch and is logged; the processor keeps running.
+ * Spring beans implementing this interface are registered with {@code Signals} automatically.
+ */
+public interface SpanExporter {
+
+    /**
+     * Exports a batch of finished traces together with their spans.
+     *
+     * @param traces the traces, oldest first
+     * @throws Exception if the batch could not be exported
+     */
+    void export(List<TraceRecord> traces) throws Exception;
+
+    /**
+     * Flushes anything the exporter buffers itself.
+     */
+    default void flush() throws Exception {
+    }
+
+    /**
+     * Releases resources; called once when the processor shuts down, after the last export.
+     */
+    default void shutdown() throws Exception {
+    }
+}
@@ -0,0 +1,82 @@
+package com.hibiscus.signal.trace;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 追踪 ID 生成
+ * span ID 是 64 位的 long，trace ID 是 128 位，都取自线程本地的随机数发生器，不经过 SecureRandom，也不加锁；
+ * 0 表示"没有 span"，不会被生成。文本形式为定长小写十六进制（span 16 位、trace 32 位），与 W3C Trace Context 一致
+ */
+public final class SpanIds {
+
+    public static final long INVALID = 0L;
+
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    private SpanIds() {
+    }
+
+    /**
+     * @return 新的非零 span ID
+     */
+    public static long nextId() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long id;
+        do {
+            id = random.nextLong();
+        } while (id == INVALID);
+        return id;
+    }
+
+    /**
+     * @return 新的 32 位十六进制 trace ID
+     */
+    public static String nextTraceId() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long high;
+        long low;
+        do {
+            high = random.nextLong();
+            low = random.nextLong();
+        } while (high == 0 && low == 0);
+        char[] chars = new char[32];
+        writeHex(high, chars, 0);
+        writeHex(low, chars, 16);
+        return new String(chars);
+    }
+
+    /**
+     * @return 16 位十六进制文本，ID 为 0 时返回 null
+     */
+    public static String toHex(long id) {
+        if (id == INVALID) {
+            return null;
+        }
+        char[] chars = new char[16];
+        writeHex(id, chars, 0);
+        return new String(chars);
+    }
+
+    /**
+     * 解析 {@link #toHex(long)} 的结果
+     *
+     * @return span ID，文本为空时返回 0
+     * @throws IllegalArgumentException 文本不是 1 到 16 位十六进制数
+     */
+    public static long fromHex(String hex) {
+        if (hex == null || hex.isEmpty()) {
+            return INVALID;
+        }
+        if (hex.length() > 16) {
+            throw new IllegalArgumentException("Span id must be at most 16 hex digits: " + hex);
+        }
+        return Long.parseUnsignedLong(hex, 16);
+    }
+
+    private static void writeHex(long value, char[] chars, int offset) {
+        for (int i = 15; i >= 0; i--) {
+            chars[offset + i] = HEX[(int) (value & 0xF)];
+            value >>>= 4;
+        }
+    }
+}
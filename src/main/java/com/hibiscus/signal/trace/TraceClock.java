@@ -0,0 +1,23 @@
+package com.hibiscus.signal.trace;
+
+/**
+ * 追踪时钟
+ * 以类加载时的墙上时间为锚点，之后只读 {@link System#nanoTime()}：
+ * 返回值是纳秒精度的 Unix 时间，两次读数之差就是单调的耗时，不受系统时间回拨影响。
+ * 长时间运行后与墙上时间可能有少量漂移，对追踪展示没有影响
+ */
+public final class TraceClock {
+
+    private static final long ANCHOR_EPOCH_NANOS = System.currentTimeMillis() * 1_000_000L;
+    private static final long ANCHOR_NANO_TIME = System.nanoTime();
+
+    private TraceClock() {
+    }
+
+    /**
+     * @return 当前时间，自 1970-01-01 起的纳秒数
+     */
+    public static long nowNanos() {
+        return ANCHOR_EPOCH_NANOS + (System.nanoTime() - ANCHOR_NANO_TIME);
+    }
+}
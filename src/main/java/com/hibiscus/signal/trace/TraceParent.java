@@ -0,0 +1,83 @@
+package com.hibiscus.signal.trace;
+
+import com.hibiscus.signal.core.SignalContext;
+
+/**
+ * W3C Trace Context 的 traceparent 传播
+ * 格式为 {@code 00-<32 位 trace ID>-<16 位父 span ID>-<2 位标志>}，标志最低位表示上游已采样。
+ * {@link #extract} 把上游的 trace ID、父 span 和采样决定写入上下文，之后的 span 都挂在上游 span 下，
+ * 发射入口不会再重新采样；{@link #inject} 为下游生成 traceparent
+ */
+public final class TraceParent {
+
+    public static final String HEADER = "traceparent";
+
+    private static final String VERSION = "00";
+    private static final int LENGTH = 55;
+
+    private TraceParent() {
+    }
+
+    /**
+     * 解析 traceparent 并写入上下文
+     *
+     * @return false 表示格式不合法，上下文保持不变
+     */
+    public static boolean extract(String traceparent, SignalContext context) {
+        if (traceparent == null) {
+            return false;
+        }
+        String value = traceparent.trim();
+        if (value.length() < LENGTH || value.charAt(2) != '-' || value.charAt(35) != '-' || value.charAt(52) != '-'
+                || (value.length() > LENGTH && value.charAt(LENGTH) != '-')) {
+            return false;
+        }
+        String version = value.substring(0, 2);
+        String traceId = value.substring(3, 35);
+        String spanId = value.substring(36, 52);
+        String flags = value.substring(53, 55);
+        if (!isHex(version) || "ff".equals(version) || (VERSION.equals(version) && value.length() != LENGTH)
+                || !isHex(traceId) || isZero(traceId) || !isHex(spanId) || isZero(spanId) || !isHex(flags)) {
+            return false;
+        }
+        context.setTraceId(traceId);
+        context.setCurrentSpanId(SpanIds.fromHex(spanId));
+        context.setSampled((Integer.parseInt(flags, 16) & 0x01) != 0);
+        return true;
+    }
+
+    /**
+     * 为下游生成 traceparent，父 span 为上下文的当前 span；上下文还没有 trace ID 时生成一个
+     */
+    public static String inject(SignalContext context) {
+        if (context.getTraceId() == null) {
+            context.setTraceId(SpanIds.nextTraceId());
+        }
+        long spanId = context.getCurrentSpanId();
+        if (spanId == SpanIds.INVALID) {
+            spanId = SpanIds.nextId();
+            context.setCurrentSpanId(spanId);
+        }
+        return VERSION + "-" + context.getTraceId() + "-" + SpanIds.toHex(spanId) + "-"
+                + (context.isSampled() ? "01" : "00");
+    }
+
+    private static boolean isHex(String value) {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if ((c < '0' || c > '9') && (c < 'a' || c > 'f')) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isZero(String value) {
+        for (int i = 0; i < value.length(); i++) {
+            if (value.charAt(i) != '0') {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,127 @@
+package com.hibiscus.signal.trace;
+
+import com.hibiscus.signal.core.SignalContext;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Compact, immutable record of one finished emit kept by the {@link TraceStore}.
+ *
+ * Only identifiers, timing, the error summary and span snapshots are kept; the context's attributes
+ * and intermediate values are not retained.
+ */
+public final class TraceRecord {
+
+    private final String traceId;
+    private final String eventId;
+    private final String event;
+    private final long startNanos;
+    private final long durationNanos;
+    private final boolean sampled;
+    private final String error;
+    private final List<SpanData> spans;
+
+    public TraceRecord(String traceId, String eventId, String event, long startNanos, long durationNanos,
+                       boolean sampled, String error, List<SpanData> spans) {
+        this.traceId = traceId;
+        this.eventId = eventId;
+        this.event = event;
+        this.startNanos = startNanos;
+        this.durationNanos = durationNanos;
+        this.sampled = sampled;
+        this.error = error;
+        this.spans = spans;
+    }
+
+    /**
+     * Snapshots a finished emit. A context without a trace ID gets a fresh one.
+     *
+     * @param context       the context the emit was traced through
+     * @param event         the event name
+     * @param startNanos    start time in nanoseconds since the epoch
+     * @param durationNanos time until the last handler finished
+     * @param error         first handler failure, or null
+     */
+    public static TraceRecord of(SignalContext context, String event, long startNanos, long durationNanos,
+                                 Throwable error) {
+        List<SignalContext.Span> recorded = context.getSpans();
+        int count = recorded.size();
+        SpanData[] spans = new SpanData[count];
+        for (int i = 0; i < count; i++) {
+            spans[i] = SpanData.of(recorded.get(i));
+        }
+        String traceId = context.getTraceId() != null ? context.getTraceId() : SpanIds.nextTraceId();
+        String errorSummary = error != null ? error.getClass().getName() + ": " + error.getMessage() : null;
+        return new TraceRecord(traceId, context.getEventId(), event, startNanos, durationNanos,
+                context.isSampled(), errorSummary, Collections.unmodifiableList(Arrays.asList(spans)));
+    }
+
+    public String getTraceId() {
+        return traceId;
+    }
+
+    public String getEventId() {
+        return eventId;
+    }
+
+    public String getEvent() {
+        return event;
+    }
+
+    /**
+     * @return start time in nanoseconds since the epoch
+     */
+    public long getStartNanos() {
+        return startNanos;
+    }
+
+    public long getDurationNanos() {
+        return durationNanos;
+    }
+
+    /**
+     * @return end time in nanoseconds since the epoch
+     */
+    public long getEndNanos() {
+        return startNanos + durationNanos;
+    }
+
+    /**
+     * @return true if spans were recorded for this emit
+     */
+    public boolean isSampled() {
+        return sampled;
+    }
+
+    /**
+     * @return true if at least one handler failed or was dropped
+     */
+    public boolean isError() {
+        return error != null;
+    }
+
+    /**
+     * @return class and message of the first failure, or null
+     */
+    public String getError() {
+        return error;
+    }
+
+    public List<SpanData> getSpans() {
+        return spans;
+    }
+
+    @Override
+    public String toString() {
+        return "TraceRecord{" +
+                "traceId='" + traceId + '\'' +
+                ", event='" + event + '\'' +
+                ", durationNanos=" + durationNanos +
+                ", sampled=" + sampled +
+                ", error='" + error + '\'' +
+                ", spans=" + spans.size() +
+                '}';
+    }
+}
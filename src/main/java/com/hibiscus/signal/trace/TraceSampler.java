@@ -0,0 +1,82 @@
+package com.hibiscus.signal.trace;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 头部采样器
+ * 在发射入口为每条追踪做一次采样决定，决定记录在 {@link com.hibiscus.signal.core.SignalContext} 上，
+ * 管道和处理器只看这个标记：未被采样的发射不创建任何 span。
+ * 采样率取值 0 到 1，可按事件覆盖全局采样率
+ */
+public class TraceSampler {
+
+    private volatile double defaultRate;
+    private final Map<String, Double> eventRates = new ConcurrentHashMap<>();
+
+    // 没有按事件覆盖时跳过 map 查找
+    private volatile boolean hasEventRates;
+
+    /**
+     * @param defaultRate 全局采样率
+     */
+    public TraceSampler(double defaultRate) {
+        this.defaultRate = checkRate(defaultRate);
+    }
+
+    /**
+     * 对一次发射做采样决定
+     *
+     * @return true 表示记录这次发射的 span
+     */
+    public boolean sample(String event) {
+        double rate = defaultRate;
+        if (hasEventRates) {
+            Double override = eventRates.get(event);
+            if (override != null) {
+                rate = override;
+            }
+        }
+        if (rate >= 1.0) {
+            return true;
+        }
+        return rate > 0.0 && ThreadLocalRandom.current().nextDouble() < rate;
+    }
+
+    public double getDefaultRate() {
+        return defaultRate;
+    }
+
+    public void setDefaultRate(double rate) {
+        this.defaultRate = checkRate(rate);
+    }
+
+    /**
+     * 设置单个事件的采样率，覆盖全局采样率
+     */
+    public void setEventRate(String event, double rate) {
+        eventRates.put(event, checkRate(rate));
+        hasEventRates = true;
+    }
+
+    /**
+     * 移除单个事件的采样率，恢复使用全局采样率
+     */
+    public void removeEventRate(String event) {
+        eventRates.remove(event);
+        hasEventRates = !eventRates.isEmpty();
+    }
+
+    public Map<String, Double> getEventRates() {
+        return Collections.unmodifiableMap(eventRates);
+    }
+
+    private static double checkRate(double rate) {
+        if (Double.isNaN(rate) || rate < 0.0 || rate > 1.0) {
+            throw new IllegalArgumentException("Sample rate must be between 0 and 1, got " + rate);
+        }
+        return rate;
+    }
+}
@@ -0,0 +1,154 @@
+package com.hibiscus.signal.trace;
+
+import com.hibiscus.signal.core.SignalContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 有界追踪存储
+ * 发射结束（最后一个处理器完成）时按尾部采样规则决定是否保留：
+ * 出错的、耗时超过慢阈值的一定保留，被头部采样选中的按 keepSampled 决定，其余直接丢弃。
+ * 保留的追踪转为紧凑的 {@link TraceRecord}，写入固定容量的环形缓冲区，写满后覆盖最早的记录；
+ * 超过保留时长的记录不再返回。内存占用只取决于容量，不随运行时间增长
+ */
+public class TraceStore {
+
+    public static final int DEFAULT_CAPACITY = 1024;
+
+    private final int capacity;
+    private final long retentionNanos;
+    private final long slowThresholdNanos;
+    private final boolean keepSampled;
+    private final AtomicReferenceArray<TraceRecord> slots;
+    private final AtomicLong cursor = new AtomicLong();
+    private final Map<String, TraceRecord> index = new ConcurrentHashMap<>();
+    private final LongAdder recorded = new LongAdder();
+    private final LongAdder skipped = new LongAdder();
+
+    /**
+     * @param capacity        最多保留的追踪数
+     * @param retentionMs     追踪的保留时长（毫秒），0 表示只按容量淘汰
+     * @param slowThresholdMs 耗时达到该值的追踪一定保留（毫秒），0 表示不按耗时保留
+     * @param keepSampled     是否保留被头部采样选中的追踪；为 false 时只保留出错和慢的追踪
+     */
+    public TraceStore(int capacity, long retentionMs, long slowThresholdMs, boolean keepSampled) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Trace store capacity must be positive, got " + capacity);
+        }
+        this.capacity = capacity;
+        this.retentionNanos = retentionMs > 0 ? TimeUnit.MILLISECONDS.toNanos(retentionMs) : Long.MAX_VALUE;
+        this.slowThresholdNanos = slowThresholdMs > 0 ? TimeUnit.MILLISECONDS.toNanos(slowThresholdMs) : Long.MAX_VALUE;
+        this.keepSampled = keepSampled;
+        this.slots = new AtomicReferenceArray<>(capacity);
+    }
+
+    /**
+     * 发射结束时调用，按尾部采样规则决定是否保留
+     *
+     * @param context       发射使用的上下文
+     * @param event         事件名称
+     * @param startNanos    开始时间（{@link TraceClock#nowNanos()}）
+     * @param durationNanos 到最后一个处理器结束的耗时
+     * @param error         第一个失败的处理器的异常，全部成功时为 null
+     * @return 保留的记录，被丢弃时返回 null
+     */
+    public TraceRecord record(SignalContext context, String event, long startNanos, long durationNanos, Throwable error) {
+        if (error == null && durationNanos < slowThresholdNanos && !(keepSampled && context.isSampled())) {
+            skipped.increment();
+            return null;
+        }
+        TraceRecord record = TraceRecord.of(context, event, startNanos, durationNanos, error);
+        add(record);
+        return record;
+    }
+
+    /**
+     * 直接保留一条记录，不经过尾部采样
+     */
+    public void add(TraceRecord record) {
+        // 先建索引再占槽位：覆盖它的写入者一定在它建索引之后才会移除索引
+        index.put(record.getTraceId(), record);
+        int slot = (int) (cursor.getAndIncrement() % capacity);
+        TraceRecord evicted = slots.getAndSet(slot, record);
+        if (evicted != null) {
+            index.remove(evicted.getTraceId(), evicted);
+        }
+        recorded.increment();
+    }
+
+    /**
+     * @return 追踪记录，不存在或已超过保留时长时返回 null
+     */
+    public TraceRecord getTrace(String traceId) {
+        if (traceId == null) {
+            return null;
+        }
+        TraceRecord record = index.get(traceId);
+        return record != null && !expired(record, TraceClock.nowNanos()) ? record : null;
+    }
+
+    /**
+     * @return 保留时长内的全部记录，最新的在前
+     */
+    public List<TraceRecord> getTraces() {
+        return getTraces(capacity);
+    }
+
+    /**
+     * @return 保留时长内最新的至多 limit 条记录，最新的在前
+     */
+    public List<TraceRecord> getTraces(int limit) {
+        long now = TraceClock.nowNanos();
+        long end = cursor.get();
+        long start = Math.max(0, end - capacity);
+        List<TraceRecord> traces = new ArrayList<>(Math.min(limit, (int) (end - start)));
+        for (long seq = end - 1; seq >= start && traces.size() < limit; seq--) {
+            TraceRecord record = slots.get((int) (seq % capacity));
+            if (record != null && !expired(record, now)) {
+                traces.add(record);
+            }
+        }
+        return traces;
+    }
+
+    /**
+     * 清空全部记录
+     */
+    public void clear() {
+        for (int i = 0; i < capacity; i++) {
+            TraceRecord record = slots.getAndSet(i, null);
+            if (record != null) {
+                index.remove(record.getTraceId(), record);
+            }
+        }
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * @return 累计保留的追踪数（含已被覆盖的）
+     */
+    public long getRecordedCount() {
+        return recorded.sum();
+    }
+
+    /**
+     * @return 被尾部采样丢弃的追踪数
+     */
+    public long getSkippedCount() {
+        return skipped.sum();
+    }
+
+    private boolean expired(TraceRecord record, long now) {
+        return now - record.getEndNanos() > retentionNanos;
+    }
+}
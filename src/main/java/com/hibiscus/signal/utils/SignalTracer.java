@@ -9,6 +9,8 @@ import java.util.*;
  * Purpose:
  * - Helps visualize the hierarchical structure of spans in a signal context.
  * - Useful for debugging, monitoring, or performance analysis.
+ * Printing is synchronous console I/O and meant for local debugging; to ship traces from a running
+ * application register a {@link com.hibiscus.signal.trace.SpanExporter} instead.
  */
 public class SignalTracer {
 
@@ -52,11 +54,11 @@ public class SignalTracer {
      */
     private static void printSpanTree(SignalContext.Span span, Map<String, List<SignalContext.Span>> childMap, int level) {
         String indent = repeat("  ", level);
-        System.out.printf("%s└─ [%s] %s (%dms)%n",
+        System.out.printf("%s└─ [%s] %s (%.3fms)%n",
                 indent,
                 span.getSpanId(),
                 span.getOperation(),
-                span.getEndTime() - span.getStartTime());
+                span.getDurationNanos() / 1_000_000.0);
 
         // Recursively print children of this span, if any
         List<SignalContext.Span> children = childMap.get(span.getSpanId());
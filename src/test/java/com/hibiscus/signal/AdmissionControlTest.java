@@ -0,0 +1,338 @@
+package com.hibiscus.signal;
+
+import com.hibiscus.signal.config.OverflowPolicy;
+import com.hibiscus.signal.config.SignalConfig;
+import com.hibiscus.signal.core.EmitAdmission;
+import com.hibiscus.signal.core.EmitResult;
+import com.hibiscus.signal.core.SignalHandler;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 异步准入控制测试
+ * 验证在途数上限下各溢出策略的处理结果，以及每次发射结束后准入名额都被归还
+ */
+@DisplayName("异步准入控制测试")
+public class AdmissionControlTest {
+
+    private static final Consumer<Throwable> IGNORE_ERRORS = e -> { };
+    private static final String JOB = "report.export";
+
+    @Test
+    @DisplayName("执行器拒绝投递时归还准入名额")
+    void testRejectedDeliveriesReleasePermits() throws Exception {
+        // 单线程、队列容量 1 的执行器：每次发射的第三个处理器投递必然被拒绝
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(1), new ThreadPoolExecutor.AbortPolicy());
+        Signals signals = new Signals(executor);
+        CountDownLatch release = new CountDownLatch(1);
+        try {
+            SignalConfig config = new SignalConfig.Builder().async(true).timeoutMs(0)
+                    .maxInFlight(2, OverflowPolicy.DROP_NEWEST).build();
+            SignalHandler blocking = (sender, params) -> release.await();
+            signals.connect("order.created", blocking, config);
+            signals.connect("order.created", (sender, params) -> { }, config);
+            signals.connect("order.created", (sender, params) -> { }, config);
+
+            assertThrows(RejectedExecutionException.class,
+                    () -> signals.emit("order.created", this, IGNORE_ERRORS));
+            assertEquals(1, inFlight(signals, "order.created"));
+
+            // 执行器仍然饱和：第二次发射的三个投递全部被拒绝，结果立即完成
+            CompletableFuture<EmitResult> future = signals.emitAsync("order.created", this);
+            EmitResult result = future.get(5, TimeUnit.SECONDS);
+            assertEquals(3, result.getHandlerResults().size());
+            for (EmitResult.HandlerResult handlerResult : result.getHandlerResults()) {
+                assertEquals(EmitResult.Status.REJECTED, handlerResult.getStatus());
+            }
+            assertFalse(result.isSuccess());
+            assertEquals(1, inFlight(signals, "order.created"));
+
+            release.countDown();
+            awaitInFlight(signals, "order.created", 0);
+            assertEquals(0, inFlight(signals, "order.created"), "全部投递结束后名额应回到初始值");
+        } finally {
+            release.countDown();
+            signals.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("执行器拒绝的发射不会被 DROP_OLDEST 再次取消")
+    void testRejectedTicketIsNotCancelledAgain() throws Exception {
+        // 按开关拒绝投递的单线程执行器
+        AtomicBoolean reject = new AtomicBoolean(true);
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>()) {
+            @Override
+            public void execute(Runnable command) {
+                if (reject.get()) {
+                    throw new RejectedExecutionException("rejected for test");
+                }
+                super.execute(command);
+            }
+        };
+        Signals signals = new Signals(executor);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        List<String> handled = new CopyOnWriteArrayList<>();
+        try {
+            signals.connect(JOB, (sender, params) -> {
+                String value = (String) params[params.length - 1];
+                handled.add(value);
+                if ("block".equals(value)) {
+                    started.countDown();
+                    release.await();
+                }
+            }, new SignalConfig.Builder().async(true).timeoutMs(0).maxRetries(0)
+                    .maxInFlight(2, OverflowPolicy.DROP_OLDEST).build());
+
+            for (int i = 0; i < 3; i++) {
+                assertThrows(RejectedExecutionException.class,
+                        () -> signals.emit(JOB, this, IGNORE_ERRORS, "rejected"));
+                assertEquals(0, inFlight(signals, JOB), "被拒绝的发射应只归还一次名额");
+            }
+
+            reject.set(false);
+            assertEquals(EmitAdmission.ACCEPTED, signals.emit(JOB, this, IGNORE_ERRORS, "block"));
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+            assertEquals(EmitAdmission.ACCEPTED, signals.emit(JOB, this, IGNORE_ERRORS, "queued"));
+            assertEquals(2, inFlight(signals, JOB));
+
+            // 名额已满：应取消排队中的 queued，而不是已经结束的被拒绝发射
+            assertEquals(EmitAdmission.ACCEPTED, signals.emit(JOB, this, IGNORE_ERRORS, "newest"));
+            assertEquals(1L, ((Number) signals.getAdmissionMetrics(JOB).get("droppedOldest")).longValue());
+            assertEquals(2, inFlight(signals, JOB));
+
+            release.countDown();
+            awaitInFlight(signals, JOB, 0);
+            assertEquals(0, inFlight(signals, JOB), "可用名额不应超过上限");
+            assertEquals(Arrays.asList("block", "newest"), handled);
+        } finally {
+            release.countDown();
+            signals.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("DROP_NEWEST 丢弃超出上限的新发射")
+    void testDropNewest() throws Exception {
+        BlockingJob job = new BlockingJob(OverflowPolicy.DROP_NEWEST, 1, 1000);
+        try {
+            assertEquals(EmitAdmission.ACCEPTED, job.emit("block"));
+            job.awaitStarted();
+            assertEquals(EmitAdmission.DROPPED, job.emit("late"));
+            assertEquals(1L, job.metric("droppedNewest"));
+
+            job.release();
+            awaitInFlight(job.signals, JOB, 0);
+            assertEquals(0, inFlight(job.signals, JOB));
+            assertEquals(Collections.singletonList("block"), job.handled);
+        } finally {
+            job.close();
+        }
+    }
+
+    @Test
+    @DisplayName("BLOCK 等待名额，超时后放弃")
+    void testBlock() throws Exception {
+        BlockingJob job = new BlockingJob(OverflowPolicy.BLOCK, 1, 100);
+        try {
+            assertEquals(EmitAdmission.ACCEPTED, job.emit("block"));
+            job.awaitStarted();
+            assertEquals(EmitAdmission.TIMED_OUT, job.emit("late"));
+            assertEquals(1L, job.metric("blocked"));
+            assertEquals(1L, job.metric("timedOut"));
+            assertEquals(1, inFlight(job.signals, JOB));
+        } finally {
+            job.close();
+        }
+
+        job = new BlockingJob(OverflowPolicy.BLOCK, 1, 5000);
+        try {
+            assertEquals(EmitAdmission.ACCEPTED, job.emit("block"));
+            job.awaitStarted();
+            // 名额在等待期间归还，被阻塞的发射随后被接纳
+            BlockingJob running = job;
+            new Thread(() -> {
+                sleep(100);
+                running.release();
+            }).start();
+            assertEquals(EmitAdmission.ACCEPTED, job.emit("waited"));
+            awaitInFlight(job.signals, JOB, 0);
+            assertEquals(Arrays.asList("block", "waited"), job.handled);
+            assertEquals(0L, job.metric("timedOut"));
+        } finally {
+            job.close();
+        }
+    }
+
+    @Test
+    @DisplayName("DROP_OLDEST 取消最早的未开始发射")
+    void testDropOldest() throws Exception {
+        BlockingJob job = new BlockingJob(OverflowPolicy.DROP_OLDEST, 2, 1000);
+        try {
+            assertEquals(EmitAdmission.ACCEPTED, job.emit("block"));
+            job.awaitStarted();
+            // 单线程执行器被占用，第二次发射排队等待，尚未开始
+            CompletableFuture<EmitResult> queued = job.signals.emitAsync(JOB, this, "queued");
+            assertEquals(EmitAdmission.ACCEPTED, job.emit("newest"));
+            assertEquals(1L, job.metric("droppedOldest"));
+
+            job.release();
+            EmitResult result = queued.get(5, TimeUnit.SECONDS);
+            assertEquals(EmitAdmission.ACCEPTED, result.getAdmission());
+            assertEquals(EmitResult.Status.DROPPED, result.getHandlerResults().get(0).getStatus());
+            assertFalse(result.isSuccess());
+
+            awaitInFlight(job.signals, JOB, 0);
+            assertEquals(0, inFlight(job.signals, JOB), "被取消的发射不应重复归还名额");
+            assertEquals(Arrays.asList("block", "newest"), job.handled);
+        } finally {
+            job.close();
+        }
+    }
+
+    @Test
+    @DisplayName("DROP_OLDEST 不取消已开始的发射")
+    void testDropOldestKeepsStartedEmits() throws Exception {
+        BlockingJob job = new BlockingJob(OverflowPolicy.DROP_OLDEST, 1, 1000);
+        try {
+            assertEquals(EmitAdmission.ACCEPTED, job.emit("block"));
+            job.awaitStarted();
+            assertEquals(EmitAdmission.DROPPED, job.emit("late"));
+            assertEquals(0L, job.metric("droppedOldest"));
+            assertEquals(1L, job.metric("droppedNewest"));
+        } finally {
+            job.close();
+        }
+    }
+
+    @Test
+    @DisplayName("SPILL 把超出上限的发射交给溢出存储")
+    void testSpill() throws Exception {
+        BlockingJob job = new BlockingJob(OverflowPolicy.SPILL, 1, 1000);
+        try {
+            List<Object[]> spilled = new CopyOnWriteArrayList<>();
+            job.signals.setSpillHandler((plan, sender, params) -> {
+                spilled.add(params);
+                return !"lost".equals(params[params.length - 1]);
+            });
+            assertEquals(EmitAdmission.ACCEPTED, job.emit("block"));
+            job.awaitStarted();
+
+            assertEquals(EmitAdmission.SPILLED, job.emit("stored"));
+            assertEquals(1L, job.metric("spilled"));
+            // 溢出存储失败时信号被丢弃
+            assertEquals(EmitAdmission.DROPPED, job.emit("lost"));
+            assertEquals(1L, job.metric("spillFailed"));
+            assertEquals(2, spilled.size());
+
+            job.release();
+            awaitInFlight(job.signals, JOB, 0);
+            assertEquals(Collections.singletonList("block"), job.handled);
+        } finally {
+            job.close();
+        }
+    }
+
+    @Test
+    @DisplayName("CALLER_RUNS 在发射线程执行超出上限的发射")
+    void testCallerRuns() throws Exception {
+        BlockingJob job = new BlockingJob(OverflowPolicy.CALLER_RUNS, 1, 1000);
+        try {
+            assertEquals(EmitAdmission.ACCEPTED, job.emit("block"));
+            job.awaitStarted();
+
+            assertEquals(EmitAdmission.CALLER_RUNS, job.emit("inline"));
+            assertEquals(1L, job.metric("callerRuns"));
+            assertEquals(Thread.currentThread().getName(), job.threads.get(job.handled.indexOf("inline")));
+            assertEquals(1, inFlight(job.signals, JOB), "在发射线程执行的信号不占用名额");
+        } finally {
+            job.close();
+        }
+    }
+
+    static int inFlight(Signals signals, String event) {
+        return (Integer) signals.getAdmissionMetrics(event).get("inFlight");
+    }
+
+    static void awaitInFlight(Signals signals, String event, int expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (inFlight(signals, event) != expected && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * 单线程执行器上的异步事件：参数为 "block" 的信号占住执行线程直到 {@link #release()}
+     */
+    private static final class BlockingJob {
+
+        final Signals signals;
+        final List<String> handled = new CopyOnWriteArrayList<>();
+        final List<String> threads = new CopyOnWriteArrayList<>();
+        private final CountDownLatch started = new CountDownLatch(1);
+        private final CountDownLatch release = new CountDownLatch(1);
+
+        BlockingJob(OverflowPolicy policy, int maxInFlight, long overflowTimeoutMs) {
+            signals = new Signals(Executors.newSingleThreadExecutor());
+            signals.connect(JOB, (sender, params) -> {
+                String value = (String) params[params.length - 1];
+                handled.add(value);
+                threads.add(Thread.currentThread().getName());
+                if ("block".equals(value)) {
+                    started.countDown();
+                    release.await();
+                }
+            }, new SignalConfig.Builder().async(true).timeoutMs(0).maxRetries(0)
+                    .maxInFlight(maxInFlight, policy).overflowTimeoutMs(overflowTimeoutMs).build());
+        }
+
+        EmitAdmission emit(String value) {
+            return signals.emit(JOB, this, IGNORE_ERRORS, value);
+        }
+
+        void awaitStarted() throws InterruptedException {
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+        }
+
+        void release() {
+            release.countDown();
+        }
+
+        long metric(String name) {
+            return ((Number) signals.getAdmissionMetrics(JOB).get(name)).longValue();
+        }
+
+        void close() {
+            release();
+            signals.shutdown();
+        }
+    }
+}
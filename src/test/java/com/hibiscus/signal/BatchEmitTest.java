@@ -0,0 +1,73 @@
+package com.hibiscus.signal;
+
+import com.hibiscus.signal.core.CircuitBreaker;
+import com.hibiscus.signal.core.RateLimiter;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 批量发射测试
+ * 验证批量发射在限流下的接纳数量
+ */
+@DisplayName("批量发射测试")
+public class BatchEmitTest {
+
+    private Signals signals;
+
+    @BeforeEach
+    void setUp() {
+        signals = new Signals(Executors.newFixedThreadPool(2));
+    }
+
+    @AfterEach
+    void tearDown() {
+        signals.shutdown();
+    }
+
+    @Test
+    @DisplayName("超过突发容量的批次接纳可用部分")
+    void testBatchLargerThanBurstIsPartiallyAdmitted() {
+        AtomicInteger handled = new AtomicInteger();
+        signals.connect("csv.row", (sender, params) -> handled.incrementAndGet());
+        // 每秒 10 个许可，突发容量 100：一次最多接纳 100 个事件，短时间内几乎不会补充
+        signals.configureProtection("csv.row", new CircuitBreaker(5, 60000, 3), new RateLimiter(10, 100));
+
+        int dispatched = signals.emitBatch("csv.row", this, rows(250));
+
+        assertEquals(100, dispatched, "应接纳与突发容量相同数量的事件");
+        assertEquals(100, handled.get());
+
+        // 许可已用尽，紧接着的批次全部被拒绝
+        assertEquals(0, signals.emitBatch("csv.row", this, rows(50)));
+        assertEquals(100, handled.get());
+    }
+
+    @Test
+    @DisplayName("未超过可用许可的批次整批接纳")
+    void testBatchWithinBurstIsFullyAdmitted() {
+        AtomicInteger handled = new AtomicInteger();
+        signals.connect("csv.row", (sender, params) -> handled.incrementAndGet());
+        signals.configureProtection("csv.row", new CircuitBreaker(5, 60000, 3), new RateLimiter(10, 100));
+
+        assertEquals(60, signals.emitBatch("csv.row", this, rows(60)));
+        assertEquals(40, signals.emitBatch("csv.row", this, rows(60)));
+        assertEquals(100, handled.get());
+    }
+
+    private static List<Object[]> rows(int count) {
+        List<Object[]> rows = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            rows.add(new Object[] {i});
+        }
+        return rows;
+    }
+}
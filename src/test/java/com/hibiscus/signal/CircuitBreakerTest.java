@@ -0,0 +1,180 @@
+package com.hibiscus.signal;
+
+import com.hibiscus.signal.core.CircuitBreaker;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 熔断器测试
+ * 验证连续失败、滚动失败率和慢调用率触发熔断，以及 OPEN → HALF_OPEN → CLOSED 的状态转换
+ */
+@DisplayName("熔断器测试")
+public class CircuitBreakerTest {
+
+    @Test
+    @DisplayName("连续失败达到阈值后熔断，成功调用重置计数")
+    void testConsecutiveFailuresTrip() {
+        CircuitBreaker breaker = new CircuitBreaker(3, 60000, 2);
+
+        breaker.recordFailure();
+        breaker.recordFailure();
+        breaker.recordSuccess();
+        breaker.recordFailure();
+        breaker.recordFailure();
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState(), "成功调用应重置连续失败计数");
+
+        breaker.recordFailure();
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+        assertTrue(breaker.isOpen());
+    }
+
+    @Test
+    @DisplayName("超时后进入半开，试探成功后关闭")
+    void testOpenHalfOpenClosed() throws InterruptedException {
+        CircuitBreaker breaker = new CircuitBreaker(1, 50, 2);
+        breaker.recordFailure();
+        assertTrue(breaker.isOpen());
+
+        Thread.sleep(80);
+        assertFalse(breaker.isOpen(), "超时后应放行试探请求");
+        assertEquals(CircuitBreaker.State.HALF_OPEN, breaker.getState());
+
+        breaker.recordSuccess();
+        assertEquals(CircuitBreaker.State.HALF_OPEN, breaker.getState());
+        breaker.recordSuccess();
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+        assertFalse(breaker.isOpen());
+    }
+
+    @Test
+    @DisplayName("半开状态下失败重新熔断并重新计时")
+    void testHalfOpenFailureReopens() throws InterruptedException {
+        CircuitBreaker breaker = new CircuitBreaker(1, 100, 2);
+        breaker.recordFailure();
+        Thread.sleep(130);
+        assertFalse(breaker.isOpen());
+
+        breaker.recordFailure();
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+        // 重新熔断的计时从这次失败开始，而不是沿用上一次熔断的时间
+        assertTrue(breaker.isOpen());
+        Thread.sleep(30);
+        assertTrue(breaker.isOpen());
+        Thread.sleep(120);
+        assertFalse(breaker.isOpen());
+    }
+
+    @Test
+    @DisplayName("滚动失败率达到阈值后熔断")
+    void testFailureRateTrips() {
+        CircuitBreaker breaker = new CircuitBreaker.Builder()
+                .failureRateThreshold(0.5)
+                .minimumCalls(10)
+                .window(60000, 6)
+                .build();
+
+        for (int i = 0; i < 4; i++) {
+            breaker.recordSuccess();
+            breaker.recordFailure();
+        }
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState(), "未达到最少调用数前不评估失败率");
+        assertEquals(0.5, breaker.getFailureRate(), 0.001);
+
+        breaker.recordSuccess();
+        breaker.recordFailure();
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+    }
+
+    @Test
+    @DisplayName("慢调用率达到阈值后熔断")
+    void testSlowCallRateTrips() {
+        CircuitBreaker breaker = new CircuitBreaker.Builder()
+                .slowCallRateThreshold(0.5, 100)
+                .minimumCalls(4)
+                .window(60000, 6)
+                .build();
+
+        breaker.recordSuccess(10);
+        breaker.recordSuccess(200);
+        breaker.recordSuccess(10);
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+
+        breaker.recordSuccess(200);
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+    }
+
+    @Test
+    @DisplayName("半开状态下的慢调用算作试探失败")
+    void testSlowTrialReopens() throws InterruptedException {
+        CircuitBreaker breaker = new CircuitBreaker.Builder()
+                .failureThreshold(1)
+                .openTimeoutMs(20)
+                .slowCallRateThreshold(0.5, 100)
+                .build();
+        breaker.recordFailure();
+        Thread.sleep(40);
+        assertFalse(breaker.isOpen());
+
+        breaker.recordSuccess(200);
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+    }
+
+    @Test
+    @DisplayName("滚出窗口的调用不再计入")
+    void testWindowRollover() throws InterruptedException {
+        CircuitBreaker breaker = new CircuitBreaker.Builder()
+                .failureRateThreshold(0.9)
+                .minimumCalls(100)
+                .window(200, 2)
+                .build();
+        breaker.recordFailure();
+        breaker.recordFailure();
+        assertEquals(1.0, breaker.getFailureRate(), 0.001);
+
+        Thread.sleep(450);
+        assertEquals(0.0, breaker.getFailureRate(), 0.001, "整个窗口过去后失败率应归零");
+        breaker.recordSuccess();
+        assertEquals(0.0, breaker.getFailureRate(), 0.001);
+    }
+
+    @Test
+    @DisplayName("并发失败只熔断一次，熔断时间不被推后")
+    void testConcurrentTripKeepsOpenTime() throws Exception {
+        CircuitBreaker breaker = new CircuitBreaker(1, 100, 1);
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        CountDownLatch start = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(8);
+        for (int t = 0; t < 8; t++) {
+            pool.execute(() -> {
+                try {
+                    start.await();
+                    for (int i = 0; i < 1000; i++) {
+                        breaker.recordFailure();
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    done.countDown();
+                }
+            });
+        }
+        long trippedAt = System.nanoTime();
+        start.countDown();
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        pool.shutdown();
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+
+        long remaining = 150 - TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - trippedAt);
+        if (remaining > 0) {
+            Thread.sleep(remaining);
+        }
+        assertFalse(breaker.isOpen(), "超时应从第一次熔断开始计算");
+    }
+}
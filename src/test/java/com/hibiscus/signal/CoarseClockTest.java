@@ -0,0 +1,48 @@
+package com.hibiscus.signal;
+
+import com.hibiscus.signal.core.CoarseClock;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 粗粒度时钟测试
+ * 验证刷新线程随 {@link Signals} 实例启动和停止，没有持有者时读数退回系统时间
+ */
+@DisplayName("粗粒度时钟测试")
+public class CoarseClockTest {
+
+    @Test
+    @DisplayName("刷新线程随 Signals 关闭而停止")
+    void testTickerFollowsSignalsLifecycle() {
+        boolean tickingBefore = CoarseClock.isTicking();
+        Signals first = new Signals(Executors.newSingleThreadExecutor());
+        Signals second = new Signals(Executors.newSingleThreadExecutor());
+        assertTrue(CoarseClock.isTicking());
+
+        first.shutdown();
+        first.shutdown();
+        assertTrue(CoarseClock.isTicking(), "重复关闭不应释放其他实例持有的时钟");
+
+        second.shutdown();
+        assertEquals(tickingBefore, CoarseClock.isTicking());
+    }
+
+    @Test
+    @DisplayName("读数与系统时间的误差不超过一个刻度")
+    void testReadingIsCloseToSystemTime() throws InterruptedException {
+        CoarseClock.acquire();
+        try {
+            Thread.sleep(3 * CoarseClock.TICK_MS);
+            long reading = CoarseClock.currentTimeMillis();
+            long system = System.currentTimeMillis();
+            assertTrue(system - reading >= 0 && system - reading <= 5 * CoarseClock.TICK_MS,
+                    "读数 " + reading + " 与系统时间 " + system + " 相差过大");
+        } finally {
+            CoarseClock.release();
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package com.hibiscus.signal;
+
+import com.hibiscus.signal.config.SignalConfig;
+import com.hibiscus.signal.core.EmitAdmission;
+import com.hibiscus.signal.core.EmitResult;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeFalse;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * 分发计划解析测试
+ * 验证按事件名发射不会为未绑定的事件名分配句柄和计数器，反复发射同一个未绑定事件名时复用空计划
+ */
+@DisplayName("分发计划解析测试")
+public class DispatchPlanTest {
+
+    private static final Consumer<Throwable> IGNORE_ERRORS = e -> { };
+
+    private Signals signals;
+
+    @BeforeEach
+    void setUp() {
+        signals = new Signals(Executors.newFixedThreadPool(2));
+    }
+
+    @AfterEach
+    void tearDown() {
+        signals.shutdown();
+    }
+
+    @Test
+    @DisplayName("发射未绑定的动态事件名不保留任何状态")
+    void testUnboundEventsAreNotRetained() {
+        for (int i = 0; i < 1000; i++) {
+            assertEquals(EmitAdmission.NO_HANDLERS, signals.emit("tenant." + i + ".login", this, IGNORE_ERRORS));
+        }
+        assertTrue(signals.getMetrics().snapshot().getEvents().isEmpty(), "未绑定的事件不应产生计数器");
+    }
+
+    @Test
+    @DisplayName("未绑定事件的空计划缓存不会串用事件名")
+    void testUnboundPlanCacheKeepsEventNames() throws Exception {
+        // 大量事件名必然落在相同槽位上，结果中的事件名仍应是各自的事件名
+        for (int round = 0; round < 2; round++) {
+            for (int i = 0; i < 200; i++) {
+                String event = "tenant." + i + ".logout";
+                EmitResult result = signals.emitAsync(event, this).get(5, TimeUnit.SECONDS);
+                assertEquals(event, result.getEvent());
+                assertEquals(EmitAdmission.NO_HANDLERS, result.getAdmission());
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("反复发射同一个未绑定事件名不分配空计划")
+    void testRepeatedUnboundEmitDoesNotAllocate() {
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        assumeTrue(threads instanceof com.sun.management.ThreadMXBean, "需要 HotSpot 线程分配计数");
+        com.sun.management.ThreadMXBean hotspot = (com.sun.management.ThreadMXBean) threads;
+        assumeTrue(hotspot.isThreadAllocatedMemorySupported() && hotspot.isThreadAllocatedMemoryEnabled());
+        // 开启 DEBUG 日志时每次发射都会格式化“没有处理器”的日志，分配与空计划无关
+        assumeFalse(LoggerFactory.getLogger(Signals.class).isDebugEnabled(), "DEBUG 日志会产生分配");
+
+        Object[] params = {"payload"};
+        int emits = 200_000;
+        for (int i = 0; i < emits; i++) {
+            signals.emit("metrics.flush", this, IGNORE_ERRORS, params);
+        }
+        long threadId = Thread.currentThread().getId();
+        long before = hotspot.getThreadAllocatedBytes(threadId);
+        for (int i = 0; i < emits; i++) {
+            signals.emit("metrics.flush", this, IGNORE_ERRORS, params);
+        }
+        double perEmit = (double) (hotspot.getThreadAllocatedBytes(threadId) - before) / emits;
+        assertTrue(perEmit <= 8, "每次发射平均分配 " + perEmit + " 字节");
+    }
+
+    @Test
+    @DisplayName("绑定后按事件名发射使用已有计划")
+    void testBoundEventIsDispatched() {
+        AtomicInteger handled = new AtomicInteger();
+        assertEquals(EmitAdmission.NO_HANDLERS, signals.emit("user.login", this, IGNORE_ERRORS));
+        signals.connect("user.login", (sender, params) -> handled.incrementAndGet(),
+                new SignalConfig.Builder().async(false).build());
+
+        assertEquals(EmitAdmission.ACCEPTED, signals.emit("user.login", this, IGNORE_ERRORS));
+        assertEquals(1, handled.get());
+        assertEquals(1, signals.getMetrics().snapshot().getEvent("user.login").getEmitCount());
+    }
+
+    @Test
+    @DisplayName("匹配通配模式的事件名按模式分发")
+    void testPatternMatchedEventIsDispatched() {
+        AtomicInteger handled = new AtomicInteger();
+        signals.connect("order.*", (sender, params) -> handled.incrementAndGet(),
+                new SignalConfig.Builder().async(false).build());
+
+        assertEquals(EmitAdmission.ACCEPTED, signals.emit("order.created", this, IGNORE_ERRORS));
+        assertEquals(EmitAdmission.NO_HANDLERS, signals.emit("payment.created", this, IGNORE_ERRORS));
+        assertEquals(1, handled.get());
+    }
+}
@@ -0,0 +1,70 @@
+package com.hibiscus.signal;
+
+import com.hibiscus.signal.config.SignalConfig;
+import com.hibiscus.signal.core.EmitAdmission;
+import com.hibiscus.signal.core.EmitResult;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 发射结果测试
+ * 验证 emitAsync 返回的每个处理器结果分别记录处理器自身的耗时和排队时间
+ */
+@DisplayName("发射结果测试")
+public class EmitResultTest {
+
+    private Signals signals;
+
+    @BeforeEach
+    void setUp() {
+        // 单线程执行器：第二个处理器必须等第一个处理器结束才能开始
+        signals = new Signals(Executors.newSingleThreadExecutor());
+    }
+
+    @AfterEach
+    void tearDown() {
+        signals.shutdown();
+    }
+
+    @Test
+    @DisplayName("处理器耗时不包含排队和前面处理器的时间")
+    void testHandlerDurationExcludesQueueWait() throws Exception {
+        SignalConfig config = new SignalConfig.Builder().async(true).timeoutMs(0).build();
+        signals.connect("invoice.issued", (sender, params) -> Thread.sleep(200), config, "slow");
+        signals.connect("invoice.issued", (sender, params) -> { }, config, "fast");
+
+        EmitResult result = signals.emitAsync("invoice.issued", this).get(5, TimeUnit.SECONDS);
+
+        assertEquals(EmitAdmission.ACCEPTED, result.getAdmission());
+        assertTrue(result.isSuccess());
+        EmitResult.HandlerResult slow = result.getHandlerResults().get(0);
+        EmitResult.HandlerResult fast = result.getHandlerResults().get(1);
+        assertEquals("slow", slow.getHandlerName());
+        assertEquals("fast", fast.getHandlerName());
+        assertTrue(slow.getDurationMs() >= 190, "慢处理器的耗时应覆盖它自己的执行时间");
+        assertTrue(fast.getDurationMs() < 150, "快处理器的耗时不应包含排队时间");
+        assertTrue(TimeUnit.NANOSECONDS.toMillis(fast.getQueueWaitNanos()) >= 190, "排队时间单独记录");
+        assertTrue(result.getDurationMs() >= slow.getDurationMs());
+    }
+
+    @Test
+    @DisplayName("同步发射的处理器没有排队时间")
+    void testSyncHandlerHasNoQueueWait() throws Exception {
+        signals.connect("invoice.issued", (sender, params) -> Thread.sleep(20),
+                new SignalConfig.Builder().async(false).timeoutMs(0).build(), "sync");
+
+        EmitResult result = signals.emitAsync("invoice.issued", this).get(5, TimeUnit.SECONDS);
+
+        EmitResult.HandlerResult handler = result.getHandlerResults().get(0);
+        assertEquals(EmitResult.Status.SUCCESS, handler.getStatus());
+        assertEquals(0, handler.getQueueWaitNanos());
+        assertTrue(handler.getDurationMs() >= 15);
+    }
+}
@@ -0,0 +1,149 @@
+package com.hibiscus.signal;
+
+import com.hibiscus.signal.config.SignalConfig;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 处理器超时测试
+ * 验证超时中断只作用于超时的处理器，不影响调用线程原有的中断状态；
+ * 超时依靠中断实现，不响应中断的处理器不受超时限制
+ */
+@DisplayName("处理器超时测试")
+public class HandlerTimeoutTest {
+
+    private Signals signals;
+
+    @BeforeEach
+    void setUp() {
+        signals = new Signals(Executors.newFixedThreadPool(2));
+    }
+
+    @AfterEach
+    void tearDown() {
+        Thread.interrupted();
+        signals.shutdown();
+    }
+
+    @Test
+    @DisplayName("超时的处理器被中断且中断不泄漏到调用方")
+    void testTimedOutHandlerIsInterrupted() {
+        List<Throwable> errors = new CopyOnWriteArrayList<>();
+        signals.connect("report.generate", (sender, params) -> Thread.sleep(5000), syncConfig(50));
+
+        long start = System.nanoTime();
+        signals.emit("report.generate", this, errors::add);
+
+        assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) < 2000, "处理器应在超时后被中断");
+        assertEquals(1, errors.size());
+        assertTrue(errors.get(0).getMessage().contains("timed out"));
+        assertFalse(Thread.currentThread().isInterrupted(), "看门狗发出的中断应被清除");
+    }
+
+    @Test
+    @DisplayName("调用方原有的中断在超时后保留")
+    void testCallerInterruptIsPreserved() {
+        List<Throwable> errors = new CopyOnWriteArrayList<>();
+        signals.connect("report.generate", (sender, params) -> spin(200), syncConfig(50));
+
+        Thread.currentThread().interrupt();
+        signals.emit("report.generate", this, errors::add);
+
+        assertEquals(1, errors.size());
+        assertTrue(Thread.interrupted(), "调用方的中断不应被超时处理清除");
+    }
+
+    @Test
+    @DisplayName("截止时间前完成的处理器不受影响")
+    void testHandlerWithinDeadlineSucceeds() throws Exception {
+        List<Throwable> errors = new CopyOnWriteArrayList<>();
+        signals.connect("report.generate", (sender, params) -> { }, syncConfig(50));
+
+        for (int i = 0; i < 100; i++) {
+            signals.emit("report.generate", this, errors::add);
+        }
+        // 等待扫描器经过原来的截止时间
+        Thread.sleep(100);
+
+        assertTrue(errors.isEmpty());
+        assertFalse(Thread.currentThread().isInterrupted());
+    }
+
+    @Test
+    @DisplayName("不响应中断的处理器一直执行到返回，发射方随之阻塞，返回后才报告超时")
+    void testNonInterruptibleHandlerBlocksEmitter() {
+        List<Throwable> errors = new CopyOnWriteArrayList<>();
+        signals.connect("report.generate", (sender, params) -> spin(300), syncConfig(50));
+
+        long start = System.nanoTime();
+        signals.emit("report.generate", this, errors::add);
+        long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        assertTrue(elapsedMs >= 300, "超时只能中断线程，无法让忽略中断的处理器提前返回: " + elapsedMs + "ms");
+        assertEquals(1, errors.size());
+        assertTrue(errors.get(0).getMessage().contains("timed out"));
+        assertFalse(Thread.currentThread().isInterrupted(), "看门狗发出的中断应被清除");
+    }
+
+    @Test
+    @DisplayName("超时后同一线程的后续限时调用不受上一次超时影响")
+    void testWatchdogReusedAfterTimeout() throws Exception {
+        List<Throwable> errors = new CopyOnWriteArrayList<>();
+        signals.connect("report.slow", (sender, params) -> Thread.sleep(5000), syncConfig(30));
+        signals.connect("report.fast", (sender, params) -> Thread.sleep(1), syncConfig(30));
+
+        signals.emit("report.slow", this, errors::add);
+        assertEquals(1, errors.size());
+        for (int i = 0; i < 50; i++) {
+            signals.emit("report.fast", this, errors::add);
+        }
+        Thread.sleep(60);
+        signals.emit("report.slow", this, errors::add);
+
+        assertEquals(2, errors.size(), "快速处理器不应被上一次调用的截止时间中断");
+        assertFalse(Thread.currentThread().isInterrupted());
+    }
+
+    @Test
+    @DisplayName("处理器内嵌套的限时调用各自计时")
+    void testNestedTimeouts() {
+        List<Throwable> outerErrors = new CopyOnWriteArrayList<>();
+        List<Throwable> innerErrors = new CopyOnWriteArrayList<>();
+        signals.connect("report.inner", (sender, params) -> Thread.sleep(5000), syncConfig(50));
+        signals.connect("report.outer", (sender, params) -> {
+            signals.emit("report.inner", this, innerErrors::add);
+            assertFalse(Thread.currentThread().isInterrupted(), "内层超时的中断不应泄漏到外层处理器");
+        }, syncConfig(2000));
+
+        long start = System.nanoTime();
+        signals.emit("report.outer", this, outerErrors::add);
+
+        assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) < 2000);
+        assertEquals(1, innerErrors.size());
+        assertTrue(innerErrors.get(0).getMessage().contains("timed out"));
+        assertTrue(outerErrors.isEmpty(), "外层处理器在自己的截止时间内完成");
+    }
+
+    private static SignalConfig syncConfig(long timeoutMs) {
+        return new SignalConfig.Builder().async(false).maxRetries(0).timeoutMs(timeoutMs).build();
+    }
+
+    /**
+     * 忙等待，不响应中断
+     */
+    private static void spin(long millis) {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(millis);
+        while (System.nanoTime() < deadline) {
+            Thread.yield();
+        }
+    }
+}
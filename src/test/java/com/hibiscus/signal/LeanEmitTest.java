@@ -0,0 +1,148 @@
+package com.hibiscus.signal;
+
+import com.hibiscus.signal.config.SignalConfig;
+import com.hibiscus.signal.core.EmitAdmission;
+import com.hibiscus.signal.core.SignalContext;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * lean 模式发射测试
+ * 验证处理器在发射线程上内联执行，不创建上下文、不记录 span，重试在发射线程上完成，
+ * 以及稳态下每次发射的对象分配
+ */
+@DisplayName("lean 模式发射测试")
+public class LeanEmitTest {
+
+    private static final String EVENT = "lean.event";
+    private static final Consumer<Throwable> IGNORE_ERRORS = e -> { };
+
+    /**
+     * 稳态下每次 lean 发射允许的平均分配字节数。
+     * 实测为 0 B/op（与 SignalsEmitBenchmark.leanSyncEmit 的 gc.alloc.rate.norm 一致），
+     * 这里留出余量，只用于发现每次发射都分配对象的回退
+     */
+    private static final double MAX_BYTES_PER_EMIT = 8;
+
+    private ExecutorService executor;
+    private Signals signals;
+
+    @BeforeEach
+    void setUp() {
+        executor = Executors.newSingleThreadExecutor();
+        signals = new Signals(executor);
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        signals.destroy();
+        executor.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("处理器在发射线程上内联执行，参数中没有上下文")
+    void testHandlersRunInlineWithoutContext() {
+        Thread caller = Thread.currentThread();
+        List<Thread> threads = new CopyOnWriteArrayList<>();
+        List<Object[]> received = new CopyOnWriteArrayList<>();
+        signals.connect(EVENT, (sender, params) -> {
+            threads.add(Thread.currentThread());
+            received.add(params);
+        }, leanConfig(0));
+
+        assertEquals(EmitAdmission.ACCEPTED, signals.emit(EVENT, this, IGNORE_ERRORS, "payload"));
+
+        assertEquals(1, threads.size(), "emit 返回前处理器应已执行完");
+        assertSame(caller, threads.get(0));
+        assertArrayEquals(new Object[]{"payload"}, received.get(0), "lean 模式不应向参数中插入上下文");
+    }
+
+    @Test
+    @DisplayName("调用方传入未采样的上下文时不记录 span")
+    void testUnsampledContextRecordsNoSpan() {
+        AtomicInteger handled = new AtomicInteger();
+        signals.connect(EVENT, (sender, params) -> handled.incrementAndGet(), leanConfig(0));
+        SignalContext context = new SignalContext();
+        context.setSampled(false);
+
+        signals.emit(EVENT, this, IGNORE_ERRORS, context, "payload");
+
+        assertEquals(1, handled.get());
+        assertTrue(context.getSpans().isEmpty());
+    }
+
+    @Test
+    @DisplayName("重试在发射线程上完成，退避期间阻塞调用方")
+    void testRetriesBlockTheCaller() {
+        Thread caller = Thread.currentThread();
+        List<Thread> attempts = new CopyOnWriteArrayList<>();
+        signals.connect(EVENT, (sender, params) -> {
+            attempts.add(Thread.currentThread());
+            if (attempts.size() < 3) {
+                throw new IllegalStateException("attempt " + attempts.size());
+            }
+        }, leanConfig(2));
+
+        long start = System.nanoTime();
+        signals.emit(EVENT, this, IGNORE_ERRORS, "payload");
+        long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+
+        assertEquals(3, attempts.size(), "emit 返回前应已完成全部重试");
+        for (Thread attempt : attempts) {
+            assertSame(caller, attempt);
+        }
+        assertTrue(elapsedMs >= 30, "两次 20ms 的退避都应在发射线程上等待，实际 " + elapsedMs + "ms");
+    }
+
+    @Test
+    @DisplayName("稳态下 lean 发射不分配对象")
+    void testSteadyStateAllocation() {
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        assumeTrue(threads instanceof com.sun.management.ThreadMXBean, "需要 HotSpot 线程分配计数");
+        com.sun.management.ThreadMXBean hotspot = (com.sun.management.ThreadMXBean) threads;
+        assumeTrue(hotspot.isThreadAllocatedMemorySupported() && hotspot.isThreadAllocatedMemoryEnabled());
+
+        AtomicInteger handled = new AtomicInteger();
+        signals.connect(EVENT, (sender, params) -> handled.incrementAndGet(), leanConfig(0));
+        SignalHandle handle = signals.handle(EVENT);
+        Object[] params = {"payload"};
+        int emits = 200_000;
+        for (int i = 0; i < emits; i++) {
+            signals.emit(handle, this, IGNORE_ERRORS, params);
+        }
+
+        long threadId = Thread.currentThread().getId();
+        long before = hotspot.getThreadAllocatedBytes(threadId);
+        for (int i = 0; i < emits; i++) {
+            signals.emit(handle, this, IGNORE_ERRORS, params);
+        }
+        long allocated = hotspot.getThreadAllocatedBytes(threadId) - before;
+
+        assertEquals(2 * emits, handled.get());
+        double perEmit = (double) allocated / emits;
+        assertTrue(perEmit <= MAX_BYTES_PER_EMIT, "每次发射平均分配 " + perEmit + " 字节");
+    }
+
+    private static SignalConfig leanConfig(int maxRetries) {
+        return new SignalConfig.Builder()
+                .lean(true)
+                .maxRetries(maxRetries)
+                .retryDelayMs(20)
+                .retryBackoff(1.0, 20)
+                .build();
+    }
+}
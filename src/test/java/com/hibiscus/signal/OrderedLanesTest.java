@@ -0,0 +1,148 @@
+package com.hibiscus.signal;
+
+import com.hibiscus.signal.config.SignalConfig;
+import com.hibiscus.signal.core.SignalHandler;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 有序执行通道测试
+ * 验证相同排序键的信号按发射顺序逐个处理，失败重试期间后续信号不会越过它，不同排序键互不阻塞
+ */
+@DisplayName("有序执行通道测试")
+public class OrderedLanesTest {
+
+    private static final Consumer<Throwable> IGNORE_ERRORS = e -> { };
+    private static final String EVENT = "account.updated";
+
+    private Signals signals;
+
+    @BeforeEach
+    void setUp() {
+        signals = new Signals(Executors.newFixedThreadPool(4));
+    }
+
+    @AfterEach
+    void tearDown() {
+        signals.shutdown();
+    }
+
+    @Test
+    @DisplayName("相同排序键按发射顺序处理")
+    void testPerKeyOrder() throws Exception {
+        int keys = 8;
+        int perKey = 200;
+        Map<String, List<Integer>> handled = new ConcurrentHashMap<>();
+        CountDownLatch done = new CountDownLatch(keys * perKey);
+        signals.connect(EVENT, (sender, params) -> {
+            handled.computeIfAbsent(key(params), k -> new CopyOnWriteArrayList<>()).add(sequence(params));
+            done.countDown();
+        }, orderedConfig(0));
+
+        for (int i = 0; i < perKey; i++) {
+            for (int k = 0; k < keys; k++) {
+                signals.emit(EVENT, this, IGNORE_ERRORS, "account-" + k, i);
+            }
+        }
+
+        assertTrue(done.await(10, TimeUnit.SECONDS));
+        for (int k = 0; k < keys; k++) {
+            assertEquals(range(perKey), handled.get("account-" + k), "account-" + k + " 的处理顺序错误");
+        }
+    }
+
+    @Test
+    @DisplayName("重试等待期间同一排序键的后续信号不越过它")
+    void testRetryHoldsLaneOrder() throws Exception {
+        int events = 20;
+        List<Integer> handled = new CopyOnWriteArrayList<>();
+        Set<Integer> failedOnce = ConcurrentHashMap.newKeySet();
+        CountDownLatch done = new CountDownLatch(events);
+        signals.connect(EVENT, (sender, params) -> {
+            int sequence = sequence(params);
+            // 每个偶数序号的信号第一次处理失败，重试后成功
+            if (sequence % 2 == 0 && failedOnce.add(sequence)) {
+                throw new IllegalStateException("transient failure " + sequence);
+            }
+            handled.add(sequence);
+            done.countDown();
+        }, orderedConfig(2));
+
+        for (int i = 0; i < events; i++) {
+            signals.emit(EVENT, this, IGNORE_ERRORS, "account-1", i);
+        }
+
+        assertTrue(done.await(10, TimeUnit.SECONDS));
+        assertEquals(range(events), handled);
+        assertEquals(events / 2, failedOnce.size());
+    }
+
+    @Test
+    @DisplayName("一个排序键等待重试时其他排序键继续处理")
+    void testRetryDoesNotBlockOtherKeys() throws Exception {
+        CountDownLatch retried = new CountDownLatch(1);
+        CountDownLatch otherDone = new CountDownLatch(10);
+        List<String> order = new CopyOnWriteArrayList<>();
+        Set<String> failedOnce = ConcurrentHashMap.newKeySet();
+        SignalHandler handler = (sender, params) -> {
+            String key = key(params);
+            if ("account-slow".equals(key) && failedOnce.add(key)) {
+                throw new IllegalStateException("transient failure");
+            }
+            order.add(key);
+            if ("account-slow".equals(key)) {
+                retried.countDown();
+            } else {
+                otherDone.countDown();
+            }
+        };
+        signals.connect(EVENT, handler, new SignalConfig.Builder().async(true).timeoutMs(0)
+                .maxRetries(1).retryDelayMs(300).orderingKey(params -> params[params.length - 2]).build());
+
+        signals.emit(EVENT, this, IGNORE_ERRORS, "account-slow", 0);
+        for (int i = 0; i < 10; i++) {
+            signals.emit(EVENT, this, IGNORE_ERRORS, "account-fast", i);
+        }
+
+        assertTrue(otherDone.await(5, TimeUnit.SECONDS));
+        assertTrue(retried.await(5, TimeUnit.SECONDS));
+        assertEquals("account-slow", order.get(order.size() - 1), "其他排序键不应等待重试中的信号");
+    }
+
+    private static SignalConfig orderedConfig(int maxRetries) {
+        return new SignalConfig.Builder().async(true).timeoutMs(0).maxRetries(maxRetries).retryDelayMs(5)
+                .orderingKey(params -> params[params.length - 2]).build();
+    }
+
+    private static String key(Object[] params) {
+        return (String) params[params.length - 2];
+    }
+
+    private static int sequence(Object[] params) {
+        return (Integer) params[params.length - 1];
+    }
+
+    private static List<Integer> range(int count) {
+        List<Integer> values = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            values.add(i);
+        }
+        return Collections.unmodifiableList(values);
+    }
+}
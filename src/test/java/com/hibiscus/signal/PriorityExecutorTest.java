@@ -0,0 +1,128 @@
+package com.hibiscus.signal;
+
+import com.hibiscus.signal.config.SignalConfig;
+import com.hibiscus.signal.config.SignalPriority;
+import com.hibiscus.signal.core.PriorityExecutor;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 按优先级执行测试
+ * 低优先级洪峰（审计事件）占满自己的线程并一直阻塞，高优先级信号（支付事件）仍然能够执行；
+ * 全部用闩锁同步，不依赖耗时或延迟分位数
+ */
+@DisplayName("优先级执行器测试")
+public class PriorityExecutorTest {
+
+    private static final int AUDIT_EVENTS = 50;
+    private static final int PAYMENT_EVENTS = 10;
+
+    @Test
+    @DisplayName("低优先级洪峰不阻塞高优先级信号")
+    void testLowPriorityFloodDoesNotStarveHighPriority() throws Exception {
+        PriorityExecutor executor = new PriorityExecutor(2, 1, 1, 0.5);
+        Signals signals = new Signals(executor);
+        CountDownLatch releaseAudit = new CountDownLatch(1);
+        CountDownLatch auditDone = new CountDownLatch(AUDIT_EVENTS);
+        CountDownLatch paymentDone = new CountDownLatch(PAYMENT_EVENTS);
+        AtomicInteger auditRunning = new AtomicInteger();
+        Consumer<Throwable> errorHandler = e -> { };
+        try {
+            signals.connect("audit.recorded", (sender, params) -> {
+                auditRunning.incrementAndGet();
+                releaseAudit.await();
+                auditDone.countDown();
+            }, new SignalConfig.Builder().async(true).timeoutMs(0).maxRetries(0).priority(SignalPriority.LOW).build());
+            signals.connect("payment.completed", (sender, params) -> paymentDone.countDown(),
+                    new SignalConfig.Builder().async(true).timeoutMs(0).maxRetries(0).priority(SignalPriority.HIGH).build());
+
+            for (int i = 0; i < AUDIT_EVENTS; i++) {
+                signals.emit("audit.recorded", this, errorHandler, i);
+            }
+            for (int i = 0; i < PAYMENT_EVENTS; i++) {
+                signals.emit("payment.completed", this, errorHandler, i);
+            }
+
+            // 审计处理器全部阻塞期间，支付事件必须全部完成
+            assertTrue(paymentDone.await(10, TimeUnit.SECONDS), "HIGH 信号不应排在 LOW 洪峰后面");
+            assertEquals(AUDIT_EVENTS, auditDone.getCount(), "审计处理器在放行前不应完成");
+            // LOW 自己的一个线程，加上最多从 HIGH 借入的一个线程（MEDIUM 只有一个线程，不可借）
+            assertTrue(auditRunning.get() <= 2, "LOW 洪峰占用的线程数为 " + auditRunning.get());
+
+            releaseAudit.countDown();
+            assertTrue(auditDone.await(10, TimeUnit.SECONDS), "全部审计事件都应被处理");
+        } finally {
+            releaseAudit.countDown();
+            signals.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("借入任务不超过上限，本优先级始终保留线程")
+    void testBorrowLimitKeepsOwnThreads() throws Exception {
+        PriorityExecutor executor = new PriorityExecutor(2, 1, 1, 0.5);
+        CountDownLatch release = new CountDownLatch(1);
+        try {
+            for (int i = 0; i < 10; i++) {
+                executor.execute(SignalPriority.LOW, () -> await(release));
+            }
+            // HIGH 两个线程中最多一个被 LOW 借用
+            assertTrue(executor.getActiveCount(SignalPriority.HIGH) <= 1);
+
+            CountDownLatch ran = new CountDownLatch(1);
+            executor.execute(SignalPriority.HIGH, ran::countDown);
+            assertTrue(ran.await(10, TimeUnit.SECONDS));
+        } finally {
+            release.countDown();
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("本优先级繁忙时借用空闲的其他优先级")
+    void testBusyPriorityBorrowsIdlePool() throws Exception {
+        PriorityExecutor executor = new PriorityExecutor(2, 2, 1, 0.5);
+        CountDownLatch release = new CountDownLatch(1);
+        try {
+            List<String> threads = Collections.synchronizedList(new ArrayList<>());
+            CountDownLatch started = new CountDownLatch(3);
+            CountDownLatch done = new CountDownLatch(4);
+            for (int i = 0; i < 4; i++) {
+                executor.execute(SignalPriority.LOW, () -> {
+                    threads.add(Thread.currentThread().getName());
+                    started.countDown();
+                    await(release);
+                    done.countDown();
+                });
+            }
+            // LOW 只有一个线程，其余任务借用 HIGH 和 MEDIUM 各一个线程，第四个任务在 LOW 排队
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+            assertTrue(threads.stream().anyMatch(name -> name.startsWith("signal-high-")));
+            assertTrue(threads.stream().anyMatch(name -> name.startsWith("signal-medium-")));
+
+            release.countDown();
+            assertTrue(done.await(5, TimeUnit.SECONDS));
+        } finally {
+            release.countDown();
+            executor.shutdown();
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
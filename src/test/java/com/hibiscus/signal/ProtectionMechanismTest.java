@@ -60,7 +60,7 @@ public class ProtectionMechanismTest {
         protectionManager.registerCircuitBreaker(eventName, breaker);
         
         // 初始状态应该是关闭的
-        assertFalse(protectionManager.isBlocked(eventName));
+        assertFalse(isBlocked(eventName));
         
         // 模拟5次失败 - 直接调用熔断器的recordFailure方法
         for (int i = 0; i < 5; i++) {
@@ -68,7 +68,7 @@ public class ProtectionMechanismTest {
         }
         
         // 此时熔断器应该打开
-        assertTrue(protectionManager.isBlocked(eventName));
+        assertTrue(isBlocked(eventName));
         
         // 获取熔断器实例验证状态
         CircuitBreaker registeredBreaker = protectionManager.getCircuitBreaker(eventName);
@@ -87,7 +87,7 @@ public class ProtectionMechanismTest {
         protectionManager.registerRateLimiter(eventName, limiter);
         
         // 初始状态应该允许请求
-        assertFalse(protectionManager.isBlocked(eventName));
+        assertFalse(isBlocked(eventName));
         
         // 模拟10个请求
         for (int i = 0; i < 10; i++) {
@@ -98,7 +98,7 @@ public class ProtectionMechanismTest {
         assertFalse(limiter.allowRequest());
         
         // 此时应该被限流器阻塞
-        assertTrue(protectionManager.isBlocked(eventName));
+        assertTrue(isBlocked(eventName));
         
         // 验证限流器状态
         RateLimiter registeredLimiter = protectionManager.getRateLimiter(eventName);
@@ -114,7 +114,7 @@ public class ProtectionMechanismTest {
         
         // 限流器应该重置，允许新请求
         assertTrue(limiter.allowRequest());
-        assertFalse(protectionManager.isBlocked(eventName));
+        assertFalse(isBlocked(eventName));
     }
 
     @Test
@@ -131,7 +131,7 @@ public class ProtectionMechanismTest {
         protectionManager.registerRateLimiter(eventName, limiter);
         
         // 初始状态：两个保护机制都未触发
-        assertFalse(protectionManager.isBlocked(eventName));
+        assertFalse(isBlocked(eventName));
         
         // 测试限流器：发送10个请求
         for (int i = 0; i < 10; i++) {
@@ -140,7 +140,7 @@ public class ProtectionMechanismTest {
         
         // 第11个请求被限流器拒绝
         assertFalse(limiter.allowRequest());
-        assertTrue(protectionManager.isBlocked(eventName));
+        assertTrue(isBlocked(eventName));
         
         // 等待1秒后限流器重置
         try {
@@ -151,7 +151,7 @@ public class ProtectionMechanismTest {
         
         // 限流器应该重置，允许新请求
         assertTrue(limiter.allowRequest());
-        assertFalse(protectionManager.isBlocked(eventName));
+        assertFalse(isBlocked(eventName));
         
         // 测试熔断器：触发熔断
         for (int i = 0; i < 3; i++) {
@@ -159,7 +159,7 @@ public class ProtectionMechanismTest {
         }
         
         // 熔断器应该打开
-        assertTrue(protectionManager.isBlocked(eventName));
+        assertTrue(isBlocked(eventName));
         assertTrue(breaker.isOpen());
     }
 
@@ -218,7 +218,7 @@ public class ProtectionMechanismTest {
         int requestCount = 100000;
         
         for (int i = 0; i < requestCount; i++) {
-            protectionManager.isBlocked(eventName);
+            isBlocked(eventName);
         }
         
         long endTime = System.currentTimeMillis();
@@ -248,7 +248,7 @@ public class ProtectionMechanismTest {
         assertNotNull(protectionManager.getRateLimiter(eventName));
         
         // 验证初始状态
-        assertFalse(protectionManager.isBlocked(eventName));
+        assertFalse(isBlocked(eventName));
         
         // 移除保护机制
         protectionManager.removeProtection(eventName);
@@ -256,7 +256,7 @@ public class ProtectionMechanismTest {
         // 验证移除成功
         assertNull(protectionManager.getCircuitBreaker(eventName));
         assertNull(protectionManager.getRateLimiter(eventName));
-        assertFalse(protectionManager.isBlocked(eventName));
+        assertFalse(isBlocked(eventName));
     }
 
     @Test
@@ -282,7 +282,7 @@ public class ProtectionMechanismTest {
         for (int i = 0; i < threadCount; i++) {
             threads[i] = new Thread(() -> {
                 for (int j = 0; j < requestsPerThread; j++) {
-                    if (protectionManager.isBlocked(eventName)) {
+                    if (isBlocked(eventName)) {
                         blockedCount.incrementAndGet();
                     } else {
                         successCount.incrementAndGet();
@@ -311,8 +311,17 @@ public class ProtectionMechanismTest {
         System.out.println("  被阻塞请求: " + blockedCount.get());
         
         // 验证保护机制状态 - 由于限流器容量足够，应该不会被阻塞
-        assertFalse(protectionManager.isBlocked(eventName));
+        assertFalse(isBlocked(eventName));
         assertFalse(breaker.isOpen());
         assertTrue(limiter.allowRequest());
     }
+
+    /**
+     * 与分发计划相同的判断：熔断器打开或限流器没有可用许可时被阻止（只读，不消耗许可）
+     */
+    private boolean isBlocked(String eventName) {
+        CircuitBreaker breaker = protectionManager.getCircuitBreaker(eventName);
+        RateLimiter limiter = protectionManager.getRateLimiter(eventName);
+        return (breaker != null && breaker.isOpen()) || (limiter != null && !limiter.canAllowRequest());
+    }
 }
@@ -0,0 +1,134 @@
+package com.hibiscus.signal;
+
+import com.hibiscus.signal.core.RateLimiter;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 限流器测试
+ * 验证 GCRA 限流器的突发容量、按速率补充许可以及并发下的总体速率
+ */
+@DisplayName("限流器测试")
+public class RateLimiterTest {
+
+    @Test
+    @DisplayName("空闲后最多一次取走突发容量的许可")
+    void testBurstTolerance() {
+        // 每秒 10 个许可：100ms 补充一个，测试期间几乎不会补充
+        RateLimiter limiter = new RateLimiter(10, 5);
+
+        for (int i = 0; i < 5; i++) {
+            assertTrue(limiter.allowRequest(), "突发容量内的第 " + (i + 1) + " 个请求应被允许");
+        }
+        assertFalse(limiter.allowRequest());
+        assertFalse(limiter.canAllowRequest());
+    }
+
+    @Test
+    @DisplayName("批量获取整批成功或整批失败")
+    void testBulkAcquire() {
+        RateLimiter limiter = new RateLimiter(10, 5);
+
+        assertFalse(limiter.tryAcquire(6), "超过突发容量的批量请求不能整批获取");
+        assertTrue(limiter.tryAcquire(3));
+        assertFalse(limiter.tryAcquire(3), "剩余许可不足时不部分获取");
+        assertTrue(limiter.tryAcquire(2));
+        assertTrue(limiter.tryAcquire(0));
+    }
+
+    @Test
+    @DisplayName("tryAcquireUpTo 取走当前可用的部分许可")
+    void testAcquireUpTo() {
+        RateLimiter limiter = new RateLimiter(10, 5);
+
+        assertEquals(5, limiter.tryAcquireUpTo(8));
+        assertEquals(0, limiter.tryAcquireUpTo(8));
+        assertEquals(0, limiter.tryAcquireUpTo(0));
+    }
+
+    @Test
+    @DisplayName("许可按速率持续补充")
+    void testRefill() throws InterruptedException {
+        // 每秒 20 个许可：50ms 补充一个
+        RateLimiter limiter = new RateLimiter(20, 2);
+        assertEquals(2, limiter.tryAcquireUpTo(2));
+        assertFalse(limiter.allowRequest());
+
+        Thread.sleep(60);
+        assertTrue(limiter.canAllowRequest());
+        assertTrue(limiter.allowRequest(), "一个发射间隔后应补充一个许可");
+
+        // 空闲再久，可用许可也不超过突发容量
+        Thread.sleep(300);
+        assertEquals(2, limiter.tryAcquireUpTo(10));
+    }
+
+    @Test
+    @DisplayName("canAllowRequest 不消耗许可")
+    void testCanAllowRequestIsReadOnly() {
+        RateLimiter limiter = new RateLimiter(10, 1);
+
+        assertTrue(limiter.canAllowRequest());
+        assertTrue(limiter.canAllowRequest());
+        assertTrue(limiter.allowRequest());
+        assertFalse(limiter.canAllowRequest());
+    }
+
+    @Test
+    @DisplayName("并发获取时总许可数不超过突发容量加补充量")
+    void testConcurrentRate() throws InterruptedException {
+        int rate = 100;
+        int burst = 10;
+        long durationMs = 500;
+        RateLimiter limiter = new RateLimiter(rate, burst);
+        AtomicInteger granted = new AtomicInteger();
+        ExecutorService pool = Executors.newFixedThreadPool(4);
+        CountDownLatch done = new CountDownLatch(4);
+        long start = System.nanoTime();
+        long deadline = start + TimeUnit.MILLISECONDS.toNanos(durationMs);
+        for (int t = 0; t < 4; t++) {
+            pool.execute(() -> {
+                while (System.nanoTime() < deadline) {
+                    if (limiter.allowRequest()) {
+                        granted.incrementAndGet();
+                    }
+                }
+                done.countDown();
+            });
+        }
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        pool.shutdown();
+
+        long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        long upperBound = burst + rate * elapsedMs / 1000 + 1;
+        assertTrue(granted.get() <= upperBound, "许可数 " + granted.get() + " 不应超过 " + upperBound);
+        assertTrue(granted.get() >= burst + rate * durationMs / 1000 / 2, "许可数 " + granted.get() + " 过少");
+    }
+
+    @Test
+    @DisplayName("超过每纳秒一个许可的速率不会除零")
+    void testVeryHighRate() {
+        // 基准测试用 Integer.MAX_VALUE 关闭限流
+        RateLimiter limiter = new RateLimiter(Integer.MAX_VALUE);
+
+        assertEquals(1000, limiter.tryAcquireUpTo(1000));
+        assertTrue(limiter.tryAcquire(1000));
+        assertTrue(limiter.allowRequest());
+        assertTrue(limiter.canAllowRequest());
+    }
+
+    @Test
+    @DisplayName("非法参数被拒绝")
+    void testInvalidArguments() {
+        assertThrows(IllegalArgumentException.class, () -> new RateLimiter(0));
+        assertThrows(IllegalArgumentException.class, () -> new RateLimiter(10, 0));
+    }
+}
@@ -0,0 +1,261 @@
+package com.hibiscus.signal;
+
+import com.hibiscus.signal.config.OverflowPolicy;
+import com.hibiscus.signal.config.SignalConfig;
+import com.hibiscus.signal.core.EmitAdmission;
+import com.hibiscus.signal.reactive.SignalPublisher;
+import com.hibiscus.signal.reactive.SignalSubscriber;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 响应式桥接测试
+ * 验证 {@link SignalPublisher} 按 request(n) 下发并在缓冲区满时按策略丢弃，
+ * 以及 {@link SignalSubscriber} 的在途上限、请求计数和发射被拒绝后停止拉取
+ */
+@DisplayName("响应式桥接测试")
+public class ReactiveSignalsTest {
+
+    private static final Consumer<Throwable> IGNORE_ERRORS = e -> { };
+    private static final String EVENT = "order.created";
+
+    private Signals signals;
+
+    @BeforeEach
+    void setUp() {
+        signals = new Signals(Executors.newFixedThreadPool(4));
+    }
+
+    @AfterEach
+    void tearDown() {
+        signals.shutdown();
+    }
+
+    @Test
+    @DisplayName("发布者只按请求数下发，其余信号留在缓冲区")
+    void testPublisherHonoursRequests() {
+        SignalPublisher<Object> publisher = new SignalPublisher<>(signals, EVENT, syncConfig(),
+                (sender, params) -> params[params.length - 1], 16, OverflowPolicy.DROP_NEWEST, 0);
+        RecordingSubscriber subscriber = new RecordingSubscriber();
+        publisher.subscribe(subscriber);
+
+        subscriber.subscription.request(2);
+        for (int i = 0; i < 5; i++) {
+            signals.emit(EVENT, this, IGNORE_ERRORS, i);
+        }
+        assertEquals(Arrays.asList(0, 1), subscriber.items);
+
+        subscriber.subscription.request(10);
+        assertEquals(Arrays.asList(0, 1, 2, 3, 4), subscriber.items);
+        signals.emit(EVENT, this, IGNORE_ERRORS, 5);
+        assertEquals(6, subscriber.items.size(), "未用完的请求数应继续生效");
+        assertEquals(0, publisher.getDroppedCount());
+    }
+
+    @Test
+    @DisplayName("缓冲区满时 DROP_NEWEST 丢弃新信号，DROP_OLDEST 丢弃旧信号")
+    void testPublisherOverflow() {
+        SignalPublisher<Object> newest = new SignalPublisher<>(signals, EVENT, syncConfig(),
+                (sender, params) -> params[params.length - 1], 2, OverflowPolicy.DROP_NEWEST, 0);
+        SignalPublisher<Object> oldest = new SignalPublisher<>(signals, EVENT, syncConfig(),
+                (sender, params) -> params[params.length - 1], 2, OverflowPolicy.DROP_OLDEST, 0);
+        RecordingSubscriber newestSubscriber = new RecordingSubscriber();
+        RecordingSubscriber oldestSubscriber = new RecordingSubscriber();
+        newest.subscribe(newestSubscriber);
+        oldest.subscribe(oldestSubscriber);
+
+        for (int i = 0; i < 5; i++) {
+            signals.emit(EVENT, this, IGNORE_ERRORS, i);
+        }
+        assertEquals(3, newest.getDroppedCount());
+        assertEquals(3, oldest.getDroppedCount());
+
+        newestSubscriber.subscription.request(Long.MAX_VALUE);
+        oldestSubscriber.subscription.request(Long.MAX_VALUE);
+        assertEquals(Arrays.asList(0, 1), newestSubscriber.items);
+        assertEquals(Arrays.asList(3, 4), oldestSubscriber.items);
+    }
+
+    @Test
+    @DisplayName("取消订阅解绑处理器，非正请求数以错误结束")
+    void testCancelAndInvalidRequest() {
+        SignalPublisher<Object[]> publisher = SignalPublisher.of(signals, EVENT);
+        RecordingSubscriber cancelled = new RecordingSubscriber();
+        publisher.subscribe(cancelled);
+        assertEquals(1, publisher.getSubscriberCount());
+        cancelled.subscription.cancel();
+        assertEquals(0, publisher.getSubscriberCount());
+        assertEquals(EmitAdmission.NO_HANDLERS, signals.emit(EVENT, this, IGNORE_ERRORS, 1));
+
+        RecordingSubscriber invalid = new RecordingSubscriber();
+        publisher.subscribe(invalid);
+        invalid.subscription.request(0);
+        assertTrue(invalid.error instanceof IllegalArgumentException);
+        assertEquals(0, publisher.getSubscriberCount());
+    }
+
+    @Test
+    @DisplayName("订阅者在途发射不超过上限，每完成一次才请求一个元素")
+    void testSubscriberRequestAccounting() throws Exception {
+        int items = 50;
+        int maxInFlight = 3;
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        signals.connect(EVENT, (sender, params) -> {
+            maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+            release.await();
+            running.decrementAndGet();
+        }, asyncConfig());
+
+        RangePublisher source = new RangePublisher(items);
+        SignalSubscriber<Integer> subscriber = SignalSubscriber.of(signals, EVENT, maxInFlight);
+        source.subscribe(subscriber);
+
+        assertEquals(maxInFlight, source.requested.get(), "订阅时只请求在途上限个元素");
+        assertEquals(maxInFlight, subscriber.getInFlight());
+
+        release.countDown();
+        subscriber.getCompletion().get(10, TimeUnit.SECONDS);
+        assertEquals(items, subscriber.getSucceededCount());
+        assertEquals(0, subscriber.getFailedCount());
+        assertTrue(maxRunning.get() <= maxInFlight, "同时处理 " + maxRunning.get() + " 个元素");
+        // 每完成一次发射只补请求一个元素；上游结束后完成的发射不再请求
+        assertTrue(source.requested.get() >= items && source.requested.get() <= items + maxInFlight,
+                "累计请求 " + source.requested.get() + " 个元素");
+    }
+
+    @Test
+    @DisplayName("发射被拒绝后不再请求，取消上游并以错误结束")
+    void testSubscriberStopsRequestingAfterRejection() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch started = new CountDownLatch(1);
+        signals.connect(EVENT, (sender, params) -> {
+            started.countDown();
+            release.await();
+        }, new SignalConfig.Builder().async(true).timeoutMs(0).maxRetries(0)
+                .maxInFlight(1, OverflowPolicy.DROP_NEWEST).build());
+
+        RangePublisher source = new RangePublisher(100);
+        SignalSubscriber<Integer> subscriber = SignalSubscriber.of(signals, EVENT, 2);
+        source.subscribe(subscriber);
+
+        // 第一个元素占住唯一的在途名额，第二个元素被丢弃
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        assertTrue(source.cancelled, "发射被拒绝后应取消上游订阅");
+        assertEquals(2, source.requested.get(), "发射被拒绝后不应再请求元素");
+        assertFalse(subscriber.getCompletion().isDone(), "在途发射结束前不应完成");
+
+        release.countDown();
+        ExecutionException e = assertThrows(ExecutionException.class,
+                () -> subscriber.getCompletion().get(5, TimeUnit.SECONDS));
+        assertTrue(e.getCause() instanceof RejectedExecutionException);
+        assertEquals(2, source.requested.get());
+        assertEquals(1, subscriber.getSucceededCount());
+        assertEquals(1, subscriber.getFailedCount());
+    }
+
+    private static SignalConfig syncConfig() {
+        return new SignalConfig.Builder().async(false).build();
+    }
+
+    private static SignalConfig asyncConfig() {
+        return new SignalConfig.Builder().async(true).timeoutMs(0).maxRetries(0).build();
+    }
+
+    /**
+     * 记录收到的元素，不主动请求
+     */
+    private static final class RecordingSubscriber implements Subscriber<Object> {
+
+        final List<Object> items = new CopyOnWriteArrayList<>();
+        volatile Subscription subscription;
+        volatile Throwable error;
+        volatile boolean completed;
+
+        @Override
+        public void onSubscribe(Subscription s) {
+            subscription = s;
+        }
+
+        @Override
+        public void onNext(Object item) {
+            items.add(item);
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            error = t;
+        }
+
+        @Override
+        public void onComplete() {
+            completed = true;
+        }
+    }
+
+    /**
+     * 按请求在请求线程上同步下发 0..count-1，记录累计请求数
+     */
+    private static final class RangePublisher implements Publisher<Integer> {
+
+        final AtomicLong requested = new AtomicLong();
+        private final int count;
+        private final AtomicInteger next = new AtomicInteger();
+        private final AtomicLong pending = new AtomicLong();
+        private final AtomicInteger wip = new AtomicInteger();
+        volatile boolean cancelled;
+
+        RangePublisher(int count) {
+            this.count = count;
+        }
+
+        @Override
+        public void subscribe(Subscriber<? super Integer> subscriber) {
+            subscriber.onSubscribe(new Subscription() {
+                @Override
+                public void request(long n) {
+                    requested.addAndGet(n);
+                    pending.addAndGet(n);
+                    if (wip.getAndIncrement() != 0) {
+                        return;
+                    }
+                    do {
+                        while (!cancelled && pending.get() > 0 && next.get() < count) {
+                            pending.decrementAndGet();
+                            subscriber.onNext(next.getAndIncrement());
+                        }
+                        if (!cancelled && next.get() == count) {
+                            cancelled = true;
+                            subscriber.onComplete();
+                        }
+                    } while (wip.decrementAndGet() != 0);
+                }
+
+                @Override
+                public void cancel() {
+                    cancelled = true;
+                }
+            });
+        }
+    }
+}
@@ -0,0 +1,131 @@
+package com.hibiscus.signal;
+
+import com.hibiscus.signal.config.SignalConfig;
+import com.hibiscus.signal.core.SignalProcessor;
+import com.hibiscus.signal.core.SignalTimer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 异步重试测试
+ * 验证退避等待期间不占用工作线程、退避时间的指数增长与抖动范围，以及无法重试时投递以“重试中止”失败
+ */
+@DisplayName("异步重试测试")
+public class RetryTest {
+
+    private ExecutorService executor;
+    private Signals signals;
+
+    @BeforeEach
+    void setUp() {
+        // 单个工作线程：重试等待若占用线程，其他事件就无法执行
+        executor = Executors.newFixedThreadPool(1);
+        signals = new Signals(executor);
+    }
+
+    @AfterEach
+    void tearDown() {
+        signals.shutdown();
+    }
+
+    @Test
+    @DisplayName("退避等待期间工作线程可以执行其他事件")
+    void testBackoffFreesWorker() throws InterruptedException {
+        AtomicInteger attempts = new AtomicInteger();
+        CountDownLatch firstAttempt = new CountDownLatch(1);
+        CountDownLatch paid = new CountDownLatch(1);
+        CountDownLatch shipped = new CountDownLatch(1);
+        signals.connect("order.pay", (sender, params) -> {
+            if (attempts.incrementAndGet() == 1) {
+                firstAttempt.countDown();
+                throw new IllegalStateException("gateway busy");
+            }
+            paid.countDown();
+        }, asyncConfig(1, 1000));
+        signals.connect("order.ship", (sender, params) -> shipped.countDown(), asyncConfig(0, 0));
+
+        signals.emit("order.pay", this, null);
+        assertTrue(firstAttempt.await(2, TimeUnit.SECONDS));
+        signals.emit("order.ship", this, null);
+
+        assertTrue(shipped.await(500, TimeUnit.MILLISECONDS), "唯一的工作线程不应被重试等待占用");
+        assertEquals(1, attempts.get(), "重试尚未到期");
+        assertTrue(paid.await(3, TimeUnit.SECONDS), "到期后重试应成功");
+        assertEquals(2, attempts.get());
+    }
+
+    @Test
+    @DisplayName("重试间隔按倍数增长、不超过上限，抖动不超出比例")
+    void testRetryDelayBounds() {
+        SignalTimer timer = new SignalTimer();
+        try {
+            SignalProcessor processor = new SignalProcessor(timer);
+            SignalConfig exact = new SignalConfig.Builder().retryDelayMs(100).retryBackoff(2.0, 1000).build();
+            long[] expected = {100, 200, 400, 800, 1000, 1000};
+            for (int retry = 1; retry <= expected.length; retry++) {
+                assertEquals(expected[retry - 1], processor.getRetryDelay(exact, retry), "第 " + retry + " 次重试");
+            }
+
+            SignalConfig jittered = new SignalConfig.Builder().retryDelayMs(100).retryBackoff(2.0, 1000)
+                    .retryJitter(0.2).build();
+            for (int retry = 1; retry <= expected.length; retry++) {
+                long base = expected[retry - 1];
+                long min = Long.MAX_VALUE;
+                long max = Long.MIN_VALUE;
+                for (int i = 0; i < 1000; i++) {
+                    long delay = processor.getRetryDelay(jittered, retry);
+                    min = Math.min(min, delay);
+                    max = Math.max(max, delay);
+                }
+                assertTrue(min >= (long) (base * 0.8), "第 " + retry + " 次重试的最短间隔 " + min);
+                assertTrue(max <= (long) (base * 1.2), "第 " + retry + " 次重试的最长间隔 " + max);
+                assertTrue(min < max, "抖动应使间隔分散");
+            }
+        } finally {
+            timer.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("执行器关闭后到期的重试以重试中止失败，不在定时线程上执行处理器")
+    void testRetryAbortedWhenExecutorShutDown() throws InterruptedException {
+        AtomicInteger attempts = new AtomicInteger();
+        CountDownLatch firstAttempt = new CountDownLatch(1);
+        List<Throwable> errors = new CopyOnWriteArrayList<>();
+        IllegalStateException failure = new IllegalStateException("gateway down");
+        signals.connect("order.pay", (sender, params) -> {
+            attempts.incrementAndGet();
+            firstAttempt.countDown();
+            throw failure;
+        }, asyncConfig(3, 200));
+
+        signals.emit("order.pay", this, errors::add);
+        assertTrue(firstAttempt.await(2, TimeUnit.SECONDS));
+        executor.shutdown();
+
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(3);
+        while (errors.isEmpty() && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(1, errors.size());
+        assertTrue(errors.get(0).getMessage().contains("retry aborted"), errors.get(0).getMessage());
+        assertSame(failure, errors.get(0).getCause().getCause(), "最后一次处理器失败应作为 cause");
+        assertEquals(1, attempts.get(), "中止的重试不应再执行处理器");
+    }
+
+    private static SignalConfig asyncConfig(int maxRetries, long retryDelayMs) {
+        return new SignalConfig.Builder().async(true).maxRetries(maxRetries).retryDelayMs(retryDelayMs).build();
+    }
+}
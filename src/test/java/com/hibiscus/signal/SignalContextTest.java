@@ -1,29 +1,151 @@
 package com.hibiscus.signal;
 
-import com.hibiscus.signal.core.SignalCallback;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.hibiscus.signal.core.SignalContext;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
 
-import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
 
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 信号上下文测试
+ * 验证紧凑属性表的扩容与重哈希、删除后重新写入、只读视图的实时性，以及交给其他线程后的并发写入
+ */
+@DisplayName("信号上下文测试")
 public class SignalContextTest {
-//    public static void main(String[] args) {
-//        SignalContext context = new SignalContext();
-//        context.setAttribute("test", "test");
-//        context.setAttribute("test1", "test1");
-//
-//        Signals sig = Signals.sig();
-//        long connect = sig.connect("event001", (sender, params) -> System.out.println("Sender: " + sender + " Params: " + Arrays.toString(params)),context);
-//        sig.emit("event001", new Object(), new SignalCallback() {
-//            @Override
-//            public void onSuccess(String event, Object sender, Object... params) {
-//                System.out.println("event： " + event);
-//                System.out.println("Sender: " + sender);
-//                SignalContext context = (SignalContext)params[0];
-//                context.getAttributes().forEach((key, value) -> System.out.println("Key: " + key + " Value: " + value));
-//                System.out.println("Signal emitted successfully with params: " + Arrays.toString(params));
-//            }
-//        }, error -> {
-//            System.out.println("Error: " + error.getMessage());
-//        }, context,"hello world");
-//    }
+
+    @Test
+    @DisplayName("超过初始 8 个槽位后扩容，所有属性仍可读取")
+    void testGrowthPastInitialSlots() {
+        SignalContext context = new SignalContext();
+        for (int i = 0; i < 200; i++) {
+            context.setAttribute("key-" + i, i);
+            assertEquals(i + 1, context.getAttributes().size());
+        }
+        for (int i = 0; i < 200; i++) {
+            assertEquals(i, context.getAttribute("key-" + i));
+        }
+        assertNull(context.getAttribute("key-200"));
+        assertFalse(context.isShared(), "只在创建线程上使用时不应升级为并发表");
+    }
+
+    @Test
+    @DisplayName("删除后重新写入同样的键")
+    void testRemoveThenReinsert() {
+        SignalContext context = new SignalContext();
+        // 反复删除和写入会留下墓碑，重哈希时应清理而不是无限扩容或丢失数据
+        for (int round = 0; round < 50; round++) {
+            for (int i = 0; i < 6; i++) {
+                context.setAttribute("key-" + i, round * 100 + i);
+            }
+            assertEquals(6, context.getAttributes().size());
+            for (int i = 0; i < 6; i++) {
+                assertEquals(round * 100 + i, context.getAttribute("key-" + i));
+            }
+            for (int i = 0; i < 6; i += 2) {
+                context.removeAttribute("key-" + i);
+            }
+            assertEquals(3, context.getAttributes().size());
+            assertNull(context.getAttribute("key-0"));
+            assertEquals(round * 100 + 1, context.getAttribute("key-1"));
+        }
+
+        context.removeAttribute("missing");
+        context.removeAttribute("key-0");
+        assertEquals(3, context.getAttributes().size(), "删除不存在或已删除的键不影响计数");
+    }
+
+    @Test
+    @DisplayName("只读视图能看到之后的写入和删除")
+    void testViewSeesLaterWrites() {
+        SignalContext context = new SignalContext();
+        Map<String, Object> view = context.getAttributes();
+        assertTrue(view.isEmpty());
+
+        context.setAttribute("user", "alice");
+        for (int i = 0; i < 20; i++) {
+            context.setAttribute("key-" + i, i);
+        }
+        assertEquals("alice", view.get("user"));
+        assertEquals(21, view.size());
+        assertTrue(view.containsKey("key-19"));
+
+        context.removeAttribute("user");
+        assertFalse(view.containsKey("user"));
+        Map<String, Object> copy = new HashMap<>(view);
+        assertEquals(20, copy.size());
+        assertEquals(19, copy.get("key-19"));
+
+        context.share();
+        context.setAttribute("after-share", true);
+        assertEquals(true, view.get("after-share"), "升级为并发表后视图仍是实时的");
+        assertEquals(21, view.size());
+
+        assertThrows(UnsupportedOperationException.class, () -> view.put("x", 1));
+    }
+
+    @Test
+    @DisplayName("交给其他线程后两个线程同时写入不丢失")
+    void testConcurrentWritesAfterHandover() throws Exception {
+        SignalContext context = new SignalContext();
+        for (int i = 0; i < 100; i++) {
+            context.setAttribute("owner-" + i, i);
+            context.addIntermediateValue("step-" + i, i);
+        }
+
+        int writes = 5000;
+        CountDownLatch handedOver = new CountDownLatch(1);
+        CyclicBarrier start = new CyclicBarrier(2);
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        Thread other = new Thread(() -> {
+            try {
+                // 其他线程第一次访问时上下文升级为并发表，之前写入的属性都应可见
+                assertEquals(99, context.getAttribute("owner-99"));
+                handedOver.countDown();
+                start.await(5, TimeUnit.SECONDS);
+                for (int i = 0; i < writes; i++) {
+                    context.setAttribute("other-" + i, i);
+                    context.addIntermediateValue("other-step-" + i, i);
+                }
+            } catch (Throwable t) {
+                failure.set(t);
+            }
+        });
+        other.start();
+        assertTrue(handedOver.await(5, TimeUnit.SECONDS));
+        assertTrue(context.isShared());
+
+        start.await(5, TimeUnit.SECONDS);
+        for (int i = 0; i < writes; i++) {
+            context.setAttribute("owner-late-" + i, i);
+        }
+        other.join(10000);
+
+        assertNull(failure.get());
+        assertEquals(100 + 2 * writes, context.getAttributes().size());
+        assertEquals(100 + writes, context.getIntermediateValues().size());
+        for (int i = 0; i < writes; i++) {
+            assertEquals(i, context.getAttribute("other-" + i));
+            assertEquals(i, context.getAttribute("owner-late-" + i));
+        }
+    }
+
+    @Test
+    @DisplayName("旧格式 JSON 中的字符串 spanId 和毫秒时间不再绑定")
+    void testLegacySpanJson() throws Exception {
+        String legacy = "{\"spanId\":\"1f\",\"parentSpanId\":\"0a\",\"operation\":\"order.created\","
+                + "\"startTime\":1700000000000,\"endTime\":1700000000005}";
+        SignalContext.Span span = new ObjectMapper().readValue(legacy, SignalContext.Span.class);
+
+        assertEquals("order.created", span.getOperation());
+        assertEquals(0L, span.getId(), "setSpanId 已移除，旧的字符串 ID 被忽略");
+        assertEquals(0L, span.getStartNanos());
+    }
 }
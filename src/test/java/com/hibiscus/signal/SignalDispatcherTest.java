@@ -0,0 +1,274 @@
+package com.hibiscus.signal;
+
+import com.hibiscus.signal.config.SignalConfig;
+import com.hibiscus.signal.config.SignalPriority;
+import com.hibiscus.signal.core.DispatchPlan;
+import com.hibiscus.signal.core.EventType;
+import com.hibiscus.signal.core.SigHandler;
+import com.hibiscus.signal.core.SignalCallback;
+import com.hibiscus.signal.core.SignalDispatcher;
+import com.hibiscus.signal.core.SignalEmitter;
+import com.hibiscus.signal.core.SignalFilter;
+import com.hibiscus.signal.core.SignalHandler;
+import com.hibiscus.signal.core.SignalInterceptor;
+import com.hibiscus.signal.core.SignalMetrics;
+import com.hibiscus.signal.core.SignalProcessor;
+import com.hibiscus.signal.core.SignalTimer;
+import com.hibiscus.signal.core.SignalTransformer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 环形缓冲区分发器测试
+ * 用很小的环验证序号绕环后顺序不变、环满时生产者等待，以及关闭时处理完已发布的事件
+ */
+@DisplayName("环形缓冲区分发器测试")
+public class SignalDispatcherTest {
+
+    private static final Consumer<Throwable> IGNORE_ERRORS = e -> { };
+    private static final int RING_SIZE = 4;
+
+    private ExecutorService executor;
+    private SignalTimer timer;
+    private SignalEmitter emitter;
+
+    @BeforeEach
+    void setUp() {
+        executor = Executors.newSingleThreadExecutor();
+        timer = new SignalTimer();
+        emitter = new SignalEmitter(executor, new SignalProcessor(timer), timer);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+        timer.shutdown();
+    }
+
+    @Test
+    @DisplayName("序号绕环多圈后仍按发布顺序处理")
+    void testWraparoundKeepsOrder() {
+        for (SignalDispatcher.WaitStrategy strategy : SignalDispatcher.WaitStrategy.values()) {
+            int events = RING_SIZE * 100;
+            List<Integer> handled = new ArrayList<>();
+            AtomicLong maxBacklog = new AtomicLong();
+            SignalDispatcher[] holder = new SignalDispatcher[1];
+            DispatchPlan plan = plan("order.created", (sender, params) -> {
+                handled.add((Integer) params[params.length - 1]);
+                maxBacklog.accumulateAndGet(holder[0].getBacklog(), Math::max);
+            });
+            SignalDispatcher dispatcher = new SignalDispatcher(RING_SIZE, 1, strategy, emitter);
+            holder[0] = dispatcher;
+            try {
+                for (int i = 0; i < events; i++) {
+                    assertTrue(dispatcher.publish(plan, null, this, IGNORE_ERRORS, null, new Object[] {i}));
+                }
+            } finally {
+                dispatcher.shutdown(5000);
+            }
+
+            assertEquals(events, handled.size(), strategy + " 应处理全部事件");
+            for (int i = 0; i < events; i++) {
+                assertEquals(i, handled.get(i).intValue(), strategy + " 第 " + i + " 个事件顺序错误");
+            }
+            // 积压包括已认领序号、正在等待容量的那个生产者
+            assertTrue(maxBacklog.get() <= RING_SIZE + 1, strategy + " 积压 " + maxBacklog.get() + " 超过环容量");
+            assertEquals(0, dispatcher.getBacklog());
+        }
+    }
+
+    @Test
+    @DisplayName("环满时生产者等待消费者腾出槽位")
+    void testFullRingBlocksProducer() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch firstStarted = new CountDownLatch(1);
+        DispatchPlan plan = plan("order.created", (sender, params) -> {
+            firstStarted.countDown();
+            release.await();
+        });
+        SignalDispatcher dispatcher = new SignalDispatcher(RING_SIZE, 1, SignalDispatcher.WaitStrategy.PARK, emitter);
+        try {
+            // 第一个事件占住消费线程，之后的事件占满全部槽位
+            assertTrue(dispatcher.publish(plan, null, this, IGNORE_ERRORS, null, new Object[0]));
+            assertTrue(firstStarted.await(5, TimeUnit.SECONDS));
+            for (int i = 0; i < RING_SIZE - 1; i++) {
+                assertTrue(dispatcher.publish(plan, null, this, IGNORE_ERRORS, null, new Object[0]));
+            }
+
+            AtomicBoolean published = new AtomicBoolean();
+            CountDownLatch producerStarted = new CountDownLatch(1);
+            Thread producer = new Thread(() -> {
+                producerStarted.countDown();
+                published.set(dispatcher.publish(plan, null, this, IGNORE_ERRORS, null, new Object[0]));
+            });
+            producer.start();
+            assertTrue(producerStarted.await(5, TimeUnit.SECONDS));
+            producer.join(200);
+            assertTrue(producer.isAlive(), "环满时生产者应等待");
+            assertFalse(published.get());
+
+            release.countDown();
+            producer.join(5000);
+            assertFalse(producer.isAlive());
+            assertTrue(published.get());
+        } finally {
+            release.countDown();
+            dispatcher.shutdown(5000);
+        }
+    }
+
+    @Test
+    @DisplayName("关闭时处理完已发布的事件，之后不再接收")
+    void testShutdownDrainsPublishedEvents() throws Exception {
+        int events = 200;
+        AtomicInteger handled = new AtomicInteger();
+        DispatchPlan plan = plan("order.created", (sender, params) -> {
+            Thread.sleep(1);
+            handled.incrementAndGet();
+        });
+        SignalDispatcher dispatcher = new SignalDispatcher(256, 1, SignalDispatcher.WaitStrategy.PARK, emitter);
+        for (int i = 0; i < events; i++) {
+            assertTrue(dispatcher.publish(plan, null, this, IGNORE_ERRORS, null, new Object[0]));
+        }
+        assertTrue(dispatcher.getBacklog() > 0, "关闭前应还有未处理的事件");
+
+        dispatcher.shutdown(10000);
+        assertEquals(events, handled.get(), "关闭应等待已发布的事件处理完");
+        assertEquals(0, dispatcher.getBacklog());
+        assertFalse(dispatcher.publish(plan, null, this, IGNORE_ERRORS, null, new Object[0]), "关闭后不应接收新事件");
+    }
+
+    @Test
+    @DisplayName("多个生产线程各自的事件保持顺序")
+    void testPerProducerOrder() throws Exception {
+        int producers = 4;
+        int events = 500;
+        List<int[]> handled = new CopyOnWriteArrayList<>();
+        DispatchPlan plan = plan("order.created", (sender, params) ->
+                handled.add(new int[] {(Integer) params[params.length - 2], (Integer) params[params.length - 1]}));
+        SignalDispatcher dispatcher = new SignalDispatcher(RING_SIZE, 2, SignalDispatcher.WaitStrategy.YIELD, emitter);
+        Thread[] threads = new Thread[producers];
+        for (int p = 0; p < producers; p++) {
+            int producer = p;
+            threads[p] = new Thread(() -> {
+                for (int i = 0; i < events; i++) {
+                    dispatcher.publish(plan, null, this, IGNORE_ERRORS, null, new Object[] {producer, i});
+                }
+            });
+            threads[p].start();
+        }
+        for (Thread thread : threads) {
+            thread.join(10000);
+        }
+        dispatcher.shutdown(10000);
+
+        assertEquals(producers * events, handled.size());
+        int[] next = new int[producers];
+        for (int[] event : handled) {
+            assertEquals(next[event[0]]++, event[1], "生产线程 " + event[0] + " 的事件顺序错误");
+        }
+    }
+
+    @Test
+    @DisplayName("消费线程上失败的投递交给执行器重试")
+    void testFailedDeliveryRetriesOnExecutor() throws Exception {
+        List<String> attempts = new CopyOnWriteArrayList<>();
+        AtomicInteger successes = new AtomicInteger();
+        AtomicInteger errors = new AtomicInteger();
+        CountDownLatch completed = new CountDownLatch(1);
+        SignalConfig config = new SignalConfig.Builder().async(true).timeoutMs(0).maxRetries(1)
+                .retryDelayMs(10).recordMetrics(false).build();
+        DispatchPlan plan = plan("order.created", config, (sender, params) -> {
+            attempts.add(Thread.currentThread().getName());
+            if (attempts.size() == 1) {
+                throw new IllegalStateException("first attempt");
+            }
+        });
+        SignalCallback callback = new SignalCallback() {
+            @Override
+            public void onSuccess(String event, Object sender, Object... params) {
+                successes.incrementAndGet();
+            }
+
+            @Override
+            public void onError(String event, Object sender, Throwable error, Object... params) {
+                errors.incrementAndGet();
+            }
+
+            @Override
+            public void onComplete(String event, Object sender, Object... params) {
+                completed.countDown();
+            }
+        };
+        String consumer = executor.submit(() -> Thread.currentThread().getName()).get();
+        SignalDispatcher dispatcher = new SignalDispatcher(RING_SIZE, 1, SignalDispatcher.WaitStrategy.YIELD, emitter);
+        try {
+            assertTrue(dispatcher.publish(plan, null, this, IGNORE_ERRORS, callback, new Object[0]));
+            assertTrue(completed.await(5, TimeUnit.SECONDS));
+        } finally {
+            dispatcher.shutdown(10000);
+        }
+
+        assertEquals(2, attempts.size());
+        assertNotEquals(consumer, attempts.get(0), "第一次尝试应在消费线程上执行");
+        assertEquals(consumer, attempts.get(1), "重试应提交到执行器");
+        assertEquals(1, successes.get());
+        assertEquals(0, errors.get());
+    }
+
+    @Test
+    @DisplayName("不重试的失败投递在消费线程上直接结束")
+    void testFailedDeliveryWithoutRetries() throws Exception {
+        AtomicInteger errors = new AtomicInteger();
+        AtomicInteger completions = new AtomicInteger();
+        DispatchPlan plan = plan("order.created", (sender, params) -> {
+            throw new IllegalStateException("always fails");
+        });
+        SignalCallback callback = new SignalCallback() {
+            @Override
+            public void onError(String event, Object sender, Throwable error, Object... params) {
+                errors.incrementAndGet();
+            }
+
+            @Override
+            public void onComplete(String event, Object sender, Object... params) {
+                completions.incrementAndGet();
+            }
+        };
+        SignalDispatcher dispatcher = new SignalDispatcher(RING_SIZE, 1, SignalDispatcher.WaitStrategy.YIELD, emitter);
+        for (int i = 0; i < 10; i++) {
+            dispatcher.publish(plan, null, this, IGNORE_ERRORS, callback, new Object[0]);
+        }
+        dispatcher.shutdown(10000);
+
+        assertEquals(10, errors.get());
+        assertEquals(10, completions.get());
+    }
+
+    private static DispatchPlan plan(String event, SignalHandler handler) {
+        return plan(event, new SignalConfig.Builder().async(true).timeoutMs(0).maxRetries(0)
+                .recordMetrics(false).build(), handler);
+    }
+
+    private static DispatchPlan plan(String event, SignalConfig config, SignalHandler handler) {
+        SigHandler sig = new SigHandler(1, EventType.ADD_HANDLER, event, handler, SignalPriority.MEDIUM);
+        return new DispatchPlan(event, config, null, null, new SignalInterceptor[0], new SignalFilter[0],
+                new SignalTransformer[0], new SigHandler[] {sig}, new SignalMetrics.EventCounters(), null);
+    }
+}
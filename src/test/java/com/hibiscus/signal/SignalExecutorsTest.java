@@ -0,0 +1,125 @@
+package com.hibiscus.signal;
+
+import com.hibiscus.signal.config.SignalDefaultThreadPoolConfig;
+import com.hibiscus.signal.config.SignalExecutors;
+import com.hibiscus.signal.core.AdaptiveThreadPoolExecutor;
+import com.hibiscus.signal.core.PriorityExecutor;
+import com.hibiscus.signal.spring.config.SignalProperties;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.context.properties.source.MapConfigurationPropertySource;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 执行器模式测试
+ * 验证 {@code hibiscus.executor-mode} 的各个取值创建的执行器类型，
+ * 虚拟线程不可用（JDK 21 以下）和未知模式时回退到平台线程池
+ */
+@DisplayName("执行器模式测试")
+public class SignalExecutorsTest {
+
+    @Test
+    @DisplayName("virtual 模式在 JDK 21 以下回退到平台线程池")
+    void testVirtualModeFallsBackBeforeJdk21() throws Exception {
+        ExecutorService executor = SignalExecutors.create(SignalExecutors.MODE_VIRTUAL);
+        try {
+            if (virtualThreadsAvailable()) {
+                assertTrue(threadName(executor).startsWith("signal-vthread-"));
+            } else {
+                assertNull(SignalExecutors.newVirtualThreadExecutor());
+                assertTrue(executor instanceof ThreadPoolExecutor, "应回退到平台线程池");
+                assertTrue(threadName(executor).startsWith("signal-thread-"));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("未知模式和空模式回退到平台线程池")
+    void testUnknownModeFallsBack() throws Exception {
+        for (String mode : new String[]{"fibers", "", null}) {
+            ExecutorService executor = SignalExecutors.create(mode);
+            try {
+                assertTrue(executor instanceof ThreadPoolExecutor, "模式 " + mode + " 应回退到平台线程池");
+                assertFalse(executor instanceof AdaptiveThreadPoolExecutor);
+                assertTrue(threadName(executor).startsWith("signal-thread-"));
+            } finally {
+                executor.shutdownNow();
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("模式名忽略大小写和首尾空白")
+    void testModeIsCaseInsensitive() {
+        ExecutorService priority = SignalExecutors.create(" Priority ");
+        ExecutorService adaptive = SignalExecutors.create("ADAPTIVE");
+        try {
+            assertTrue(priority instanceof PriorityExecutor);
+            assertTrue(adaptive instanceof AdaptiveThreadPoolExecutor);
+        } finally {
+            priority.shutdownNow();
+            adaptive.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("默认执行器 Bean 使用 SignalProperties 绑定的模式和边界")
+    void testDefaultExecutorBindsProperties() {
+        Map<String, Object> source = new HashMap<>();
+        source.put("hibiscus.executor-mode", "adaptive");
+        source.put("hibiscus.executor-min-threads", "2");
+        source.put("hibiscus.executor-max-threads", "3");
+        source.put("hibiscus.executor-target-queue-wait-ms", "50");
+        SignalProperties properties = new Binder(new MapConfigurationPropertySource(source))
+                .bind("hibiscus", SignalProperties.class).get();
+
+        assertEquals(SignalExecutors.MODE_ADAPTIVE, properties.getExecutorMode());
+        ExecutorService executor = new SignalDefaultThreadPoolConfig().defaultSignalExecutor(properties);
+        try {
+            assertTrue(executor instanceof AdaptiveThreadPoolExecutor);
+            AdaptiveThreadPoolExecutor adaptive = (AdaptiveThreadPoolExecutor) executor;
+            assertEquals(2, adaptive.getCorePoolSize());
+            assertEquals(3, adaptive.getMaximumPoolSize());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("未配置时默认使用平台线程池")
+    void testDefaultModeIsPlatform() {
+        SignalProperties properties = new SignalProperties();
+        assertEquals(SignalExecutors.MODE_PLATFORM, properties.getExecutorMode());
+
+        ExecutorService executor = new SignalDefaultThreadPoolConfig().defaultSignalExecutor(properties);
+        try {
+            assertTrue(executor instanceof ThreadPoolExecutor);
+            assertFalse(executor instanceof AdaptiveThreadPoolExecutor);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static boolean virtualThreadsAvailable() {
+        try {
+            Thread.class.getMethod("ofVirtual");
+            return true;
+        } catch (NoSuchMethodException e) {
+            return false;
+        }
+    }
+
+    private static String threadName(ExecutorService executor) throws Exception {
+        return executor.submit(() -> Thread.currentThread().getName()).get(5, TimeUnit.SECONDS);
+    }
+}
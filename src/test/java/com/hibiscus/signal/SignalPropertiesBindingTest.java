@@ -0,0 +1,83 @@
+package com.hibiscus.signal;
+
+import com.hibiscus.signal.spring.config.SignalProperties;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.context.properties.source.MapConfigurationPropertySource;
+import org.springframework.boot.env.YamlPropertySourceLoader;
+import org.springframework.core.env.PropertySource;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.env.StandardEnvironment;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 配置绑定测试
+ * 验证示例配置文件中的键能绑定到 {@link SignalProperties} 的扁平字段
+ */
+@DisplayName("配置绑定测试")
+public class SignalPropertiesBindingTest {
+
+    @Test
+    @DisplayName("限流器配置绑定到扁平字段")
+    void testRateLimiterProperties() throws Exception {
+        SignalProperties properties = bind("application-protection.yml");
+
+        assertEquals(1000, properties.getRateLimiterMaxRequestsPerSecond());
+        assertEquals(2000, properties.getRateLimiterBurstCapacity());
+    }
+
+    @Test
+    @DisplayName("保护开关和熔断器配置绑定到扁平字段")
+    void testCircuitBreakerProperties() throws Exception {
+        SignalProperties properties = bind("application-protection.yml");
+
+        assertTrue(properties.getProtectionEnabled());
+        assertEquals(5, properties.getCircuitBreakerFailureThreshold());
+        assertEquals(60000L, properties.getCircuitBreakerOpenTimeoutMs());
+        assertEquals(3, properties.getCircuitBreakerHalfOpenTrialCount());
+        assertEquals(0.5, properties.getCircuitBreakerErrorRateThreshold());
+        assertEquals(10, properties.getCircuitBreakerMinimumCalls());
+        assertEquals(5000L, properties.getCircuitBreakerSlowCallDurationMs());
+        assertNull(properties.getCircuitBreakerSlowCallRateThreshold());
+    }
+
+    @Test
+    @DisplayName("每个熔断器扁平键都能覆盖默认值")
+    void testCircuitBreakerKeysOverrideDefaults() {
+        Map<String, Object> source = new HashMap<>();
+        source.put("hibiscus.protection-enabled", "true");
+        source.put("hibiscus.circuit-breaker-failure-threshold", "7");
+        source.put("hibiscus.circuit-breaker-open-timeout-ms", "1500");
+        source.put("hibiscus.circuit-breaker-half-open-trial-count", "4");
+        source.put("hibiscus.circuit-breaker-error-rate-threshold", "0.25");
+        source.put("hibiscus.circuit-breaker-minimum-calls", "40");
+        source.put("hibiscus.circuit-breaker-slow-call-duration-ms", "250");
+        source.put("hibiscus.circuit-breaker-slow-call-rate-threshold", "0.8");
+        SignalProperties properties = new Binder(new MapConfigurationPropertySource(source))
+                .bind("hibiscus", SignalProperties.class).get();
+
+        assertTrue(properties.getProtectionEnabled());
+        assertEquals(7, properties.getCircuitBreakerFailureThreshold());
+        assertEquals(1500L, properties.getCircuitBreakerOpenTimeoutMs());
+        assertEquals(4, properties.getCircuitBreakerHalfOpenTrialCount());
+        assertEquals(0.25, properties.getCircuitBreakerErrorRateThreshold());
+        assertEquals(40, properties.getCircuitBreakerMinimumCalls());
+        assertEquals(250L, properties.getCircuitBreakerSlowCallDurationMs());
+        assertEquals(0.8, properties.getCircuitBreakerSlowCallRateThreshold());
+    }
+
+    static SignalProperties bind(String resource) throws Exception {
+        List<PropertySource<?>> sources = new YamlPropertySourceLoader().load(resource, new ClassPathResource(resource));
+        StandardEnvironment environment = new StandardEnvironment();
+        for (PropertySource<?> source : sources) {
+            environment.getPropertySources().addFirst(source);
+        }
+        return Binder.get(environment).bind("hibiscus", SignalProperties.class).orElseGet(SignalProperties::new);
+    }
+}
@@ -0,0 +1,139 @@
+package com.hibiscus.signal;
+
+import com.hibiscus.signal.config.SignalConfig;
+import com.hibiscus.signal.config.SignalPriority;
+import com.hibiscus.signal.core.SigHandler;
+import com.hibiscus.signal.core.SignalRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 注册表测试
+ * 验证处理器按优先级排列，以及并发绑定和解绑后注册表与分发计划都反映最终状态
+ */
+@DisplayName("注册表测试")
+public class SignalRegistryTest {
+
+    private static final int THREADS = 8;
+    private static final int EVENTS = 4;
+    private static final int HANDLERS_PER_THREAD = 50;
+
+    private Signals signals;
+
+    @BeforeEach
+    void setUp() {
+        signals = new Signals(Executors.newFixedThreadPool(2));
+    }
+
+    @AfterEach
+    void tearDown() {
+        signals.shutdown();
+    }
+
+    @Test
+    @DisplayName("处理器按优先级排列，同一优先级内保持注册顺序")
+    void testPriorityOrdering() {
+        SignalRegistry registry = new SignalRegistry();
+        long low = registry.registerHandler("order.created", (sender, params) -> { }, config(SignalPriority.LOW));
+        long high1 = registry.registerHandler("order.created", (sender, params) -> { }, config(SignalPriority.HIGH));
+        long medium = registry.registerHandler("order.created", (sender, params) -> { }, config(SignalPriority.MEDIUM));
+        long high2 = registry.registerHandler("order.created", (sender, params) -> { }, config(SignalPriority.HIGH));
+        long low2 = registry.registerHandler("order.created", (sender, params) -> { }, config(SignalPriority.LOW));
+
+        assertArrayEquals(new long[]{high1, high2, medium, low, low2}, ids(registry.getHandlerArray("order.created")));
+
+        registry.unregisterHandler("order.created", high1);
+        long high3 = registry.registerHandler("order.created", (sender, params) -> { }, config(SignalPriority.HIGH));
+        assertArrayEquals(new long[]{high2, high3, medium, low, low2}, ids(registry.getHandlerArray("order.created")));
+    }
+
+    @Test
+    @DisplayName("同步发射按优先级调用处理器")
+    void testSyncEmitFollowsPriority() {
+        List<String> calls = new CopyOnWriteArrayList<>();
+        signals.connect("order.created", (sender, params) -> calls.add("low"), syncConfig(SignalPriority.LOW));
+        signals.connect("order.created", (sender, params) -> calls.add("medium"), syncConfig(SignalPriority.MEDIUM));
+        signals.connect("order.created", (sender, params) -> calls.add("high"), syncConfig(SignalPriority.HIGH));
+
+        signals.emit("order.created", this, null);
+
+        assertEquals(Arrays.asList("high", "medium", "low"), calls);
+    }
+
+    @Test
+    @DisplayName("并发绑定和解绑后分发计划反映最终状态")
+    void testConcurrentConnectDisconnect() throws InterruptedException {
+        AtomicInteger[] calls = new AtomicInteger[EVENTS];
+        for (int i = 0; i < EVENTS; i++) {
+            calls[i] = new AtomicInteger();
+        }
+        AtomicInteger wildcardCalls = new AtomicInteger();
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(THREADS);
+        for (int t = 0; t < THREADS; t++) {
+            int event = t % EVENTS;
+            pool.execute(() -> {
+                try {
+                    start.await();
+                    List<Long> ids = new ArrayList<>();
+                    for (int i = 0; i < HANDLERS_PER_THREAD; i++) {
+                        long wildcard = signals.connect("stock.*", (sender, params) -> wildcardCalls.incrementAndGet(),
+                                syncConfig(SignalPriority.MEDIUM));
+                        ids.add(signals.connect("stock." + event,
+                                (sender, params) -> calls[event].incrementAndGet(), syncConfig(SignalPriority.MEDIUM)));
+                        signals.disconnect("stock.*", wildcard);
+                    }
+                    // 每个线程解绑自己一半的处理器
+                    for (int i = 0; i < ids.size(); i += 2) {
+                        signals.disconnect("stock." + event, ids.get(i));
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    done.countDown();
+                }
+            });
+        }
+        start.countDown();
+        assertTrue(done.await(30, TimeUnit.SECONDS));
+        pool.shutdown();
+
+        int expected = THREADS / EVENTS * HANDLERS_PER_THREAD / 2;
+        for (int i = 0; i < EVENTS; i++) {
+            signals.emit("stock." + i, this, null);
+            assertEquals(expected, calls[i].get(), "stock." + i + " 的计划应包含全部剩余的处理器");
+        }
+        assertEquals(0, wildcardCalls.get(), "通配处理器已全部解绑，计划中不应残留");
+    }
+
+    private static long[] ids(SigHandler[] handlers) {
+        long[] ids = new long[handlers.length];
+        for (int i = 0; i < handlers.length; i++) {
+            ids[i] = handlers[i].getId();
+        }
+        return ids;
+    }
+
+    private static SignalConfig config(SignalPriority priority) {
+        return new SignalConfig.Builder().priority(priority).build();
+    }
+
+    private static SignalConfig syncConfig(SignalPriority priority) {
+        return new SignalConfig.Builder().async(false).priority(priority).maxHandlers(1000).build();
+    }
+}
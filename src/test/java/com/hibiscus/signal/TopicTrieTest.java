@@ -0,0 +1,167 @@
+package com.hibiscus.signal;
+
+import com.hibiscus.signal.config.SignalConfig;
+import com.hibiscus.signal.core.EmitAdmission;
+import com.hibiscus.signal.core.SignalInterceptor;
+import com.hibiscus.signal.core.TopicTrie;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 主题通配测试
+ * 验证 {@link TopicTrie} 的模式匹配规则，以及通配模式随处理器的绑定和解绑进出分发计划
+ */
+@DisplayName("主题通配测试")
+public class TopicTrieTest {
+
+    private static final Consumer<Throwable> IGNORE_ERRORS = e -> { };
+
+    @Test
+    @DisplayName("* 匹配恰好一段，# 匹配零段或多段")
+    void testSingleAndMultiSegmentWildcards() {
+        assertTrue(TopicTrie.matches("order.*", "order.created"));
+        assertFalse(TopicTrie.matches("order.*", "order"));
+        assertFalse(TopicTrie.matches("order.*", "order.item.added"));
+
+        assertTrue(TopicTrie.matches("order.#", "order"));
+        assertTrue(TopicTrie.matches("order.#", "order.created"));
+        assertTrue(TopicTrie.matches("order.#", "order.item.added"));
+        assertFalse(TopicTrie.matches("order.#", "payment.created"));
+
+        assertTrue(TopicTrie.matches("*.created", "order.created"));
+        assertTrue(TopicTrie.matches("#.added", "order.item.added"));
+        assertTrue(TopicTrie.matches("order.*.added", "order.item.added"));
+        assertFalse(TopicTrie.matches("order.*.added", "order.added"));
+    }
+
+    @Test
+    @DisplayName("空段按普通段匹配")
+    void testEmptySegment() {
+        assertTrue(TopicTrie.matches("order.*", "order."));
+        assertFalse(TopicTrie.matches("order.*", "order"));
+        assertTrue(TopicTrie.matches("order..created", "order..created"));
+        assertFalse(TopicTrie.matches("order.created", "order..created"));
+        assertTrue(TopicTrie.matches("order.#.created", "order..created"));
+    }
+
+    @Test
+    @DisplayName("单独的 * 等同于 #")
+    void testBareStarMatchesEverything() {
+        assertTrue(TopicTrie.matches("*", "order"));
+        assertTrue(TopicTrie.matches("*", "order.item.added"));
+
+        TopicTrie<String> trie = new TopicTrie<>();
+        trie.add("*", "all");
+        assertEquals(Collections.singletonList("all"), trie.match("order.item.added"));
+        assertTrue(trie.remove("*", "all"));
+        assertTrue(trie.isEmpty());
+    }
+
+    @Test
+    @DisplayName("match 按精确段、*、# 的顺序返回")
+    void testMatchOrder() {
+        TopicTrie<String> trie = new TopicTrie<>();
+        trie.add("order.#", "any");
+        trie.add("order.*", "one");
+        trie.add("order.created", "exact");
+        trie.add("payment.*", "other");
+
+        assertEquals(Arrays.asList("exact", "one", "any"), trie.match("order.created"));
+        assertEquals(Collections.singletonList("any"), trie.match("order.item.added"));
+        assertTrue(trie.match("refund.created").isEmpty());
+    }
+
+    @Test
+    @DisplayName("移除模式后不再匹配")
+    void testRemove() {
+        TopicTrie<String> trie = new TopicTrie<>();
+        trie.add("order.*", "a");
+        trie.add("order.*", "b");
+
+        assertTrue(trie.remove("order.*", "a"));
+        assertFalse(trie.remove("order.*", "a"));
+        assertFalse(trie.remove("order.#", "b"));
+        assertEquals(Collections.singletonList("b"), trie.match("order.created"));
+        assertTrue(trie.remove("order.*", "b"));
+        assertTrue(trie.match("order.created").isEmpty());
+        assertTrue(trie.values().isEmpty());
+        assertTrue(trie.isEmpty());
+    }
+
+    @Test
+    @DisplayName("后绑定的事件合并已有的通配处理器")
+    void testLateConnectedEventPicksUpPattern() {
+        Signals signals = new Signals(Executors.newSingleThreadExecutor());
+        try {
+            AtomicInteger wildcard = new AtomicInteger();
+            AtomicInteger own = new AtomicInteger();
+            signals.connect("order.*", (sender, params) -> wildcard.incrementAndGet(), syncConfig());
+            signals.connect("order.created", (sender, params) -> own.incrementAndGet(), syncConfig());
+
+            signals.emit("order.created", this, IGNORE_ERRORS);
+
+            assertEquals(1, own.get());
+            assertEquals(1, wildcard.get());
+        } finally {
+            signals.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("解绑最后一个处理器后模式不再参与匹配")
+    void testDisconnectRemovesPattern() {
+        Signals signals = new Signals(Executors.newSingleThreadExecutor());
+        try {
+            AtomicInteger wildcard = new AtomicInteger();
+            AtomicInteger own = new AtomicInteger();
+            long id = signals.connect("order.*", (sender, params) -> wildcard.incrementAndGet(), syncConfig());
+            signals.connect("order.created", (sender, params) -> own.incrementAndGet(), syncConfig());
+
+            signals.disconnect("order.*", id);
+            signals.emit("order.created", this, IGNORE_ERRORS);
+            assertEquals(0, wildcard.get());
+            assertEquals(1, own.get());
+            // 只匹配已移除模式的事件名按未绑定事件处理，不再为它分配计划和计数器
+            assertEquals(EmitAdmission.NO_HANDLERS, signals.emit("order.updated", this, IGNORE_ERRORS));
+            assertNull(signals.getMetrics().snapshot().getEvent("order.updated"));
+        } finally {
+            signals.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("模式上还有拦截器时不移除")
+    void testPatternWithInterceptorIsKept() {
+        Signals signals = new Signals(Executors.newSingleThreadExecutor());
+        try {
+            AtomicInteger intercepted = new AtomicInteger();
+            signals.connect("order.*", (sender, params) -> { }, syncConfig());
+            signals.addSignalInterceptor("order.*", new SignalInterceptor() {
+                @Override
+                public boolean beforeHandle(String event, Object sender, Object... params) {
+                    intercepted.incrementAndGet();
+                    return true;
+                }
+            });
+            signals.connect("order.created", (sender, params) -> { }, syncConfig());
+
+            signals.clear("order.*");
+            signals.emit("order.created", this, IGNORE_ERRORS);
+            assertEquals(1, intercepted.get());
+        } finally {
+            signals.shutdown();
+        }
+    }
+
+    private static SignalConfig syncConfig() {
+        return new SignalConfig.Builder().async(false).build();
+    }
+}
@@ -0,0 +1,192 @@
+package com.hibiscus.signal;
+
+import com.hibiscus.signal.core.SignalContext;
+import com.hibiscus.signal.trace.BatchSpanProcessor;
+import com.hibiscus.signal.trace.InMemorySpanExporter;
+import com.hibiscus.signal.trace.SpanExporter;
+import com.hibiscus.signal.trace.SpanIds;
+import com.hibiscus.signal.trace.TraceParent;
+import com.hibiscus.signal.trace.TraceRecord;
+import com.hibiscus.signal.trace.TraceStore;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 追踪传播与导出测试
+ * 验证 traceparent 的提取和生成互为逆操作、非法头被拒绝且不改动上下文，
+ * 以及 {@link BatchSpanProcessor} 的导出条件、队列满时丢弃和关闭时导出剩余追踪
+ */
+@DisplayName("追踪传播与导出测试")
+public class TraceExportTest {
+
+    private static final String TRACE_ID = "4bf92f3577b34da6a3ce929d0e0e4736";
+    private static final String SPAN_ID = "00f067aa0ba902b7";
+    private static final String HEADER = "00-" + TRACE_ID + "-" + SPAN_ID + "-01";
+
+    @Test
+    @DisplayName("提取后再生成得到相同的 traceparent")
+    void testExtractInjectRoundTrip() {
+        SignalContext context = new SignalContext();
+        assertTrue(TraceParent.extract(HEADER, context));
+        assertEquals(TRACE_ID, context.getTraceId());
+        assertEquals(SPAN_ID, context.getParentSpanId());
+        assertTrue(context.isSampled());
+        assertEquals(HEADER, TraceParent.inject(context));
+
+        String unsampled = "00-" + TRACE_ID + "-" + SPAN_ID + "-00";
+        SignalContext other = new SignalContext();
+        assertTrue(TraceParent.extract("  " + unsampled + " ", other), "首尾空白应被忽略");
+        assertFalse(other.isSampled());
+        assertTrue(other.hasSamplingDecision());
+        assertEquals(unsampled, TraceParent.inject(other));
+    }
+
+    @Test
+    @DisplayName("没有上游时生成新的 trace ID 和 span ID")
+    void testInjectWithoutUpstream() {
+        SignalContext context = new SignalContext();
+        String header = TraceParent.inject(context);
+
+        assertTrue(header.matches("00-[0-9a-f]{32}-[0-9a-f]{16}-0[01]"), header);
+        assertNotNull(context.getTraceId());
+        assertEquals(header, TraceParent.inject(context), "再次生成应沿用同一个 trace 和 span");
+
+        SignalContext downstream = new SignalContext();
+        assertTrue(TraceParent.extract(header, downstream));
+        assertEquals(context.getTraceId(), downstream.getTraceId());
+        assertEquals(context.getCurrentSpanId(), downstream.getCurrentSpanId());
+    }
+
+    @Test
+    @DisplayName("更高版本允许附加字段")
+    void testFutureVersion() {
+        SignalContext context = new SignalContext();
+        assertTrue(TraceParent.extract("01-" + TRACE_ID + "-" + SPAN_ID + "-01-future", context));
+        assertEquals(TRACE_ID, context.getTraceId());
+    }
+
+    @Test
+    @DisplayName("非法 traceparent 被拒绝且不改动上下文")
+    void testInvalidHeaders() {
+        String[] invalid = {
+                null,
+                "",
+                "00-" + TRACE_ID + "-" + SPAN_ID,
+                "00_" + TRACE_ID + "-" + SPAN_ID + "-01",
+                "00-" + TRACE_ID + "_" + SPAN_ID + "-01",
+                "00-" + TRACE_ID + "-" + SPAN_ID + "_01",
+                "00-" + TRACE_ID.toUpperCase() + "-" + SPAN_ID + "-01",
+                "00-" + TRACE_ID + "-" + SPAN_ID + "-0g",
+                "0x-" + TRACE_ID + "-" + SPAN_ID + "-01",
+                "ff-" + TRACE_ID + "-" + SPAN_ID + "-01",
+                "00-" + TRACE_ID + "-" + SPAN_ID + "-01-extra",
+                "01-" + TRACE_ID + "-" + SPAN_ID + "-01x",
+                "00-00000000000000000000000000000000-" + SPAN_ID + "-01",
+                "00-" + TRACE_ID + "-0000000000000000-01",
+        };
+        for (String header : invalid) {
+            SignalContext context = new SignalContext();
+            assertFalse(TraceParent.extract(header, context), "应拒绝: " + header);
+            assertNull(context.getTraceId(), header);
+            assertNull(context.getParentSpanId(), header);
+            assertFalse(context.hasSamplingDecision(), header);
+        }
+    }
+
+    @Test
+    @DisplayName("没有追踪存储时只导出被采样或出错的追踪")
+    void testExportsSampledAndFailedOnly() {
+        InMemorySpanExporter exporter = new InMemorySpanExporter();
+        BatchSpanProcessor processor = new BatchSpanProcessor(null, 16, 16, 60000);
+        processor.addExporter(exporter);
+        try {
+            assertTrue(processor.onEnd(context(true), "order.sampled", 0, 10, null));
+            assertTrue(processor.onEnd(context(false), "order.unsampled", 0, 10, null));
+            assertTrue(processor.onEnd(context(false), "order.failed", 0, 10, new IllegalStateException("boom")));
+
+            assertTrue(processor.forceFlush(5000));
+            List<TraceRecord> traces = exporter.getFinishedTraces();
+            assertEquals(2, traces.size());
+            assertEquals("order.sampled", traces.get(0).getEvent());
+            assertEquals("order.failed", traces.get(1).getEvent());
+            assertTrue(traces.get(1).isError());
+            assertEquals(2, processor.getExportedCount());
+            assertEquals(0, processor.getQueueSize());
+        } finally {
+            processor.close();
+        }
+    }
+
+    @Test
+    @DisplayName("追踪存储按尾部采样规则保留")
+    void testStoreKeepsSlowTraces() {
+        TraceStore store = new TraceStore(8, 0, 5, false);
+        BatchSpanProcessor processor = new BatchSpanProcessor(store, 16, 16, 60000);
+        try {
+            processor.onEnd(context(true), "order.fast", 0, TimeUnit.MILLISECONDS.toNanos(1), null);
+            processor.onEnd(context(false), "order.slow", 0, TimeUnit.MILLISECONDS.toNanos(10), null);
+            assertTrue(processor.forceFlush(5000));
+
+            assertEquals(1, store.getTraces().size());
+            assertEquals("order.slow", store.getTraces().get(0).getEvent());
+            assertEquals(1, store.getSkippedCount());
+        } finally {
+            processor.close();
+        }
+    }
+
+    @Test
+    @DisplayName("队列满时丢弃，关闭时导出剩余追踪并关闭导出器")
+    void testQueueFullAndCloseDrains() throws Exception {
+        CountDownLatch exporting = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger exportedTraces = new AtomicInteger();
+        AtomicInteger shutdowns = new AtomicInteger();
+        BatchSpanProcessor processor = new BatchSpanProcessor(null, 2, 1, 60000);
+        processor.addExporter(new SpanExporter() {
+            @Override
+            public void export(List<TraceRecord> traces) throws Exception {
+                exporting.countDown();
+                release.await();
+                exportedTraces.addAndGet(traces.size());
+            }
+
+            @Override
+            public void shutdown() {
+                shutdowns.incrementAndGet();
+            }
+        });
+        try {
+            // 第一条凑满一批，后台线程取走后阻塞在导出器里，队列随后被填满
+            assertTrue(processor.onEnd(context(true), "order.created", 0, 10, null));
+            assertTrue(exporting.await(5, TimeUnit.SECONDS));
+            assertTrue(processor.onEnd(context(true), "order.created", 0, 10, null));
+            assertTrue(processor.onEnd(context(true), "order.created", 0, 10, null));
+            assertFalse(processor.onEnd(context(true), "order.created", 0, 10, null), "队列满时应丢弃");
+            assertEquals(1, processor.getDroppedCount());
+            assertEquals(2, processor.getQueueSize());
+        } finally {
+            release.countDown();
+            processor.close();
+        }
+
+        assertEquals(3, exportedTraces.get(), "关闭时应导出队列中剩余的追踪");
+        assertEquals(1, shutdowns.get());
+        assertFalse(processor.isActive());
+        assertFalse(processor.onEnd(context(true), "order.created", 0, 10, null), "关闭后不再接收");
+    }
+
+    private static SignalContext context(boolean sampled) {
+        SignalContext context = new SignalContext();
+        context.setTraceId(SpanIds.nextTraceId());
+        context.setSampled(sampled);
+        return context;
+    }
+}
@@ -0,0 +1,110 @@
+package com.hibiscus.signal.core;
+
+import com.hibiscus.signal.Signals;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 自适应线程池测试
+ * 采样间隔设得足够长，由测试直接调用 {@code sample()}，逐次验证 GROW / SHRINK / HOLD 决策
+ */
+@DisplayName("自适应线程池测试")
+public class AdaptiveThreadPoolExecutorTest {
+
+    private static final int MIN = 1;
+    private static final int MAX = 4;
+    private static final int TASKS = 10;
+
+    private AdaptiveThreadPoolExecutor executor;
+
+    @BeforeEach
+    void setUp() {
+        // 目标排队时间取一分钟，增长只由“线程被占满且队列积压”触发，排空后的收缩不受实际排队时间影响
+        executor = new AdaptiveThreadPoolExecutor(MIN, MAX, 100, 60_000, 3_600_000,
+                Executors.defaultThreadFactory(), new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("线程被占满时逐步增长到上限，空闲后逐步收缩到下限")
+    void testGrowThenShrink() throws InterruptedException {
+        CountDownLatch release = new CountDownLatch(1);
+        for (int i = 0; i < TASKS; i++) {
+            executor.execute(() -> {
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+        }
+
+        for (int expected = MIN + 1; expected <= MAX; expected++) {
+            executor.sample();
+            assertEquals(AdaptiveThreadPoolExecutor.Decision.GROW, executor.getLastDecision());
+            assertEquals(expected, executor.getCorePoolSize());
+        }
+        executor.sample();
+        assertEquals(AdaptiveThreadPoolExecutor.Decision.HOLD, executor.getLastDecision(), "达到上限后不再增长");
+        assertEquals(MAX, executor.getCorePoolSize());
+
+        release.countDown();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (executor.getCompletedTaskCount() < TASKS && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        assertEquals(TASKS, executor.getCompletedTaskCount());
+
+        int previous = MAX;
+        while (previous > MIN) {
+            executor.sample();
+            assertEquals(AdaptiveThreadPoolExecutor.Decision.SHRINK, executor.getLastDecision());
+            int core = executor.getCorePoolSize();
+            assertTrue(core < previous && core >= MIN, "收缩后核心线程数应在 [min, 上一次) 之间: " + core);
+            previous = core;
+        }
+        executor.sample();
+        assertEquals(AdaptiveThreadPoolExecutor.Decision.HOLD, executor.getLastDecision(), "达到下限后不再收缩");
+        assertEquals(MIN, executor.getCorePoolSize());
+
+        Map<String, Object> metrics = executor.getMetrics();
+        assertEquals((long) (MAX - MIN), metrics.get("growCount"));
+        assertEquals(3L, metrics.get("shrinkCount"), "4 -> 3 -> 2 -> 1 共收缩三次");
+    }
+
+    @Test
+    @DisplayName("作为信号执行器时决策随指标快照导出")
+    void testMetricsInSnapshot() {
+        Signals signals = new Signals(executor);
+        try {
+            executor.execute(() -> { });
+            executor.sample();
+            Map<String, Object> exported = signals.getMetrics().snapshot().getExecutor();
+            assertEquals(executor.getLastDecision().name(), exported.get("lastDecision"));
+            assertEquals(MIN, exported.get("minThreads"));
+            assertEquals(MAX, exported.get("maxThreads"));
+        } finally {
+            signals.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("未使用自适应线程池时快照中的线程池指标为空")
+    void testNoExecutorMetrics() {
+        assertTrue(new SignalMetrics().snapshot().getExecutor().isEmpty());
+    }
+}
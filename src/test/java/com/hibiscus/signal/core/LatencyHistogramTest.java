@@ -0,0 +1,177 @@
+package com.hibiscus.signal.core;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 延迟直方图测试
+ * 验证对数-线性分桶的边界、分位数相对于精确值的误差，以及区间快照的增量
+ */
+@DisplayName("延迟直方图测试")
+public class LatencyHistogramTest {
+
+    private static final int LAST_BUCKET = LatencyHistogram.BUCKET_COUNT - 1;
+
+    /** 每个 2 的幂区间 16 个桶，桶上界相对值的误差不超过 1/16 */
+    private static final double MAX_RELATIVE_ERROR = 1.0 / 16;
+
+    private static final double[] PERCENTILES = {50, 75, 90, 99, 99.9};
+
+    @Test
+    @DisplayName("16 以下每纳秒一个桶，16/17 落在第一个对数区间")
+    void testLinearBoundary() {
+        for (int value = 0; value < 16; value++) {
+            assertEquals(value, LatencyHistogram.bucketIndex(value));
+            assertEquals(value, LatencyHistogram.bucketUpperBound(value));
+        }
+        assertEquals(16, LatencyHistogram.bucketIndex(16));
+        assertEquals(17, LatencyHistogram.bucketIndex(17));
+        assertEquals(16, LatencyHistogram.bucketUpperBound(16));
+        assertEquals(17, LatencyHistogram.bucketUpperBound(17));
+        // 32 起每个桶宽 2ns
+        assertEquals(32, LatencyHistogram.bucketIndex(32));
+        assertEquals(32, LatencyHistogram.bucketIndex(33));
+        assertEquals(33, LatencyHistogram.bucketUpperBound(32));
+    }
+
+    @Test
+    @DisplayName("每个 2 的幂都开启新的区间，前一个桶的上界是它减一")
+    void testPowersOfTwo() {
+        for (int exponent = 4; exponent <= 35; exponent++) {
+            long power = 1L << exponent;
+            int index = LatencyHistogram.bucketIndex(power);
+            assertEquals((exponent - 3) * 16, index, "2^" + exponent);
+            assertEquals(power - 1, LatencyHistogram.bucketUpperBound(index - 1), "2^" + exponent + " 前一个桶");
+            assertEquals(index - 1, LatencyHistogram.bucketIndex(power - 1));
+        }
+    }
+
+    @Test
+    @DisplayName("超出范围的值计入最后一个桶，最大值仍精确记录")
+    void testOverflowBucket() {
+        assertEquals(527, LAST_BUCKET);
+        assertEquals(LAST_BUCKET, LatencyHistogram.bucketIndex((1L << 36) - 1));
+        assertEquals(LAST_BUCKET, LatencyHistogram.bucketIndex(1L << 36));
+        assertEquals(LAST_BUCKET, LatencyHistogram.bucketIndex(Long.MAX_VALUE));
+        assertEquals((1L << 36) - 1, LatencyHistogram.bucketUpperBound(LAST_BUCKET));
+
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(Long.MAX_VALUE);
+        histogram.record(-5);
+        LatencyHistogram.Snapshot snapshot = histogram.snapshot();
+        assertEquals(2, snapshot.getCount());
+        assertEquals(Long.MAX_VALUE, snapshot.getMax());
+        assertEquals(0, snapshot.getValueAtPercentile(50), "负值按 0 记录");
+    }
+
+    @Test
+    @DisplayName("每个值都落在所属桶内，桶上界的相对误差不超过 1/16")
+    void testBucketBounds() {
+        Random random = new Random(42);
+        for (int i = 0; i < 100_000; i++) {
+            long value = random.nextLong() >>> (28 + random.nextInt(36));
+            int index = LatencyHistogram.bucketIndex(value);
+            long upper = LatencyHistogram.bucketUpperBound(index);
+            assertTrue(upper >= value, value + " 超出桶 " + index + " 的上界 " + upper);
+            if (index > 0) {
+                assertTrue(LatencyHistogram.bucketUpperBound(index - 1) < value, value + " 应属于更低的桶");
+            }
+            if (value > 0) {
+                assertTrue((double) (upper - value) / value <= MAX_RELATIVE_ERROR, "值 " + value + " 的误差过大");
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("均匀分布的分位数与精确值相差不超过 6%")
+    void testUniformPercentiles() {
+        long[] values = new long[100_000];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = i + 1;
+        }
+        assertPercentiles(values);
+    }
+
+    @Test
+    @DisplayName("指数分布和长尾分布的分位数与精确值相差不超过 6%")
+    void testSkewedPercentiles() {
+        Random random = new Random(7);
+        long[] exponential = new long[100_000];
+        for (int i = 0; i < exponential.length; i++) {
+            // 均值 50 微秒
+            exponential[i] = (long) (-Math.log(1 - random.nextDouble()) * 50_000);
+        }
+        assertPercentiles(exponential);
+
+        long[] bimodal = new long[100_000];
+        for (int i = 0; i < bimodal.length; i++) {
+            // 99% 的调用约 20 微秒，1% 的调用约 50 毫秒
+            bimodal[i] = i % 100 == 0 ? 50_000_000 + random.nextInt(1_000_000) : 20_000 + random.nextInt(2_000);
+        }
+        assertPercentiles(bimodal);
+    }
+
+    @Test
+    @DisplayName("区间快照只包含上次调用以来的记录")
+    void testIntervalSnapshotDeltas() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int i = 0; i < 100; i++) {
+            histogram.record(1_000);
+        }
+        LatencyHistogram.Snapshot first = histogram.intervalSnapshot();
+        assertEquals(100, first.getCount());
+        assertEquals(100_000, first.getSum());
+        assertTrue(first.getIntervalNanos() > 0);
+
+        for (int i = 0; i < 50; i++) {
+            histogram.record(5_000);
+        }
+        LatencyHistogram.Snapshot second = histogram.intervalSnapshot();
+        assertEquals(50, second.getCount());
+        assertEquals(250_000, second.getSum());
+        assertEquals(5_000, second.getMean(), 0.001);
+        // 区间最大值取桶上界近似
+        assertTrue(second.getMax() >= 5_000 && second.getMax() <= 5_000 * (1 + MAX_RELATIVE_ERROR));
+        assertTrue(second.getP50() >= 5_000, "上一区间的 1000ns 不应计入");
+
+        LatencyHistogram.Snapshot empty = histogram.intervalSnapshot();
+        assertEquals(0, empty.getCount());
+        assertEquals(0, empty.getSum());
+        assertEquals(0, empty.getMax());
+        assertEquals(0, empty.getP99());
+
+        LatencyHistogram.Snapshot total = histogram.snapshot();
+        assertEquals(150, total.getCount());
+        assertEquals(350_000, total.getSum());
+        assertEquals(5_000, total.getMax(), "累计快照的最大值是精确的");
+    }
+
+    /**
+     * 记录全部值，逐个分位数与排序后的精确值比较：估计值是桶上界，不低于精确值，且误差不超过 1/16
+     */
+    private static void assertPercentiles(long[] values) {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (long value : values) {
+            histogram.record(value);
+        }
+        LatencyHistogram.Snapshot snapshot = histogram.snapshot();
+        long[] sorted = values.clone();
+        Arrays.sort(sorted);
+        assertEquals(sorted.length, snapshot.getCount());
+        assertEquals(sorted[sorted.length - 1], snapshot.getMax());
+
+        for (double percentile : PERCENTILES) {
+            long exact = sorted[(int) Math.ceil(percentile / 100 * sorted.length) - 1];
+            long estimate = snapshot.getValueAtPercentile(percentile);
+            assertTrue(estimate >= exact, "p" + percentile + " 估计值 " + estimate + " 低于精确值 " + exact);
+            assertTrue(estimate <= exact * (1 + MAX_RELATIVE_ERROR),
+                    "p" + percentile + " 估计值 " + estimate + " 与精确值 " + exact + " 相差超过 1/16");
+        }
+        assertEquals(sorted[sorted.length - 1], snapshot.getValueAtPercentile(100));
+    }
+}